@@ -30,6 +30,8 @@ import java.util.zip.ZipOutputStream;
 public final class BufferedZipFileBenchmark {
     @Param({"128", "1024", "8192", "65536"}) int compressedSize;
     @Param({"4", "32", "128"}) int readSize;
+    // Whether to read the file through ZipFile.OPEN_MAPPED rather than natively.
+    @Param({"false", "true"}) boolean mapped;
 
     private File file;
 
@@ -53,9 +55,13 @@ public final class BufferedZipFileBenchmark {
         out.close();
     }
 
+    private int mode() {
+        return mapped ? (ZipFile.OPEN_READ | ZipFile.OPEN_MAPPED) : ZipFile.OPEN_READ;
+    }
+
     public void timeUnbufferedRead(int reps) throws Exception {
         for (int i = 0; i < reps; i++) {
-            ZipFile zipFile = new ZipFile(file);
+            ZipFile zipFile = new ZipFile(file, mode());
             ZipEntry entry = zipFile.getEntry("entry.data");
             InputStream in = zipFile.getInputStream(entry);
             byte[] buffer = new byte[readSize];
@@ -68,7 +74,7 @@ public final class BufferedZipFileBenchmark {
 
     public void timeBufferedRead(int reps) throws Exception {
         for (int i = 0; i < reps; i++) {
-            ZipFile zipFile = new ZipFile(file);
+            ZipFile zipFile = new ZipFile(file, mode());
             ZipEntry entry = zipFile.getEntry("entry.data");
             InputStream in = new BufferedInputStream(zipFile.getInputStream(entry));
             byte[] buffer = new byte[readSize];
@@ -16,10 +16,15 @@
 
 package benchmarks;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.LinkedHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import libcore.util.CompactHashMap;
+import libcore.util.IntArrayList;
+import libcore.util.IntIntMap;
+import libcore.util.IntObjectMap;
 
 /**
  * How do the various hash maps compare?
@@ -64,4 +69,102 @@ public class HashedCollectionsBenchmark {
             map.get("hello");
         }
     }
+    public void timeCompactHashMapGet(int reps) {
+        CompactHashMap<String, String> map = new CompactHashMap<String, String>();
+        map.put("hello", "world");
+        for (int i = 0; i < reps; ++i) {
+            map.get("hello");
+        }
+    }
+    public void timeHashMapPutSmall(int reps) {
+        for (int i = 0; i < reps; ++i) {
+            HashMap<String, String> map = new HashMap<String, String>();
+            map.put("hello", "world");
+            map.put("goodbye", "world");
+            map.put("content-type", "text/plain");
+            map.put("charset", "utf-8");
+        }
+    }
+    public void timeCompactHashMapPutSmall(int reps) {
+        for (int i = 0; i < reps; ++i) {
+            CompactHashMap<String, String> map = new CompactHashMap<String, String>();
+            map.put("hello", "world");
+            map.put("goodbye", "world");
+            map.put("content-type", "text/plain");
+            map.put("charset", "utf-8");
+        }
+    }
+
+    // The boxed collections and their primitive-keyed libcore.util equivalents. The Put and Add
+    // benchmarks build a fresh collection every rep, so their allocation rate also reflects the
+    // footprint: one node and up to two boxes per entry, against two parallel arrays.
+
+    private static final int SIZE = 1024;
+
+    public void timeIntegerHashMapGet(int reps) {
+        HashMap<Integer, String> map = new HashMap<Integer, String>();
+        for (int k = 0; k < SIZE; ++k) {
+            map.put(k * 37, "v");
+        }
+        for (int i = 0; i < reps; ++i) {
+            map.get((i & (SIZE - 1)) * 37);
+        }
+    }
+    public void timeIntObjectMapGet(int reps) {
+        IntObjectMap<String> map = new IntObjectMap<String>();
+        for (int k = 0; k < SIZE; ++k) {
+            map.put(k * 37, "v");
+        }
+        for (int i = 0; i < reps; ++i) {
+            map.get((i & (SIZE - 1)) * 37);
+        }
+    }
+    public void timeIntegerHashMapPut(int reps) {
+        for (int i = 0; i < reps; ++i) {
+            HashMap<Integer, String> map = new HashMap<Integer, String>();
+            for (int k = 0; k < SIZE; ++k) {
+                map.put(k * 37, "v");
+            }
+        }
+    }
+    public void timeIntObjectMapPut(int reps) {
+        for (int i = 0; i < reps; ++i) {
+            IntObjectMap<String> map = new IntObjectMap<String>();
+            for (int k = 0; k < SIZE; ++k) {
+                map.put(k * 37, "v");
+            }
+        }
+    }
+    public void timeIntegerToIntegerHashMapPut(int reps) {
+        for (int i = 0; i < reps; ++i) {
+            HashMap<Integer, Integer> map = new HashMap<Integer, Integer>();
+            for (int k = 0; k < SIZE; ++k) {
+                map.put(k * 37, k * 1000);
+            }
+        }
+    }
+    public void timeIntIntMapPut(int reps) {
+        for (int i = 0; i < reps; ++i) {
+            IntIntMap map = new IntIntMap();
+            for (int k = 0; k < SIZE; ++k) {
+                map.put(k * 37, k * 1000);
+            }
+        }
+    }
+    public void timeIntegerArrayListAdd(int reps) {
+        for (int i = 0; i < reps; ++i) {
+            ArrayList<Integer> list = new ArrayList<Integer>();
+            for (int k = 0; k < SIZE; ++k) {
+                list.add(k * 1000);
+            }
+        }
+    }
+    public void timeIntArrayListAdd(int reps) {
+        for (int i = 0; i < reps; ++i) {
+            IntArrayList list = new IntArrayList();
+            for (int k = 0; k < SIZE; ++k) {
+                list.add(k * 1000);
+            }
+        }
+    }
 }
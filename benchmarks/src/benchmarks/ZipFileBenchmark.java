@@ -16,13 +16,17 @@
 
 package benchmarks;
 
+import com.google.caliper.AfterExperiment;
 import com.google.caliper.BeforeExperiment;
 import com.google.caliper.Param;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Enumeration;
 import java.util.Random;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
@@ -32,45 +36,99 @@ public class ZipFileBenchmark {
 
     private File file;
     @Param({"128", "1024", "8192"}) int numEntries;
+    // Whether to read the file through ZipFile.OPEN_MAPPED rather than natively.
+    @Param({"false", "true"}) boolean mapped;
+
+    private ZipFile zipFile;
+    private String[] names;
+    private final byte[] readBuffer = new byte[8192];
 
     @BeforeExperiment
     protected void setUp() throws Exception {
         System.setProperty("java.io.tmpdir", "/data/local/tmp");
         file = File.createTempFile(getClass().getName(), ".zip");
         file.deleteOnExit();
-        writeEntries(new ZipOutputStream(new FileOutputStream(file)), numEntries, 0);
-        ZipFile zipFile = new ZipFile(file);
+        writeEntries(new ZipOutputStream(new FileOutputStream(file)), numEntries, 1024);
+        zipFile = new ZipFile(file, mode());
+        names = new String[numEntries];
+        int i = 0;
         for (Enumeration<? extends ZipEntry> e = zipFile.entries(); e.hasMoreElements(); ) {
             ZipEntry zipEntry = e.nextElement();
+            names[i++] = zipEntry.getName();
         }
+    }
+
+    @AfterExperiment
+    protected void tearDown() throws Exception {
         zipFile.close();
     }
 
+    private int mode() {
+        return mapped ? (ZipFile.OPEN_READ | ZipFile.OPEN_MAPPED) : ZipFile.OPEN_READ;
+    }
+
     public void timeZipFileOpen(int reps) throws Exception {
         for (int i = 0; i < reps; ++i) {
-            ZipFile zf = new ZipFile(file);
+            ZipFile zf = new ZipFile(file, mode());
+            zf.close();
         }
     }
 
+    public void timeGetEntry(int reps) throws Exception {
+        for (int i = 0; i < reps; ++i) {
+            for (String name : names) {
+                zipFile.getEntry(name);
+            }
+        }
+    }
+
+    public long timeReadAllEntries(int reps) throws Exception {
+        long total = 0;
+        for (int i = 0; i < reps; ++i) {
+            for (String name : names) {
+                try (InputStream in = zipFile.getInputStream(zipFile.getEntry(name))) {
+                    int n;
+                    while ((n = in.read(readBuffer)) != -1) {
+                        total += n;
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    public long timeGetEntryBuffer(int reps) throws Exception {
+        long total = 0;
+        for (int i = 0; i < reps; ++i) {
+            for (String name : names) {
+                ByteBuffer buffer = zipFile.getEntryBuffer(zipFile.getEntry(name));
+                if (buffer != null) {
+                    total += buffer.remaining();
+                }
+            }
+        }
+        return total;
+    }
+
     /**
-     * Compresses the given number of files, each of the given size, into a .zip archive.
+     * Stores the given number of files, each of the given size, into a .zip archive.
      */
     protected void writeEntries(ZipOutputStream out, int entryCount, long entrySize)
             throws IOException {
-        byte[] writeBuffer = new byte[8192];
         Random random = new Random();
         try {
             for (int entry = 0; entry < entryCount; ++entry) {
                 ZipEntry ze = new ZipEntry(Integer.toHexString(entry));
                 ze.setSize(entrySize);
+                // Store the entries, as resources that are read at startup usually are.
+                byte[] data = new byte[(int) entrySize];
+                random.nextBytes(data);
+                CRC32 crc = new CRC32();
+                crc.update(data);
+                ze.setMethod(ZipEntry.STORED);
+                ze.setCrc(crc.getValue());
                 out.putNextEntry(ze);
-
-                for (long i = 0; i < entrySize; i += writeBuffer.length) {
-                    random.nextBytes(writeBuffer);
-                    int byteCount = (int) Math.min(writeBuffer.length, entrySize - i);
-                    out.write(writeBuffer, 0, byteCount);
-                }
-
+                out.write(data);
                 out.closeEntry();
             }
         } finally {
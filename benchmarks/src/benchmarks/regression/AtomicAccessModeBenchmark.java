@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package benchmarks.regression;
+
+import com.google.caliper.Param;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Measures the cost of the fences behind each {@link AtomicInteger} access mode, from plain
+ * accesses with none up to volatile accesses and read-modify-write operations.
+ */
+public final class AtomicAccessModeBenchmark {
+
+    enum Mode {
+        PLAIN() {
+            @Override int get(AtomicInteger value) {
+                return value.getPlain();
+            }
+            @Override void set(AtomicInteger value, int newValue) {
+                value.setPlain(newValue);
+            }
+            @Override long get(AtomicLongArray array, int i) {
+                return array.getPlain(i);
+            }
+            @Override void set(AtomicLongArray array, int i, long newValue) {
+                array.setPlain(i, newValue);
+            }
+            @Override int compareAndExchange(AtomicInteger value, int expected, int newValue) {
+                return value.weakCompareAndSetPlain(expected, newValue) ? expected : value.get();
+            }
+        },
+        OPAQUE() {
+            @Override int get(AtomicInteger value) {
+                return value.getOpaque();
+            }
+            @Override void set(AtomicInteger value, int newValue) {
+                value.setOpaque(newValue);
+            }
+            @Override long get(AtomicLongArray array, int i) {
+                return array.getOpaque(i);
+            }
+            @Override void set(AtomicLongArray array, int i, long newValue) {
+                array.setOpaque(i, newValue);
+            }
+            @Override int compareAndExchange(AtomicInteger value, int expected, int newValue) {
+                return value.weakCompareAndSetPlain(expected, newValue) ? expected : value.get();
+            }
+        },
+        ACQUIRE_RELEASE() {
+            @Override int get(AtomicInteger value) {
+                return value.getAcquire();
+            }
+            @Override void set(AtomicInteger value, int newValue) {
+                value.setRelease(newValue);
+            }
+            @Override long get(AtomicLongArray array, int i) {
+                return array.getAcquire(i);
+            }
+            @Override void set(AtomicLongArray array, int i, long newValue) {
+                array.setRelease(i, newValue);
+            }
+            @Override int compareAndExchange(AtomicInteger value, int expected, int newValue) {
+                return value.compareAndExchangeAcquire(expected, newValue);
+            }
+        },
+        VOLATILE() {
+            @Override int get(AtomicInteger value) {
+                return value.get();
+            }
+            @Override void set(AtomicInteger value, int newValue) {
+                value.set(newValue);
+            }
+            @Override long get(AtomicLongArray array, int i) {
+                return array.get(i);
+            }
+            @Override void set(AtomicLongArray array, int i, long newValue) {
+                array.set(i, newValue);
+            }
+            @Override int compareAndExchange(AtomicInteger value, int expected, int newValue) {
+                return value.compareAndExchange(expected, newValue);
+            }
+        };
+
+        abstract int get(AtomicInteger value);
+        abstract void set(AtomicInteger value, int newValue);
+        abstract long get(AtomicLongArray array, int i);
+        abstract void set(AtomicLongArray array, int i, long newValue);
+        abstract int compareAndExchange(AtomicInteger value, int expected, int newValue);
+    }
+
+    private static final int ARRAY_LENGTH = 64;
+
+    @Param Mode mode;
+
+    private final AtomicInteger value = new AtomicInteger();
+    private final AtomicLongArray array = new AtomicLongArray(ARRAY_LENGTH);
+
+    public int timeGet(int reps) {
+        Mode mode = this.mode;
+        AtomicInteger value = this.value;
+        int sum = 0;
+        for (int i = 0; i < reps; i++) {
+            sum += mode.get(value);
+        }
+        return sum;
+    }
+
+    public void timeSet(int reps) {
+        Mode mode = this.mode;
+        AtomicInteger value = this.value;
+        for (int i = 0; i < reps; i++) {
+            mode.set(value, i);
+        }
+    }
+
+    /** Publishes a value and reads it back, as a single-threaded handoff would. */
+    public int timeSetThenGet(int reps) {
+        Mode mode = this.mode;
+        AtomicInteger value = this.value;
+        int sum = 0;
+        for (int i = 0; i < reps; i++) {
+            mode.set(value, i);
+            sum += mode.get(value);
+        }
+        return sum;
+    }
+
+    public long timeArrayGet(int reps) {
+        Mode mode = this.mode;
+        AtomicLongArray array = this.array;
+        long sum = 0;
+        for (int i = 0; i < reps; i++) {
+            sum += mode.get(array, i & (ARRAY_LENGTH - 1));
+        }
+        return sum;
+    }
+
+    public void timeArraySet(int reps) {
+        Mode mode = this.mode;
+        AtomicLongArray array = this.array;
+        for (int i = 0; i < reps; i++) {
+            mode.set(array, i & (ARRAY_LENGTH - 1), i);
+        }
+    }
+
+    /** Uncontended increments, for comparison with the cost of the plain accesses above. */
+    public void timeCompareAndExchange(int reps) {
+        Mode mode = this.mode;
+        AtomicInteger value = this.value;
+        int current = value.get();
+        for (int i = 0; i < reps; i++) {
+            int witness = mode.compareAndExchange(value, current, current + 1);
+            current = (witness == current) ? current + 1 : witness;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package benchmarks.regression;
+
+import com.google.caliper.BeforeExperiment;
+import com.google.caliper.Param;
+import com.google.caliper.api.SkipThisScenarioException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.MpscArrayQueue;
+import java.util.concurrent.SpscArrayQueue;
+
+/**
+ * Measures handing elements from several producer threads to a single consumer thread through
+ * each kind of bounded queue, as logging and metrics code does.
+ */
+public final class BoundedQueueBenchmark {
+    enum Implementation {
+        ARRAY_BLOCKING {
+            @Override Handoff newHandoff(int capacity) {
+                return new BlockingHandoff(new ArrayBlockingQueue<Integer>(capacity));
+            }
+        },
+        LINKED_BLOCKING {
+            @Override Handoff newHandoff(int capacity) {
+                return new BlockingHandoff(new LinkedBlockingQueue<Integer>(capacity));
+            }
+        },
+        MPSC {
+            @Override Handoff newHandoff(int capacity) {
+                final MpscArrayQueue<Integer> queue = new MpscArrayQueue<Integer>(capacity);
+                return new Handoff() {
+                    @Override void put(Integer e) {
+                        while (!queue.offer(e)) {
+                            Thread.yield();
+                        }
+                    }
+                    @Override int drain(int limit) {
+                        int n = queue.drain(this::consume, limit);
+                        if (n == 0) {
+                            Thread.yield();
+                        }
+                        return n;
+                    }
+                };
+            }
+        },
+        SPSC {
+            @Override boolean supportsProducers(int producerCount) {
+                return producerCount == 1;
+            }
+            @Override Handoff newHandoff(int capacity) {
+                final SpscArrayQueue<Integer> queue = new SpscArrayQueue<Integer>(capacity);
+                return new Handoff() {
+                    @Override void put(Integer e) {
+                        while (!queue.offer(e)) {
+                            Thread.yield();
+                        }
+                    }
+                    @Override int drain(int limit) {
+                        int n = queue.drain(this::consume, limit);
+                        if (n == 0) {
+                            Thread.yield();
+                        }
+                        return n;
+                    }
+                };
+            }
+        };
+
+        boolean supportsProducers(int producerCount) {
+            return true;
+        }
+
+        abstract Handoff newHandoff(int capacity);
+    }
+
+    static abstract class Handoff {
+        long sum;
+
+        /** Adds {@code e}, waiting for space if necessary. */
+        abstract void put(Integer e) throws InterruptedException;
+
+        /** Removes up to {@code limit} elements, waiting for at least one if the queue blocks. */
+        abstract int drain(int limit) throws InterruptedException;
+
+        void consume(Integer e) {
+            sum += e;
+        }
+    }
+
+    static final class BlockingHandoff extends Handoff {
+        private final BlockingQueue<Integer> queue;
+        private final List<Integer> batch = new ArrayList<Integer>();
+
+        BlockingHandoff(BlockingQueue<Integer> queue) {
+            this.queue = queue;
+        }
+
+        @Override void put(Integer e) throws InterruptedException {
+            queue.put(e);
+        }
+
+        @Override int drain(int limit) throws InterruptedException {
+            consume(queue.take());
+            int n = 1 + queue.drainTo(batch, limit - 1);
+            for (int i = 0; i < batch.size(); i++) {
+                consume(batch.get(i));
+            }
+            batch.clear();
+            return n;
+        }
+    }
+
+    private static final int CAPACITY = 1024;
+    private static final int ELEMENTS_PER_PRODUCER = 10000;
+    private static final int DRAIN_LIMIT = 64;
+
+    @Param({"ARRAY_BLOCKING", "LINKED_BLOCKING", "MPSC", "SPSC"})
+    private Implementation implementation;
+
+    @Param({"1", "2", "4", "8"})
+    private int producerCount;
+
+    private Integer[] elements;
+
+    @BeforeExperiment
+    protected void setUp() throws Exception {
+        if (!implementation.supportsProducers(producerCount)) {
+            throw new SkipThisScenarioException();
+        }
+        elements = new Integer[ELEMENTS_PER_PRODUCER];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = i;
+        }
+    }
+
+    public long timeHandoff(int reps) throws Exception {
+        long sum = 0;
+        for (int rep = 0; rep < reps; ++rep) {
+            final Handoff handoff = implementation.newHandoff(CAPACITY);
+            final CountDownLatch start = new CountDownLatch(1);
+            Thread[] producers = new Thread[producerCount];
+            for (int i = 0; i < producerCount; ++i) {
+                producers[i] = new Thread() {
+                    @Override public void run() {
+                        try {
+                            start.await();
+                            for (Integer e : elements) {
+                                handoff.put(e);
+                            }
+                        } catch (InterruptedException e) {
+                            throw new AssertionError(e);
+                        }
+                    }
+                };
+                producers[i].start();
+            }
+            start.countDown();
+            for (int remaining = producerCount * ELEMENTS_PER_PRODUCER; remaining > 0; ) {
+                remaining -= handoff.drain(Math.min(remaining, DRAIN_LIMIT));
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            sum += handoff.sum;
+        }
+        return sum;
+    }
+}
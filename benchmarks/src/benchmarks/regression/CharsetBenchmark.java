@@ -17,6 +17,11 @@
 package benchmarks.regression;
 
 import com.google.caliper.Param;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
 
 public class CharsetBenchmark {
     @Param({ "1", "10", "100", "1000", "10000" })
@@ -38,38 +43,89 @@ public class CharsetBenchmark {
     })
     private String name;
 
+    enum Content {
+        ASCII(0, 0),
+        // Mostly ASCII, with one char in 16 from Latin-1 Supplement.
+        MOSTLY_ASCII(16, 0xe0),
+        // All CJK Unified Ideographs, which are three bytes each in UTF-8.
+        CJK(1, 0x4e00);
+
+        final int every;
+        final int base;
+
+        Content(int every, int base) {
+            this.every = every;
+            this.base = base;
+        }
+    }
+
+    @Param
+    private Content content;
+
     public void time_new_String_BString(int reps) throws Exception {
-        byte[] bytes = makeBytes(makeString(length));
+        byte[] bytes = makeBytes(makeString(length, content));
         for (int i = 0; i < reps; ++i) {
             new String(bytes, name);
         }
     }
 
     public void time_new_String_BII(int reps) throws Exception {
-      byte[] bytes = makeBytes(makeString(length));
+      byte[] bytes = makeBytes(makeString(length, content));
       for (int i = 0; i < reps; ++i) {
         new String(bytes, 0, bytes.length);
       }
     }
 
     public void time_new_String_BIIString(int reps) throws Exception {
-      byte[] bytes = makeBytes(makeString(length));
+      byte[] bytes = makeBytes(makeString(length, content));
       for (int i = 0; i < reps; ++i) {
         new String(bytes, 0, bytes.length, name);
       }
     }
 
     public void time_String_getBytes(int reps) throws Exception {
-        String string = makeString(length);
+        String string = makeString(length, content);
         for (int i = 0; i < reps; ++i) {
             string.getBytes(name);
         }
     }
 
-    private static String makeString(int length) {
+    public void time_CharsetDecoder_decode(int reps) throws Exception {
+        Charset charset = Charset.forName(name);
+        ByteBuffer in = ByteBuffer.wrap(makeString(length, content).getBytes(charset));
+        CharBuffer out = CharBuffer.allocate(length);
+        CharsetDecoder decoder = charset.newDecoder();
+        for (int i = 0; i < reps; ++i) {
+            in.clear();
+            out.clear();
+            decoder.reset();
+            decoder.decode(in, out, true);
+            decoder.flush(out);
+        }
+    }
+
+    public void time_CharsetEncoder_encode(int reps) throws Exception {
+        Charset charset = Charset.forName(name);
+        CharBuffer in = CharBuffer.wrap(makeString(length, content).toCharArray());
+        CharsetEncoder encoder = charset.newEncoder();
+        ByteBuffer out = ByteBuffer.allocate((int) (length * encoder.maxBytesPerChar()) + 4);
+        for (int i = 0; i < reps; ++i) {
+            in.clear();
+            out.clear();
+            encoder.reset();
+            encoder.encode(in, out, true);
+            encoder.flush(out);
+        }
+    }
+
+    private static String makeString(int length, Content content) {
         StringBuilder result = new StringBuilder(length);
         for (int i = 0; i < length; ++i) {
-            result.append('A' + (i % 26));
+            if (content.every != 0 && i % content.every == 0) {
+                result.append((char) (content.base + (i % 26)));
+            } else {
+                result.append('A' + (i % 26));
+            }
         }
         return result.toString();
     }
@@ -16,9 +16,43 @@
 
 package benchmarks.regression;
 
+import android.system.OsConstants;
+import android.system.StructDirent;
+import com.google.caliper.AfterExperiment;
+import com.google.caliper.BeforeExperiment;
 import java.io.File;
+import java.util.stream.Stream;
 
 public final class FileBenchmark {
+    // Large enough that materializing the whole listing dominates.
+    private static final int DIRECTORY_ENTRIES = 100000;
+
+    private File directory;
+
+    @BeforeExperiment
+    protected void setUp() throws Exception {
+        directory = File.createTempFile("FileBenchmark", null);
+        directory.delete();
+        directory.mkdir();
+        for (int i = 0; i < DIRECTORY_ENTRIES; ++i) {
+            // Every tenth entry is a directory, so the type checks have something to find.
+            File entry = new File(directory, "entry" + i);
+            if (i % 10 == 0) {
+                entry.mkdir();
+            } else {
+                entry.createNewFile();
+            }
+        }
+    }
+
+    @AfterExperiment
+    protected void tearDown() throws Exception {
+        for (File entry : directory.listFiles()) {
+            entry.delete();
+        }
+        directory.delete();
+    }
+
     public void timeFileCreationWithEmptyChild(int nreps) {
         for (int i = 0; i < nreps; ++i) {
             new File("/foo", "/");
@@ -30,4 +64,44 @@ public final class FileBenchmark {
             new File("/foo//bar//baz//bag", "/baz/");
         }
     }
+
+    public int timeList(int nreps) {
+        int count = 0;
+        for (int i = 0; i < nreps; ++i) {
+            count += directory.list().length;
+        }
+        return count;
+    }
+
+    public int timeListNames(int nreps) throws Exception {
+        int count = 0;
+        for (int i = 0; i < nreps; ++i) {
+            try (Stream<String> names = directory.listNames()) {
+                count += names.count();
+            }
+        }
+        return count;
+    }
+
+    public int timeListFilesIsDirectory(int nreps) {
+        int count = 0;
+        for (int i = 0; i < nreps; ++i) {
+            for (File entry : directory.listFiles()) {
+                if (entry.isDirectory()) {
+                    ++count;
+                }
+            }
+        }
+        return count;
+    }
+
+    public int timeListEntriesDirectoryType(int nreps) throws Exception {
+        int count = 0;
+        for (int i = 0; i < nreps; ++i) {
+            try (Stream<StructDirent> entries = directory.listEntries()) {
+                count += entries.filter(entry -> entry.d_type == OsConstants.DT_DIR).count();
+            }
+        }
+        return count;
+    }
 }
@@ -16,13 +16,25 @@
 
 package benchmarks.regression;
 
+import java.util.CompiledFormat;
 import java.util.Formatter;
 import java.util.Locale;
 
 /**
- * Compares Formatter against hand-written StringBuilder code.
+ * Compares Formatter, String.format and CompiledFormat against hand-written StringBuilder code.
  */
 public class FormatterBenchmark {
+    private static final CompiledFormat ONE_INT =
+            CompiledFormat.compile("this is a reasonably short string that has an int %d in it");
+    private static final CompiledFormat ONE_HEX_INT =
+            CompiledFormat.compile("this is a reasonably short string that has an int %x in it");
+    private static final CompiledFormat ONE_FLOAT =
+            CompiledFormat.compile("this is a reasonably short string that has a float %f in it");
+    private static final CompiledFormat ONE_FLOAT_DOT2F =
+            CompiledFormat.compile("this is a reasonably short string that has a float %.2f in it");
+    private static final CompiledFormat ONE_STRING =
+            CompiledFormat.compile("this is a reasonably short string that has a string %s in it");
+
     public void timeFormatter_NoFormatting(int reps) {
         for (int i = 0; i < reps; i++) {
             Formatter f = new Formatter();
@@ -128,4 +140,90 @@ public class FormatterBenchmark {
             sb.append(" in it");
         }
     }
+
+    public void timeStringFormat_OneInt(int reps) {
+        Integer value = Integer.valueOf(1024); // We're not trying to benchmark boxing here.
+        for (int i = 0; i < reps; i++) {
+            String.format("this is a reasonably short string that has an int %d in it", value);
+        }
+    }
+
+    public void timeCompiledFormat_OneInt(int reps) {
+        Integer value = Integer.valueOf(1024); // We're not trying to benchmark boxing here.
+        for (int i = 0; i < reps; i++) {
+            ONE_INT.format(Locale.US, value);
+        }
+    }
+
+    public void timeCompiledFormat_OneIntArabic(int reps) {
+        Locale arabic = new Locale("ar");
+        Integer value = Integer.valueOf(1024); // We're not trying to benchmark boxing here.
+        for (int i = 0; i < reps; i++) {
+            ONE_INT.format(arabic, value);
+        }
+    }
+
+    public void timeCompiledFormat_OneIntReusedStringBuilder(int reps) throws Exception {
+        Integer value = Integer.valueOf(1024); // We're not trying to benchmark boxing here.
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < reps; i++) {
+            sb.setLength(0);
+            ONE_INT.formatTo(sb, Locale.US, value);
+        }
+    }
+
+    public void timeStringFormat_OneHexInt(int reps) {
+        Integer value = Integer.valueOf(1024); // We're not trying to benchmark boxing here.
+        for (int i = 0; i < reps; i++) {
+            String.format("this is a reasonably short string that has an int %x in it", value);
+        }
+    }
+
+    public void timeCompiledFormat_OneHexInt(int reps) {
+        Integer value = Integer.valueOf(1024); // We're not trying to benchmark boxing here.
+        for (int i = 0; i < reps; i++) {
+            ONE_HEX_INT.format(Locale.US, value);
+        }
+    }
+
+    public void timeStringFormat_OneFloat(int reps) {
+        Float value = Float.valueOf(10.24f); // We're not trying to benchmark boxing here.
+        for (int i = 0; i < reps; i++) {
+            String.format("this is a reasonably short string that has a float %f in it", value);
+        }
+    }
+
+    public void timeCompiledFormat_OneFloat(int reps) {
+        Float value = Float.valueOf(10.24f); // We're not trying to benchmark boxing here.
+        for (int i = 0; i < reps; i++) {
+            ONE_FLOAT.format(Locale.US, value);
+        }
+    }
+
+    public void timeCompiledFormat_OneExactFloat_dot2f(int reps) {
+        Float value = Float.valueOf(10.25f); // We're not trying to benchmark boxing here.
+        for (int i = 0; i < reps; i++) {
+            ONE_FLOAT_DOT2F.format(Locale.US, value);
+        }
+    }
+
+    public void timeStringFormat_OneString(int reps) {
+        for (int i = 0; i < reps; i++) {
+            String.format("this is a reasonably short string that has a string %s in it", "hello");
+        }
+    }
+
+    public void timeCompiledFormat_OneString(int reps) {
+        for (int i = 0; i < reps; i++) {
+            ONE_STRING.format(Locale.US, "hello");
+        }
+    }
+
+    public void timeCompiledFormat_OneStringReusedStringBuilder(int reps) throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < reps; i++) {
+            sb.setLength(0);
+            ONE_STRING.formatTo(sb, Locale.US, "hello");
+        }
+    }
 }
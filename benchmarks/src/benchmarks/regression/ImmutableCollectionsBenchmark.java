@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package benchmarks.regression;
+
+import com.google.caliper.BeforeExperiment;
+import com.google.caliper.Param;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compares the immutable collections of {@code List.of}, {@code Set.of} and {@code Map.of} with
+ * unmodifiable wrappers around copies. The {@code timeCreate} benchmarks allocate nothing but
+ * the collection, so running them with the allocation instrument ({@code -i allocation})
+ * reports the footprint of each kind of collection.
+ */
+public final class ImmutableCollectionsBenchmark {
+    enum Kind { IMMUTABLE, UNMODIFIABLE }
+
+    @Param({"IMMUTABLE", "UNMODIFIABLE"})
+    private Kind kind;
+
+    @Param({"1", "2", "4", "16", "64"})
+    private int size;
+
+    private String[] elements;
+    private Object[] keysAndValues;
+    private List<String> list;
+    private Set<String> set;
+    private Map<String, String> map;
+
+    @BeforeExperiment
+    protected void setUp() throws Exception {
+        elements = new String[size];
+        keysAndValues = new Object[size * 2];
+        for (int i = 0; i < size; i++) {
+            elements[i] = "element-" + i;
+            keysAndValues[i * 2] = elements[i];
+            keysAndValues[i * 2 + 1] = elements[i];
+        }
+        list = newList();
+        set = newSet();
+        map = newMap();
+    }
+
+    private List<String> newList() {
+        if (kind == Kind.IMMUTABLE) {
+            return List.of(elements);
+        }
+        return Collections.unmodifiableList(new ArrayList<String>(Arrays.asList(elements)));
+    }
+
+    private Set<String> newSet() {
+        if (kind == Kind.IMMUTABLE) {
+            return Set.of(elements);
+        }
+        return Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(elements)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> newMap() {
+        if (kind == Kind.IMMUTABLE) {
+            Map.Entry<String, String>[] entries = new Map.Entry[size];
+            for (int i = 0; i < size; i++) {
+                entries[i] = Map.entry(elements[i], elements[i]);
+            }
+            return Map.ofEntries(entries);
+        }
+        Map<String, String> result = new HashMap<String, String>();
+        for (String e : elements) {
+            result.put(e, e);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    public int timeCreateList(int reps) {
+        int result = 0;
+        for (int rep = 0; rep < reps; ++rep) {
+            result += newList().size();
+        }
+        return result;
+    }
+
+    public int timeCreateSet(int reps) {
+        int result = 0;
+        for (int rep = 0; rep < reps; ++rep) {
+            result += newSet().size();
+        }
+        return result;
+    }
+
+    public int timeCreateMap(int reps) {
+        int result = 0;
+        for (int rep = 0; rep < reps; ++rep) {
+            result += newMap().size();
+        }
+        return result;
+    }
+
+    public int timeIterateList(int reps) {
+        int result = 0;
+        for (int rep = 0; rep < reps; ++rep) {
+            for (String e : list) {
+                result += e.length();
+            }
+        }
+        return result;
+    }
+
+    public int timeIterateSet(int reps) {
+        int result = 0;
+        for (int rep = 0; rep < reps; ++rep) {
+            for (String e : set) {
+                result += e.length();
+            }
+        }
+        return result;
+    }
+
+    public int timeIterateMap(int reps) {
+        int result = 0;
+        for (int rep = 0; rep < reps; ++rep) {
+            for (Map.Entry<String, String> e : map.entrySet()) {
+                result += e.getValue().length();
+            }
+        }
+        return result;
+    }
+
+    public int timeSetContains(int reps) {
+        int result = 0;
+        for (int rep = 0; rep < reps; ++rep) {
+            if (set.contains(elements[rep % size])) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    public int timeMapGet(int reps) {
+        int result = 0;
+        for (int rep = 0; rep < reps; ++rep) {
+            result += map.get(elements[rep % size]).length();
+        }
+        return result;
+    }
+}
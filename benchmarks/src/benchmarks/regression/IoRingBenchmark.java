@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+
+package benchmarks.regression;
+
+import com.google.caliper.AfterExperiment;
+import com.google.caliper.BeforeExperiment;
+import com.google.caliper.Param;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.nio.ByteBuffer;
+import libcore.io.IoRing;
+import libcore.io.IoUtils;
+import libcore.io.Libcore;
+
+import static android.system.OsConstants.O_CREAT;
+import static android.system.OsConstants.O_RDWR;
+
+/**
+ * Compares positioned reads and writes issued one system call at a time with the same
+ * operations batched through an {@link IoRing}.
+ */
+public final class IoRingBenchmark {
+    @Param({"4096"})
+    private int bufferSize;
+
+    @Param({"1", "16", "64"})
+    private int batchSize;
+
+    private File file;
+    private FileDescriptor fd;
+    private ByteBuffer[] buffers;
+    private IoRing ring;
+    private IoRing.Completion[] completions;
+
+    @BeforeExperiment
+    protected void setUp() throws Exception {
+        file = File.createTempFile("IoRingBenchmark", null);
+        fd = Libcore.os.open(file.getPath(), O_RDWR | O_CREAT, 0600);
+        buffers = new ByteBuffer[batchSize];
+        for (int i = 0; i < batchSize; ++i) {
+            buffers[i] = ByteBuffer.allocateDirect(bufferSize);
+        }
+        // Opt in to io_uring(7); processes under a seccomp filter still use the fallback.
+        System.setProperty(IoRing.ENABLED_PROPERTY, "true");
+        ring = IoRing.open(batchSize);
+        completions = new IoRing.Completion[batchSize];
+        // Give the reads something to read.
+        timePwrite(1);
+    }
+
+    @AfterExperiment
+    protected void tearDown() throws Exception {
+        ring.close();
+        IoUtils.closeQuietly(fd);
+        file.delete();
+    }
+
+    public void timePwrite(int nreps) throws Exception {
+        for (int rep = 0; rep < nreps; ++rep) {
+            for (int i = 0; i < batchSize; ++i) {
+                buffers[i].clear();
+                Libcore.os.pwrite(fd, buffers[i], (long) i * bufferSize);
+            }
+        }
+    }
+
+    public void timeIoRingPwrite(int nreps) throws Exception {
+        for (int rep = 0; rep < nreps; ++rep) {
+            for (int i = 0; i < batchSize; ++i) {
+                buffers[i].clear();
+                ring.pwrite(fd, buffers[i], (long) i * bufferSize, i);
+            }
+            ring.submit();
+            ring.complete(completions, batchSize);
+        }
+    }
+
+    public void timePread(int nreps) throws Exception {
+        for (int rep = 0; rep < nreps; ++rep) {
+            for (int i = 0; i < batchSize; ++i) {
+                buffers[i].clear();
+                Libcore.os.pread(fd, buffers[i], (long) i * bufferSize);
+            }
+        }
+    }
+
+    public void timeIoRingPread(int nreps) throws Exception {
+        for (int rep = 0; rep < nreps; ++rep) {
+            for (int i = 0; i < batchSize; ++i) {
+                buffers[i].clear();
+                ring.pread(fd, buffers[i], (long) i * bufferSize, i);
+            }
+            ring.submit();
+            ring.complete(completions, batchSize);
+        }
+    }
+}
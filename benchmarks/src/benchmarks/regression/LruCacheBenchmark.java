@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+
+package benchmarks.regression;
+
+import com.google.caliper.BeforeExperiment;
+import com.google.caliper.Param;
+import java.util.concurrent.CountDownLatch;
+import libcore.util.BasicLruCache;
+import libcore.util.ConcurrentLruCache;
+
+/**
+ * Compares {@link BasicLruCache} with {@link ConcurrentLruCache} when several threads read
+ * the same mostly-hitting cache, as they do {@code java.net.AddressCache} under DNS-heavy load.
+ */
+public final class LruCacheBenchmark {
+    enum Implementation {
+        BASIC {
+            @Override Cache newCache(int maxSize) {
+                final BasicLruCache<Integer, Integer> cache =
+                        new BasicLruCache<Integer, Integer>(maxSize) {
+                    @Override protected Integer create(Integer key) {
+                        return key;
+                    }
+                };
+                return new Cache() {
+                    @Override Integer get(Integer key) {
+                        return cache.get(key);
+                    }
+                };
+            }
+        },
+        CONCURRENT {
+            @Override Cache newCache(int maxSize) {
+                final ConcurrentLruCache<Integer, Integer> cache =
+                        new ConcurrentLruCache<Integer, Integer>(maxSize) {
+                    @Override protected Integer create(Integer key) {
+                        return key;
+                    }
+                };
+                return new Cache() {
+                    @Override Integer get(Integer key) {
+                        return cache.get(key);
+                    }
+                };
+            }
+        };
+
+        abstract Cache newCache(int maxSize);
+    }
+
+    static abstract class Cache {
+        abstract Integer get(Integer key);
+    }
+
+    private static final int MAX_SIZE = 16;
+    private static final int GETS_PER_THREAD = 10000;
+
+    @Param({"BASIC", "CONCURRENT"})
+    private Implementation implementation;
+
+    @Param({"1", "2", "4", "8"})
+    private int threadCount;
+
+    // How many distinct keys are read, relative to the cache size. Above 100 the cache misses.
+    @Param({"50", "125"})
+    private int keySpacePercent;
+
+    private Cache cache;
+    private Integer[] keys;
+
+    @BeforeExperiment
+    protected void setUp() throws Exception {
+        cache = implementation.newCache(MAX_SIZE);
+        keys = new Integer[MAX_SIZE * keySpacePercent / 100];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i;
+        }
+    }
+
+    public void timeGet(int reps) throws Exception {
+        for (int rep = 0; rep < reps; ++rep) {
+            final CountDownLatch start = new CountDownLatch(1);
+            Thread[] threads = new Thread[threadCount];
+            for (int i = 0; i < threadCount; ++i) {
+                final int offset = i;
+                threads[i] = new Thread() {
+                    @Override public void run() {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                        for (int j = 0; j < GETS_PER_THREAD; ++j) {
+                            cache.get(keys[(j + offset) % keys.length]);
+                        }
+                    }
+                };
+                threads[i].start();
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package benchmarks.regression;
+
+import com.google.caliper.BeforeExperiment;
+import com.google.caliper.Param;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares ICU with the pure-Java regex engine on common workloads.
+ */
+public class RegexBenchmark {
+    enum Engine {
+        ICU(0),
+        JAVA(Pattern.JAVA_ENGINE);
+
+        final int flags;
+
+        Engine(int flags) {
+            this.flags = flags;
+        }
+    }
+
+    @Param private Engine engine;
+
+    @Param({ "100", "10000" }) private int lines;
+
+    private Pattern email;
+    private Pattern csv;
+    private Pattern whitespace;
+    private Pattern number;
+    private String[] addresses;
+    private String text;
+
+    @BeforeExperiment
+    protected void setUp() throws Exception {
+        email = Pattern.compile("[\\w.+-]+@[\\w-]+(\\.[\\w-]+)+", engine.flags);
+        csv = Pattern.compile("\\s*,\\s*", engine.flags);
+        whitespace = Pattern.compile("\\s+", engine.flags);
+        number = Pattern.compile("-?\\d+(\\.\\d+)?", engine.flags);
+        addresses = new String[] {
+            "joe@example.com", "ann.smith+news@mail.example.org", "not an address", "x@y",
+        };
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            sb.append("item").append(i).append(" ,  ").append(i * 31 % 1000).append(".5, ")
+                    .append(-i).append(",\tsome   free   text ,last\n");
+        }
+        text = sb.toString();
+    }
+
+    public void timeValidate(int reps) {
+        for (int i = 0; i < reps; ++i) {
+            for (String address : addresses) {
+                email.matcher(address).matches();
+            }
+        }
+    }
+
+    public void timeSplit(int reps) {
+        for (int i = 0; i < reps; ++i) {
+            csv.split(text);
+        }
+    }
+
+    public void timeReplaceAll(int reps) {
+        for (int i = 0; i < reps; ++i) {
+            whitespace.matcher(text).replaceAll(" ");
+        }
+    }
+
+    public void timeFindAll(int reps) {
+        for (int i = 0; i < reps; ++i) {
+            Matcher m = number.matcher(text);
+            while (m.find()) {
+                m.end();
+            }
+        }
+    }
+}
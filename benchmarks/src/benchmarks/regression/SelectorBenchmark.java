@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+
+package benchmarks.regression;
+
+import com.google.caliper.AfterExperiment;
+import com.google.caliper.BeforeExperiment;
+import com.google.caliper.Param;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.spi.SelectorProvider;
+import java.util.function.Consumer;
+
+/**
+ * How does the latency of a select() that finds a single ready channel scale with the number
+ * of registered keys?
+ */
+public class SelectorBenchmark {
+    enum Provider {
+        EPOLL {
+            @Override SelectorProvider create() {
+                return new sun.nio.ch.EPollSelectorProvider();
+            }
+        },
+        POLL {
+            @Override SelectorProvider create() {
+                return new sun.nio.ch.PollSelectorProvider();
+            }
+        };
+
+        abstract SelectorProvider create();
+    }
+
+    @Param private Provider provider;
+    @Param({"16", "256", "1024", "4096"}) private int registeredKeys;
+
+    private Selector selector;
+    private Pipe[] pipes;
+    private Pipe readyPipe;
+    private final ByteBuffer one = ByteBuffer.allocate(1);
+    private final Consumer<SelectionKey> drain = key -> {
+        one.clear();
+        try {
+            ((Pipe.SourceChannel) key.channel()).read(one);
+        } catch (java.io.IOException e) {
+            throw new AssertionError(e);
+        }
+    };
+
+    @BeforeExperiment
+    protected void setUp() throws Exception {
+        SelectorProvider selectorProvider = provider.create();
+        selector = selectorProvider.openSelector();
+        pipes = new Pipe[registeredKeys];
+        for (int i = 0; i < registeredKeys; ++i) {
+            Pipe pipe = selectorProvider.openPipe();
+            pipe.source().configureBlocking(false);
+            pipe.source().register(selector, SelectionKey.OP_READ);
+            pipes[i] = pipe;
+        }
+        readyPipe = pipes[registeredKeys / 2];
+    }
+
+    @AfterExperiment
+    protected void tearDown() throws Exception {
+        for (Pipe pipe : pipes) {
+            pipe.sink().close();
+            pipe.source().close();
+        }
+        selector.close();
+    }
+
+    public void timeSelectOneReady(int reps) throws Exception {
+        for (int i = 0; i < reps; ++i) {
+            one.clear();
+            readyPipe.sink().write(one);
+            selector.select();
+            selector.selectedKeys().clear();
+            one.clear();
+            readyPipe.source().read(one);
+        }
+    }
+
+    public void timeSelectOneReadyWithAction(int reps) throws Exception {
+        for (int i = 0; i < reps; ++i) {
+            one.clear();
+            readyPipe.sink().write(one);
+            selector.select(drain);
+        }
+    }
+
+    public void timeSelectNowNoneReady(int reps) throws Exception {
+        for (int i = 0; i < reps; ++i) {
+            selector.selectNow();
+        }
+    }
+}
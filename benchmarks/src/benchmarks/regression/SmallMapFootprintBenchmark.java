@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package benchmarks.regression;
+
+import com.google.caliper.BeforeExperiment;
+import com.google.caliper.Param;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import libcore.util.CompactHashMap;
+
+/**
+ * Builds the kind of tiny map that parsed JSON objects and HTTP headers produce. Each rep builds
+ * one map and nothing else, so running with the allocation instrument ({@code -i allocation})
+ * reports the footprint of a map of {@code entryCount} entries, resizing garbage included.
+ */
+public final class SmallMapFootprintBenchmark {
+    enum Implementation {
+        HASH_MAP {
+            @Override Map<String, String> newMap() {
+                return new HashMap<String, String>();
+            }
+        },
+        LINKED_HASH_MAP {
+            @Override Map<String, String> newMap() {
+                return new LinkedHashMap<String, String>();
+            }
+        },
+        COMPACT_HASH_MAP {
+            @Override Map<String, String> newMap() {
+                return new CompactHashMap<String, String>();
+            }
+        };
+
+        abstract Map<String, String> newMap();
+    }
+
+    @Param({"HASH_MAP", "LINKED_HASH_MAP", "COMPACT_HASH_MAP"})
+    private Implementation implementation;
+
+    @Param({"2", "4", "8", "16"})
+    private int entryCount;
+
+    private String[] keys;
+    private Map<String, String> last;
+
+    @BeforeExperiment
+    protected void setUp() throws Exception {
+        keys = new String[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            keys[i] = "header-" + i;
+        }
+    }
+
+    public int timeBuild(int reps) {
+        int result = 0;
+        for (int rep = 0; rep < reps; ++rep) {
+            Map<String, String> map = implementation.newMap();
+            for (String key : keys) {
+                map.put(key, key);
+            }
+            result += map.size();
+            last = map;
+        }
+        return result;
+    }
+
+    public int timeBuildAndGet(int reps) {
+        int result = 0;
+        for (int rep = 0; rep < reps; ++rep) {
+            Map<String, String> map = implementation.newMap();
+            for (String key : keys) {
+                map.put(key, key);
+            }
+            for (String key : keys) {
+                result += map.get(key).length();
+            }
+        }
+        return result;
+    }
+}
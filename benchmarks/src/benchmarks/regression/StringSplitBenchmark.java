@@ -17,6 +17,8 @@
 package benchmarks.regression;
 
 import java.util.regex.Pattern;
+import java.util.regex.Splitter;
+import java.util.stream.StreamSupport;
 
 public class StringSplitBenchmark {
     public void timeStringSplitComma(int reps) {
@@ -56,4 +58,56 @@ public class StringSplitBenchmark {
             "this,is,a,harder,example".split("[,]");
         }
     }
+
+    public void timeStringSplitterComma(int reps) {
+        for (int i = 0; i < reps; ++i) {
+            Splitter fields = "this,is,a,simple,example".splitter(",");
+            while (fields.next()) {
+                fields.end();
+            }
+        }
+    }
+
+    public void timeStringSplitterHard(int reps) {
+        for (int i = 0; i < reps; ++i) {
+            Splitter fields = "this,is,a,harder,example".splitter("[,]");
+            while (fields.next()) {
+                fields.end();
+            }
+        }
+    }
+
+    public void timeStringSplitLarge(int reps) {
+        String input = LARGE_INPUT;
+        for (int i = 0; i < reps; ++i) {
+            input.split(",");
+        }
+    }
+
+    public void timeStringSplitterLarge(int reps) {
+        String input = LARGE_INPUT;
+        for (int i = 0; i < reps; ++i) {
+            Splitter fields = input.splitter(",");
+            while (fields.next()) {
+                fields.end();
+            }
+        }
+    }
+
+    public void timeStringSplitterLargeParallel(int reps) {
+        String input = LARGE_INPUT;
+        for (int i = 0; i < reps; ++i) {
+            StreamSupport.stream(input.splitter(",").spliterator(), true)
+                    .mapToInt(CharSequence::length).sum();
+        }
+    }
+
+    private static final String LARGE_INPUT;
+    static {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            sb.append("field").append(i).append(',');
+        }
+        LARGE_INPUT = sb.toString();
+    }
 }
@@ -26,7 +26,11 @@ public class StringToBytesBenchmark {
         L_16(makeString(16)),
         L_64(makeString(64)),
         L_256(makeString(256)),
-        L_512(makeString(512));
+        L_512(makeString(512)),
+        A_16(makeAsciiString(16)),
+        A_512(makeAsciiString(512)),
+        A_4096(makeAsciiString(4096)),
+        CJK_512(makeCjkString(512));
 
         private final String value;
 
@@ -43,6 +47,22 @@ public class StringToBytesBenchmark {
         return new String(chars);
     }
 
+    private static final String makeAsciiString(int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; ++i) {
+            chars[i] = (char) (' ' + (i % 95));
+        }
+        return new String(chars);
+    }
+
+    private static final String makeCjkString(int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; ++i) {
+            chars[i] = (char) (0x4e00 + i);
+        }
+        return new String(chars);
+    }
+
     @Param StringLengths string;
 
     public void timeGetBytesUtf8(int nreps) {
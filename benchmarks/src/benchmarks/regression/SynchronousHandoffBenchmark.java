@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package benchmarks.regression;
+
+import com.google.caliper.BeforeExperiment;
+import com.google.caliper.Param;
+import com.google.caliper.api.SkipThisScenarioException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Exchanger;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.SpinPolicy;
+import java.util.concurrent.SynchronousQueue;
+
+/**
+ * Measures the latency of direct hand-offs from one or more producer threads to a single
+ * consumer thread, with each {@link SpinPolicy}. Each rep hands off
+ * {@code ELEMENTS_PER_PRODUCER} elements per producer, so dividing the time per rep by that
+ * count gives the mean hand-off latency.
+ */
+public final class SynchronousHandoffBenchmark {
+    enum Policy {
+        FIXED {
+            @Override SpinPolicy newSpinPolicy() {
+                return SpinPolicy.fixed();
+            }
+        },
+        ADAPTIVE {
+            @Override SpinPolicy newSpinPolicy() {
+                return SpinPolicy.adaptive();
+            }
+        };
+
+        abstract SpinPolicy newSpinPolicy();
+    }
+
+    enum Implementation {
+        SYNCHRONOUS_QUEUE {
+            @Override Handoff newHandoff(SpinPolicy policy) {
+                return new QueueHandoff(new SynchronousQueue<Integer>(false, policy));
+            }
+        },
+        FAIR_SYNCHRONOUS_QUEUE {
+            @Override Handoff newHandoff(SpinPolicy policy) {
+                return new QueueHandoff(new SynchronousQueue<Integer>(true, policy));
+            }
+        },
+        LINKED_TRANSFER_QUEUE {
+            @Override Handoff newHandoff(SpinPolicy policy) {
+                final LinkedTransferQueue<Integer> queue = new LinkedTransferQueue<Integer>();
+                queue.setSpinPolicy(policy);
+                return new Handoff() {
+                    @Override void put(Integer e) throws InterruptedException {
+                        queue.transfer(e);
+                    }
+                    @Override Integer take() throws InterruptedException {
+                        return queue.take();
+                    }
+                };
+            }
+        },
+        EXCHANGER {
+            @Override boolean supportsProducers(int producerCount) {
+                // Producers would also exchange with each other.
+                return producerCount == 1;
+            }
+            @Override Handoff newHandoff(SpinPolicy policy) {
+                final Exchanger<Integer> exchanger = new Exchanger<Integer>(policy);
+                return new Handoff() {
+                    @Override void put(Integer e) throws InterruptedException {
+                        exchanger.exchange(e);
+                    }
+                    @Override Integer take() throws InterruptedException {
+                        return exchanger.exchange(null);
+                    }
+                };
+            }
+        };
+
+        boolean supportsProducers(int producerCount) {
+            return true;
+        }
+
+        abstract Handoff newHandoff(SpinPolicy policy);
+    }
+
+    static abstract class Handoff {
+        /** Hands {@code e} to the consumer, waiting until it has been taken. */
+        abstract void put(Integer e) throws InterruptedException;
+
+        /** Waits for a producer and takes its element. */
+        abstract Integer take() throws InterruptedException;
+    }
+
+    static final class QueueHandoff extends Handoff {
+        private final SynchronousQueue<Integer> queue;
+
+        QueueHandoff(SynchronousQueue<Integer> queue) {
+            this.queue = queue;
+        }
+
+        @Override void put(Integer e) throws InterruptedException {
+            queue.put(e);
+        }
+
+        @Override Integer take() throws InterruptedException {
+            return queue.take();
+        }
+    }
+
+    private static final int ELEMENTS_PER_PRODUCER = 10000;
+
+    @Param({"SYNCHRONOUS_QUEUE", "FAIR_SYNCHRONOUS_QUEUE", "LINKED_TRANSFER_QUEUE", "EXCHANGER"})
+    private Implementation implementation;
+
+    @Param({"FIXED", "ADAPTIVE"})
+    private Policy policy;
+
+    @Param({"1", "2", "4"})
+    private int producerCount;
+
+    private Integer[] elements;
+
+    @BeforeExperiment
+    protected void setUp() throws Exception {
+        if (!implementation.supportsProducers(producerCount)) {
+            throw new SkipThisScenarioException();
+        }
+        elements = new Integer[ELEMENTS_PER_PRODUCER];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = i;
+        }
+    }
+
+    public long timeHandoff(int reps) throws Exception {
+        long sum = 0;
+        for (int rep = 0; rep < reps; ++rep) {
+            final Handoff handoff = implementation.newHandoff(policy.newSpinPolicy());
+            final CountDownLatch start = new CountDownLatch(1);
+            Thread[] producers = new Thread[producerCount];
+            for (int i = 0; i < producerCount; ++i) {
+                producers[i] = new Thread() {
+                    @Override public void run() {
+                        try {
+                            start.await();
+                            for (Integer e : elements) {
+                                handoff.put(e);
+                            }
+                        } catch (InterruptedException e) {
+                            throw new AssertionError(e);
+                        }
+                    }
+                };
+                producers[i].start();
+            }
+            start.countDown();
+            for (int remaining = producerCount * ELEMENTS_PER_PRODUCER; remaining > 0; --remaining) {
+                sum += handoff.take();
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+        }
+        return sum;
+    }
+}
@@ -24,6 +24,7 @@ import java.io.InputStream;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import libcore.util.IntObjectMap;
 
 /**
  * <pre>   {@code
@@ -60,12 +61,12 @@ public final class BinaryHprofReader {
 
     private final HprofData hprofData = new HprofData(stackTraces);
 
-    private final Map<Integer, String> idToString = new HashMap<Integer, String>();
-    private final Map<Integer, String> idToClassName = new HashMap<Integer, String>();
-    private final Map<Integer, StackTraceElement> idToStackFrame
-            = new HashMap<Integer, StackTraceElement>();
-    private final Map<Integer, HprofData.StackTrace> idToStackTrace
-            = new HashMap<Integer, HprofData.StackTrace>();
+    private final IntObjectMap<String> idToString = new IntObjectMap<String>();
+    private final IntObjectMap<String> idToClassName = new IntObjectMap<String>();
+    private final IntObjectMap<StackTraceElement> idToStackFrame
+            = new IntObjectMap<StackTraceElement>();
+    private final IntObjectMap<HprofData.StackTrace> idToStackTrace
+            = new IntObjectMap<HprofData.StackTrace>();
 
     /**
      * Creates a BinaryHprofReader around the specified {@code
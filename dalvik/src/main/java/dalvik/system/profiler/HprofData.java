@@ -19,12 +19,12 @@ package dalvik.system.profiler;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Map;
 import java.util.Set;
+import libcore.util.IntObjectMap;
 
 /**
  * Represents sampling profiler data. Can be converted to ASCII or
@@ -259,8 +259,8 @@ public final class HprofData {
     /**
      * Map of thread id to a start ThreadEvent
      */
-    private final Map<Integer, ThreadEvent> threadIdToThreadEvent
-            = new HashMap<Integer, ThreadEvent>();
+    private final IntObjectMap<ThreadEvent> threadIdToThreadEvent
+            = new IntObjectMap<ThreadEvent>();
 
     /**
      * Map of stack traces to a mutable sample count. The map is
@@ -16,9 +16,7 @@
 
 package org.apache.harmony.dalvik.ddmc;
 
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Iterator;
+import libcore.util.IntObjectMap;
 
 
 /**
@@ -28,8 +26,8 @@ public class DdmServer {
 
     public static final int CLIENT_PROTOCOL_VERSION = 1;
 
-    private static HashMap<Integer,ChunkHandler> mHandlerMap =
-        new HashMap<Integer,ChunkHandler>();
+    private static IntObjectMap<ChunkHandler> mHandlerMap =
+        new IntObjectMap<ChunkHandler>();
 
     private static final int CONNECTED = 1;
     private static final int DISCONNECTED = 2;
@@ -103,25 +101,23 @@ public class DdmServer {
     /*
      * Called by the VM when the DDM server connects or disconnects.
      */
-    private static void broadcast(int event)
+    private static void broadcast(final int event)
     {
         synchronized (mHandlerMap) {
-            Collection values = mHandlerMap.values();
-            Iterator iter = values.iterator();
-
-            while (iter.hasNext()) {
-                ChunkHandler handler = (ChunkHandler) iter.next();
-                switch (event) {
-                    case CONNECTED:
-                        handler.connected();
-                        break;
-                    case DISCONNECTED:
-                        handler.disconnected();
-                        break;
-                    default:
-                        throw new UnsupportedOperationException();
+            mHandlerMap.forEach(new IntObjectMap.Visitor<ChunkHandler>() {
+                public void visit(int type, ChunkHandler handler) {
+                    switch (event) {
+                        case CONNECTED:
+                            handler.connected();
+                            break;
+                        case DISCONNECTED:
+                            handler.disconnected();
+                            break;
+                        default:
+                            throw new UnsupportedOperationException();
+                    }
                 }
-            }
+            });
         }
     }
 
@@ -0,0 +1,466 @@
+/*
+ * Written by Doug Lea and Martin Buchholz with assistance from
+ * members of JCP JSR-166 Expert Group and released to the public
+ * domain, as explained at
+ * http://creativecommons.org/publicdomain/zero/1.0/
+ */
+
+package jsr166;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+public class Atomic9Test extends JSR166TestCase {
+
+    // android-note: Removed because the CTS runner does a bad job of
+    // retrying tests that have suite() declarations.
+    //
+    // public static void main(String[] args) {
+    //     main(suite(), args);
+    // }
+    // public static Test suite() {
+    //     return new TestSuite(Atomic9Test.class);
+    // }
+
+    /*
+     * Tests of atomic class access-mode methods introduced in JDK9.
+     */
+
+    /**
+     * AtomicInteger getPlain, getOpaque and getAcquire return the
+     * last value set by setPlain, setOpaque and setRelease
+     */
+    public void testIntGetSetModes() {
+        AtomicInteger ai = new AtomicInteger(1);
+        assertEquals(1, ai.getPlain());
+        assertEquals(1, ai.getOpaque());
+        assertEquals(1, ai.getAcquire());
+        ai.setPlain(2);
+        assertEquals(2, ai.get());
+        ai.setOpaque(-3);
+        assertEquals(-3, ai.getPlain());
+        ai.setRelease(4);
+        assertEquals(4, ai.getOpaque());
+        assertEquals(4, ai.getAcquire());
+    }
+
+    /**
+     * AtomicInteger compareAndExchange succeeds in changing value if
+     * equal to expected, and always returns the witness value
+     */
+    public void testIntCompareAndExchange() {
+        AtomicInteger ai = new AtomicInteger(1);
+        assertEquals(1, ai.compareAndExchange(1, 2));
+        assertEquals(2, ai.compareAndExchange(2, -4));
+        assertEquals(-4, ai.get());
+        assertEquals(-4, ai.compareAndExchange(-5, 7));
+        assertEquals(-4, ai.get());
+        assertEquals(-4, ai.compareAndExchangeAcquire(-4, 7));
+        assertEquals(7, ai.compareAndExchangeRelease(7, 3));
+        assertEquals(3, ai.compareAndExchangeAcquire(7, 8));
+        assertEquals(3, ai.compareAndExchangeRelease(7, 8));
+        assertEquals(3, ai.get());
+    }
+
+    /**
+     * AtomicInteger repeated weakCompareAndSet variants succeed in
+     * changing value when equal to expected
+     */
+    public void testIntWeakCompareAndSetModes() {
+        AtomicInteger ai = new AtomicInteger(1);
+        do {} while (!ai.weakCompareAndSetPlain(1, 2));
+        do {} while (!ai.weakCompareAndSetVolatile(2, 3));
+        do {} while (!ai.weakCompareAndSetAcquire(3, 4));
+        do {} while (!ai.weakCompareAndSetRelease(4, 5));
+        assertEquals(5, ai.get());
+        assertFalse(ai.weakCompareAndSetPlain(4, 6));
+        assertFalse(ai.weakCompareAndSetVolatile(4, 6));
+        assertFalse(ai.weakCompareAndSetAcquire(4, 6));
+        assertFalse(ai.weakCompareAndSetRelease(4, 6));
+        assertEquals(5, ai.get());
+    }
+
+    /**
+     * AtomicLong getPlain, getOpaque and getAcquire return the last
+     * value set by setPlain, setOpaque and setRelease
+     */
+    public void testLongGetSetModes() {
+        AtomicLong al = new AtomicLong(1L);
+        assertEquals(1L, al.getPlain());
+        assertEquals(1L, al.getOpaque());
+        assertEquals(1L, al.getAcquire());
+        al.setPlain(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, al.get());
+        al.setOpaque(Long.MIN_VALUE);
+        assertEquals(Long.MIN_VALUE, al.getPlain());
+        al.setRelease(4L);
+        assertEquals(4L, al.getOpaque());
+        assertEquals(4L, al.getAcquire());
+    }
+
+    /**
+     * AtomicLong compareAndExchange succeeds in changing value if
+     * equal to expected, and always returns the witness value
+     */
+    public void testLongCompareAndExchange() {
+        AtomicLong al = new AtomicLong(1L);
+        assertEquals(1L, al.compareAndExchange(1L, 2L));
+        assertEquals(2L, al.compareAndExchange(2L, -4L));
+        assertEquals(-4L, al.compareAndExchange(-5L, 7L));
+        assertEquals(-4L, al.compareAndExchangeAcquire(-4L, 7L));
+        assertEquals(7L, al.compareAndExchangeRelease(7L, 3L));
+        assertEquals(3L, al.compareAndExchangeAcquire(7L, 8L));
+        assertEquals(3L, al.compareAndExchangeRelease(7L, 8L));
+        assertEquals(3L, al.get());
+    }
+
+    /**
+     * AtomicLong repeated weakCompareAndSet variants succeed in
+     * changing value when equal to expected
+     */
+    public void testLongWeakCompareAndSetModes() {
+        AtomicLong al = new AtomicLong(1L);
+        do {} while (!al.weakCompareAndSetPlain(1L, 2L));
+        do {} while (!al.weakCompareAndSetVolatile(2L, 3L));
+        do {} while (!al.weakCompareAndSetAcquire(3L, 4L));
+        do {} while (!al.weakCompareAndSetRelease(4L, 5L));
+        assertEquals(5L, al.get());
+        assertFalse(al.weakCompareAndSetPlain(4L, 6L));
+        assertEquals(5L, al.get());
+    }
+
+    /**
+     * AtomicBoolean access-mode getters and setters agree with get
+     * and set
+     */
+    public void testBooleanGetSetModes() {
+        AtomicBoolean ab = new AtomicBoolean(true);
+        assertTrue(ab.getPlain());
+        assertTrue(ab.getOpaque());
+        assertTrue(ab.getAcquire());
+        ab.setPlain(false);
+        assertFalse(ab.get());
+        ab.setOpaque(true);
+        assertTrue(ab.getPlain());
+        ab.setRelease(false);
+        assertFalse(ab.getOpaque());
+        assertFalse(ab.getAcquire());
+    }
+
+    /**
+     * AtomicBoolean compareAndExchange and weakCompareAndSet variants
+     * change value only when equal to expected
+     */
+    public void testBooleanCompareAndExchange() {
+        AtomicBoolean ab = new AtomicBoolean(true);
+        assertTrue(ab.compareAndExchange(true, false));
+        assertFalse(ab.get());
+        assertFalse(ab.compareAndExchange(true, true));
+        assertFalse(ab.get());
+        assertFalse(ab.compareAndExchangeAcquire(false, true));
+        assertTrue(ab.compareAndExchangeRelease(true, false));
+        assertFalse(ab.get());
+        do {} while (!ab.weakCompareAndSetPlain(false, true));
+        do {} while (!ab.weakCompareAndSetVolatile(true, false));
+        do {} while (!ab.weakCompareAndSetAcquire(false, true));
+        do {} while (!ab.weakCompareAndSetRelease(true, false));
+        assertFalse(ab.get());
+        assertFalse(ab.weakCompareAndSetVolatile(true, true));
+    }
+
+    /**
+     * AtomicReference access-mode getters and setters agree with get
+     * and set
+     */
+    public void testReferenceGetSetModes() {
+        AtomicReference<Integer> ar = new AtomicReference<>(one);
+        assertSame(one, ar.getPlain());
+        assertSame(one, ar.getOpaque());
+        assertSame(one, ar.getAcquire());
+        ar.setPlain(two);
+        assertSame(two, ar.get());
+        ar.setOpaque(m3);
+        assertSame(m3, ar.getPlain());
+        ar.setRelease(null);
+        assertNull(ar.getOpaque());
+        assertNull(ar.getAcquire());
+    }
+
+    /**
+     * AtomicReference compareAndExchange compares by identity and
+     * always returns the witness value
+     */
+    public void testReferenceCompareAndExchange() {
+        AtomicReference<Integer> ar = new AtomicReference<>(one);
+        assertSame(one, ar.compareAndExchange(one, two));
+        assertSame(two, ar.compareAndExchange(new Integer(2), m4));
+        assertSame(two, ar.get());
+        assertSame(two, ar.compareAndExchangeAcquire(two, m4));
+        assertSame(m4, ar.compareAndExchangeRelease(m4, seven));
+        assertSame(seven, ar.get());
+        do {} while (!ar.weakCompareAndSetPlain(seven, one));
+        do {} while (!ar.weakCompareAndSetVolatile(one, two));
+        do {} while (!ar.weakCompareAndSetAcquire(two, three));
+        do {} while (!ar.weakCompareAndSetRelease(three, four));
+        assertSame(four, ar.get());
+    }
+
+    /**
+     * AtomicIntegerArray access-mode methods operate on the indexed
+     * element only
+     */
+    public void testIntArrayModes() {
+        AtomicIntegerArray aa = new AtomicIntegerArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            aa.setPlain(i, i);
+            assertEquals(i, aa.getOpaque(i));
+            aa.setRelease(i, -i);
+            assertEquals(-i, aa.getAcquire(i));
+            aa.setOpaque(i, 1);
+            assertEquals(1, aa.getPlain(i));
+            assertEquals(1, aa.compareAndExchange(i, 1, 2));
+            assertEquals(2, aa.compareAndExchangeAcquire(i, 3, 4));
+            assertEquals(2, aa.compareAndExchangeRelease(i, 2, 3));
+            do {} while (!aa.weakCompareAndSetPlain(i, 3, 4));
+            do {} while (!aa.weakCompareAndSetVolatile(i, 4, 5));
+            do {} while (!aa.weakCompareAndSetAcquire(i, 5, 6));
+            do {} while (!aa.weakCompareAndSetRelease(i, 6, i));
+        }
+        for (int i = 0; i < SIZE; i++)
+            assertEquals(i, aa.get(i));
+    }
+
+    /**
+     * AtomicLongArray access-mode methods operate on the indexed
+     * element only
+     */
+    public void testLongArrayModes() {
+        AtomicLongArray aa = new AtomicLongArray(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            aa.setPlain(i, i);
+            assertEquals(i, aa.getOpaque(i));
+            aa.setRelease(i, -i);
+            assertEquals(-i, aa.getAcquire(i));
+            aa.setOpaque(i, 1L);
+            assertEquals(1L, aa.getPlain(i));
+            assertEquals(1L, aa.compareAndExchange(i, 1L, 2L));
+            assertEquals(2L, aa.compareAndExchangeAcquire(i, 3L, 4L));
+            assertEquals(2L, aa.compareAndExchangeRelease(i, 2L, 3L));
+            do {} while (!aa.weakCompareAndSetPlain(i, 3L, 4L));
+            do {} while (!aa.weakCompareAndSetVolatile(i, 4L, 5L));
+            do {} while (!aa.weakCompareAndSetAcquire(i, 5L, 6L));
+            do {} while (!aa.weakCompareAndSetRelease(i, 6L, i));
+        }
+        for (int i = 0; i < SIZE; i++)
+            assertEquals(i, aa.get(i));
+    }
+
+    /**
+     * AtomicReferenceArray access-mode methods operate on the indexed
+     * element only
+     */
+    public void testReferenceArrayModes() {
+        AtomicReferenceArray<Integer> aa = new AtomicReferenceArray<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            aa.setPlain(i, one);
+            assertSame(one, aa.getOpaque(i));
+            aa.setRelease(i, two);
+            assertSame(two, aa.getAcquire(i));
+            aa.setOpaque(i, three);
+            assertSame(three, aa.getPlain(i));
+            assertSame(three, aa.compareAndExchange(i, three, four));
+            assertSame(four, aa.compareAndExchangeAcquire(i, five, six));
+            assertSame(four, aa.compareAndExchangeRelease(i, four, five));
+            do {} while (!aa.weakCompareAndSetPlain(i, five, six));
+            do {} while (!aa.weakCompareAndSetVolatile(i, six, seven));
+            do {} while (!aa.weakCompareAndSetAcquire(i, seven, eight));
+            do {} while (!aa.weakCompareAndSetRelease(i, eight, null));
+        }
+        for (int i = 0; i < SIZE; i++)
+            assertNull(aa.get(i));
+    }
+
+    /**
+     * Array access-mode methods throw IndexOutOfBoundsException for
+     * out-of-bounds indices
+     */
+    public void testArrayModesIndexing() {
+        AtomicIntegerArray ia = new AtomicIntegerArray(SIZE);
+        AtomicLongArray la = new AtomicLongArray(SIZE);
+        AtomicReferenceArray<Integer> ra = new AtomicReferenceArray<>(SIZE);
+        for (int index : new int[] { -1, SIZE }) {
+            final int j = index;
+            assertThrows(IndexOutOfBoundsException.class,
+                         () -> ia.getPlain(j),
+                         () -> ia.setRelease(j, 1),
+                         () -> ia.compareAndExchange(j, 0, 1),
+                         () -> la.getAcquire(j),
+                         () -> la.setOpaque(j, 1L),
+                         () -> la.weakCompareAndSetPlain(j, 0L, 1L),
+                         () -> ra.getOpaque(j),
+                         () -> ra.setPlain(j, one),
+                         () -> ra.compareAndExchangeRelease(j, null, one));
+        }
+    }
+
+    volatile int intField;
+    volatile long longField;
+    volatile Integer integerField;
+
+    /**
+     * AtomicIntegerFieldUpdater access-mode methods read and write
+     * the field
+     */
+    public void testIntFieldUpdaterModes() {
+        AtomicIntegerFieldUpdater<Atomic9Test> a =
+            AtomicIntegerFieldUpdater.newUpdater(Atomic9Test.class, "intField");
+        a.setPlain(this, 1);
+        assertEquals(1, intField);
+        assertEquals(1, a.getPlain(this));
+        a.setOpaque(this, 2);
+        assertEquals(2, a.getOpaque(this));
+        a.setRelease(this, 3);
+        assertEquals(3, a.getAcquire(this));
+        assertEquals(3, a.compareAndExchange(this, 3, 4));
+        assertEquals(4, a.compareAndExchangeAcquire(this, 3, 5));
+        assertEquals(4, a.compareAndExchangeRelease(this, 4, 5));
+        do {} while (!a.weakCompareAndSetPlain(this, 5, 6));
+        do {} while (!a.weakCompareAndSetVolatile(this, 6, 7));
+        do {} while (!a.weakCompareAndSetAcquire(this, 7, 8));
+        do {} while (!a.weakCompareAndSetRelease(this, 8, 9));
+        assertFalse(a.weakCompareAndSetPlain(this, 8, 10));
+        assertEquals(9, intField);
+    }
+
+    /**
+     * AtomicLongFieldUpdater access-mode methods read and write the
+     * field
+     */
+    public void testLongFieldUpdaterModes() {
+        AtomicLongFieldUpdater<Atomic9Test> a =
+            AtomicLongFieldUpdater.newUpdater(Atomic9Test.class, "longField");
+        a.setPlain(this, 1L);
+        assertEquals(1L, longField);
+        assertEquals(1L, a.getPlain(this));
+        a.setOpaque(this, Long.MIN_VALUE);
+        assertEquals(Long.MIN_VALUE, a.getOpaque(this));
+        a.setRelease(this, 3L);
+        assertEquals(3L, a.getAcquire(this));
+        assertEquals(3L, a.compareAndExchange(this, 3L, 4L));
+        assertEquals(4L, a.compareAndExchangeAcquire(this, 3L, 5L));
+        assertEquals(4L, a.compareAndExchangeRelease(this, 4L, 5L));
+        do {} while (!a.weakCompareAndSetVolatile(this, 5L, 6L));
+        assertEquals(6L, longField);
+    }
+
+    /**
+     * AtomicReferenceFieldUpdater access-mode methods read and write
+     * the field, and check the type of values written
+     */
+    @SuppressWarnings("unchecked")
+    public void testReferenceFieldUpdaterModes() {
+        AtomicReferenceFieldUpdater<Atomic9Test, Integer> a =
+            AtomicReferenceFieldUpdater.newUpdater(Atomic9Test.class, Integer.class,
+                                                   "integerField");
+        a.setPlain(this, one);
+        assertSame(one, integerField);
+        assertSame(one, a.getPlain(this));
+        a.setOpaque(this, two);
+        assertSame(two, a.getOpaque(this));
+        a.setRelease(this, three);
+        assertSame(three, a.getAcquire(this));
+        assertSame(three, a.compareAndExchange(this, three, four));
+        assertSame(four, a.compareAndExchangeAcquire(this, three, five));
+        assertSame(four, a.compareAndExchangeRelease(this, four, null));
+        do {} while (!a.weakCompareAndSetRelease(this, null, one));
+        assertSame(one, integerField);
+
+        AtomicReferenceFieldUpdater raw = a;
+        try {
+            raw.setRelease(this, "not an Integer");
+            shouldThrow();
+        } catch (ClassCastException success) {}
+    }
+
+    /**
+     * Field updaters that don't override the access-mode methods get
+     * working defaults from the volatile ones
+     */
+    public void testFieldUpdaterDefaultModes() {
+        final AtomicInteger ai = new AtomicInteger(1);
+        AtomicIntegerFieldUpdater<Object> a = new AtomicIntegerFieldUpdater<Object>() {
+            public boolean compareAndSet(Object obj, int expect, int update) {
+                return ai.compareAndSet(expect, update);
+            }
+            public boolean weakCompareAndSet(Object obj, int expect, int update) {
+                return ai.weakCompareAndSet(expect, update);
+            }
+            public void set(Object obj, int newValue) { ai.set(newValue); }
+            public void lazySet(Object obj, int newValue) { ai.lazySet(newValue); }
+            public int get(Object obj) { return ai.get(); }
+        };
+        assertEquals(1, a.getPlain(this));
+        a.setRelease(this, 2);
+        assertEquals(2, a.getAcquire(this));
+        assertEquals(2, a.compareAndExchange(this, 2, 3));
+        assertEquals(3, a.compareAndExchange(this, 2, 4));
+        do {} while (!a.weakCompareAndSetPlain(this, 3, 5));
+        assertEquals(5, ai.get());
+    }
+
+    /**
+     * A value published with setRelease is visible, together with
+     * all writes that preceded it, to a thread that observes it with
+     * getAcquire
+     */
+    public void testReleaseAcquirePublication() throws InterruptedException {
+        final AtomicInteger flag = new AtomicInteger();
+        final int[] data = new int[SIZE];
+        Thread t = newStartedThread(new CheckedRunnable() {
+            public void realRun() {
+                while (flag.getAcquire() == 0)
+                    Thread.yield();
+                for (int i = 0; i < SIZE; i++)
+                    assertEquals(i + 1, data[i]);
+            }});
+        for (int i = 0; i < SIZE; i++)
+            data[i] = i + 1;
+        flag.setRelease(1);
+        awaitTermination(t);
+    }
+
+    /**
+     * compareAndExchange in multiple threads counts up exactly once
+     * per successful exchange
+     */
+    public void testCompareAndExchangeInMultipleThreads() throws Exception {
+        final AtomicLong al = new AtomicLong();
+        final int perThread = 10000;
+        Runnable incrementer = new CheckedRunnable() {
+            public void realRun() {
+                for (int i = 0; i < perThread; i++) {
+                    long v = al.getOpaque();
+                    long w;
+                    while ((w = al.compareAndExchange(v, v + 1)) != v)
+                        v = w;
+                }
+            }};
+        Thread t1 = newStartedThread(incrementer);
+        Thread t2 = newStartedThread(incrementer);
+        awaitTermination(t1);
+        awaitTermination(t2);
+        assertEquals(2 * perThread, al.get());
+    }
+
+}
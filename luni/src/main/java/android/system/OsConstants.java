@@ -146,6 +146,14 @@ public final class OsConstants {
     public static final int CAP_SYS_TIME = placeholder();
     public static final int CAP_SYS_TTY_CONFIG = placeholder();
     public static final int CAP_WAKE_ALARM = placeholder();
+    /** @hide */ public static final int DT_BLK = placeholder();
+    /** @hide */ public static final int DT_CHR = placeholder();
+    /** @hide */ public static final int DT_DIR = placeholder();
+    /** @hide */ public static final int DT_FIFO = placeholder();
+    /** @hide */ public static final int DT_LNK = placeholder();
+    /** @hide */ public static final int DT_REG = placeholder();
+    /** @hide */ public static final int DT_SOCK = placeholder();
+    /** @hide */ public static final int DT_UNKNOWN = placeholder();
     public static final int E2BIG = placeholder();
     public static final int EACCES = placeholder();
     public static final int EADDRINUSE = placeholder();
@@ -334,6 +342,7 @@ public final class OsConstants {
     public static final int MSG_PEEK = placeholder();
     public static final int MSG_TRUNC = placeholder();
     public static final int MSG_WAITALL = placeholder();
+    /** @hide */ public static final int MSG_WAITFORONE = placeholder();
     public static final int MS_ASYNC = placeholder();
     public static final int MS_INVALIDATE = placeholder();
     public static final int MS_SYNC = placeholder();
@@ -459,6 +468,9 @@ public final class OsConstants {
     public static final int SO_SNDLOWAT = placeholder();
     public static final int SO_SNDTIMEO = placeholder();
     public static final int SO_TYPE = placeholder();
+    /** @hide */ public static final int SPLICE_F_MORE = placeholder();
+    /** @hide */ public static final int SPLICE_F_MOVE = placeholder();
+    /** @hide */ public static final int SPLICE_F_NONBLOCK = placeholder();
     public static final int STDERR_FILENO = placeholder();
     public static final int STDIN_FILENO = placeholder();
     public static final int STDOUT_FILENO = placeholder();
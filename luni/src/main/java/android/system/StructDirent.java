@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.system;
+
+import libcore.util.Objects;
+
+/**
+ * A directory entry returned by {@link libcore.io.Os#readdir}. Corresponds to C's
+ * {@code struct dirent} from {@code <dirent.h>}.
+ *
+ * @hide
+ */
+public final class StructDirent {
+  /** Inode number. */
+  public final long d_ino; /*ino_t*/
+
+  /**
+   * File type, one of the {@code DT_*} constants. File systems that do not report the type
+   * return {@link OsConstants#DT_UNKNOWN}, in which case callers must fall back to
+   * {@code lstat}.
+   */
+  public final int d_type; /*unsigned char*/
+
+  /** File name. */
+  public final String d_name; /*char[]*/
+
+  /**
+   * Constructs an instance with the given field values.
+   */
+  public StructDirent(long d_ino, int d_type, String d_name) {
+    this.d_ino = d_ino;
+    this.d_type = d_type;
+    this.d_name = d_name;
+  }
+
+  @Override public String toString() {
+    return Objects.toString(this);
+  }
+}
@@ -16,17 +16,26 @@
 
 package java.nio;
 
+import android.system.ErrnoException;
+import android.util.MutableLong;
 import java.io.Closeable;
 import java.io.FileDescriptor;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Set;
+import libcore.io.IoUtils;
+import libcore.io.Libcore;
 
 import static android.system.OsConstants.*;
 import sun.misc.Cleaner;
 import sun.nio.ch.DirectBuffer;
 import sun.nio.ch.FileChannelImpl;
+import sun.nio.ch.SelChImpl;
 
 /**
  * @hide internal use only
@@ -81,4 +90,153 @@ public final class NioUtils {
     public static int unsafeArrayOffset(ByteBuffer b) {
         return b.arrayOffset();
     }
+
+    /**
+     * Moves up to {@code count} bytes from {@code src} to {@code dst} with splice(2), through
+     * an intermediate pipe, so the data never enters the Java heap. A null offset means the
+     * descriptor's own file position is used and advanced; a non-null offset is used and
+     * advanced instead, as with sendfile(2).
+     *
+     * <p>Stops early at end of input, or if {@code src} is non-blocking and has no more data.
+     * Bytes taken from {@code src} are always written to {@code dst} in full, so {@code dst}
+     * must be in blocking mode. If {@code dst} doesn't support splice(2), as on some file
+     * systems, bytes are copied from the pipe to {@code dst} instead, so that none are lost.
+     *
+     * <p>Callers must hold whatever lock guards reads from {@code src}; see
+     * {@link SelChImpl#spliceTo}.
+     *
+     * @return the number of bytes transferred
+     * @throws ErrnoException if splice(2) fails before any bytes were transferred; EINVAL if
+     *     {@code src} doesn't support it, in which case no bytes have been taken from it.
+     */
+    public static long splice(FileDescriptor src, MutableLong srcOffset,
+            FileDescriptor dst, MutableLong dstOffset, long count)
+            throws ErrnoException, InterruptedIOException {
+        FileDescriptor[] pipe = Libcore.os.pipe2(O_CLOEXEC);
+        // Set once dst has refused splice(2).
+        byte[] copyBuffer = null;
+        long transferred = 0;
+        try {
+            while (transferred < count) {
+                long n;
+                try {
+                    n = Libcore.os.splice(src, srcOffset, pipe[1], null, count - transferred,
+                            SPLICE_F_MOVE | SPLICE_F_MORE);
+                } catch (ErrnoException errnoException) {
+                    // Report a failure to read only if nothing was transferred.
+                    if (errnoException.errno == EAGAIN || transferred > 0) {
+                        break;
+                    }
+                    throw errnoException;
+                }
+                if (n == 0) {
+                    break;
+                }
+                // The bytes have already left src, so the pipe has to be drained completely.
+                long drained = 0;
+                try {
+                    while (drained < n) {
+                        if (copyBuffer == null) {
+                            try {
+                                drained += Libcore.os.splice(pipe[0], null, dst, dstOffset,
+                                        n - drained, SPLICE_F_MOVE | SPLICE_F_MORE);
+                                continue;
+                            } catch (ErrnoException errnoException) {
+                                if (errnoException.errno != EINVAL) {
+                                    throw errnoException;
+                                }
+                                copyBuffer = new byte[(int) Math.min(n, TRANSFER_SIZE)];
+                            }
+                        }
+                        int read = Libcore.os.read(pipe[0], copyBuffer, 0,
+                                (int) Math.min(n - drained, copyBuffer.length));
+                        for (int written = 0; written < read; ) {
+                            int w = write(dst, dstOffset, copyBuffer, written, read - written);
+                            written += w;
+                            drained += w;
+                        }
+                    }
+                } catch (ErrnoException | InterruptedIOException e) {
+                    // Whatever is left in the pipe is lost; report what did reach dst.
+                    transferred += drained;
+                    if (transferred > 0) {
+                        break;
+                    }
+                    throw e;
+                }
+                transferred += n;
+            }
+            return transferred;
+        } finally {
+            IoUtils.closeQuietly(pipe[0]);
+            IoUtils.closeQuietly(pipe[1]);
+        }
+    }
+
+    private static int write(FileDescriptor fd, MutableLong offset, byte[] bytes, int byteOffset,
+            int byteCount) throws ErrnoException, InterruptedIOException {
+        if (offset == null) {
+            return Libcore.os.write(fd, bytes, byteOffset, byteCount);
+        }
+        int written = Libcore.os.pwrite(fd, bytes, byteOffset, byteCount, offset.value);
+        offset.value += written;
+        return written;
+    }
+
+    /**
+     * Transfers up to {@code count} bytes from one socket or pipe channel to another, using
+     * {@link #splice} so that the data never enters the Java heap. Falls back to copying
+     * through a direct buffer if either channel is of another kind, if {@code dst} is
+     * non-blocking, or if the kernel doesn't support splicing from {@code src}.
+     *
+     * <p>As with {@link FileChannel#transferFrom}, fewer than {@code count} bytes are
+     * transferred if {@code src} reaches end of stream, or is non-blocking and runs dry.
+     *
+     * @return the number of bytes transferred
+     */
+    public static long transfer(ReadableByteChannel src, WritableByteChannel dst, long count)
+            throws IOException {
+        if (!src.isOpen() || !dst.isOpen()) {
+            throw new ClosedChannelException();
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0");
+        }
+        if (src instanceof SelChImpl && dst instanceof SelChImpl
+                && ((SelectableChannel) dst).isBlocking()) {
+            long n = ((SelChImpl) src).spliceTo(((SelChImpl) dst).getFD(), null, count);
+            // A negative result means nothing was taken from src, so it's safe to copy instead.
+            if (n >= 0) {
+                return n;
+            }
+        }
+        return transferByCopying(src, dst, count);
+    }
+
+    private static final int TRANSFER_SIZE = 8192;
+
+    private static long transferByCopying(ReadableByteChannel src, WritableByteChannel dst,
+            long count) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) Math.min(count, TRANSFER_SIZE));
+        long transferred = 0;
+        try {
+            while (transferred < count) {
+                buffer.clear();
+                buffer.limit((int) Math.min(count - transferred, buffer.capacity()));
+                int read = src.read(buffer);
+                if (read <= 0) {
+                    break;
+                }
+                buffer.flip();
+                int written = dst.write(buffer);
+                transferred += written;
+                if (written != read) {
+                    break;
+                }
+            }
+            return transferred;
+        } finally {
+            freeDirectBuffer(buffer);
+        }
+    }
 }
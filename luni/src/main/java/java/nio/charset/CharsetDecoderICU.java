@@ -18,6 +18,7 @@ import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import libcore.icu.ICU;
 import libcore.icu.NativeConverter;
+import libcore.util.CharsetUtils;
 import libcore.util.EmptyArray;
 
 final class CharsetDecoderICU extends CharsetDecoder {
@@ -47,6 +48,15 @@ final class CharsetDecoderICU extends CharsetDecoder {
     private int inEnd;
     private int outEnd;
 
+    /* true if this decodes UTF-8, where runs of ASCII bytes are copied without calling ICU */
+    private final boolean utf8;
+
+    /*
+     * true if ICU may be holding the start of a sequence from earlier input, in which case
+     * the next bytes must go to ICU too
+     */
+    private boolean pending;
+
     public static CharsetDecoderICU newInstance(Charset cs, String icuCanonicalName) {
         // This complexity is necessary to ensure that even if the constructor, superclass
         // constructor, or call to updateCallback throw, we still free the native peer.
@@ -68,6 +78,7 @@ final class CharsetDecoderICU extends CharsetDecoder {
     private CharsetDecoderICU(Charset cs, float averageCharsPerByte, long address) {
         super(cs, averageCharsPerByte, MAX_CHARS_PER_BYTE);
         this.converterHandle = address;
+        this.utf8 = "UTF-8".equals(cs.name());
         NativeConverter.registerConverter(this, converterHandle);
     }
 
@@ -98,6 +109,7 @@ final class CharsetDecoderICU extends CharsetDecoder {
         allocatedOutput = null;
         inEnd = 0;
         outEnd = 0;
+        pending = false;
     }
 
     @Override protected final CoderResult implFlush(CharBuffer out) {
@@ -132,11 +144,29 @@ final class CharsetDecoderICU extends CharsetDecoder {
             return CoderResult.UNDERFLOW;
         }
 
-        data[INPUT_OFFSET] = getArray(in);
+        if (utf8 && !pending && in.hasArray() && out.hasArray()) {
+            int count = CharsetUtils.asciiPrefixToChars(in.array(),
+                    in.arrayOffset() + in.position(), out.array(),
+                    out.arrayOffset() + out.position(), Math.min(in.remaining(), out.remaining()));
+            in.position(in.position() + count);
+            out.position(out.position() + count);
+            if (!in.hasRemaining()) {
+                return CoderResult.UNDERFLOW;
+            } else if (!out.hasRemaining()) {
+                return CoderResult.OVERFLOW;
+            }
+        }
+
+        int inStart = getArray(in);
+        data[INPUT_OFFSET] = inStart;
         data[OUTPUT_OFFSET]= getArray(out);
 
         try {
             int error = NativeConverter.decode(converterHandle, input, inEnd, output, outEnd, data, false);
+            if (utf8 && (ICU.U_FAILURE(error) || data[INPUT_OFFSET] > 0)) {
+                // A sequence can only be left incomplete by a non-ASCII byte.
+                pending = ICU.U_FAILURE(error) || input[inStart + data[INPUT_OFFSET] - 1] < 0;
+            }
             if (ICU.U_FAILURE(error)) {
                 if (error == ICU.U_BUFFER_OVERFLOW_ERROR) {
                     return CoderResult.OVERFLOW;
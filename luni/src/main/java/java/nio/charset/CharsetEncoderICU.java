@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.Map;
 import libcore.icu.ICU;
 import libcore.icu.NativeConverter;
+import libcore.util.CharsetUtils;
 import libcore.util.EmptyArray;
 import libcore.util.NativeAllocationRegistry;
 
@@ -58,6 +59,15 @@ final class CharsetEncoderICU extends CharsetEncoder {
     private char[] allocatedInput = null;
     private byte[] allocatedOutput = null;
 
+    /* true if this encodes UTF-8, where runs of ASCII chars are copied without calling ICU */
+    private final boolean utf8;
+
+    /*
+     * true if ICU may be holding a high surrogate from earlier input, in which case the next
+     * chars must go to ICU too
+     */
+    private boolean pending;
+
     // These instance variables are always assigned in the methods before being used. This class
     // is inherently thread-unsafe so we don't have to worry about synchronization.
     private int inEnd;
@@ -96,6 +106,7 @@ final class CharsetEncoderICU extends CharsetEncoder {
         super(cs, averageBytesPerChar, maxBytesPerChar, replacement, true);
         // Our native peer needs to know what just happened...
         this.converterHandle = address;
+        this.utf8 = "UTF-8".equals(cs.name());
         NativeConverter.registerConverter(this, converterHandle);
         updateCallback();
     }
@@ -127,6 +138,7 @@ final class CharsetEncoderICU extends CharsetEncoder {
         allocatedOutput = null;
         inEnd = 0;
         outEnd = 0;
+        pending = false;
     }
 
     @Override protected CoderResult implFlush(ByteBuffer out) {
@@ -161,12 +173,31 @@ final class CharsetEncoderICU extends CharsetEncoder {
             return CoderResult.UNDERFLOW;
         }
 
-        data[INPUT_OFFSET] = getArray(in);
+        if (utf8 && !pending && in.hasArray() && out.hasArray()) {
+            int count = CharsetUtils.asciiPrefixToBytes(in.array(),
+                    in.arrayOffset() + in.position(), out.array(),
+                    out.arrayOffset() + out.position(), Math.min(in.remaining(), out.remaining()));
+            in.position(in.position() + count);
+            out.position(out.position() + count);
+            if (!in.hasRemaining()) {
+                return CoderResult.UNDERFLOW;
+            } else if (!out.hasRemaining()) {
+                return CoderResult.OVERFLOW;
+            }
+        }
+
+        int inStart = getArray(in);
+        data[INPUT_OFFSET] = inStart;
         data[OUTPUT_OFFSET]= getArray(out);
         data[INVALID_CHAR_COUNT] = 0; // Make sure we don't see earlier errors.
 
         try {
             int error = NativeConverter.encode(converterHandle, input, inEnd, output, outEnd, data, false);
+            if (utf8 && (ICU.U_FAILURE(error) || data[INPUT_OFFSET] > 0)) {
+                // Only a high surrogate can be held back for the next call.
+                pending = ICU.U_FAILURE(error)
+                        || Character.isHighSurrogate(input[inStart + data[INPUT_OFFSET] - 1]);
+            }
             if (ICU.U_FAILURE(error)) {
                 if (error == ICU.U_BUFFER_OVERFLOW_ERROR) {
                     return CoderResult.OVERFLOW;
@@ -17,6 +17,7 @@
 package java.nio.charset;
 
 import java.io.UTFDataFormatException;
+import libcore.util.CharsetUtils;
 
 /**
  * Encoding and decoding methods for Modified UTF-8
@@ -68,6 +69,14 @@ public class ModifiedUtf8 {
         int strLen = s.length();
         for (int i = 0; i < strLen; i++) {
             char c = s.charAt(i);
+            // Runs of ASCII other than '\u0000' are copied as they are.
+            while (c != 0 && c < 0x80) {
+                dst[offset++] = (byte) c;
+                if (++i == strLen) {
+                    return;
+                }
+                c = s.charAt(i);
+            }
             if (c < '\u0080') {
                 if (c == 0) {
                     dst[offset++] = (byte) 0xc0;
@@ -125,12 +134,15 @@ public class ModifiedUtf8 {
         int limitIndex = offset + length;
         while (offset < limitIndex) {
             int i = in[offset] & 0xff;
-            offset++;
             if (i < 0x80) {
-                out[outputIndex] = (char) i;
-                outputIndex++;
+                // Copy the whole run of ASCII bytes, including any '0' bytes.
+                int n = CharsetUtils.asciiPrefixToChars(in, offset, out, outputIndex,
+                        limitIndex - offset);
+                offset += n;
+                outputIndex += n;
                 continue;
             }
+            offset++;
             if (0xc0 <= i && i < 0xe0) {
                 // This branch covers the case 0 = 0xc080.
 
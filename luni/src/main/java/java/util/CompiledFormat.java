@@ -0,0 +1,346 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package java.util;
+
+import java.io.IOException;
+import java.text.DecimalFormatSymbols;
+
+/**
+ * A {@link Formatter} format string, parsed once so that it can be used
+ * many times. The output is the same as {@link String#format(Locale, String,
+ * Object...)} would give with the same format string, locale and arguments.
+ *
+ * <pre>{@code
+ * private static final CompiledFormat REQUEST_LOG =
+ *         CompiledFormat.compile("%s %s took %dms");
+ * ...
+ * REQUEST_LOG.formatTo(sb, method, path, elapsedMillis);
+ * }</pre>
+ *
+ * <p>Specifiers without flags or a width take shortcuts that allocate
+ * nothing when formatting into a {@link StringBuilder}:
+ * <ul>
+ * <li>{@code %d} of a {@code Byte}, {@code Short}, {@code Integer} or
+ *     {@code Long}, if the locale's zero digit is {@code '0'}.
+ * <li>{@code %x} of the same types.
+ * <li>{@code %s} of anything but a {@link Formattable}. Converting the
+ *     argument to a string may allocate, unless it already is one.
+ * <li>{@code %f} and {@code %.}<i>n</i>{@code f}, for <i>n</i> up to 9, of a
+ *     {@code Double} or {@code Float} that is exact at that precision, such
+ *     as {@code 12.5} with {@code %.2f}, if the locale's zero digit is
+ *     {@code '0'}.
+ * </ul>
+ * Other specifiers and arguments are printed the way {@link Formatter}
+ * prints them.
+ *
+ * <p>Instances are immutable and safe for use by multiple threads.
+ *
+ * @hide
+ */
+public final class CompiledFormat {
+
+    /** The largest precision for which %f may take a shortcut. */
+    private static final int MAX_FAST_FLOAT_PRECISION = 9;
+
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L,
+        1000000000L,
+    };
+
+    /**
+     * Scaled %f values must be below this. Their ulp is then under half
+     * a unit in the last printed place, so no other decimal of that
+     * precision converts to the same double.
+     */
+    private static final double MAX_FAST_FLOAT_SCALED = 1L << 50;
+
+    private static final char[] HEX_DIGITS = {
+        '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f',
+    };
+
+    private final String format;
+
+    /** As returned by {@link Formatter#parseFormat}. */
+    private final Object[] parts;
+
+    /** The symbols of the locale used last. */
+    private volatile Symbols symbols = Symbols.US;
+
+    private CompiledFormat(String format, Object[] parts) {
+        this.format = format;
+        this.parts = parts;
+    }
+
+    /**
+     * Parses {@code format}.
+     *
+     * @throws NullPointerException if {@code format} is null
+     * @throws IllegalFormatException if {@code format} has an illegal syntax,
+     *     or a specifier that is incompatible with its flags
+     */
+    public static CompiledFormat compile(String format) {
+        return new CompiledFormat(format, Formatter.parseFormat(format));
+    }
+
+    /**
+     * Returns a string formatted with the default locale for formatting.
+     *
+     * @throws IllegalFormatException if an argument doesn't suit its
+     *     specifier, or there are too few arguments
+     */
+    public String format(Object... args) {
+        return format(Locale.getDefault(Locale.Category.FORMAT), args);
+    }
+
+    /**
+     * Returns a string formatted with locale {@code l}, or without
+     * localization if {@code l} is null.
+     *
+     * @throws IllegalFormatException if an argument doesn't suit its
+     *     specifier, or there are too few arguments
+     */
+    public String format(Locale l, Object... args) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            formatTo(sb, l, args);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Appends the formatted string to {@code a}, using the default locale
+     * for formatting.
+     *
+     * @return {@code a}
+     * @throws IOException if {@code a} throws one
+     * @throws IllegalFormatException if an argument doesn't suit its
+     *     specifier, or there are too few arguments
+     */
+    public <A extends Appendable> A formatTo(A a, Object... args) throws IOException {
+        return formatTo(a, Locale.getDefault(Locale.Category.FORMAT), args);
+    }
+
+    /**
+     * Appends the formatted string to {@code a}, using locale {@code l},
+     * or no localization if {@code l} is null.
+     *
+     * @return {@code a}
+     * @throws IOException if {@code a} throws one
+     * @throws IllegalFormatException if an argument doesn't suit its
+     *     specifier, or there are too few arguments
+     */
+    public <A extends Appendable> A formatTo(A a, Locale l, Object... args) throws IOException {
+        if (a == null) {
+            throw new NullPointerException("a == null");
+        }
+        // The same argument indexing as Formatter.format().
+        int last = -1;
+        int lasto = -1;
+        Formatter formatter = null;
+        for (Object part : parts) {
+            if (part instanceof String) {
+                a.append((String) part);
+                continue;
+            }
+            Formatter.ParsedSpecifier spec = (Formatter.ParsedSpecifier) part;
+            Object arg;
+            int index = spec.index;
+            if (index == -2) {
+                arg = null;
+            } else {
+                if (index == 0) {
+                    last = ++lasto;
+                } else if (index > 0) {
+                    last = index - 1;
+                }
+                if (last < 0 || (args != null && last >= args.length)) {
+                    throw new MissingFormatArgumentException(spec.toString());
+                }
+                arg = (args == null) ? null : args[last];
+            }
+            if (!spec.plain || !printFast(a, spec, arg, l)) {
+                if (formatter == null) {
+                    formatter = new Formatter(a, l);
+                }
+                formatter.print(spec, arg, l);
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Returns the format string.
+     */
+    @Override public String toString() {
+        return format;
+    }
+
+    /**
+     * Prints {@code arg} as a plain {@code spec} if that can be done
+     * without going through a Formatter.
+     *
+     * @return false if nothing was printed
+     */
+    private boolean printFast(Appendable a, Formatter.ParsedSpecifier spec, Object arg, Locale l)
+            throws IOException {
+        switch (spec.c) {
+        case 's':
+            if (arg instanceof Formattable || spec.precision != -1) {
+                return false;
+            }
+            a.append((arg == null) ? "null" : arg.toString());
+            return true;
+        case 'd':
+            if (!isIntegral(arg) || symbols(l).zero != '0') {
+                return false;
+            }
+            appendDecimal(a, ((Number) arg).longValue());
+            return true;
+        case 'x':
+            if (arg instanceof Integer) {
+                appendHex(a, ((Integer) arg) & 0xffffffffL);
+            } else if (arg instanceof Long) {
+                appendHex(a, (Long) arg);
+            } else if (arg instanceof Short) {
+                appendHex(a, ((Short) arg) & 0xffffL);
+            } else if (arg instanceof Byte) {
+                appendHex(a, ((Byte) arg) & 0xffL);
+            } else {
+                return false;
+            }
+            return true;
+        case 'f':
+            return (arg instanceof Double || arg instanceof Float)
+                    && printFastFloat(a, ((Number) arg).doubleValue(),
+                                      (spec.precision == -1) ? 6 : spec.precision, l);
+        default:
+            return false;
+        }
+    }
+
+    private static boolean isIntegral(Object arg) {
+        return arg instanceof Integer || arg instanceof Long
+                || arg instanceof Short || arg instanceof Byte;
+    }
+
+    /**
+     * Prints {@code value} with {@code precision} decimals, if it has a
+     * decimal representation with no more decimals than that. Formatter
+     * rounds the shortest representation that converts back to the same
+     * double, which is that one.
+     */
+    private boolean printFastFloat(Appendable a, double value, int precision, Locale l)
+            throws IOException {
+        if (precision > MAX_FAST_FLOAT_PRECISION) {
+            return false;
+        }
+        Symbols symbols = symbols(l);
+        if (symbols.zero != '0') {
+            return false;
+        }
+        long scale = POWERS_OF_TEN[precision];
+        double scaled = Math.abs(value) * scale;
+        // False for NaN and infinities too.
+        if (!(scaled < MAX_FAST_FLOAT_SCALED)) {
+            return false;
+        }
+        long digits = (long) scaled;
+        if (digits != scaled || (double) digits / scale != Math.abs(value)) {
+            return false;
+        }
+        // Formatter prints "-0.000000" for -0.0.
+        if (Double.doubleToRawLongBits(value) < 0) {
+            a.append('-');
+        }
+        appendDecimal(a, digits / scale);
+        if (precision > 0) {
+            a.append(symbols.decimalSeparator);
+            long fraction = digits % scale;
+            for (long p = scale / 10; p > 0; p /= 10) {
+                a.append((char) ('0' + (fraction / p) % 10));
+            }
+        }
+        return true;
+    }
+
+    private static void appendDecimal(Appendable a, long value) throws IOException {
+        if (a instanceof StringBuilder) {
+            ((StringBuilder) a).append(value);
+            return;
+        }
+        if (value < 0) {
+            a.append('-');
+        } else {
+            // Work with negative values, which include Long.MIN_VALUE.
+            value = -value;
+        }
+        long p = -1;
+        while (p >= -Long.MAX_VALUE / 10 && p * 10 >= value) {
+            p *= 10;
+        }
+        for (; p != 0; p /= 10) {
+            a.append((char) ('0' + value / p));
+            value %= p;
+        }
+    }
+
+    private static void appendHex(Appendable a, long value) throws IOException {
+        int shift = (63 - Long.numberOfLeadingZeros(value | 1)) & ~3;
+        for (; shift >= 0; shift -= 4) {
+            a.append(HEX_DIGITS[(int) (value >>> shift) & 0xf]);
+        }
+    }
+
+    private Symbols symbols(Locale l) {
+        Symbols s = symbols;
+        if (!s.isFor(l)) {
+            s = new Symbols(l);
+            symbols = s;
+        }
+        return s;
+    }
+
+    /**
+     * The digits a locale uses when printing numbers, as Formatter
+     * looks them up.
+     */
+    private static final class Symbols {
+        static final Symbols US = new Symbols(Locale.US);
+
+        final Locale locale;
+        final char zero;
+        final char decimalSeparator;
+
+        Symbols(Locale l) {
+            locale = l;
+            if (l == null || l.equals(Locale.US)) {
+                zero = '0';
+                decimalSeparator = '.';
+            } else {
+                DecimalFormatSymbols dfs = DecimalFormatSymbols.getInstance(l);
+                zero = dfs.getZeroDigit();
+                decimalSeparator = dfs.getDecimalSeparator();
+            }
+        }
+
+        boolean isFor(Locale l) {
+            return locale == l || (locale != null && locale.equals(l));
+        }
+    }
+}
@@ -298,6 +298,12 @@ public class Exchanger<V> {
      */
     private final Participant participant;
 
+    // android-added
+    /**
+     * Decides how long waiters that may park spin first.
+     */
+    private final SpinPolicy spinPolicy;
+
     /**
      * Elimination array; null until enabled (within slotExchange).
      * Element accesses use emulation of volatile gets and CAS.
@@ -345,9 +351,15 @@ public class Exchanger<V> {
                 if (U.compareAndSwapObject(a, j, null, p)) {
                     long end = (timed && m == 0) ? System.nanoTime() + ns : 0L;
                     Thread t = Thread.currentThread(); // wait
-                    for (int h = p.hash, spins = SPINS;;) {
+                    // android-changed: the spin policy sets spins when parking is possible
+                    SpinPolicy policy = spinPolicy;
+                    int spins = (m == 0) ? policy.spins(SPINS) : SPINS;
+                    boolean spun = (m == 0 && spins > 0);
+                    for (int h = p.hash;;) {
                         Object v = p.match;
                         if (v != null) {
+                            if (spun)                  // android-added
+                                policy.recordSpin(true);
                             U.putOrderedObject(p, MATCH, null);
                             p.item = null;             // clear for next use
                             p.hash = h;
@@ -366,6 +378,10 @@ public class Exchanger<V> {
                         else if (!t.isInterrupted() && m == 0 &&
                                  (!timed ||
                                   (ns = end - System.nanoTime()) > 0L)) {
+                            if (spun) {                // android-added
+                                policy.recordSpin(false);
+                                spun = false;
+                            }
                             U.putObject(t, BLOCKER, this); // emulate LockSupport
                             p.parked = t;              // minimize window
                             if (U.getObjectVolatile(a, j) == p)
@@ -453,7 +469,12 @@ public class Exchanger<V> {
         // await release
         int h = p.hash;
         long end = timed ? System.nanoTime() + ns : 0L;
-        int spins = (NCPU > 1) ? SPINS : 1;
+        // android-changed: spins come from the spin policy
+        SpinPolicy policy = spinPolicy;
+        int spins = policy.spins(SPINS);
+        boolean spun = spins > 0;
+        if (!spun)
+            spins = 1;
         Object v;
         while ((v = p.match) == null) {
             if (spins > 0) {
@@ -467,6 +488,10 @@ public class Exchanger<V> {
                 spins = SPINS;
             else if (!t.isInterrupted() && arena == null &&
                      (!timed || (ns = end - System.nanoTime()) > 0L)) {
+                if (spun) {                    // android-added
+                    policy.recordSpin(false);
+                    spun = false;
+                }
                 U.putObject(t, BLOCKER, this);
                 p.parked = t;
                 if (slot == p)
@@ -475,10 +500,13 @@ public class Exchanger<V> {
                 U.putObject(t, BLOCKER, null);
             }
             else if (U.compareAndSwapObject(this, SLOT, p, null)) {
+                spun = false;                  // android-added
                 v = timed && ns <= 0L && !t.isInterrupted() ? TIMED_OUT : null;
                 break;
             }
         }
+        if (spun)                              // android-added
+            policy.recordSpin(true);
         U.putOrderedObject(p, MATCH, null);
         p.item = null;
         p.hash = h;
@@ -489,7 +517,23 @@ public class Exchanger<V> {
      * Creates a new Exchanger.
      */
     public Exchanger() {
+        this(SpinPolicy.newDefault());         // android-changed
+    }
+
+    // android-added
+    /**
+     * Creates a new Exchanger whose waiters spin according to the
+     * given policy.
+     *
+     * @param spinPolicy decides how long waiters spin before parking
+     * @throws NullPointerException if {@code spinPolicy} is null
+     * @hide
+     */
+    public Exchanger(SpinPolicy spinPolicy) {
+        if (spinPolicy == null)
+            throw new NullPointerException();
         participant = new Participant();
+        this.spinPolicy = spinPolicy;
     }
 
     /**
@@ -712,6 +712,8 @@ public class ForkJoinPool extends AbstractExecutorService {
     private static final class AuxState extends ReentrantLock {
         private static final long serialVersionUID = -6001602636862214147L;
         volatile long stealCount;     // cumulative steal count
+        volatile long parkCount;      // parks by deregistered workers // android-added
+        volatile long compensationCount; // ditto for compensations // android-added
         long indexSeed;               // index bits for registerWorker
         AuxState() {}
     }
@@ -780,6 +782,9 @@ public class ForkJoinPool extends AbstractExecutorService {
         volatile int scanState;    // versioned, negative if inactive
         int stackPred;             // pool stack (ctl) predecessor
         int nsteals;               // number of steals
+        int nparks;                // number of idle parks // android-added
+        int ncompensations;        // number of compensated joins // android-added
+        int nsubmissions;          // number of shared pushes // android-added
         int hint;                  // randomization and stealer index hint
         int config;                // pool index and mode
         volatile int qlock;        // 1: locked, < 0: terminate; else 0
@@ -990,6 +995,7 @@ public class ForkJoinPool extends AbstractExecutorService {
         final int sharedPush(ForkJoinTask<?> task) {
             int stat;
             if (U.compareAndSwapInt(this, QLOCK, 0, 1)) {
+                ++nsubmissions;                  // android-added
                 int b = base, s = top, al, d; ForkJoinTask<?>[] a;
                 if ((a = array) != null && (al = a.length) > 0 &&
                     al - 1 + (d = b - s) > 0) {
@@ -1120,7 +1126,14 @@ public class ForkJoinPool extends AbstractExecutorService {
          */
         final void runTask(ForkJoinTask<?> task) {
             if (task != null) {
-                task.doExec();
+                // android-changed: sample latency if requested
+                ForkJoinPool p; ForkJoinPoolStatistics.TaskLatencySampler ls;
+                if ((p = pool) != null &&
+                    (ls = p.latencySampler) != null &&
+                    (nsteals & p.latencySampleMask) == 0)
+                    sampleExec(task, ls);
+                else
+                    task.doExec();
                 if (config < 0)
                     localPollAndExec();
                 else
@@ -1135,6 +1148,22 @@ public class ForkJoinPool extends AbstractExecutorService {
             }
         }
 
+        // android-added
+        /**
+         * Executes the given task, reporting its running time to the
+         * given sampler. Exceptions thrown by the sampler are ignored.
+         */
+        private void sampleExec(ForkJoinTask<?> task,
+                                ForkJoinPoolStatistics.TaskLatencySampler ls) {
+            long start = System.nanoTime();
+            task.doExec();
+            long elapsed = System.nanoTime() - start;
+            try {
+                ls.sampleTaskLatency(task, elapsed);
+            } catch (Throwable ignore) {
+            }
+        }
+
         /**
          * Adds steal count to pool steal count if it exists, and resets.
          */
@@ -1466,6 +1495,9 @@ public class ForkJoinPool extends AbstractExecutorService {
     final String workerNamePrefix;       // to create worker name string
     final ForkJoinWorkerThreadFactory factory;
     final UncaughtExceptionHandler ueh;  // per-worker UEH
+    // android-added
+    volatile ForkJoinPoolStatistics.TaskLatencySampler latencySampler;
+    int latencySampleMask;               // sample when (nsteals & mask) == 0
 
     /**
      * Instantiates fields upon first submission, or upon shutdown if
@@ -1615,6 +1647,8 @@ public class ForkJoinPool extends AbstractExecutorService {
                         ws[idx] == w)
                         ws[idx] = null;
                     aux.stealCount += ns;
+                    aux.parkCount += w.nparks;                 // android-added
+                    aux.compensationCount += w.ncompensations; // android-added
                 } finally {
                     aux.unlock();
                 }
@@ -1775,8 +1809,10 @@ public class ForkJoinPool extends AbstractExecutorService {
                 stat = w.qlock = -1;             // pool terminating
             else if (w.scanState < 0) {
                 w.parker = Thread.currentThread();
-                if (w.scanState < 0)             // recheck after write
+                if (w.scanState < 0) {           // recheck after write
+                    ++w.nparks;                  // android-added
                     LockSupport.park(this);
+                }
                 w.parker = null;
                 if ((runState & STOP) != 0)
                     stat = w.qlock = -1;         // recheck
@@ -1806,8 +1842,10 @@ public class ForkJoinPool extends AbstractExecutorService {
             w != null && w.scanState < 0) {
             int ss; AuxState aux;
             w.parker = Thread.currentThread();
-            if (w.scanState < 0)
+            if (w.scanState < 0) {
+                ++w.nparks;                  // android-added
                 LockSupport.parkUntil(this, deadline);
+            }
             w.parker = null;
             if ((runState & STOP) != 0)
                 stat = w.qlock = -1;         // pool terminating
@@ -2162,8 +2200,11 @@ public class ForkJoinPool extends AbstractExecutorService {
             }
             if (!busy || ctl != c)
                 canBlock = false;                   // unstable or stale
-            else if ((sp = (int)c) != 0)            // release idle worker
+            else if ((sp = (int)c) != 0) {          // release idle worker
                 canBlock = tryRelease(c, ws[m & sp], 0L);
+                if (canBlock)
+                    ++w.ncompensations;             // android-added
+            }
             else if (tc >= pc && ac > 1 && w.isEmpty()) {
                 long nc = ((AC_MASK & (c - AC_UNIT)) |
                            (~AC_MASK & c));         // uncompensated
@@ -2178,6 +2219,8 @@ public class ForkJoinPool extends AbstractExecutorService {
                 long nc = (AC_MASK & c) | (TC_MASK & (c + TC_UNIT));
                 canBlock = (U.compareAndSwapLong(this, CTL, c, nc) &&
                             createWorker(isSpare)); // throws on exception
+                if (canBlock)
+                    ++w.ncompensations;             // android-added
             }
         }
         return canBlock;
@@ -3064,6 +3107,86 @@ public class ForkJoinPool extends AbstractExecutorService {
         return count;
     }
 
+    // android-added
+    /**
+     * Returns a snapshot of this pool's work-stealing statistics,
+     * with one entry per worker thread. Like the other monitoring
+     * methods, counts are read without synchronization, so the
+     * result is only an estimate when the pool is not quiescent.
+     *
+     * @return a statistics snapshot
+     * @hide
+     */
+    public ForkJoinPoolStatistics getStatistics() {
+        AuxState aux = auxState;
+        long st = 0L, pk = 0L, cp = 0L, sb = 0L, qt = 0L, qs = 0L;
+        if (aux != null) {
+            st = aux.stealCount;
+            pk = aux.parkCount;
+            cp = aux.compensationCount;
+        }
+        List<ForkJoinPoolStatistics.Worker> workers =
+            new ArrayList<ForkJoinPoolStatistics.Worker>();
+        WorkQueue[] ws; WorkQueue w;
+        if ((ws = workQueues) != null) {
+            for (int i = 0; i < ws.length; ++i) {
+                if ((w = ws[i]) != null) {
+                    int size = w.queueSize();
+                    if ((i & 1) == 0) {
+                        qs += size;
+                        sb += w.nsubmissions;
+                    }
+                    else {
+                        ForkJoinWorkerThread wt = w.owner;
+                        ForkJoinPoolStatistics.Worker s =
+                            new ForkJoinPoolStatistics.Worker
+                            (i, (wt == null) ? null : wt.getName(), size,
+                             w.nsteals, w.nparks, w.ncompensations);
+                        workers.add(s);
+                        qt += size;
+                        st += s.steals;
+                        pk += s.parks;
+                        cp += s.compensations;
+                    }
+                }
+            }
+        }
+        long c = ctl;
+        int pc = (config & SMASK);
+        int ac = pc + (int)(c >> AC_SHIFT);
+        return new ForkJoinPoolStatistics
+            (pc, pc + (short)(c >>> TC_SHIFT), (ac < 0) ? 0 : ac,
+             qt, qs, st, pk, cp, sb, workers);
+    }
+
+    // android-added
+    /**
+     * Installs a sampler that is told how long top-level tasks take to
+     * run, or removes it if {@code sampler} is null. Each worker
+     * reports one of every {@code sampleInterval} tasks it runs,
+     * rounded up to a power of two. The time includes any other tasks
+     * the worker helps to run while the task waits in a join. When no
+     * sampler is installed, running a task costs one extra volatile
+     * read.
+     *
+     * @param sampler the sampler, or null to stop sampling
+     * @param sampleInterval how many tasks each worker runs per sample
+     * @throws IllegalArgumentException if {@code sampleInterval} is
+     *         less than 1 or greater than 2<sup>30</sup>
+     * @hide
+     */
+    public void setTaskLatencySampler(
+            ForkJoinPoolStatistics.TaskLatencySampler sampler,
+            int sampleInterval) {
+        if (sampleInterval < 1 || sampleInterval > (1 << 30))
+            throw new IllegalArgumentException();
+        checkPermission();
+        latencySampleMask =
+            (sampleInterval == 1) ? 0 :
+            -1 >>> Integer.numberOfLeadingZeros(sampleInterval - 1);
+        latencySampler = sampler;         // publishes mask
+    }
+
     /**
      * Returns a string identifying this pool, as well as its state,
      * including indications of run state, parallelism level, and
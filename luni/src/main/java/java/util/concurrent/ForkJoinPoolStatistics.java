@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package java.util.concurrent;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A snapshot of a {@link ForkJoinPool}'s work-stealing statistics,
+ * returned by {@link ForkJoinPool#getStatistics}.
+ *
+ * <p>Pool-wide totals include the counts of workers that have since
+ * exited, so they only grow over the life of the pool. Per-worker
+ * counts cover only the workers alive when the snapshot was taken.
+ * Counts are read without synchronization while workers update them,
+ * so totals may be slightly inconsistent with each other unless the
+ * pool is quiescent.
+ *
+ * @hide
+ */
+public final class ForkJoinPoolStatistics {
+
+    /**
+     * Receives the running times of sampled tasks. See {@link
+     * ForkJoinPool#setTaskLatencySampler}.
+     */
+    public interface TaskLatencySampler {
+        /**
+         * Called on the worker thread that ran {@code task}, right
+         * after it completed. Implementations should be fast and
+         * thread safe; exceptions they throw are ignored.
+         *
+         * @param task the task that ran
+         * @param nanos how long the task ran, in nanoseconds
+         */
+        void sampleTaskLatency(ForkJoinTask<?> task, long nanos);
+    }
+
+    /**
+     * The statistics of one worker thread.
+     */
+    public static final class Worker {
+        /** The index of the worker's queue in the pool. */
+        public final int poolIndex;
+
+        /** The worker thread's name, or null if unknown. */
+        public final String threadName;
+
+        /** The number of tasks in the worker's queue. */
+        public final int queuedTasks;
+
+        /**
+         * The number of top-level tasks the worker ran, whether taken
+         * from another worker, a submission queue, or its own queue.
+         */
+        public final long steals;
+
+        /** The number of times the worker parked for lack of work. */
+        public final long parks;
+
+        /**
+         * The number of times the worker, about to block in a join,
+         * woke or created another worker to keep the pool busy.
+         */
+        public final long compensations;
+
+        Worker(int poolIndex, String threadName, int queuedTasks,
+               long steals, long parks, long compensations) {
+            this.poolIndex = poolIndex;
+            this.threadName = threadName;
+            this.queuedTasks = queuedTasks;
+            this.steals = steals;
+            this.parks = parks;
+            this.compensations = compensations;
+        }
+
+        @Override public String toString() {
+            return threadName + "[index=" + poolIndex
+                    + ", queued=" + queuedTasks
+                    + ", steals=" + steals
+                    + ", parks=" + parks
+                    + ", compensations=" + compensations
+                    + "]";
+        }
+    }
+
+    /** The pool's target parallelism level. */
+    public final int parallelism;
+
+    /** The number of worker threads, started or not yet terminated. */
+    public final int poolSize;
+
+    /** An estimate of the number of workers running or stealing tasks. */
+    public final int activeThreads;
+
+    /** The total number of tasks in worker queues. */
+    public final long queuedTasks;
+
+    /** The total number of submissions that have not started yet. */
+    public final long queuedSubmissions;
+
+    /** The total number of steals. See {@link Worker#steals}. */
+    public final long steals;
+
+    /** The total number of parks. See {@link Worker#parks}. */
+    public final long parks;
+
+    /** The total number of compensations. See {@link Worker#compensations}. */
+    public final long compensations;
+
+    /**
+     * The number of tasks submitted by threads outside the pool. This
+     * includes tasks that were later cancelled or removed.
+     */
+    public final long externalSubmissions;
+
+    private final List<Worker> workers;
+
+    ForkJoinPoolStatistics(int parallelism, int poolSize, int activeThreads,
+                           long queuedTasks, long queuedSubmissions,
+                           long steals, long parks, long compensations,
+                           long externalSubmissions, List<Worker> workers) {
+        this.parallelism = parallelism;
+        this.poolSize = poolSize;
+        this.activeThreads = activeThreads;
+        this.queuedTasks = queuedTasks;
+        this.queuedSubmissions = queuedSubmissions;
+        this.steals = steals;
+        this.parks = parks;
+        this.compensations = compensations;
+        this.externalSubmissions = externalSubmissions;
+        this.workers = Collections.unmodifiableList(workers);
+    }
+
+    /**
+     * Returns the statistics of each worker alive when the snapshot
+     * was taken, in pool index order.
+     */
+    public List<Worker> workers() {
+        return workers;
+    }
+
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("ForkJoinPoolStatistics[parallelism=").append(parallelism)
+                .append(", size=").append(poolSize)
+                .append(", active=").append(activeThreads)
+                .append(", queued=").append(queuedTasks)
+                .append(", queuedSubmissions=").append(queuedSubmissions)
+                .append(", steals=").append(steals)
+                .append(", parks=").append(parks)
+                .append(", compensations=").append(compensations)
+                .append(", externalSubmissions=").append(externalSubmissions)
+                .append("]");
+        for (Worker worker : workers) {
+            sb.append("\n  ").append(worker);
+        }
+        return sb.toString();
+    }
+}
@@ -381,9 +381,7 @@ public class LinkedTransferQueue<E> extends AbstractQueue<E>
      * self-linked.
      */
 
-    /** True if on multiprocessor */
-    private static final boolean MP =
-        Runtime.getRuntime().availableProcessors() > 1;
+    // android-removed: MP; the SpinPolicy disables spinning on uniprocessors
 
     /**
      * The number of times to spin (with randomly interspersed calls
@@ -536,6 +534,10 @@ public class LinkedTransferQueue<E> extends AbstractQueue<E>
     /** The number of apparent failures to unsplice removed nodes */
     private transient volatile int sweepVotes;
 
+    // android-added
+    /** Decides how long waiters spin before parking */
+    private transient volatile SpinPolicy spinPolicy;
+
     // CAS methods for fields
     private boolean casTail(Node cmp, Node val) {
         return U.compareAndSwapObject(this, TAIL, cmp, val);
@@ -665,12 +667,16 @@ public class LinkedTransferQueue<E> extends AbstractQueue<E>
         final long deadline = timed ? System.nanoTime() + nanos : 0L;
         Thread w = Thread.currentThread();
         int spins = -1; // initialized after first item and cancel checks
+        SpinPolicy policy = spinPolicy;       // android-added
+        boolean spun = false;                 // android-added
         ThreadLocalRandom randomYields = null; // bound if needed
 
         for (;;) {
             Object item = s.item;
             if (item != e) {                  // matched
                 // assert item != s;
+                if (spun)                     // android-added
+                    policy.recordSpin(true);
                 s.forgetContents();           // avoid garbage
                 @SuppressWarnings("unchecked") E itemE = (E) item;
                 return itemE;
@@ -681,8 +687,12 @@ public class LinkedTransferQueue<E> extends AbstractQueue<E>
                     return e;
             }
             else if (spins < 0) {            // establish spins at/near front
-                if ((spins = spinsFor(pred, s.isData)) > 0)
+                // android-changed: scaled by the spin policy
+                if ((spins = spinsFor(pred, s.isData)) > 0 &&
+                    (spins = policy.spins(spins)) > 0) {
+                    spun = true;
                     randomYields = ThreadLocalRandom.current();
+                }
             }
             else if (spins > 0) {             // spin
                 --spins;
@@ -690,6 +700,10 @@ public class LinkedTransferQueue<E> extends AbstractQueue<E>
                     Thread.yield();           // occasionally yield
             }
             else if (s.waiter == null) {
+                if (spun) {                   // android-added
+                    policy.recordSpin(false);
+                    spun = false;
+                }
                 s.waiter = w;                 // request unpark then recheck
             }
             else if (timed) {
@@ -708,7 +722,7 @@ public class LinkedTransferQueue<E> extends AbstractQueue<E>
      * data mode. See above for explanation.
      */
     private static int spinsFor(Node pred, boolean haveData) {
-        if (MP && pred != null) {
+        if (pred != null) {                   // android-changed: was MP && ...
             if (pred.isData != haveData)      // phase change
                 return FRONT_SPINS + CHAINED_SPINS;
             if (pred.isMatched())             // probably at front
@@ -1194,6 +1208,7 @@ public class LinkedTransferQueue<E> extends AbstractQueue<E>
      * Creates an initially empty {@code LinkedTransferQueue}.
      */
     public LinkedTransferQueue() {
+        spinPolicy = SpinPolicy.newDefault(); // android-added
     }
 
     /**
@@ -1210,6 +1225,21 @@ public class LinkedTransferQueue<E> extends AbstractQueue<E>
         addAll(c);
     }
 
+    // android-added
+    /**
+     * Makes waiters that start waiting from now on spin according to
+     * the given policy.
+     *
+     * @param spinPolicy decides how long waiters spin before parking
+     * @throws NullPointerException if {@code spinPolicy} is null
+     * @hide
+     */
+    public void setSpinPolicy(SpinPolicy spinPolicy) {
+        if (spinPolicy == null)
+            throw new NullPointerException();
+        this.spinPolicy = spinPolicy;
+    }
+
     /**
      * Inserts the specified element at the tail of this queue.
      * As the queue is unbounded, this method will never block.
@@ -1523,6 +1553,7 @@ public class LinkedTransferQueue<E> extends AbstractQueue<E>
     private void readObject(java.io.ObjectInputStream s)
         throws java.io.IOException, ClassNotFoundException {
         s.defaultReadObject();
+        spinPolicy = SpinPolicy.newDefault(); // android-added
         for (;;) {
             @SuppressWarnings("unchecked")
             E item = (E) s.readObject();
@@ -0,0 +1,326 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package java.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * A bounded lock-free {@linkplain java.util.Queue queue} backed by an
+ * array, for any number of producer threads and a single consumer
+ * thread.  Unlike {@link ArrayBlockingQueue}, offering an element
+ * takes no lock, and unlike {@link ConcurrentLinkedQueue}, it
+ * allocates nothing.
+ *
+ * <p>Any thread may call {@link #offer}.  Only one thread at a time
+ * may call the removal methods {@link #poll}, {@link #peek}, {@link
+ * #drain}, {@link #remove()} and {@link #clear}; callers must arrange
+ * this themselves, usually by dedicating a thread to consuming.
+ *
+ * <p>This queue does not accept null elements, and never blocks: when
+ * the queue is full, {@code offer} returns {@code false}.  The {@code
+ * size} method is an estimate when used concurrently.  Iterators are
+ * <i>weakly consistent</i>, and do not support removal; {@code
+ * remove(Object)} and the bulk removal operations are not supported.
+ *
+ * @param <E> the type of elements held in this queue
+ * @hide
+ */
+public class MpscArrayQueue<E> extends AbstractQueue<E> {
+
+    /*
+     * Implementation overview.
+     *
+     * Producers claim an index by CASing producerIndex, then write
+     * the element into its slot with an ordered store.  The consumer
+     * reads the slot at consumerIndex; a null slot below
+     * producerIndex belongs to a producer that has claimed it but not
+     * yet written it, so the consumer waits for it.  Having taken an
+     * element, the consumer nulls the slot and then publishes the new
+     * consumerIndex with an ordered store, so a producer that sees
+     * the new index can never have its element overwritten.
+     *
+     * Indices increase monotonically and are masked into a
+     * power-of-two array, while the capacity check keeps producers
+     * no more than capacity elements ahead of the consumer.  To avoid
+     * reading the consumer's index on every offer, producers share a
+     * cached producerLimit, which may lag but is never too high.
+     *
+     * The indices live in a long[] with enough padding between them
+     * to put the producers' and the consumer's in different cache
+     * lines (@Contended is not available here).  The element array
+     * is padded at both ends for the same reason.
+     */
+
+    /** Longs (or references) spanning two cache lines. */
+    private static final int PAD = 16;
+
+    private static final sun.misc.Unsafe U = sun.misc.Unsafe.getUnsafe();
+    private static final long PRODUCER_INDEX;
+    private static final long PRODUCER_LIMIT;
+    private static final long CONSUMER_INDEX;
+    private static final int ABASE;
+    private static final int ASHIFT;
+    static {
+        int lbase = U.arrayBaseOffset(long[].class);
+        int lscale = U.arrayIndexScale(long[].class);
+        PRODUCER_INDEX = lbase + (long) PAD * lscale;
+        PRODUCER_LIMIT = PRODUCER_INDEX + lscale;
+        CONSUMER_INDEX = lbase + (long) (PAD * 2) * lscale;
+        int scale = U.arrayIndexScale(Object[].class);
+        if ((scale & (scale - 1)) != 0)
+            throw new Error("array index scale not a power of two");
+        ASHIFT = 31 - Integer.numberOfLeadingZeros(scale);
+        // ABASE absorbs padding in front of element 0
+        ABASE = U.arrayBaseOffset(Object[].class) + (PAD << ASHIFT);
+    }
+
+    /** The producer index, cached limit and consumer index. */
+    private final long[] indices = new long[PAD * 3];
+
+    /** The queued elements, with PAD unused slots at each end. */
+    private final Object[] buffer;
+
+    /** Mask for turning an index into a slot, one less than a power of two. */
+    private final long mask;
+
+    /** The maximum number of elements. */
+    private final int capacity;
+
+    /**
+     * Creates a {@code MpscArrayQueue} with the given capacity.
+     *
+     * @param capacity the capacity of this queue
+     * @throws IllegalArgumentException if {@code capacity < 1} or
+     *         {@code capacity > 1 << 30}
+     */
+    public MpscArrayQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30)
+            throw new IllegalArgumentException("capacity: " + capacity);
+        int length = (capacity == 1) ? 1
+            : Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new Object[length + PAD * 2];
+        this.mask = length - 1;
+        this.capacity = capacity;
+        U.putOrderedLong(indices, PRODUCER_LIMIT, capacity);
+    }
+
+    private long slotOffset(long index) {
+        return ((index & mask) << ASHIFT) + ABASE;
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue if it
+     * is possible to do so immediately without exceeding the queue's
+     * capacity, returning {@code true} upon success and {@code false}
+     * if this queue is full.
+     *
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E e) {
+        if (e == null) throw new NullPointerException();
+        final long[] indices = this.indices;
+        long limit = U.getLongVolatile(indices, PRODUCER_LIMIT);
+        long p;
+        do {
+            p = U.getLongVolatile(indices, PRODUCER_INDEX);
+            if (p >= limit) {
+                limit = U.getLongVolatile(indices, CONSUMER_INDEX) + capacity;
+                if (p >= limit)
+                    return false;
+                U.putOrderedLong(indices, PRODUCER_LIMIT, limit);
+            }
+        } while (!U.compareAndSwapLong(indices, PRODUCER_INDEX, p, p + 1));
+        U.putOrderedObject(buffer, slotOffset(p), e);
+        return true;
+    }
+
+    /**
+     * Returns the element at the consumer index, waiting for it if a
+     * producer has claimed but not yet filled its slot, or null if
+     * this queue is empty.  Must be called by the consumer.
+     */
+    @SuppressWarnings("unchecked")
+    private E headElement(long c, long offset) {
+        Object e = U.getObjectVolatile(buffer, offset);
+        if (e == null) {
+            if (c == U.getLongVolatile(indices, PRODUCER_INDEX))
+                return null;
+            while ((e = U.getObjectVolatile(buffer, offset)) == null)
+                Thread.yield();
+        }
+        return (E) e;
+    }
+
+    /**
+     * Retrieves and removes the head of this queue, or returns {@code
+     * null} if this queue is empty.  Must not be called concurrently
+     * with any other removal method.
+     */
+    public E poll() {
+        long c = U.getLong(indices, CONSUMER_INDEX);
+        long offset = slotOffset(c);
+        E e = headElement(c, offset);
+        if (e != null) {
+            U.putObject(buffer, offset, null);
+            U.putOrderedLong(indices, CONSUMER_INDEX, c + 1);
+        }
+        return e;
+    }
+
+    /**
+     * Retrieves, but does not remove, the head of this queue, or
+     * returns {@code null} if this queue is empty.  Must not be called
+     * concurrently with any removal method.
+     */
+    public E peek() {
+        long c = U.getLong(indices, CONSUMER_INDEX);
+        return headElement(c, slotOffset(c));
+    }
+
+    /**
+     * Removes up to {@code limit} elements from the head of this
+     * queue, passing each to {@code consumer} in order.  Stops early
+     * at the first slot that is not yet filled, rather than waiting
+     * for it.  Each element is removed before it is passed on, so if
+     * {@code consumer} throws, the element it was given is not
+     * retained.  Must not be called concurrently with any other
+     * removal method.
+     *
+     * @param consumer the action to perform on each removed element
+     * @param limit the maximum number of elements to remove
+     * @return the number of elements removed
+     * @throws NullPointerException if {@code consumer} is null
+     * @throws IllegalArgumentException if {@code limit} is negative
+     */
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super E> consumer, int limit) {
+        if (consumer == null) throw new NullPointerException();
+        if (limit < 0) throw new IllegalArgumentException("limit: " + limit);
+        final long[] indices = this.indices;
+        final Object[] buffer = this.buffer;
+        long c = U.getLong(indices, CONSUMER_INDEX);
+        int n = 0;
+        while (n < limit) {
+            long offset = slotOffset(c);
+            Object e = U.getObjectVolatile(buffer, offset);
+            if (e == null)
+                break;
+            U.putObject(buffer, offset, null);
+            U.putOrderedLong(indices, CONSUMER_INDEX, ++c);
+            ++n;
+            consumer.accept((E) e);
+        }
+        return n;
+    }
+
+    /**
+     * Returns the number of elements in this queue.  When producers or
+     * the consumer are active this is only an estimate, and may count
+     * elements whose offer has not yet completed.
+     */
+    public int size() {
+        final long[] indices = this.indices;
+        long after = U.getLongVolatile(indices, CONSUMER_INDEX);
+        for (;;) {
+            long before = after;
+            long p = U.getLongVolatile(indices, PRODUCER_INDEX);
+            after = U.getLongVolatile(indices, CONSUMER_INDEX);
+            if (before == after) {
+                long size = p - after;
+                return (size <= 0) ? 0
+                    : (size >= capacity) ? capacity : (int) size;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return U.getLongVolatile(indices, CONSUMER_INDEX)
+            == U.getLongVolatile(indices, PRODUCER_INDEX);
+    }
+
+    /**
+     * Returns the number of additional elements that this queue can
+     * ideally accept without filling up.  Like {@link #size}, this is
+     * an estimate when used concurrently.
+     *
+     * @return the remaining capacity
+     */
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    /**
+     * Returns the maximum number of elements this queue can hold.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns an iterator over the elements in this queue in proper
+     * sequence.  The iterator is weakly consistent, and does not
+     * support {@link Iterator#remove}.
+     *
+     * @return an iterator over the elements in this queue
+     */
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Walks the indices that were occupied when it was created,
+     * skipping slots that have not yet been filled, and any that the
+     * consumer has since passed (and which may now hold newer
+     * elements).
+     */
+    private class Itr implements Iterator<E> {
+        private long index = U.getLongVolatile(indices, CONSUMER_INDEX);
+        private final long end = U.getLongVolatile(indices, PRODUCER_INDEX);
+        private E next;
+
+        Itr() {
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            for (next = null; next == null && index < end; ++index) {
+                Object e = U.getObjectVolatile(buffer, slotOffset(index));
+                if (e != null
+                    && U.getLongVolatile(indices, CONSUMER_INDEX) <= index)
+                    next = (E) e;
+            }
+        }
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public E next() {
+            E e = next;
+            if (e == null)
+                throw new NoSuchElementException();
+            advance();
+            return e;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package java.util.concurrent;
+
+/**
+ * Decides how long a thread waiting for a hand-off in a {@link
+ * SynchronousQueue}, {@link LinkedTransferQueue} or {@link Exchanger}
+ * spins before it parks. Spinning wins when the other party arrives
+ * within a few microseconds, since parking and unparking cost far more
+ * than that. Otherwise it only burns CPU time.
+ *
+ * <p>A waiter first calls {@link #spins} with the structure's own
+ * bound, which depends on where the waiter sits in the queue. If it
+ * then spins at all, it reports once through {@link #recordSpin}
+ * whether the hand-off happened while it was spinning.
+ *
+ * <p>{@link #adaptive} policies, the default, adjust to the rates
+ * they observe. Setting the system property {@code
+ * java.util.concurrent.SpinPolicy} to {@code fixed} makes new
+ * structures use {@link #fixed} policies instead.
+ *
+ * @hide
+ */
+public abstract class SpinPolicy {
+
+    /** The number of CPUs when this class was initialized. */
+    private static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    private static final SpinPolicy FIXED = new SpinPolicy() {
+        @Override public int spins(int maxSpins) {
+            return (NCPU > 1) ? maxSpins : 0;
+        }
+
+        @Override public void recordSpin(boolean handedOff) {
+        }
+    };
+
+    private static final boolean USE_FIXED =
+        "fixed".equals(System.getProperty("java.util.concurrent.SpinPolicy"));
+
+    /**
+     * Sole constructor, for use by subclasses.
+     */
+    protected SpinPolicy() {
+    }
+
+    /**
+     * Returns the number of times a waiter should spin before parking.
+     * This is called on every wait, so it must be cheap.
+     *
+     * @param maxSpins the structure's bound for a waiter in the
+     *        caller's position, which is the most it spins on a
+     *        multiprocessor when using a {@link #fixed} policy
+     * @return the number of spins, zero to park right away
+     */
+    public abstract int spins(int maxSpins);
+
+    /**
+     * Reports the outcome of a wait that spun.
+     *
+     * @param handedOff true if the hand-off happened while spinning,
+     *        false if the waiter went on to park
+     */
+    public abstract void recordSpin(boolean handedOff);
+
+    /**
+     * Returns the policy these structures have always used. It spins
+     * up to the full bound if there was more than one CPU when it was
+     * first used, and never spins otherwise.
+     */
+    public static SpinPolicy fixed() {
+        return FIXED;
+    }
+
+    /**
+     * Returns a new adaptive policy, meant to serve a single structure.
+     *
+     * <p>An adaptive policy starts out spinning as long as {@link
+     * #fixed} would. Every wait that ends while spinning doubles the
+     * spin budget, up to the structure's bound, and every wait that
+     * parks halves it, down to a sixteenth of the bound. The budget
+     * therefore settles near the time within which half the
+     * hand-offs happen. Unlike {@link #fixed}, it checks the number
+     * of online CPUs now and then, and stops spinning while only one
+     * is online.
+     */
+    public static SpinPolicy adaptive() {
+        return new Adaptive();
+    }
+
+    /**
+     * Returns the policy a new structure should use when none is given.
+     */
+    static SpinPolicy newDefault() {
+        return USE_FIXED ? FIXED : new Adaptive();
+    }
+
+    static final class Adaptive extends SpinPolicy {
+        /** The largest value of {@link #shift}. */
+        static final int MAX_SHIFT = 4;
+
+        /** How many calls to {@link #spins} between CPU checks; a power of two. */
+        static final int CPU_CHECK_INTERVAL = 1 << 8;
+
+        /*
+         * Fields are read and written without synchronization. Lost
+         * updates only delay adaptation a little, and avoiding atomic
+         * operations keeps waiters from contending on them.
+         */
+
+        /** The bound is shifted right by this much to get the budget. */
+        int shift;
+
+        /** Counts calls to spins(), to schedule CPU checks. */
+        int calls;
+
+        /** Whether more than one CPU was online at the last check. */
+        boolean mp = NCPU > 1;
+
+        @Override public int spins(int maxSpins) {
+            if ((++calls & (CPU_CHECK_INTERVAL - 1)) == 0)
+                mp = Runtime.getRuntime().availableProcessors() > 1;
+            return mp ? maxSpins >>> shift : 0;
+        }
+
+        @Override public void recordSpin(boolean handedOff) {
+            int s = shift;
+            if (handedOff) {
+                if (s > 0)
+                    shift = s - 1;
+            }
+            else if (s < MAX_SHIFT)
+                shift = s + 1;
+        }
+    }
+}
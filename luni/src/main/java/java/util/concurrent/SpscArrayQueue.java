@@ -0,0 +1,315 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package java.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * A bounded lock-free {@linkplain java.util.Queue queue} backed by an
+ * array, for a single producer thread and a single consumer thread.
+ * Unlike {@link ArrayBlockingQueue}, neither side takes a lock, and
+ * unlike {@link ConcurrentLinkedQueue}, it allocates nothing.  It
+ * is cheaper than {@link MpscArrayQueue} when only one thread offers.
+ *
+ * <p>Only one thread at a time may call {@link #offer} or {@link
+ * #add}, and only one thread at a time may call the removal methods
+ * {@link #poll}, {@link #peek}, {@link #drain}, {@link #remove()} and
+ * {@link #clear}; callers must arrange this themselves.
+ *
+ * <p>This queue does not accept null elements, and never blocks: when
+ * the queue is full, {@code offer} returns {@code false}.  The {@code
+ * size} method is an estimate when used concurrently.  Iterators are
+ * <i>weakly consistent</i>, and do not support removal; {@code
+ * remove(Object)} and the bulk removal operations are not supported.
+ *
+ * @param <E> the type of elements held in this queue
+ * @hide
+ */
+public class SpscArrayQueue<E> extends AbstractQueue<E> {
+
+    /*
+     * Implementation overview.
+     *
+     * The producer writes the element into its slot with an ordered
+     * store, and then publishes the new producerIndex the same way.
+     * Since a slot is always filled before the index passes it, the
+     * consumer treats a null slot as an empty queue and never needs to
+     * read producerIndex.  Having taken an element, the consumer nulls
+     * the slot and then publishes the new consumerIndex with an
+     * ordered store, so the producer can never have an element
+     * overwritten.
+     *
+     * Indices increase monotonically and are masked into a
+     * power-of-two array, while the capacity check keeps the producer
+     * no more than capacity elements ahead of the consumer.  The
+     * producer caches how far it may go in producerLimit, and only
+     * reads the consumer's index when it reaches that limit.
+     *
+     * The indices live in a long[] with enough padding between them
+     * to put the producer's and the consumer's in different cache
+     * lines (@Contended is not available here).  The element array
+     * is padded at both ends for the same reason.
+     */
+
+    /** Longs (or references) spanning two cache lines. */
+    private static final int PAD = 16;
+
+    private static final sun.misc.Unsafe U = sun.misc.Unsafe.getUnsafe();
+    private static final long PRODUCER_INDEX;
+    private static final long PRODUCER_LIMIT;
+    private static final long CONSUMER_INDEX;
+    private static final int ABASE;
+    private static final int ASHIFT;
+    static {
+        int lbase = U.arrayBaseOffset(long[].class);
+        int lscale = U.arrayIndexScale(long[].class);
+        PRODUCER_INDEX = lbase + (long) PAD * lscale;
+        PRODUCER_LIMIT = PRODUCER_INDEX + lscale;
+        CONSUMER_INDEX = lbase + (long) (PAD * 2) * lscale;
+        int scale = U.arrayIndexScale(Object[].class);
+        if ((scale & (scale - 1)) != 0)
+            throw new Error("array index scale not a power of two");
+        ASHIFT = 31 - Integer.numberOfLeadingZeros(scale);
+        // ABASE absorbs padding in front of element 0
+        ABASE = U.arrayBaseOffset(Object[].class) + (PAD << ASHIFT);
+    }
+
+    /**
+     * The producer index, the producer's cached limit (written only
+     * by the producer) and the consumer index.
+     */
+    private final long[] indices = new long[PAD * 3];
+
+    /** The queued elements, with PAD unused slots at each end. */
+    private final Object[] buffer;
+
+    /** Mask for turning an index into a slot, one less than a power of two. */
+    private final long mask;
+
+    /** The maximum number of elements. */
+    private final int capacity;
+
+    /**
+     * Creates a {@code SpscArrayQueue} with the given capacity.
+     *
+     * @param capacity the capacity of this queue
+     * @throws IllegalArgumentException if {@code capacity < 1} or
+     *         {@code capacity > 1 << 30}
+     */
+    public SpscArrayQueue(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30)
+            throw new IllegalArgumentException("capacity: " + capacity);
+        int length = (capacity == 1) ? 1
+            : Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new Object[length + PAD * 2];
+        this.mask = length - 1;
+        this.capacity = capacity;
+        U.putOrderedLong(indices, PRODUCER_LIMIT, capacity);
+    }
+
+    private long slotOffset(long index) {
+        return ((index & mask) << ASHIFT) + ABASE;
+    }
+
+    /**
+     * Inserts the specified element at the tail of this queue if it
+     * is possible to do so immediately without exceeding the queue's
+     * capacity, returning {@code true} upon success and {@code false}
+     * if this queue is full.
+     *
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E e) {
+        if (e == null) throw new NullPointerException();
+        final long[] indices = this.indices;
+        long p = U.getLong(indices, PRODUCER_INDEX);
+        if (p >= U.getLong(indices, PRODUCER_LIMIT)) {
+            long limit = U.getLongVolatile(indices, CONSUMER_INDEX) + capacity;
+            if (p >= limit)
+                return false;
+            U.putLong(indices, PRODUCER_LIMIT, limit);
+        }
+        U.putOrderedObject(buffer, slotOffset(p), e);
+        U.putOrderedLong(indices, PRODUCER_INDEX, p + 1);
+        return true;
+    }
+
+    /**
+     * Returns the element at the consumer index, or null if this
+     * queue is empty.  Must be called by the consumer.
+     */
+    @SuppressWarnings("unchecked")
+    private E headElement(long offset) {
+        return (E) U.getObjectVolatile(buffer, offset);
+    }
+
+    /**
+     * Retrieves and removes the head of this queue, or returns {@code
+     * null} if this queue is empty.  Must not be called concurrently
+     * with any other removal method.
+     */
+    public E poll() {
+        long c = U.getLong(indices, CONSUMER_INDEX);
+        long offset = slotOffset(c);
+        E e = headElement(offset);
+        if (e != null) {
+            U.putObject(buffer, offset, null);
+            U.putOrderedLong(indices, CONSUMER_INDEX, c + 1);
+        }
+        return e;
+    }
+
+    /**
+     * Retrieves, but does not remove, the head of this queue, or
+     * returns {@code null} if this queue is empty.  Must not be called
+     * concurrently with any removal method.
+     */
+    public E peek() {
+        long c = U.getLong(indices, CONSUMER_INDEX);
+        return headElement(slotOffset(c));
+    }
+
+    /**
+     * Removes up to {@code limit} elements from the head of this
+     * queue, passing each to {@code consumer} in order.  Each element
+     * is removed before it is passed on, so if {@code consumer}
+     * throws, the element it was given is not retained.  Must not be
+     * called concurrently with any other removal method.
+     *
+     * @param consumer the action to perform on each removed element
+     * @param limit the maximum number of elements to remove
+     * @return the number of elements removed
+     * @throws NullPointerException if {@code consumer} is null
+     * @throws IllegalArgumentException if {@code limit} is negative
+     */
+    @SuppressWarnings("unchecked")
+    public int drain(Consumer<? super E> consumer, int limit) {
+        if (consumer == null) throw new NullPointerException();
+        if (limit < 0) throw new IllegalArgumentException("limit: " + limit);
+        final long[] indices = this.indices;
+        final Object[] buffer = this.buffer;
+        long c = U.getLong(indices, CONSUMER_INDEX);
+        int n = 0;
+        while (n < limit) {
+            long offset = slotOffset(c);
+            Object e = U.getObjectVolatile(buffer, offset);
+            if (e == null)
+                break;
+            U.putObject(buffer, offset, null);
+            U.putOrderedLong(indices, CONSUMER_INDEX, ++c);
+            ++n;
+            consumer.accept((E) e);
+        }
+        return n;
+    }
+
+    /**
+     * Returns the number of elements in this queue.  When the producer
+     * or the consumer is active this is only an estimate.
+     */
+    public int size() {
+        final long[] indices = this.indices;
+        long after = U.getLongVolatile(indices, CONSUMER_INDEX);
+        for (;;) {
+            long before = after;
+            long p = U.getLongVolatile(indices, PRODUCER_INDEX);
+            after = U.getLongVolatile(indices, CONSUMER_INDEX);
+            if (before == after) {
+                long size = p - after;
+                return (size <= 0) ? 0
+                    : (size >= capacity) ? capacity : (int) size;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return U.getLongVolatile(indices, CONSUMER_INDEX)
+            == U.getLongVolatile(indices, PRODUCER_INDEX);
+    }
+
+    /**
+     * Returns the number of additional elements that this queue can
+     * ideally accept without filling up.  Like {@link #size}, this is
+     * an estimate when used concurrently.
+     *
+     * @return the remaining capacity
+     */
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    /**
+     * Returns the maximum number of elements this queue can hold.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns an iterator over the elements in this queue in proper
+     * sequence.  The iterator is weakly consistent, and does not
+     * support {@link Iterator#remove}.
+     *
+     * @return an iterator over the elements in this queue
+     */
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Walks the indices that were occupied when it was created,
+     * skipping slots that have not yet been filled, and any that the
+     * consumer has since passed (and which may now hold newer
+     * elements).
+     */
+    private class Itr implements Iterator<E> {
+        private long index = U.getLongVolatile(indices, CONSUMER_INDEX);
+        private final long end = U.getLongVolatile(indices, PRODUCER_INDEX);
+        private E next;
+
+        Itr() {
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            for (next = null; next == null && index < end; ++index) {
+                Object e = U.getObjectVolatile(buffer, slotOffset(index));
+                if (e != null
+                    && U.getLongVolatile(indices, CONSUMER_INDEX) <= index)
+                    next = (E) e;
+            }
+        }
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public E next() {
+            E e = next;
+            if (e == null)
+                throw new NoSuchElementException();
+            advance();
+            return e;
+        }
+    }
+}
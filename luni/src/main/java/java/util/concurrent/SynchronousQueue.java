@@ -141,6 +141,15 @@ public class SynchronousQueue<E> extends AbstractQueue<E>
      * Shared internal API for dual stacks and queues.
      */
     abstract static class Transferer<E> {
+        // android-added
+        /** Decides how long waiters spin before parking. */
+        final SpinPolicy spinPolicy;
+
+        // android-added
+        Transferer(SpinPolicy spinPolicy) {
+            this.spinPolicy = spinPolicy;
+        }
+
         /**
          * Performs a put or take.
          *
@@ -164,8 +173,8 @@ public class SynchronousQueue<E> extends AbstractQueue<E>
      * seems not to vary with number of CPUs (beyond 2) so is just
      * a constant.
      */
-    static final int MAX_TIMED_SPINS =
-        (Runtime.getRuntime().availableProcessors() < 2) ? 0 : 32;
+    // android-changed: the SpinPolicy disables spinning on uniprocessors
+    static final int MAX_TIMED_SPINS = 32;
 
     /**
      * The number of times to spin before blocking in untimed waits.
@@ -198,6 +207,11 @@ public class SynchronousQueue<E> extends AbstractQueue<E>
         /** Node is fulfilling another unfulfilled DATA or REQUEST */
         static final int FULFILLING = 2;
 
+        // android-added
+        TransferStack(SpinPolicy spinPolicy) {
+            super(spinPolicy);
+        }
+
         /** Returns true if m has fulfilling bit set. */
         static boolean isFulfilling(int m) { return (m & FULFILLING) != 0; }
 
@@ -406,15 +420,20 @@ public class SynchronousQueue<E> extends AbstractQueue<E>
              */
             final long deadline = timed ? System.nanoTime() + nanos : 0L;
             Thread w = Thread.currentThread();
+            SpinPolicy policy = spinPolicy;                 // android-added
             int spins = shouldSpin(s)
-                ? (timed ? MAX_TIMED_SPINS : MAX_UNTIMED_SPINS)
+                ? policy.spins(timed ? MAX_TIMED_SPINS : MAX_UNTIMED_SPINS)
                 : 0;
+            boolean spun = spins > 0;                       // android-added
             for (;;) {
                 if (w.isInterrupted())
                     s.tryCancel();
                 SNode m = s.match;
-                if (m != null)
+                if (m != null) {
+                    if (spun && m != s)                     // android-added
+                        policy.recordSpin(true);
                     return m;
+                }
                 if (timed) {
                     nanos = deadline - System.nanoTime();
                     if (nanos <= 0L) {
@@ -424,8 +443,13 @@ public class SynchronousQueue<E> extends AbstractQueue<E>
                 }
                 if (spins > 0)
                     spins = shouldSpin(s) ? (spins - 1) : 0;
-                else if (s.waiter == null)
+                else if (s.waiter == null) {
+                    if (spun) {                             // android-added
+                        policy.recordSpin(false);
+                        spun = false;
+                    }
                     s.waiter = w; // establish waiter so can park next iter
+                }
                 else if (!timed)
                     LockSupport.park(this);
                 else if (nanos > SPIN_FOR_TIMEOUT_THRESHOLD)
@@ -573,7 +597,8 @@ public class SynchronousQueue<E> extends AbstractQueue<E>
          */
         transient volatile QNode cleanMe;
 
-        TransferQueue() {
+        TransferQueue(SpinPolicy spinPolicy) { // android-changed
+            super(spinPolicy);                 // android-added
             QNode h = new QNode(null, false); // initialize to dummy node.
             head = h;
             tail = h;
@@ -707,15 +732,20 @@ public class SynchronousQueue<E> extends AbstractQueue<E>
             /* Same idea as TransferStack.awaitFulfill */
             final long deadline = timed ? System.nanoTime() + nanos : 0L;
             Thread w = Thread.currentThread();
+            SpinPolicy policy = spinPolicy;                 // android-added
             int spins = (head.next == s)
-                ? (timed ? MAX_TIMED_SPINS : MAX_UNTIMED_SPINS)
+                ? policy.spins(timed ? MAX_TIMED_SPINS : MAX_UNTIMED_SPINS)
                 : 0;
+            boolean spun = spins > 0;                       // android-added
             for (;;) {
                 if (w.isInterrupted())
                     s.tryCancel(e);
                 Object x = s.item;
-                if (x != e)
+                if (x != e) {
+                    if (spun && x != s)                     // android-added
+                        policy.recordSpin(true);
                     return x;
+                }
                 if (timed) {
                     nanos = deadline - System.nanoTime();
                     if (nanos <= 0L) {
@@ -725,8 +755,13 @@ public class SynchronousQueue<E> extends AbstractQueue<E>
                 }
                 if (spins > 0)
                     --spins;
-                else if (s.waiter == null)
+                else if (s.waiter == null) {
+                    if (spun) {                             // android-added
+                        policy.recordSpin(false);
+                        spun = false;
+                    }
                     s.waiter = w;
+                }
                 else if (!timed)
                     LockSupport.park(this);
                 else if (nanos > SPIN_FOR_TIMEOUT_THRESHOLD)
@@ -829,7 +864,26 @@ public class SynchronousQueue<E> extends AbstractQueue<E>
      *        access; otherwise the order is unspecified.
      */
     public SynchronousQueue(boolean fair) {
-        transferer = fair ? new TransferQueue<E>() : new TransferStack<E>();
+        this(fair, SpinPolicy.newDefault());  // android-changed
+    }
+
+    // android-added
+    /**
+     * Creates a {@code SynchronousQueue} with the specified fairness
+     * policy, whose waiters spin according to the given policy.
+     *
+     * @param fair if true, waiting threads contend in FIFO order for
+     *        access; otherwise the order is unspecified.
+     * @param spinPolicy decides how long waiters spin before parking
+     * @throws NullPointerException if {@code spinPolicy} is null
+     * @hide
+     */
+    public SynchronousQueue(boolean fair, SpinPolicy spinPolicy) {
+        if (spinPolicy == null)
+            throw new NullPointerException();
+        transferer = fair
+            ? new TransferQueue<E>(spinPolicy)
+            : new TransferStack<E>(spinPolicy);
     }
 
     /**
@@ -1166,9 +1220,9 @@ public class SynchronousQueue<E> extends AbstractQueue<E>
         throws java.io.IOException, ClassNotFoundException {
         s.defaultReadObject();
         if (waitingProducers instanceof FifoWaitQueue)
-            transferer = new TransferQueue<E>();
+            transferer = new TransferQueue<E>(SpinPolicy.newDefault());
         else
-            transferer = new TransferStack<E>();
+            transferer = new TransferStack<E>(SpinPolicy.newDefault());
     }
 
     static {
@@ -132,4 +132,215 @@ public class AtomicBoolean implements java.io.Serializable {
         return Boolean.toString(get());
     }
 
+    // jdk9
+
+    /**
+     * Returns the current value, with memory semantics of reading as if
+     * the variable was declared non-{@code volatile}.
+     *
+     * @return the value
+     * @since 9
+     * @hide
+     */
+    public final boolean getPlain() {
+        return U.getInt(this, VALUE) != 0;
+    }
+
+    /**
+     * Sets the value to {@code newValue}, with memory semantics of
+     * setting as if the variable was declared non-{@code volatile} and
+     * non-{@code final}.
+     *
+     * @param newValue the new value
+     * @since 9
+     * @hide
+     */
+    public final void setPlain(boolean newValue) {
+        U.putInt(this, VALUE, (newValue ? 1 : 0));
+    }
+
+    /**
+     * Returns the current value, with the memory effects of an opaque
+     * read as described in the {@linkplain java.util.concurrent.atomic
+     * package specification}.
+     *
+     * @return the value
+     * @since 9
+     * @hide
+     */
+    public final boolean getOpaque() {
+        return U.getIntVolatile(this, VALUE) != 0;
+    }
+
+    /**
+     * Sets the value to {@code newValue}, with the memory effects of an
+     * opaque write as described in the {@linkplain
+     * java.util.concurrent.atomic package specification}.
+     *
+     * @param newValue the new value
+     * @since 9
+     * @hide
+     */
+    public final void setOpaque(boolean newValue) {
+        U.putOrderedInt(this, VALUE, (newValue ? 1 : 0));
+    }
+
+    /**
+     * Returns the current value, with acquire semantics: no subsequent
+     * loads or stores are reordered before this read.
+     *
+     * @return the value
+     * @since 9
+     * @hide
+     */
+    public final boolean getAcquire() {
+        return U.getIntVolatile(this, VALUE) != 0;
+    }
+
+    /**
+     * Sets the value to {@code newValue}, with release semantics: no
+     * preceding loads or stores are reordered after this write.
+     *
+     * @param newValue the new value
+     * @since 9
+     * @hide
+     */
+    public final void setRelease(boolean newValue) {
+        U.putOrderedInt(this, VALUE, (newValue ? 1 : 0));
+    }
+
+    /**
+     * Atomically sets the value to {@code newValue} if its current value,
+     * referred to as the <em>witness value</em>, {@code ==} {@code
+     * expectedValue}, with the memory effects of both reading and writing
+     * a {@code volatile} variable.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return the witness value, which will be the same as the
+     * expected value if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean compareAndExchange(boolean expectedValue,
+                                            boolean newValue) {
+        boolean witness;
+        do {
+            witness = value != 0;
+            if (witness != expectedValue)
+                return witness;
+        } while (!U.compareAndSwapInt(this, VALUE,
+                                      (expectedValue ? 1 : 0),
+                                      (newValue ? 1 : 0)));
+        return witness;
+    }
+
+    /**
+     * Atomically sets the value to {@code newValue} if its current value,
+     * referred to as the <em>witness value</em>, {@code ==} {@code
+     * expectedValue}, with acquire semantics for the read and plain
+     * semantics for the write.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return the witness value, which will be the same as the
+     * expected value if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean compareAndExchangeAcquire(boolean expectedValue,
+                                                   boolean newValue) {
+        return compareAndExchange(expectedValue, newValue);
+    }
+
+    /**
+     * Atomically sets the value to {@code newValue} if its current value,
+     * referred to as the <em>witness value</em>, {@code ==} {@code
+     * expectedValue}, with plain semantics for the read and release
+     * semantics for the write.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return the witness value, which will be the same as the
+     * expected value if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean compareAndExchangeRelease(boolean expectedValue,
+                                                   boolean newValue) {
+        return compareAndExchange(expectedValue, newValue);
+    }
+
+    /**
+     * Possibly atomically sets the value to {@code newValue} if its
+     * current value {@code == expectedValue}, with no ordering
+     * guarantees. May fail spuriously.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean weakCompareAndSetPlain(boolean expectedValue,
+                                                boolean newValue) {
+        return U.compareAndSwapInt(this, VALUE,
+                                   (expectedValue ? 1 : 0),
+                                   (newValue ? 1 : 0));
+    }
+
+    /**
+     * Possibly atomically sets the value to {@code newValue} if its
+     * current value {@code == expectedValue}, with the memory effects of
+     * {@link #compareAndSet} when successful. May fail spuriously.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean weakCompareAndSetVolatile(boolean expectedValue,
+                                                   boolean newValue) {
+        return U.compareAndSwapInt(this, VALUE,
+                                   (expectedValue ? 1 : 0),
+                                   (newValue ? 1 : 0));
+    }
+
+    /**
+     * Possibly atomically sets the value to {@code newValue} if its
+     * current value {@code == expectedValue}, with acquire semantics for
+     * the read. May fail spuriously.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean weakCompareAndSetAcquire(boolean expectedValue,
+                                                  boolean newValue) {
+        return U.compareAndSwapInt(this, VALUE,
+                                   (expectedValue ? 1 : 0),
+                                   (newValue ? 1 : 0));
+    }
+
+    /**
+     * Possibly atomically sets the value to {@code newValue} if its
+     * current value {@code == expectedValue}, with release semantics for
+     * the write. May fail spuriously.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean weakCompareAndSetRelease(boolean expectedValue,
+                                                  boolean newValue) {
+        return U.compareAndSwapInt(this, VALUE,
+                                   (expectedValue ? 1 : 0),
+                                   (newValue ? 1 : 0));
+    }
+
 }
@@ -306,4 +306,204 @@ public class AtomicInteger extends Number implements java.io.Serializable {
         return (double)get();
     }
 
+    // jdk9
+
+    /**
+     * Returns the current value, with memory semantics of reading as if
+     * the variable was declared non-{@code volatile}.
+     *
+     * @return the value
+     * @since 9
+     * @hide
+     */
+    public final int getPlain() {
+        return U.getInt(this, VALUE);
+    }
+
+    /**
+     * Sets the value to {@code newValue}, with memory semantics of
+     * setting as if the variable was declared non-{@code volatile} and
+     * non-{@code final}.
+     *
+     * @param newValue the new value
+     * @since 9
+     * @hide
+     */
+    public final void setPlain(int newValue) {
+        U.putInt(this, VALUE, newValue);
+    }
+
+    /**
+     * Returns the current value, with the memory effects of an opaque
+     * read as described in the {@linkplain java.util.concurrent.atomic
+     * package specification}.
+     *
+     * @return the value
+     * @since 9
+     * @hide
+     */
+    public final int getOpaque() {
+        return U.getIntVolatile(this, VALUE);
+    }
+
+    /**
+     * Sets the value to {@code newValue}, with the memory effects of an
+     * opaque write as described in the {@linkplain
+     * java.util.concurrent.atomic package specification}.
+     *
+     * @param newValue the new value
+     * @since 9
+     * @hide
+     */
+    public final void setOpaque(int newValue) {
+        U.putOrderedInt(this, VALUE, newValue);
+    }
+
+    /**
+     * Returns the current value, with acquire semantics: no subsequent
+     * loads or stores are reordered before this read.
+     *
+     * @return the value
+     * @since 9
+     * @hide
+     */
+    public final int getAcquire() {
+        return U.getIntVolatile(this, VALUE);
+    }
+
+    /**
+     * Sets the value to {@code newValue}, with release semantics: no
+     * preceding loads or stores are reordered after this write.
+     *
+     * @param newValue the new value
+     * @since 9
+     * @hide
+     */
+    public final void setRelease(int newValue) {
+        U.putOrderedInt(this, VALUE, newValue);
+    }
+
+    /**
+     * Atomically sets the value to {@code newValue} if its current value,
+     * referred to as the <em>witness value</em>, {@code ==} {@code
+     * expectedValue}, with the memory effects of both reading and writing
+     * a {@code volatile} variable.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return the witness value, which will be the same as the
+     * expected value if successful
+     * @since 9
+     * @hide
+     */
+    public final int compareAndExchange(int expectedValue, int newValue) {
+        int witness;
+        do {
+            witness = value;
+            if (witness != expectedValue)
+                return witness;
+        } while (!U.compareAndSwapInt(this, VALUE, expectedValue, newValue));
+        return witness;
+    }
+
+    /**
+     * Atomically sets the value to {@code newValue} if its current value,
+     * referred to as the <em>witness value</em>, {@code ==} {@code
+     * expectedValue}, with acquire semantics for the read and plain
+     * semantics for the write.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return the witness value, which will be the same as the
+     * expected value if successful
+     * @since 9
+     * @hide
+     */
+    public final int compareAndExchangeAcquire(int expectedValue,
+                                               int newValue) {
+        return compareAndExchange(expectedValue, newValue);
+    }
+
+    /**
+     * Atomically sets the value to {@code newValue} if its current value,
+     * referred to as the <em>witness value</em>, {@code ==} {@code
+     * expectedValue}, with plain semantics for the read and release
+     * semantics for the write.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return the witness value, which will be the same as the
+     * expected value if successful
+     * @since 9
+     * @hide
+     */
+    public final int compareAndExchangeRelease(int expectedValue,
+                                               int newValue) {
+        return compareAndExchange(expectedValue, newValue);
+    }
+
+    /**
+     * Possibly atomically sets the value to {@code newValue} if its
+     * current value {@code == expectedValue}, with no ordering
+     * guarantees. May fail spuriously.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean weakCompareAndSetPlain(int expectedValue,
+                                                int newValue) {
+        return U.compareAndSwapInt(this, VALUE, expectedValue, newValue);
+    }
+
+    /**
+     * Possibly atomically sets the value to {@code newValue} if its
+     * current value {@code == expectedValue}, with the memory effects of
+     * {@link #compareAndSet} when successful. May fail spuriously.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean weakCompareAndSetVolatile(int expectedValue,
+                                                   int newValue) {
+        return U.compareAndSwapInt(this, VALUE, expectedValue, newValue);
+    }
+
+    /**
+     * Possibly atomically sets the value to {@code newValue} if its
+     * current value {@code == expectedValue}, with acquire semantics for
+     * the read. May fail spuriously.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean weakCompareAndSetAcquire(int expectedValue,
+                                                  int newValue) {
+        return U.compareAndSwapInt(this, VALUE, expectedValue, newValue);
+    }
+
+    /**
+     * Possibly atomically sets the value to {@code newValue} if its
+     * current value {@code == expectedValue}, with release semantics for
+     * the write. May fail spuriously.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean weakCompareAndSetRelease(int expectedValue,
+                                                  int newValue) {
+        return U.compareAndSwapInt(this, VALUE, expectedValue, newValue);
+    }
+
 }
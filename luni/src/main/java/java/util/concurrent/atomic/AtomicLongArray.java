@@ -331,4 +331,223 @@ public class AtomicLongArray implements java.io.Serializable {
         }
     }
 
+    // jdk9
+
+    /**
+     * Returns the current value of the element at index {@code i}, with
+     * memory semantics of reading as if the variable was declared
+     * non-{@code volatile}.
+     *
+     * @param i the index
+     * @return the value
+     * @since 9
+     * @hide
+     */
+    public final long getPlain(int i) {
+        return U.getLong(array, checkedByteOffset(i));
+    }
+
+    /**
+     * Sets the element at index {@code i} to {@code newValue}, with
+     * memory semantics of setting as if the variable was declared
+     * non-{@code volatile} and non-{@code final}.
+     *
+     * @param i the index
+     * @param newValue the new value
+     * @since 9
+     * @hide
+     */
+    public final void setPlain(int i, long newValue) {
+        U.putLong(array, checkedByteOffset(i), newValue);
+    }
+
+    /**
+     * Returns the current value of the element at index {@code i}, with
+     * the memory effects of an opaque read as described in the
+     * {@linkplain java.util.concurrent.atomic package specification}.
+     *
+     * @param i the index
+     * @return the value
+     * @since 9
+     * @hide
+     */
+    public final long getOpaque(int i) {
+        return getRaw(checkedByteOffset(i));
+    }
+
+    /**
+     * Sets the element at index {@code i} to {@code newValue}, with the
+     * memory effects of an opaque write as described in the {@linkplain
+     * java.util.concurrent.atomic package specification}.
+     *
+     * @param i the index
+     * @param newValue the new value
+     * @since 9
+     * @hide
+     */
+    public final void setOpaque(int i, long newValue) {
+        U.putOrderedLong(array, checkedByteOffset(i), newValue);
+    }
+
+    /**
+     * Returns the current value of the element at index {@code i}, with
+     * acquire semantics: no subsequent loads or stores are reordered
+     * before this read.
+     *
+     * @param i the index
+     * @return the value
+     * @since 9
+     * @hide
+     */
+    public final long getAcquire(int i) {
+        return U.getLongVolatile(array, checkedByteOffset(i));
+    }
+
+    /**
+     * Sets the element at index {@code i} to {@code newValue}, with
+     * release semantics: no preceding loads or stores are reordered after
+     * this write.
+     *
+     * @param i the index
+     * @param newValue the new value
+     * @since 9
+     * @hide
+     */
+    public final void setRelease(int i, long newValue) {
+        U.putOrderedLong(array, checkedByteOffset(i), newValue);
+    }
+
+    /**
+     * Atomically sets the element at index {@code i} to {@code newValue}
+     * if its current value, referred to as the <em>witness value</em>,
+     * {@code ==} {@code expectedValue}, with the memory effects of both
+     * reading and writing a {@code volatile} variable.
+     *
+     * @param i the index
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return the witness value, which will be the same as the
+     * expected value if successful
+     * @since 9
+     * @hide
+     */
+    public final long compareAndExchange(int i, long expectedValue,
+                                         long newValue) {
+        long offset = checkedByteOffset(i);
+        long witness;
+        do {
+            witness = getRaw(offset);
+            if (witness != expectedValue)
+                return witness;
+        } while (!compareAndSetRaw(offset, expectedValue, newValue));
+        return witness;
+    }
+
+    /**
+     * Atomically sets the element at index {@code i} to {@code newValue}
+     * if its current value, referred to as the <em>witness value</em>,
+     * {@code ==} {@code expectedValue}, with acquire semantics for the
+     * read and plain semantics for the write.
+     *
+     * @param i the index
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return the witness value, which will be the same as the
+     * expected value if successful
+     * @since 9
+     * @hide
+     */
+    public final long compareAndExchangeAcquire(int i, long expectedValue,
+                                                long newValue) {
+        return compareAndExchange(i, expectedValue, newValue);
+    }
+
+    /**
+     * Atomically sets the element at index {@code i} to {@code newValue}
+     * if its current value, referred to as the <em>witness value</em>,
+     * {@code ==} {@code expectedValue}, with plain semantics for the read
+     * and release semantics for the write.
+     *
+     * @param i the index
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return the witness value, which will be the same as the
+     * expected value if successful
+     * @since 9
+     * @hide
+     */
+    public final long compareAndExchangeRelease(int i, long expectedValue,
+                                                long newValue) {
+        return compareAndExchange(i, expectedValue, newValue);
+    }
+
+    /**
+     * Possibly atomically sets the element at index {@code i} to {@code
+     * newValue} if its current value {@code == expectedValue}, with no
+     * ordering guarantees. May fail spuriously.
+     *
+     * @param i the index
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean weakCompareAndSetPlain(int i, long expectedValue,
+                                                long newValue) {
+        return compareAndSetRaw(checkedByteOffset(i), expectedValue, newValue);
+    }
+
+    /**
+     * Possibly atomically sets the element at index {@code i} to {@code
+     * newValue} if its current value {@code == expectedValue}, with the
+     * memory effects of {@link #compareAndSet} when successful. May fail
+     * spuriously.
+     *
+     * @param i the index
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean weakCompareAndSetVolatile(int i, long expectedValue,
+                                                   long newValue) {
+        return compareAndSetRaw(checkedByteOffset(i), expectedValue, newValue);
+    }
+
+    /**
+     * Possibly atomically sets the element at index {@code i} to {@code
+     * newValue} if its current value {@code == expectedValue}, with
+     * acquire semantics for the read. May fail spuriously.
+     *
+     * @param i the index
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean weakCompareAndSetAcquire(int i, long expectedValue,
+                                                  long newValue) {
+        return compareAndSetRaw(checkedByteOffset(i), expectedValue, newValue);
+    }
+
+    /**
+     * Possibly atomically sets the element at index {@code i} to {@code
+     * newValue} if its current value {@code == expectedValue}, with
+     * release semantics for the write. May fail spuriously.
+     *
+     * @param i the index
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean weakCompareAndSetRelease(int i, long expectedValue,
+                                                  long newValue) {
+        return compareAndSetRaw(checkedByteOffset(i), expectedValue, newValue);
+    }
+
 }
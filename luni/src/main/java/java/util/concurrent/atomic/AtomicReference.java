@@ -210,4 +210,202 @@ public class AtomicReference<V> implements java.io.Serializable {
         return String.valueOf(get());
     }
 
+    // jdk9
+
+    /**
+     * Returns the current value, with memory semantics of reading as if
+     * the variable was declared non-{@code volatile}.
+     *
+     * @return the value
+     * @since 9
+     * @hide
+     */
+    @SuppressWarnings("unchecked")
+    public final V getPlain() {
+        return (V)U.getObject(this, VALUE);
+    }
+
+    /**
+     * Sets the value to {@code newValue}, with memory semantics of
+     * setting as if the variable was declared non-{@code volatile} and
+     * non-{@code final}.
+     *
+     * @param newValue the new value
+     * @since 9
+     * @hide
+     */
+    public final void setPlain(V newValue) {
+        U.putObject(this, VALUE, newValue);
+    }
+
+    /**
+     * Returns the current value, with the memory effects of an opaque
+     * read as described in the {@linkplain java.util.concurrent.atomic
+     * package specification}.
+     *
+     * @return the value
+     * @since 9
+     * @hide
+     */
+    @SuppressWarnings("unchecked")
+    public final V getOpaque() {
+        return (V)U.getObjectVolatile(this, VALUE);
+    }
+
+    /**
+     * Sets the value to {@code newValue}, with the memory effects of an
+     * opaque write as described in the {@linkplain
+     * java.util.concurrent.atomic package specification}.
+     *
+     * @param newValue the new value
+     * @since 9
+     * @hide
+     */
+    public final void setOpaque(V newValue) {
+        U.putOrderedObject(this, VALUE, newValue);
+    }
+
+    /**
+     * Returns the current value, with acquire semantics: no subsequent
+     * loads or stores are reordered before this read.
+     *
+     * @return the value
+     * @since 9
+     * @hide
+     */
+    @SuppressWarnings("unchecked")
+    public final V getAcquire() {
+        return (V)U.getObjectVolatile(this, VALUE);
+    }
+
+    /**
+     * Sets the value to {@code newValue}, with release semantics: no
+     * preceding loads or stores are reordered after this write.
+     *
+     * @param newValue the new value
+     * @since 9
+     * @hide
+     */
+    public final void setRelease(V newValue) {
+        U.putOrderedObject(this, VALUE, newValue);
+    }
+
+    /**
+     * Atomically sets the value to {@code newValue} if its current value,
+     * referred to as the <em>witness value</em>, {@code ==} {@code
+     * expectedValue}, with the memory effects of both reading and writing
+     * a {@code volatile} variable.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return the witness value, which will be the same as the
+     * expected value if successful
+     * @since 9
+     * @hide
+     */
+    public final V compareAndExchange(V expectedValue, V newValue) {
+        V witness;
+        do {
+            witness = value;
+            if (witness != expectedValue)
+                return witness;
+        } while (!U.compareAndSwapObject(this, VALUE, expectedValue, newValue));
+        return witness;
+    }
+
+    /**
+     * Atomically sets the value to {@code newValue} if its current value,
+     * referred to as the <em>witness value</em>, {@code ==} {@code
+     * expectedValue}, with acquire semantics for the read and plain
+     * semantics for the write.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return the witness value, which will be the same as the
+     * expected value if successful
+     * @since 9
+     * @hide
+     */
+    public final V compareAndExchangeAcquire(V expectedValue, V newValue) {
+        return compareAndExchange(expectedValue, newValue);
+    }
+
+    /**
+     * Atomically sets the value to {@code newValue} if its current value,
+     * referred to as the <em>witness value</em>, {@code ==} {@code
+     * expectedValue}, with plain semantics for the read and release
+     * semantics for the write.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return the witness value, which will be the same as the
+     * expected value if successful
+     * @since 9
+     * @hide
+     */
+    public final V compareAndExchangeRelease(V expectedValue, V newValue) {
+        return compareAndExchange(expectedValue, newValue);
+    }
+
+    /**
+     * Possibly atomically sets the value to {@code newValue} if its
+     * current value {@code == expectedValue}, with no ordering
+     * guarantees. May fail spuriously.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean weakCompareAndSetPlain(V expectedValue, V newValue) {
+        return U.compareAndSwapObject(this, VALUE, expectedValue, newValue);
+    }
+
+    /**
+     * Possibly atomically sets the value to {@code newValue} if its
+     * current value {@code == expectedValue}, with the memory effects of
+     * {@link #compareAndSet} when successful. May fail spuriously.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean weakCompareAndSetVolatile(V expectedValue,
+                                                   V newValue) {
+        return U.compareAndSwapObject(this, VALUE, expectedValue, newValue);
+    }
+
+    /**
+     * Possibly atomically sets the value to {@code newValue} if its
+     * current value {@code == expectedValue}, with acquire semantics for
+     * the read. May fail spuriously.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean weakCompareAndSetAcquire(V expectedValue, V newValue) {
+        return U.compareAndSwapObject(this, VALUE, expectedValue, newValue);
+    }
+
+    /**
+     * Possibly atomically sets the value to {@code newValue} if its
+     * current value {@code == expectedValue}, with release semantics for
+     * the write. May fail spuriously.
+     *
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @since 9
+     * @hide
+     */
+    public final boolean weakCompareAndSetRelease(V expectedValue, V newValue) {
+        return U.compareAndSwapObject(this, VALUE, expectedValue, newValue);
+    }
+
 }
@@ -254,6 +254,217 @@ public abstract class AtomicReferenceFieldUpdater<T,V> {
         return next;
     }
 
+    // jdk9
+
+    /**
+     * Returns the current value held in the field of the given object,
+     * with memory semantics of reading as if the field was declared
+     * non-{@code volatile}. The default implementation calls
+     * {@link #get}.
+     *
+     * @param obj An object whose field to get
+     * @return the current value
+     * @hide
+     */
+    public V getPlain(T obj) {
+        return get(obj);
+    }
+
+    /**
+     * Sets the field of the given object to {@code newValue}, with
+     * memory semantics of setting as if the field was declared
+     * non-{@code volatile}. The default implementation calls
+     * {@link #set}.
+     *
+     * @param obj An object whose field to set
+     * @param newValue the new value
+     * @hide
+     */
+    public void setPlain(T obj, V newValue) {
+        set(obj, newValue);
+    }
+
+    /**
+     * Returns the current value held in the field of the given object,
+     * with the memory effects of an opaque read as described in the
+     * {@linkplain java.util.concurrent.atomic package specification}.
+     * The default implementation calls {@link #get}.
+     *
+     * @param obj An object whose field to get
+     * @return the current value
+     * @hide
+     */
+    public V getOpaque(T obj) {
+        return get(obj);
+    }
+
+    /**
+     * Sets the field of the given object to {@code newValue}, with the
+     * memory effects of an opaque write as described in the
+     * {@linkplain java.util.concurrent.atomic package specification}.
+     * The default implementation calls {@link #lazySet}.
+     *
+     * @param obj An object whose field to set
+     * @param newValue the new value
+     * @hide
+     */
+    public void setOpaque(T obj, V newValue) {
+        lazySet(obj, newValue);
+    }
+
+    /**
+     * Returns the current value held in the field of the given object,
+     * with acquire semantics: no subsequent loads or stores are
+     * reordered before this read. The default implementation calls
+     * {@link #get}.
+     *
+     * @param obj An object whose field to get
+     * @return the current value
+     * @hide
+     */
+    public V getAcquire(T obj) {
+        return get(obj);
+    }
+
+    /**
+     * Sets the field of the given object to {@code newValue}, with
+     * release semantics: no preceding loads or stores are reordered
+     * after this write. The default implementation calls
+     * {@link #lazySet}.
+     *
+     * @param obj An object whose field to set
+     * @param newValue the new value
+     * @hide
+     */
+    public void setRelease(T obj, V newValue) {
+        lazySet(obj, newValue);
+    }
+
+    /**
+     * Atomically sets the field of the given object to {@code newValue}
+     * if its current value, referred to as the <em>witness value</em>,
+     * {@code ==} {@code expectedValue}, with the memory effects of both
+     * reading and writing a {@code volatile} variable. The default
+     * implementation retries {@link #compareAndSet}.
+     *
+     * @param obj An object whose field to get and set
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return the witness value, which will be the same as the
+     * expected value if successful
+     * @hide
+     */
+    public V compareAndExchange(T obj, V expectedValue, V newValue) {
+        V witness;
+        do {
+            witness = get(obj);
+            if (witness != expectedValue)
+                return witness;
+        } while (!compareAndSet(obj, expectedValue, newValue));
+        return witness;
+    }
+
+    /**
+     * Atomically sets the field of the given object to {@code newValue}
+     * if its current value, referred to as the <em>witness value</em>,
+     * {@code ==} {@code expectedValue}, with acquire semantics for the
+     * read and plain semantics for the write.
+     *
+     * @param obj An object whose field to get and set
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return the witness value, which will be the same as the
+     * expected value if successful
+     * @hide
+     */
+    public final V compareAndExchangeAcquire(T obj, V expectedValue,
+            V newValue) {
+        return compareAndExchange(obj, expectedValue, newValue);
+    }
+
+    /**
+     * Atomically sets the field of the given object to {@code newValue}
+     * if its current value, referred to as the <em>witness value</em>,
+     * {@code ==} {@code expectedValue}, with plain semantics for the
+     * read and release semantics for the write.
+     *
+     * @param obj An object whose field to get and set
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return the witness value, which will be the same as the
+     * expected value if successful
+     * @hide
+     */
+    public final V compareAndExchangeRelease(T obj, V expectedValue,
+            V newValue) {
+        return compareAndExchange(obj, expectedValue, newValue);
+    }
+
+    /**
+     * Possibly atomically sets the field of the given object to
+     * {@code newValue} if its current value {@code == expectedValue},
+     * with no ordering guarantees. May fail spuriously.
+     *
+     * @param obj An object whose field to get and set
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @hide
+     */
+    public final boolean weakCompareAndSetPlain(T obj, V expectedValue,
+            V newValue) {
+        return weakCompareAndSet(obj, expectedValue, newValue);
+    }
+
+    /**
+     * Possibly atomically sets the field of the given object to
+     * {@code newValue} if its current value {@code == expectedValue},
+     * with the memory effects of {@link #compareAndSet} when successful.
+     * May fail spuriously.
+     *
+     * @param obj An object whose field to get and set
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @hide
+     */
+    public final boolean weakCompareAndSetVolatile(T obj, V expectedValue,
+            V newValue) {
+        return weakCompareAndSet(obj, expectedValue, newValue);
+    }
+
+    /**
+     * Possibly atomically sets the field of the given object to
+     * {@code newValue} if its current value {@code == expectedValue},
+     * with acquire semantics for the read. May fail spuriously.
+     *
+     * @param obj An object whose field to get and set
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @hide
+     */
+    public final boolean weakCompareAndSetAcquire(T obj, V expectedValue,
+            V newValue) {
+        return weakCompareAndSet(obj, expectedValue, newValue);
+    }
+
+    /**
+     * Possibly atomically sets the field of the given object to
+     * {@code newValue} if its current value {@code == expectedValue},
+     * with release semantics for the write. May fail spuriously.
+     *
+     * @param obj An object whose field to get and set
+     * @param expectedValue the expected value
+     * @param newValue the new value
+     * @return {@code true} if successful
+     * @hide
+     */
+    public final boolean weakCompareAndSetRelease(T obj, V expectedValue,
+            V newValue) {
+        return weakCompareAndSet(obj, expectedValue, newValue);
+    }
+
     private static final class AtomicReferenceFieldUpdaterImpl<T,V>
         extends AtomicReferenceFieldUpdater<T,V> {
         private static final sun.misc.Unsafe U = sun.misc.Unsafe.getUnsafe();
@@ -414,5 +625,56 @@ public abstract class AtomicReferenceFieldUpdater<T,V> {
             valueCheck(newValue);
             return (V)U.getAndSetObject(obj, offset, newValue);
         }
+
+        // jdk9
+
+        @SuppressWarnings("unchecked")
+        public final V getPlain(T obj) {
+            accessCheck(obj);
+            return (V)U.getObject(obj, offset);
+        }
+
+        public final void setPlain(T obj, V newValue) {
+            accessCheck(obj);
+            valueCheck(newValue);
+            U.putObject(obj, offset, newValue);
+        }
+
+        @SuppressWarnings("unchecked")
+        public final V getOpaque(T obj) {
+            accessCheck(obj);
+            return (V)U.getObjectVolatile(obj, offset);
+        }
+
+        public final void setOpaque(T obj, V newValue) {
+            accessCheck(obj);
+            valueCheck(newValue);
+            U.putOrderedObject(obj, offset, newValue);
+        }
+
+        @SuppressWarnings("unchecked")
+        public final V getAcquire(T obj) {
+            accessCheck(obj);
+            return (V)U.getObjectVolatile(obj, offset);
+        }
+
+        public final void setRelease(T obj, V newValue) {
+            accessCheck(obj);
+            valueCheck(newValue);
+            U.putOrderedObject(obj, offset, newValue);
+        }
+
+        @SuppressWarnings("unchecked")
+        public final V compareAndExchange(T obj, V expectedValue, V newValue) {
+            accessCheck(obj);
+            valueCheck(newValue);
+            V witness;
+            do {
+                witness = (V)U.getObjectVolatile(obj, offset);
+                if (witness != expectedValue)
+                    return witness;
+            } while (!U.compareAndSwapObject(obj, offset, expectedValue, newValue));
+            return witness;
+        }
     }
 }
@@ -91,6 +91,27 @@
  *   with respect to previous or subsequent reads and writes of any
  *   variables other than the target of the {@code weakCompareAndSet}.
  *
+ *   <li>{@code getPlain} and {@code setPlain} have the memory effects
+ *   of reading and writing an ordinary non-{@code volatile} variable.
+ *
+ *   <li>{@code getOpaque} and {@code setOpaque} are performed in program
+ *   order with respect to other opaque accesses of the same variable,
+ *   and are never optimized away or torn, but impose no ordering
+ *   constraints on accesses of other variables.
+ *
+ *   <li>{@code getAcquire} has the memory effects of an opaque read,
+ *   and in addition prevents subsequent loads and stores from being
+ *   reordered before it.  {@code setRelease} has the memory effects of
+ *   {@code lazySet}: preceding loads and stores are not reordered after
+ *   it.
+ *
+ *   <li>{@code compareAndExchange} atomically reads and conditionally
+ *   writes a variable, returning the value it read rather than a
+ *   success flag.  Its {@code Acquire} and {@code Release} variants, and
+ *   the {@code weakCompareAndSetPlain}, {@code weakCompareAndSetAcquire},
+ *   {@code weakCompareAndSetRelease} and {@code weakCompareAndSetVolatile}
+ *   methods, are available for use where the weaker ordering suffices.
+ *
  *   <li>{@code compareAndSet}
  *   and all other read-and-update operations such as {@code getAndIncrement}
  *   have the memory effects of both reading and
@@ -67,6 +67,13 @@ public abstract class AbstractQueuedLongSynchronizer
      */
     private volatile long state;
 
+    // android-added
+    /**
+     * Contention counters, created on first contended acquire while
+     * {@link LockContention} accounting is enabled.
+     */
+    private transient volatile LockContention.Counters contention;
+
     /**
      * Returns the current value of synchronization state.
      * This operation has memory semantics of a {@code volatile} read.
@@ -374,6 +381,59 @@ public abstract class AbstractQueuedLongSynchronizer
         return Thread.interrupted();
     }
 
+    // android-added
+    /**
+     * Returns this synchronizer's contention counters, first counting
+     * a contended acquire, or null if accounting is disabled.  Called
+     * only once an acquire has failed and queued, so costs nothing on
+     * uncontended paths.
+     */
+    private LockContention.Counters contendedAcquire() {
+        if (!LockContention.enabled)
+            return null;
+        LockContention.Counters c = contention;
+        if (c == null) {
+            c = new LockContention.Counters(this);
+            if (U.compareAndSwapObject(this, CONTENTION, null, c))
+                LockContention.register(c);
+            else
+                c = contention;
+        }
+        c.contendedAcquires.increment();
+        return c;
+    }
+
+    // android-added
+    /**
+     * Like {@link #parkAndCheckInterrupt()}, also recording the park
+     * time in {@code counters} if non-null.
+     */
+    private final boolean parkAndCheckInterrupt(
+            LockContention.Counters counters) {
+        if (counters == null)
+            return parkAndCheckInterrupt();
+        long start = System.nanoTime();
+        LockSupport.park(this);
+        counters.parked(System.nanoTime() - start);
+        return Thread.interrupted();
+    }
+
+    // android-added
+    /**
+     * Parks for up to {@code nanosTimeout}, recording the park time in
+     * {@code counters} if non-null.
+     */
+    private void parkNanos(LockContention.Counters counters,
+                           long nanosTimeout) {
+        if (counters == null) {
+            LockSupport.parkNanos(this, nanosTimeout);
+        } else {
+            long start = System.nanoTime();
+            LockSupport.parkNanos(this, nanosTimeout);
+            counters.parked(System.nanoTime() - start);
+        }
+    }
+
     /*
      * Various flavors of acquire, varying in exclusive/shared and
      * control modes.  Each is mostly the same, but annoyingly
@@ -392,6 +452,7 @@ public abstract class AbstractQueuedLongSynchronizer
      * @return {@code true} if interrupted while waiting
      */
     final boolean acquireQueued(final Node node, long arg) {
+        final LockContention.Counters counters = contendedAcquire();
         try {
             boolean interrupted = false;
             for (;;) {
@@ -402,7 +463,7 @@ public abstract class AbstractQueuedLongSynchronizer
                     return interrupted;
                 }
                 if (shouldParkAfterFailedAcquire(p, node) &&
-                    parkAndCheckInterrupt())
+                    parkAndCheckInterrupt(counters))
                     interrupted = true;
             }
         } catch (Throwable t) {
@@ -418,6 +479,7 @@ public abstract class AbstractQueuedLongSynchronizer
     private void doAcquireInterruptibly(long arg)
         throws InterruptedException {
         final Node node = addWaiter(Node.EXCLUSIVE);
+        final LockContention.Counters counters = contendedAcquire();
         try {
             for (;;) {
                 final Node p = node.predecessor();
@@ -427,7 +489,7 @@ public abstract class AbstractQueuedLongSynchronizer
                     return;
                 }
                 if (shouldParkAfterFailedAcquire(p, node) &&
-                    parkAndCheckInterrupt())
+                    parkAndCheckInterrupt(counters))
                     throw new InterruptedException();
             }
         } catch (Throwable t) {
@@ -449,6 +511,7 @@ public abstract class AbstractQueuedLongSynchronizer
             return false;
         final long deadline = System.nanoTime() + nanosTimeout;
         final Node node = addWaiter(Node.EXCLUSIVE);
+        final LockContention.Counters counters = contendedAcquire();
         try {
             for (;;) {
                 final Node p = node.predecessor();
@@ -464,7 +527,7 @@ public abstract class AbstractQueuedLongSynchronizer
                 }
                 if (shouldParkAfterFailedAcquire(p, node) &&
                     nanosTimeout > SPIN_FOR_TIMEOUT_THRESHOLD)
-                    LockSupport.parkNanos(this, nanosTimeout);
+                    parkNanos(counters, nanosTimeout);
                 if (Thread.interrupted())
                     throw new InterruptedException();
             }
@@ -480,6 +543,7 @@ public abstract class AbstractQueuedLongSynchronizer
      */
     private void doAcquireShared(long arg) {
         final Node node = addWaiter(Node.SHARED);
+        final LockContention.Counters counters = contendedAcquire();
         try {
             boolean interrupted = false;
             for (;;) {
@@ -495,7 +559,7 @@ public abstract class AbstractQueuedLongSynchronizer
                     }
                 }
                 if (shouldParkAfterFailedAcquire(p, node) &&
-                    parkAndCheckInterrupt())
+                    parkAndCheckInterrupt(counters))
                     interrupted = true;
             }
         } catch (Throwable t) {
@@ -511,6 +575,7 @@ public abstract class AbstractQueuedLongSynchronizer
     private void doAcquireSharedInterruptibly(long arg)
         throws InterruptedException {
         final Node node = addWaiter(Node.SHARED);
+        final LockContention.Counters counters = contendedAcquire();
         try {
             for (;;) {
                 final Node p = node.predecessor();
@@ -523,7 +588,7 @@ public abstract class AbstractQueuedLongSynchronizer
                     }
                 }
                 if (shouldParkAfterFailedAcquire(p, node) &&
-                    parkAndCheckInterrupt())
+                    parkAndCheckInterrupt(counters))
                     throw new InterruptedException();
             }
         } catch (Throwable t) {
@@ -545,6 +610,7 @@ public abstract class AbstractQueuedLongSynchronizer
             return false;
         final long deadline = System.nanoTime() + nanosTimeout;
         final Node node = addWaiter(Node.SHARED);
+        final LockContention.Counters counters = contendedAcquire();
         try {
             for (;;) {
                 final Node p = node.predecessor();
@@ -563,7 +629,7 @@ public abstract class AbstractQueuedLongSynchronizer
                 }
                 if (shouldParkAfterFailedAcquire(p, node) &&
                     nanosTimeout > SPIN_FOR_TIMEOUT_THRESHOLD)
-                    LockSupport.parkNanos(this, nanosTimeout);
+                    parkNanos(counters, nanosTimeout);
                 if (Thread.interrupted())
                     throw new InterruptedException();
             }
@@ -1794,6 +1860,7 @@ public abstract class AbstractQueuedLongSynchronizer
     private static final long STATE;
     private static final long HEAD;
     private static final long TAIL;
+    private static final long CONTENTION; // android-added
 
     static {
         try {
@@ -1803,6 +1870,8 @@ public abstract class AbstractQueuedLongSynchronizer
                 (AbstractQueuedLongSynchronizer.class.getDeclaredField("head"));
             TAIL = U.objectFieldOffset
                 (AbstractQueuedLongSynchronizer.class.getDeclaredField("tail"));
+            CONTENTION = U.objectFieldOffset
+                (AbstractQueuedLongSynchronizer.class.getDeclaredField("contention"));
         } catch (ReflectiveOperationException e) {
             throw new Error(e);
         }
@@ -536,6 +536,13 @@ public abstract class AbstractQueuedSynchronizer
      */
     private volatile int state;
 
+    // android-added
+    /**
+     * Contention counters, created on first contended acquire while
+     * {@link LockContention} accounting is enabled.
+     */
+    private transient volatile LockContention.Counters contention;
+
     /**
      * Returns the current value of synchronization state.
      * This operation has memory semantics of a {@code volatile} read.
@@ -841,6 +848,59 @@ public abstract class AbstractQueuedSynchronizer
         return Thread.interrupted();
     }
 
+    // android-added
+    /**
+     * Returns this synchronizer's contention counters, first counting
+     * a contended acquire, or null if accounting is disabled.  Called
+     * only once an acquire has failed and queued, so costs nothing on
+     * uncontended paths.
+     */
+    private LockContention.Counters contendedAcquire() {
+        if (!LockContention.enabled)
+            return null;
+        LockContention.Counters c = contention;
+        if (c == null) {
+            c = new LockContention.Counters(this);
+            if (U.compareAndSwapObject(this, CONTENTION, null, c))
+                LockContention.register(c);
+            else
+                c = contention;
+        }
+        c.contendedAcquires.increment();
+        return c;
+    }
+
+    // android-added
+    /**
+     * Like {@link #parkAndCheckInterrupt()}, also recording the park
+     * time in {@code counters} if non-null.
+     */
+    private final boolean parkAndCheckInterrupt(
+            LockContention.Counters counters) {
+        if (counters == null)
+            return parkAndCheckInterrupt();
+        long start = System.nanoTime();
+        LockSupport.park(this);
+        counters.parked(System.nanoTime() - start);
+        return Thread.interrupted();
+    }
+
+    // android-added
+    /**
+     * Parks for up to {@code nanosTimeout}, recording the park time in
+     * {@code counters} if non-null.
+     */
+    private void parkNanos(LockContention.Counters counters,
+                           long nanosTimeout) {
+        if (counters == null) {
+            LockSupport.parkNanos(this, nanosTimeout);
+        } else {
+            long start = System.nanoTime();
+            LockSupport.parkNanos(this, nanosTimeout);
+            counters.parked(System.nanoTime() - start);
+        }
+    }
+
     /*
      * Various flavors of acquire, varying in exclusive/shared and
      * control modes.  Each is mostly the same, but annoyingly
@@ -860,6 +920,7 @@ public abstract class AbstractQueuedSynchronizer
      */
 /// OPENJDK-9     @ReservedStackAccess
     final boolean acquireQueued(final Node node, int arg) {
+        final LockContention.Counters counters = contendedAcquire();
         try {
             boolean interrupted = false;
             for (;;) {
@@ -870,7 +931,7 @@ public abstract class AbstractQueuedSynchronizer
                     return interrupted;
                 }
                 if (shouldParkAfterFailedAcquire(p, node) &&
-                    parkAndCheckInterrupt())
+                    parkAndCheckInterrupt(counters))
                     interrupted = true;
             }
         } catch (Throwable t) {
@@ -886,6 +947,7 @@ public abstract class AbstractQueuedSynchronizer
     private void doAcquireInterruptibly(int arg)
         throws InterruptedException {
         final Node node = addWaiter(Node.EXCLUSIVE);
+        final LockContention.Counters counters = contendedAcquire();
         try {
             for (;;) {
                 final Node p = node.predecessor();
@@ -895,7 +957,7 @@ public abstract class AbstractQueuedSynchronizer
                     return;
                 }
                 if (shouldParkAfterFailedAcquire(p, node) &&
-                    parkAndCheckInterrupt())
+                    parkAndCheckInterrupt(counters))
                     throw new InterruptedException();
             }
         } catch (Throwable t) {
@@ -917,6 +979,7 @@ public abstract class AbstractQueuedSynchronizer
             return false;
         final long deadline = System.nanoTime() + nanosTimeout;
         final Node node = addWaiter(Node.EXCLUSIVE);
+        final LockContention.Counters counters = contendedAcquire();
         try {
             for (;;) {
                 final Node p = node.predecessor();
@@ -932,7 +995,7 @@ public abstract class AbstractQueuedSynchronizer
                 }
                 if (shouldParkAfterFailedAcquire(p, node) &&
                     nanosTimeout > SPIN_FOR_TIMEOUT_THRESHOLD)
-                    LockSupport.parkNanos(this, nanosTimeout);
+                    parkNanos(counters, nanosTimeout);
                 if (Thread.interrupted())
                     throw new InterruptedException();
             }
@@ -948,6 +1011,7 @@ public abstract class AbstractQueuedSynchronizer
      */
     private void doAcquireShared(int arg) {
         final Node node = addWaiter(Node.SHARED);
+        final LockContention.Counters counters = contendedAcquire();
         try {
             boolean interrupted = false;
             for (;;) {
@@ -963,7 +1027,7 @@ public abstract class AbstractQueuedSynchronizer
                     }
                 }
                 if (shouldParkAfterFailedAcquire(p, node) &&
-                    parkAndCheckInterrupt())
+                    parkAndCheckInterrupt(counters))
                     interrupted = true;
             }
         } catch (Throwable t) {
@@ -979,6 +1043,7 @@ public abstract class AbstractQueuedSynchronizer
     private void doAcquireSharedInterruptibly(int arg)
         throws InterruptedException {
         final Node node = addWaiter(Node.SHARED);
+        final LockContention.Counters counters = contendedAcquire();
         try {
             for (;;) {
                 final Node p = node.predecessor();
@@ -991,7 +1056,7 @@ public abstract class AbstractQueuedSynchronizer
                     }
                 }
                 if (shouldParkAfterFailedAcquire(p, node) &&
-                    parkAndCheckInterrupt())
+                    parkAndCheckInterrupt(counters))
                     throw new InterruptedException();
             }
         } catch (Throwable t) {
@@ -1013,6 +1078,7 @@ public abstract class AbstractQueuedSynchronizer
             return false;
         final long deadline = System.nanoTime() + nanosTimeout;
         final Node node = addWaiter(Node.SHARED);
+        final LockContention.Counters counters = contendedAcquire();
         try {
             for (;;) {
                 final Node p = node.predecessor();
@@ -1031,7 +1097,7 @@ public abstract class AbstractQueuedSynchronizer
                 }
                 if (shouldParkAfterFailedAcquire(p, node) &&
                     nanosTimeout > SPIN_FOR_TIMEOUT_THRESHOLD)
-                    LockSupport.parkNanos(this, nanosTimeout);
+                    parkNanos(counters, nanosTimeout);
                 if (Thread.interrupted())
                     throw new InterruptedException();
             }
@@ -2263,6 +2329,7 @@ public abstract class AbstractQueuedSynchronizer
     private static final long STATE;
     private static final long HEAD;
     private static final long TAIL;
+    private static final long CONTENTION; // android-added
 
     static {
         try {
@@ -2272,6 +2339,8 @@ public abstract class AbstractQueuedSynchronizer
                 (AbstractQueuedSynchronizer.class.getDeclaredField("head"));
             TAIL = U.objectFieldOffset
                 (AbstractQueuedSynchronizer.class.getDeclaredField("tail"));
+            CONTENTION = U.objectFieldOffset
+                (AbstractQueuedSynchronizer.class.getDeclaredField("contention"));
         } catch (ReflectiveOperationException e) {
             throw new Error(e);
         }
@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package java.util.concurrent.locks;
+
+import java.io.PrintWriter;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in contention accounting for synchronizers built on {@link
+ * AbstractQueuedSynchronizer} or {@link AbstractQueuedLongSynchronizer}.
+ * Examples are {@link ReentrantLock}, {@link ReentrantReadWriteLock},
+ * {@link java.util.concurrent.Semaphore} and {@link
+ * java.util.concurrent.CountDownLatch}.
+ *
+ * <p>While accounting is {@linkplain #setEnabled enabled}, each
+ * synchronizer counts its <i>contended acquires</i>: acquires that
+ * found it unavailable and queued.  Reacquiring a lock after waiting
+ * on one of its {@link Condition}s also counts.  Each synchronizer
+ * also counts how often queued threads parked, and how long they
+ * stayed parked.
+ *
+ * <p>Accounting happens only once an acquire has to queue.  An
+ * acquire that succeeds on its first attempt, such as locking an
+ * uncontended lock, is never counted, and costs nothing extra
+ * whether or not accounting is enabled.  {@link StampedLock} doesn't
+ * use a queued synchronizer, so it isn't covered.
+ *
+ * <p>Only contended acquires are counted, not all acquires: counting
+ * every acquire would need a check on the uncontended path even
+ * while accounting is disabled.
+ *
+ * <p>Counters are kept for as long as their synchronizer is
+ * reachable, and dropped once it has been garbage collected.  Use
+ * {@link #snapshot} to sample them, or {@link #dump} to print them.
+ *
+ * @hide
+ */
+public final class LockContention {
+    private LockContention() {}
+
+    /** Number of park time histogram buckets. */
+    private static final int BUCKETS = 24;
+
+    /** Whether synchronizers should count contention. */
+    static volatile boolean enabled;
+
+    /** Counters of all synchronizers that have been contended while enabled. */
+    private static final Set<Counters> registered = ConcurrentHashMap.newKeySet();
+
+    /** Counters whose synchronizer has been garbage collected. */
+    private static final ReferenceQueue<Object> collected = new ReferenceQueue<Object>();
+
+    /**
+     * Starts or stops contention accounting.  Counters collected so
+     * far are kept when accounting stops; see {@link #reset}.
+     */
+    public static void setEnabled(boolean enabled) {
+        LockContention.enabled = enabled;
+    }
+
+    /**
+     * Returns whether contention accounting is enabled.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Zeroes the counters of all synchronizers.
+     */
+    public static void reset() {
+        expunge();
+        for (Counters counters : registered) {
+            counters.reset();
+        }
+    }
+
+    /**
+     * Returns the counters of every reachable synchronizer that has
+     * been contended, most time spent parked first.  Counters that
+     * are being updated concurrently may be sampled inconsistently.
+     */
+    public static List<Sample> snapshot() {
+        expunge();
+        List<Sample> samples = new ArrayList<Sample>();
+        for (Counters counters : registered) {
+            Object synchronizer = counters.get();
+            if (synchronizer != null) {
+                samples.add(new Sample(synchronizer, counters));
+            }
+        }
+        Collections.sort(samples, new Comparator<Sample>() {
+            @Override public int compare(Sample a, Sample b) {
+                return Long.compare(b.totalParkNanos, a.totalParkNanos);
+            }
+        });
+        return samples;
+    }
+
+    /**
+     * Prints a {@link #snapshot} to {@code pw}, one synchronizer per
+     * line.
+     */
+    public static void dump(PrintWriter pw) {
+        List<Sample> samples = snapshot();
+        pw.println("Lock contention (" + (enabled ? "enabled" : "disabled") + "): "
+                + samples.size() + " synchronizers");
+        for (Sample sample : samples) {
+            pw.println("  " + sample);
+        }
+        pw.flush();
+    }
+
+    /**
+     * Returns the park time histogram bucket for {@code nanos}.  Bucket
+     * 0 is for parks shorter than 1024ns, and each later bucket for
+     * parks up to twice as long as the one before.
+     */
+    static int bucket(long nanos) {
+        int bucket = 64 - Long.numberOfLeadingZeros(nanos >>> 10);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    /**
+     * Adds {@code counters} to those reported by {@link #snapshot},
+     * first dropping the counters of collected synchronizers.
+     */
+    static void register(Counters counters) {
+        expunge();
+        registered.add(counters);
+    }
+
+    /**
+     * Drops the counters of synchronizers that have been garbage
+     * collected.
+     */
+    private static void expunge() {
+        Reference<?> ref;
+        while ((ref = collected.poll()) != null) {
+            registered.remove(ref);
+        }
+    }
+
+    /**
+     * The counters of one synchronizer, created when it is first
+     * contended while accounting is enabled.  Refers weakly to the
+     * synchronizer, and is queued for removal once it is collected.
+     */
+    static final class Counters extends WeakReference<Object> {
+        final LongAdder contendedAcquires = new LongAdder();
+        final LongAdder parks = new LongAdder();
+        final LongAdder parkNanos = new LongAdder();
+        final AtomicLong maxParkNanos = new AtomicLong();
+        final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        Counters(Object synchronizer) {
+            super(synchronizer, collected);
+        }
+
+        /**
+         * Records a park that lasted {@code nanos}.
+         */
+        void parked(long nanos) {
+            parks.increment();
+            parkNanos.add(nanos);
+            long max;
+            while (nanos > (max = maxParkNanos.get())
+                   && !maxParkNanos.compareAndSet(max, nanos)) {
+            }
+            histogram.getAndIncrement(bucket(nanos));
+        }
+
+        void reset() {
+            contendedAcquires.reset();
+            parks.reset();
+            parkNanos.reset();
+            maxParkNanos.set(0);
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram.set(i, 0);
+            }
+        }
+    }
+
+    /**
+     * The counters of one synchronizer at the time of a {@link
+     * #snapshot}.
+     */
+    public static final class Sample {
+        private final WeakReference<Object> synchronizer;
+        private final String name;
+
+        /** Acquires that found the synchronizer unavailable and queued. */
+        public final long contendedAcquires;
+
+        /** Times a queued thread parked. */
+        public final long parks;
+
+        /** Total time queued threads spent parked, in nanoseconds. */
+        public final long totalParkNanos;
+
+        /** The longest single park, in nanoseconds. */
+        public final long maxParkNanos;
+
+        private final long[] parkHistogram;
+
+        Sample(Object synchronizer, Counters counters) {
+            this.synchronizer = new WeakReference<Object>(synchronizer);
+            this.name = synchronizer.getClass().getName() + "@"
+                    + Integer.toHexString(System.identityHashCode(synchronizer));
+            this.contendedAcquires = counters.contendedAcquires.sum();
+            this.parks = counters.parks.sum();
+            this.totalParkNanos = counters.parkNanos.sum();
+            this.maxParkNanos = counters.maxParkNanos.get();
+            this.parkHistogram = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                parkHistogram[i] = counters.histogram.get(i);
+            }
+        }
+
+        /**
+         * Returns the synchronizer, or null if it has since been
+         * garbage collected.  This is the {@code Sync} object inside
+         * a lock, not the lock itself.
+         */
+        public Object synchronizer() {
+            return synchronizer.get();
+        }
+
+        /**
+         * Returns the synchronizer's class name and identity hash code.
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * Returns the number of parks in each of a series of
+         * exponentially growing time ranges.  Element 0 counts parks
+         * shorter than 1024ns, and element {@code i} counts parks of
+         * at least {@code 512 << i} and less than {@code 1024 << i}
+         * nanoseconds.  The last element also counts all longer parks.
+         */
+        public long[] parkHistogram() {
+            return parkHistogram.clone();
+        }
+
+        @Override public String toString() {
+            return name
+                    + " contendedAcquires=" + contendedAcquires
+                    + " parks=" + parks
+                    + " totalParkMs=" + TimeUnit.NANOSECONDS.toMillis(totalParkNanos)
+                    + " maxParkUs=" + TimeUnit.NANOSECONDS.toMicros(maxParkNanos);
+        }
+    }
+}
@@ -0,0 +1,784 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package java.util.regex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.regex.RegexProgram.*;
+
+/**
+ * Compiles regular expressions for the pure-Java engine. Only a subset of
+ * ICU's syntax is supported, and only where ICU's meaning is certain:
+ * <ul>
+ * <li>Literals, including {@code \Q...\E}, and the escapes {@code \t \n \r
+ *     \f \a \e \xhh \x{h...} &#92;uhhhh \0ooo} and a backslash followed by
+ *     punctuation.
+ * <li>{@code .}, {@code \d \D \s \S \w \W}, and bracket expressions of
+ *     those, chars and ranges, optionally negated.
+ * <li>Capturing and {@code (?:...)} groups, and alternation.
+ * <li>Greedy and reluctant quantifiers. A quantified group that can match
+ *     the empty string may only be made optional.
+ * <li>{@code ^}, {@code $}, {@code \A} and {@code \z}.
+ * </ul>
+ * The flags MULTILINE, UNIX_LINES and LITERAL are supported.
+ * {@link #compile} returns null for anything else, and the pattern is left
+ * to ICU.
+ */
+final class RegexCompiler {
+    /** Programs are left to ICU if expanding counted repetitions makes them longer. */
+    private static final int MAX_INSTRUCTIONS = 10000;
+
+    /** The largest count accepted in a counted repetition. */
+    private static final int MAX_COUNT = 65535;
+
+    private static final int SUPPORTED_FLAGS =
+            Pattern.MULTILINE | Pattern.UNIX_LINES | Pattern.LITERAL | Pattern.UNICODE_CASE;
+
+    private final String regex;
+    private final boolean multiline;
+    private final boolean unixLines;
+
+    /** The parse position in {@link #regex}. */
+    private int pos;
+    private int groupCount;
+
+    private int[] code = new int[64];
+    private int codeLength;
+    private final List<String> strings = new ArrayList<>();
+    private final List<CharSet> sets = new ArrayList<>();
+
+    private RegexCompiler(String regex, int flags) {
+        this.regex = regex;
+        this.multiline = (flags & Pattern.MULTILINE) != 0;
+        this.unixLines = (flags & Pattern.UNIX_LINES) != 0;
+    }
+
+    /**
+     * Returns {@code regex} compiled, or null if it uses syntax or flags
+     * that are not supported.
+     */
+    static RegexProgram compile(String regex, int flags) {
+        // UNICODE_CASE has no effect without CASE_INSENSITIVE.
+        if ((flags & ~SUPPORTED_FLAGS) != 0) {
+            return null;
+        }
+        RegexCompiler compiler = new RegexCompiler(regex, flags);
+        try {
+            Node root;
+            if ((flags & Pattern.LITERAL) != 0) {
+                root = compiler.literals(regex);
+            } else {
+                root = compiler.parseAlternation();
+                if (compiler.pos < regex.length()) {
+                    // An unbalanced ')'.
+                    throw new UnsupportedException();
+                }
+            }
+            return compiler.generate(root);
+        } catch (UnsupportedException e) {
+            return null;
+        }
+    }
+
+    /** Thrown to leave a pattern to ICU. */
+    private static final class UnsupportedException extends Exception {
+        UnsupportedException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /*
+     * The parse tree.
+     */
+
+    private static abstract class Node {
+    }
+
+    private static final class Literal extends Node {
+        final int c;
+
+        Literal(int c) {
+            this.c = c;
+        }
+    }
+
+    private static final class CharClass extends Node {
+        final CharSet set;
+
+        CharClass(CharSet set) {
+            this.set = set;
+        }
+    }
+
+    private static final class Sequence extends Node {
+        final List<Node> items = new ArrayList<>();
+    }
+
+    private static final class Alternation extends Node {
+        final List<Node> branches = new ArrayList<>();
+    }
+
+    private static final class Group extends Node {
+        /** The capturing group's number, or -1 if not capturing. */
+        final int index;
+        final Node body;
+
+        Group(int index, Node body) {
+            this.index = index;
+            this.body = body;
+        }
+    }
+
+    private static final class Repeat extends Node {
+        final Node body;
+        final int min;
+        /** The maximum count, or -1 for no maximum. */
+        final int max;
+        final boolean greedy;
+
+        Repeat(Node body, int min, int max, boolean greedy) {
+            this.body = body;
+            this.min = min;
+            this.max = max;
+            this.greedy = greedy;
+        }
+    }
+
+    private static final class Assertion extends Node {
+        final int kind;
+
+        Assertion(int kind) {
+            this.kind = kind;
+        }
+    }
+
+    /*
+     * Parsing.
+     */
+
+    private Node parseAlternation() throws UnsupportedException {
+        Node first = parseSequence();
+        if (pos == regex.length() || regex.charAt(pos) != '|') {
+            return first;
+        }
+        Alternation alternation = new Alternation();
+        alternation.branches.add(first);
+        while (pos < regex.length() && regex.charAt(pos) == '|') {
+            pos++;
+            alternation.branches.add(parseSequence());
+        }
+        return alternation;
+    }
+
+    private Node parseSequence() throws UnsupportedException {
+        Sequence sequence = new Sequence();
+        while (pos < regex.length()) {
+            char c = regex.charAt(pos);
+            if (c == '|' || c == ')') {
+                break;
+            }
+            Node atom = parseQuantifier(parseAtom());
+            if (atom instanceof Sequence) {
+                sequence.items.addAll(((Sequence) atom).items);
+            } else if (atom instanceof Group && ((Group) atom).index == -1
+                    && ((Group) atom).body instanceof Sequence) {
+                sequence.items.addAll(((Sequence) ((Group) atom).body).items);
+            } else {
+                sequence.items.add(atom);
+            }
+        }
+        return (sequence.items.size() == 1) ? sequence.items.get(0) : sequence;
+    }
+
+    private Node parseAtom() throws UnsupportedException {
+        int c = regex.codePointAt(pos);
+        pos += Character.charCount(c);
+        switch (c) {
+        case '(':
+            int index = -1;
+            if (regex.startsWith("?", pos)) {
+                if (!regex.startsWith("?:", pos)) {
+                    throw new UnsupportedException();
+                }
+                pos += 2;
+            } else {
+                index = ++groupCount;
+            }
+            Node body = parseAlternation();
+            if (pos == regex.length()) {
+                throw new UnsupportedException();
+            }
+            pos++;
+            return new Group(index, body);
+        case '[':
+            return parseBracketExpression();
+        case '.':
+            return new CharClass(unixLines ? DOT_UNIX : DOT);
+        case '^':
+            return new Assertion(!multiline ? BEGIN : unixLines ? BEGIN_LINE_UNIX : BEGIN_LINE);
+        case '$':
+            return new Assertion(multiline
+                    ? (unixLines ? END_LINE_UNIX : END_LINE)
+                    : (unixLines ? END_UNIX : END));
+        case '\\':
+            return parseEscape();
+        case '*':
+        case '+':
+        case '?':
+        case '{':
+        case '}':
+        case ']':
+            throw new UnsupportedException();
+        default:
+            return new Literal(checkNotSurrogate(c));
+        }
+    }
+
+    /**
+     * Parses the escape after a backslash outside a bracket expression.
+     */
+    private Node parseEscape() throws UnsupportedException {
+        if (pos == regex.length()) {
+            throw new UnsupportedException();
+        }
+        char c = regex.charAt(pos);
+        switch (c) {
+        case 'Q':
+            int end = regex.indexOf("\\E", pos + 1);
+            String quoted = regex.substring(pos + 1, (end == -1) ? regex.length() : end);
+            pos = (end == -1) ? regex.length() : end + 2;
+            return literals(quoted);
+        case 'A':
+            pos++;
+            return new Assertion(BEGIN);
+        case 'z':
+            pos++;
+            return new Assertion(END_INPUT);
+        }
+        int cls = parseClassEscape();
+        if (cls != Integer.MIN_VALUE) {
+            return new CharClass(new ClassSet(new int[0], new int[] { cls }, false));
+        }
+        return new Literal(parseCharEscape());
+    }
+
+    /**
+     * Parses {@code \d \D \s \S \w \W} after a backslash.
+     *
+     * @return the class, its complement, or {@code Integer.MIN_VALUE} if the
+     *     escape is not one of those
+     */
+    private int parseClassEscape() {
+        int cls;
+        switch (regex.charAt(pos)) {
+        case 'd': cls = ClassSet.DIGIT; break;
+        case 'D': cls = ~ClassSet.DIGIT; break;
+        case 's': cls = ClassSet.SPACE; break;
+        case 'S': cls = ~ClassSet.SPACE; break;
+        case 'w': cls = ClassSet.WORD; break;
+        case 'W': cls = ~ClassSet.WORD; break;
+        default: return Integer.MIN_VALUE;
+        }
+        pos++;
+        return cls;
+    }
+
+    /**
+     * Parses an escape for a single code point after a backslash.
+     */
+    private int parseCharEscape() throws UnsupportedException {
+        char c = regex.charAt(pos++);
+        switch (c) {
+        case 't': return '\t';
+        case 'n': return '\n';
+        case 'r': return '\r';
+        case 'f': return '\f';
+        case 'a': return '\u0007';
+        case 'e': return '\u001b';
+        case 'x':
+            if (regex.startsWith("{", pos)) {
+                int end = regex.indexOf('}', pos);
+                if (end == -1 || end - pos - 1 > 6) {
+                    throw new UnsupportedException();
+                }
+                int value = parseDigits(pos + 1, end, 16);
+                pos = end + 1;
+                if (value > Character.MAX_CODE_POINT) {
+                    throw new UnsupportedException();
+                }
+                return checkNotSurrogate(value);
+            }
+            return checkNotSurrogate(parseFixedDigits(2, 16));
+        case 'u':
+            return checkNotSurrogate(parseFixedDigits(4, 16));
+        case '0':
+            int end = pos;
+            while (end < regex.length() && end - pos < 3
+                    && regex.charAt(end) >= '0' && regex.charAt(end) <= '7') {
+                end++;
+            }
+            if (end - pos == 3 && regex.charAt(pos) > '3') {
+                // Java and ICU may disagree on where this ends.
+                throw new UnsupportedException();
+            }
+            int value = parseDigits(pos, end, 8);
+            pos = end;
+            return value;
+        default:
+            if (c < 128 && !Character.isLetterOrDigit(c)) {
+                return c;
+            }
+            throw new UnsupportedException();
+        }
+    }
+
+    private int parseFixedDigits(int count, int radix) throws UnsupportedException {
+        if (pos + count > regex.length()) {
+            throw new UnsupportedException();
+        }
+        int value = parseDigits(pos, pos + count, radix);
+        pos += count;
+        return value;
+    }
+
+    /**
+     * Returns the value of the digits in {@code regex[start, end)}, of
+     * which there must be at least one.
+     */
+    private int parseDigits(int start, int end, int radix) throws UnsupportedException {
+        if (start == end) {
+            throw new UnsupportedException();
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(regex.charAt(i), radix);
+            // Character.digit() also accepts non-ASCII digits.
+            if (digit == -1 || regex.charAt(i) >= 128) {
+                throw new UnsupportedException();
+            }
+            value = value * radix + digit;
+        }
+        return value;
+    }
+
+    private Node parseBracketExpression() throws UnsupportedException {
+        boolean negated = regex.startsWith("^", pos);
+        if (negated) {
+            pos++;
+        }
+        if (regex.startsWith("]", pos)) {
+            throw new UnsupportedException();
+        }
+        IntList ranges = new IntList();
+        IntList classes = new IntList();
+        boolean first = true;
+        while (true) {
+            if (pos == regex.length()) {
+                throw new UnsupportedException();
+            }
+            int c = regex.codePointAt(pos);
+            if (c == ']') {
+                pos++;
+                break;
+            }
+            int lo;
+            if (c == '-') {
+                if (!first && !regex.startsWith("]", pos + 1)) {
+                    throw new UnsupportedException();
+                }
+                pos++;
+                checkNoRangeFollows();
+                ranges.add(c);
+                ranges.add(c);
+                first = false;
+                continue;
+            } else if (c == '\\') {
+                pos++;
+                if (pos == regex.length()) {
+                    throw new UnsupportedException();
+                }
+                int cls = parseClassEscape();
+                if (cls != Integer.MIN_VALUE) {
+                    classes.add(cls);
+                    checkNoRangeFollows();
+                    first = false;
+                    continue;
+                }
+                lo = parseCharEscape();
+            } else {
+                lo = parseBracketLiteral(c);
+            }
+            int hi = lo;
+            if (isRangeDash()) {
+                pos++;
+                c = regex.codePointAt(pos);
+                if (c == '\\') {
+                    pos++;
+                    if (pos == regex.length() || parseClassEscape() != Integer.MIN_VALUE) {
+                        throw new UnsupportedException();
+                    }
+                    hi = parseCharEscape();
+                } else if (c == '-') {
+                    throw new UnsupportedException();
+                } else {
+                    hi = parseBracketLiteral(c);
+                }
+                if (hi < lo) {
+                    throw new UnsupportedException();
+                }
+                checkNoRangeFollows();
+            }
+            ranges.add(lo);
+            ranges.add(hi);
+            first = false;
+        }
+        return new CharClass(new ClassSet(ranges.toArray(), classes.toArray(), negated));
+    }
+
+    /**
+     * Consumes {@code c}, a char in a bracket expression that is taken
+     * literally, and returns it.
+     */
+    private int parseBracketLiteral(int c) throws UnsupportedException {
+        // ICU gives these special meanings, or they would be errors in Java.
+        if (c == '[' || c == '&' || c == '$' || c == '{' || c == '}') {
+            throw new UnsupportedException();
+        }
+        pos += Character.charCount(c);
+        return checkNotSurrogate(c);
+    }
+
+    /** Returns whether a '-' that starts a range is next. */
+    private boolean isRangeDash() {
+        return pos + 1 < regex.length() && regex.charAt(pos) == '-' && regex.charAt(pos + 1) != ']';
+    }
+
+    /** Rejects a range after a range or a class, such as {@code [a-c-e]}. */
+    private void checkNoRangeFollows() throws UnsupportedException {
+        if (isRangeDash()) {
+            throw new UnsupportedException();
+        }
+    }
+
+    private Node parseQuantifier(Node atom) throws UnsupportedException {
+        if (pos == regex.length()) {
+            return atom;
+        }
+        int min;
+        int max;
+        switch (regex.charAt(pos)) {
+        case '*':
+            min = 0;
+            max = -1;
+            pos++;
+            break;
+        case '+':
+            min = 1;
+            max = -1;
+            pos++;
+            break;
+        case '?':
+            min = 0;
+            max = 1;
+            pos++;
+            break;
+        case '{':
+            pos++;
+            min = parseCount();
+            max = min;
+            if (regex.startsWith(",", pos)) {
+                pos++;
+                max = regex.startsWith("}", pos) ? -1 : parseCount();
+            }
+            if (!regex.startsWith("}", pos) || (max != -1 && max < min)) {
+                throw new UnsupportedException();
+            }
+            pos++;
+            break;
+        default:
+            return atom;
+        }
+        // Quantified \Q...\E sequences and assertions.
+        if (!(atom instanceof Literal || atom instanceof CharClass || atom instanceof Group)) {
+            throw new UnsupportedException();
+        }
+        boolean greedy = true;
+        if (regex.startsWith("?", pos)) {
+            greedy = false;
+            pos++;
+        } else if (regex.startsWith("+", pos)) {
+            // Possessive.
+            throw new UnsupportedException();
+        }
+        if (pos < regex.length() && "*+?{".indexOf(regex.charAt(pos)) != -1) {
+            throw new UnsupportedException();
+        }
+        return new Repeat(atom, min, max, greedy);
+    }
+
+    private int parseCount() throws UnsupportedException {
+        int end = pos;
+        while (end < regex.length() && regex.charAt(end) >= '0' && regex.charAt(end) <= '9') {
+            end++;
+        }
+        if (end == pos || end - pos > 5) {
+            throw new UnsupportedException();
+        }
+        int count = parseDigits(pos, end, 10);
+        if (count > MAX_COUNT) {
+            throw new UnsupportedException();
+        }
+        pos = end;
+        return count;
+    }
+
+    private Node literals(String s) throws UnsupportedException {
+        Sequence sequence = new Sequence();
+        for (int i = 0; i < s.length(); ) {
+            int c = s.codePointAt(i);
+            sequence.items.add(new Literal(checkNotSurrogate(c)));
+            i += Character.charCount(c);
+        }
+        return sequence;
+    }
+
+    /** Rejects unpaired surrogates, which ICU never matches inside a pair. */
+    private static int checkNotSurrogate(int c) throws UnsupportedException {
+        if (c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE) {
+            throw new UnsupportedException();
+        }
+        return c;
+    }
+
+    /*
+     * Code generation.
+     */
+
+    private RegexProgram generate(Node root) throws UnsupportedException {
+        emit(SAVE, 0, 0, 0);
+        emitNode(root);
+        emit(SAVE, 1, 0, 0);
+        emit(MATCH, 0, 0, 0);
+
+        List<Node> items = (root instanceof Sequence)
+                ? ((Sequence) root).items : Arrays.asList(root);
+        boolean anchored = false;
+        StringBuilder prefix = new StringBuilder();
+        CharSet firstSet = null;
+        if (!items.isEmpty()) {
+            Node first = items.get(0);
+            anchored = first instanceof Assertion && ((Assertion) first).kind == BEGIN;
+            for (Node item : items) {
+                if (!(item instanceof Literal)) {
+                    break;
+                }
+                prefix.appendCodePoint(((Literal) item).c);
+            }
+            if (first instanceof CharClass) {
+                firstSet = ((CharClass) first).set;
+            } else if (first instanceof Repeat && ((Repeat) first).min > 0) {
+                firstSet = singleCodePointSet(((Repeat) first).body);
+            }
+        }
+        return new RegexProgram(Arrays.copyOf(code, codeLength),
+                strings.toArray(new String[strings.size()]),
+                sets.toArray(new CharSet[sets.size()]),
+                groupCount,
+                (prefix.length() > 0) ? prefix.toString() : null,
+                firstSet,
+                anchored);
+    }
+
+    /**
+     * Appends an instruction and returns its address.
+     */
+    private int emit(int op, int a, int b, int c) throws UnsupportedException {
+        if (codeLength == code.length) {
+            if (codeLength == MAX_INSTRUCTIONS * 4) {
+                throw new UnsupportedException();
+            }
+            code = Arrays.copyOf(code, Math.min(codeLength * 2, MAX_INSTRUCTIONS * 4));
+        }
+        int address = codeLength;
+        code[codeLength++] = op;
+        code[codeLength++] = a;
+        code[codeLength++] = b;
+        code[codeLength++] = c;
+        return address;
+    }
+
+    private void emitNode(Node node) throws UnsupportedException {
+        if (node instanceof Literal) {
+            emitLiterals(new StringBuilder().appendCodePoint(((Literal) node).c));
+        } else if (node instanceof CharClass) {
+            emit(SET, addSet(((CharClass) node).set), 0, 0);
+        } else if (node instanceof Sequence) {
+            StringBuilder run = new StringBuilder();
+            for (Node item : ((Sequence) node).items) {
+                if (item instanceof Literal) {
+                    run.appendCodePoint(((Literal) item).c);
+                    continue;
+                }
+                emitLiterals(run);
+                emitNode(item);
+            }
+            emitLiterals(run);
+        } else if (node instanceof Alternation) {
+            List<Node> branches = ((Alternation) node).branches;
+            int[] jumps = new int[branches.size() - 1];
+            for (int i = 0; i < jumps.length; i++) {
+                int split = emit(SPLIT, codeLength + 4, 0, 0);
+                emitNode(branches.get(i));
+                jumps[i] = emit(JUMP, 0, 0, 0);
+                code[split + 2] = codeLength;
+            }
+            emitNode(branches.get(jumps.length));
+            for (int jump : jumps) {
+                code[jump + 1] = codeLength;
+            }
+        } else if (node instanceof Group) {
+            Group group = (Group) node;
+            if (group.index != -1) {
+                emit(SAVE, 2 * group.index, 0, 0);
+            }
+            emitNode(group.body);
+            if (group.index != -1) {
+                emit(SAVE, 2 * group.index + 1, 0, 0);
+            }
+        } else if (node instanceof Repeat) {
+            emitRepeat((Repeat) node);
+        } else {
+            emit(ASSERT, ((Assertion) node).kind, 0, 0);
+        }
+    }
+
+    /** Emits and clears a run of literal chars. */
+    private void emitLiterals(StringBuilder run) throws UnsupportedException {
+        if (run.length() == 1) {
+            emit(CHAR, run.charAt(0), 0, 0);
+        } else if (run.length() > 1) {
+            strings.add(run.toString());
+            emit(STRING, strings.size() - 1, 0, 0);
+        }
+        run.setLength(0);
+    }
+
+    private void emitRepeat(Repeat repeat) throws UnsupportedException {
+        CharSet set = singleCodePointSet(repeat.body);
+        if (set != null) {
+            emit(repeat.greedy ? REPEAT : REPEAT_LAZY, addSet(set), repeat.min, repeat.max);
+            return;
+        }
+        // Looping over a body that matches the empty string could loop
+        // forever, and ICU and Java stop such loops differently.
+        if (repeat.max != 1 && isNullable(repeat.body)) {
+            throw new UnsupportedException();
+        }
+        for (int i = 0; i < repeat.min; i++) {
+            emitNode(repeat.body);
+        }
+        if (repeat.max == -1) {
+            int split = emit(SPLIT, 0, 0, 0);
+            emitNode(repeat.body);
+            emit(JUMP, split, 0, 0);
+            patchSplit(split, repeat.greedy);
+        } else {
+            int[] splits = new int[repeat.max - repeat.min];
+            for (int i = 0; i < splits.length; i++) {
+                splits[i] = emit(SPLIT, 0, 0, 0);
+                emitNode(repeat.body);
+            }
+            for (int split : splits) {
+                patchSplit(split, repeat.greedy);
+            }
+        }
+    }
+
+    /**
+     * Makes the split at {@code split} choose between the instruction after
+     * it and the end of the code so far.
+     */
+    private void patchSplit(int split, boolean greedy) {
+        code[split + (greedy ? 1 : 2)] = split + 4;
+        code[split + (greedy ? 2 : 1)] = codeLength;
+    }
+
+    private int addSet(CharSet set) {
+        sets.add(set);
+        return sets.size() - 1;
+    }
+
+    /**
+     * Returns the set of code points that {@code node} matches if it always
+     * matches exactly one code point, and null otherwise.
+     */
+    private static CharSet singleCodePointSet(Node node) {
+        if (node instanceof CharClass) {
+            return ((CharClass) node).set;
+        } else if (node instanceof Literal) {
+            int c = ((Literal) node).c;
+            return new ClassSet(new int[] { c, c }, new int[0], false);
+        } else if (node instanceof Group && ((Group) node).index == -1) {
+            return singleCodePointSet(((Group) node).body);
+        }
+        return null;
+    }
+
+    private static boolean isNullable(Node node) {
+        if (node instanceof Literal || node instanceof CharClass) {
+            return false;
+        } else if (node instanceof Sequence) {
+            for (Node item : ((Sequence) node).items) {
+                if (!isNullable(item)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (node instanceof Alternation) {
+            for (Node branch : ((Alternation) node).branches) {
+                if (isNullable(branch)) {
+                    return true;
+                }
+            }
+            return false;
+        } else if (node instanceof Group) {
+            return isNullable(((Group) node).body);
+        } else if (node instanceof Repeat) {
+            return ((Repeat) node).min == 0 || isNullable(((Repeat) node).body);
+        }
+        return true;
+    }
+
+    /** A growable list of ints. */
+    private static final class IntList {
+        private int[] values = new int[8];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,529 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package java.util.regex;
+
+import java.util.Arrays;
+
+import static java.util.regex.RegexProgram.*;
+
+/**
+ * Runs a {@link RegexProgram} for a {@link Matcher}, in place of a native
+ * ICU matcher. The methods mirror those of the native matcher, including
+ * how find() steps past empty matches and how regions and anchoring bounds
+ * work. There is nothing to look outside the region for, so transparent
+ * bounds make no difference.
+ *
+ * <p>Backtracking state is kept on an explicit stack rather than by
+ * recursion, so long inputs can't overflow the thread's stack.
+ */
+final class RegexMatcher {
+    /*
+     * Backtracking stack frames, four ints each: a kind followed by up to
+     * three values.
+     */
+
+    /** Continue at address a, position b. */
+    private static final int BRANCH = 0;
+    /** Restore capture slot a to b, then keep backtracking. */
+    private static final int RESTORE = 1;
+    /**
+     * The greedy repetition at address a matched up to position b, and
+     * needs to match at least up to position c.
+     */
+    private static final int GREEDY = 2;
+    /** The lazy repetition at address a has matched c times, up to position b. */
+    private static final int LAZY = 3;
+
+    private final RegexProgram program;
+    private final int[] code;
+    private final int[] slots;
+    private int[] stack = new int[64];
+
+    private String input = "";
+    private int activeStart;
+    private int activeLimit;
+    private boolean anchoringBounds = true;
+    /** Where ^ and $ match the start and end of input. */
+    private int anchorStart;
+    private int anchorLimit;
+
+    private boolean match;
+    private int matchStart;
+    private int matchEnd;
+    /** The end of the last match found by findNext(), or -1. */
+    private int lastMatchEnd = -1;
+    private boolean hitEnd;
+    private boolean requireEnd;
+
+    RegexMatcher(RegexProgram program) {
+        this.program = program;
+        this.code = program.code;
+        this.slots = new int[(program.groupCount + 1) * 2];
+    }
+
+    int groupCount() {
+        return program.groupCount;
+    }
+
+    /**
+     * Sets the input and the region to match within, and resets the matcher.
+     */
+    void setInput(String input, int start, int end) {
+        this.input = input;
+        activeStart = start;
+        activeLimit = end;
+        updateAnchors();
+        match = false;
+        matchStart = start;
+        matchEnd = start;
+        lastMatchEnd = -1;
+        hitEnd = false;
+        requireEnd = false;
+    }
+
+    void useAnchoringBounds(boolean value) {
+        anchoringBounds = value;
+        updateAnchors();
+    }
+
+    private void updateAnchors() {
+        anchorStart = anchoringBounds ? activeStart : 0;
+        anchorLimit = anchoringBounds ? activeLimit : input.length();
+    }
+
+    boolean hitEnd() {
+        return hitEnd;
+    }
+
+    boolean requireEnd() {
+        return requireEnd;
+    }
+
+    /**
+     * Matches the whole region, storing the group offsets in {@code offsets}
+     * if successful.
+     */
+    boolean matches(int[] offsets) {
+        hitEnd = false;
+        requireEnd = false;
+        return finish(attempt(activeStart, true), offsets);
+    }
+
+    /**
+     * Matches a prefix of the region.
+     */
+    boolean lookingAt(int[] offsets) {
+        hitEnd = false;
+        requireEnd = false;
+        return finish(attempt(activeStart, false), offsets);
+    }
+
+    /**
+     * Resets the matcher and the region, and finds the first match at or
+     * after {@code start}.
+     */
+    boolean find(int start, int[] offsets) {
+        setInput(input, 0, input.length());
+        matchEnd = start;
+        return findNext(offsets);
+    }
+
+    /**
+     * Finds the next match after the previous one.
+     */
+    boolean findNext(int[] offsets) {
+        int start = matchEnd;
+        if (match) {
+            lastMatchEnd = matchEnd;
+            if (matchStart == matchEnd) {
+                // Step past an empty match so that it isn't found again.
+                if (start >= activeLimit) {
+                    match = false;
+                    hitEnd = true;
+                    return false;
+                }
+                start += Character.charCount(codePointAt(start));
+            }
+        } else if (lastMatchEnd >= 0) {
+            // The previous find failed, and an empty match at the end
+            // shouldn't now succeed.
+            hitEnd = true;
+            return false;
+        }
+        hitEnd = false;
+        requireEnd = false;
+        return finish(search(start), offsets);
+    }
+
+    private boolean finish(boolean found, int[] offsets) {
+        match = found;
+        if (found) {
+            matchStart = slots[0];
+            matchEnd = slots[1];
+            System.arraycopy(slots, 0, offsets, 0, slots.length);
+        }
+        return found;
+    }
+
+    /**
+     * Tries each start position from {@code from} to the end of the region,
+     * skipping those where the program's prefix or first set rule out a match.
+     */
+    private boolean search(int from) {
+        int limit = activeLimit;
+        if (program.anchored) {
+            // Only the anchor start can match, and it's never after from.
+            if (from == anchorStart && attempt(from, false)) {
+                return true;
+            }
+            hitEnd = true;
+            return false;
+        }
+        String prefix = program.prefix;
+        CharSet firstSet = program.firstSet;
+        for (int start = from; start <= limit; ) {
+            if (prefix != null) {
+                start = input.indexOf(prefix, start);
+                if (start == -1 || start > limit - prefix.length()) {
+                    break;
+                }
+            } else if (firstSet != null) {
+                while (start < limit) {
+                    int c = codePointAt(start);
+                    if (firstSet.contains(c)) {
+                        break;
+                    }
+                    start += Character.charCount(c);
+                }
+                if (start >= limit) {
+                    break;
+                }
+            }
+            if (attempt(start, false)) {
+                return true;
+            }
+            if (start >= limit) {
+                break;
+            }
+            start += Character.charCount(codePointAt(start));
+        }
+        hitEnd = true;
+        return false;
+    }
+
+    /**
+     * Returns the code point at {@code p}, which must be in the region.
+     * Unpaired surrogates are returned as they are.
+     */
+    private int codePointAt(int p) {
+        char c = input.charAt(p);
+        if (Character.isHighSurrogate(c) && p + 1 < activeLimit) {
+            char d = input.charAt(p + 1);
+            if (Character.isLowSurrogate(d)) {
+                return Character.toCodePoint(c, d);
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Returns the position one code point before {@code p}, but not before
+     * {@code floor}.
+     */
+    private int stepBack(int p, int floor) {
+        if (p - 2 >= floor && Character.isLowSurrogate(input.charAt(p - 1))
+                && Character.isHighSurrogate(input.charAt(p - 2))) {
+            return p - 2;
+        }
+        return p - 1;
+    }
+
+    private int push(int sp, int kind, int a, int b, int c) {
+        int[] st = stack;
+        if (sp == st.length) {
+            st = stack = Arrays.copyOf(st, sp * 2);
+        }
+        st[sp] = kind;
+        st[sp + 1] = a;
+        st[sp + 2] = b;
+        st[sp + 3] = c;
+        return sp + 4;
+    }
+
+    /**
+     * Runs the program from {@code start}. If it matches, the group offsets
+     * are left in {@link #slots}.
+     *
+     * @param toEnd whether the match must end at the end of the region
+     */
+    private boolean attempt(int start, boolean toEnd) {
+        final String s = input;
+        final int[] code = this.code;
+        final int[] slots = this.slots;
+        final int limit = activeLimit;
+        Arrays.fill(slots, -1);
+        int sp = 0;
+        int pc = 0;
+        int p = start;
+        run:
+        while (true) {
+            switch (code[pc]) {
+            case CHAR:
+                if (p < limit) {
+                    if (s.charAt(p) == code[pc + 1]) {
+                        p++;
+                        pc += 4;
+                        continue;
+                    }
+                } else {
+                    hitEnd = true;
+                }
+                break;
+            case STRING: {
+                String literal = program.strings[code[pc + 1]];
+                int length = literal.length();
+                int available = Math.min(length, limit - p);
+                int i = 0;
+                while (i < available && s.charAt(p + i) == literal.charAt(i)) {
+                    i++;
+                }
+                if (i == length) {
+                    p += length;
+                    pc += 4;
+                    continue;
+                }
+                if (i == available) {
+                    hitEnd = true;
+                }
+                break;
+            }
+            case SET:
+                if (p < limit) {
+                    int c = codePointAt(p);
+                    if (program.sets[code[pc + 1]].contains(c)) {
+                        p += Character.charCount(c);
+                        pc += 4;
+                        continue;
+                    }
+                } else {
+                    hitEnd = true;
+                }
+                break;
+            case SPLIT:
+                sp = push(sp, BRANCH, code[pc + 2], p, 0);
+                pc = code[pc + 1];
+                continue;
+            case JUMP:
+                pc = code[pc + 1];
+                continue;
+            case SAVE: {
+                int slot = code[pc + 1];
+                sp = push(sp, RESTORE, slot, slots[slot], 0);
+                slots[slot] = p;
+                pc += 4;
+                continue;
+            }
+            case REPEAT:
+            case REPEAT_LAZY: {
+                CharSet set = program.sets[code[pc + 1]];
+                int min = code[pc + 2];
+                int max = code[pc + 3];
+                int q = repeatExactly(set, p, min);
+                if (q == -1) {
+                    break;
+                }
+                if (code[pc] == REPEAT_LAZY) {
+                    if (max != min) {
+                        sp = push(sp, LAZY, pc, q, min);
+                    }
+                } else if (max != min) {
+                    int minEnd = q;
+                    q = repeatAtMost(set, q, (max == -1) ? -1 : max - min);
+                    if (q > minEnd) {
+                        sp = push(sp, GREEDY, pc, q, minEnd);
+                    }
+                }
+                p = q;
+                pc += 4;
+                continue;
+            }
+            case ASSERT:
+                if (check(code[pc + 1], p)) {
+                    pc += 4;
+                    continue;
+                }
+                break;
+            case MATCH:
+                if (!toEnd || p == limit) {
+                    return true;
+                }
+                break;
+            default:
+                throw new AssertionError(code[pc]);
+            }
+
+            // Backtrack to the most recent choice.
+            while (sp > 0) {
+                sp -= 4;
+                int a = stack[sp + 1];
+                int b = stack[sp + 2];
+                switch (stack[sp]) {
+                case RESTORE:
+                    slots[a] = b;
+                    continue;
+                case BRANCH:
+                    pc = a;
+                    p = b;
+                    continue run;
+                case GREEDY: {
+                    int minEnd = stack[sp + 3];
+                    p = stepBack(b, minEnd);
+                    if (p > minEnd) {
+                        stack[sp + 2] = p;
+                        sp += 4;
+                    }
+                    pc = a + 4;
+                    continue run;
+                }
+                default: {
+                    // LAZY: match one more, if possible.
+                    int count = stack[sp + 3];
+                    int q = repeatExactly(program.sets[code[a + 1]], b, 1);
+                    if (q == -1) {
+                        continue;
+                    }
+                    count++;
+                    if (count != code[a + 3]) {
+                        stack[sp + 2] = q;
+                        stack[sp + 3] = count;
+                        sp += 4;
+                    }
+                    p = q;
+                    pc = a + 4;
+                    continue run;
+                }
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Matches {@code count} code points in {@code set} from {@code p}.
+     *
+     * @return the end of the match, or -1 if fewer than {@code count} match
+     */
+    private int repeatExactly(CharSet set, int p, int count) {
+        int limit = activeLimit;
+        for (int i = 0; i < count; i++) {
+            if (p >= limit) {
+                hitEnd = true;
+                return -1;
+            }
+            int c = codePointAt(p);
+            if (!set.contains(c)) {
+                return -1;
+            }
+            p += Character.charCount(c);
+        }
+        return p;
+    }
+
+    /**
+     * Matches as many code points in {@code set} from {@code p} as possible,
+     * but no more than {@code max}, or without limit if {@code max} is -1.
+     *
+     * @return the end of the match
+     */
+    private int repeatAtMost(CharSet set, int p, int max) {
+        int limit = activeLimit;
+        for (int i = 0; i != max; i++) {
+            if (p >= limit) {
+                hitEnd = true;
+                return p;
+            }
+            int c = codePointAt(p);
+            if (!set.contains(c)) {
+                return p;
+            }
+            p += Character.charCount(c);
+        }
+        return p;
+    }
+
+    /**
+     * Returns whether assertion {@code kind} holds at {@code p}, noting
+     * when the result depends on the end of the input.
+     */
+    private boolean check(int kind, int p) {
+        String s = input;
+        switch (kind) {
+        case BEGIN:
+            return p == anchorStart;
+        case BEGIN_LINE:
+            return p == anchorStart
+                    || (p < anchorLimit && isLineTerminator(s.charAt(p - 1)));
+        case BEGIN_LINE_UNIX:
+            return p == anchorStart || (p < anchorLimit && s.charAt(p - 1) == '\n');
+        case END:
+            if (p >= anchorLimit
+                    || (p == anchorLimit - 1 && isLineTerminator(s.charAt(p))
+                            && !isAfterCr(p))
+                    || (p == anchorLimit - 2 && s.charAt(p) == '\r'
+                            && s.charAt(p + 1) == '\n')) {
+                hitEnd = true;
+                requireEnd = true;
+                return true;
+            }
+            return false;
+        case END_UNIX:
+            if (p >= anchorLimit || (p == anchorLimit - 1 && s.charAt(p) == '\n')) {
+                hitEnd = true;
+                requireEnd = true;
+                return true;
+            }
+            return false;
+        case END_LINE:
+            if (p >= anchorLimit) {
+                hitEnd = true;
+                requireEnd = true;
+                return true;
+            }
+            return isLineTerminator(s.charAt(p)) && !isAfterCr(p);
+        case END_LINE_UNIX:
+            if (p >= anchorLimit) {
+                hitEnd = true;
+                requireEnd = true;
+                return true;
+            }
+            return s.charAt(p) == '\n';
+        default:
+            // END_INPUT
+            if (p >= anchorLimit) {
+                hitEnd = true;
+                requireEnd = true;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /** Returns whether {@code p} is between a CR and an LF. */
+    private boolean isAfterCr(int p) {
+        return input.charAt(p) == '\n' && p > anchorStart && input.charAt(p - 1) == '\r';
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package java.util.regex;
+
+/**
+ * A regular expression compiled for the pure-Java engine by {@link
+ * RegexCompiler}, and run by {@link RegexMatcher}. Programs are immutable,
+ * so a pattern's program is shared by all its matchers.
+ *
+ * <p>The program is a list of instructions for a backtracking machine,
+ * four ints each: an opcode followed by up to three operands.
+ */
+final class RegexProgram {
+    /** Matches the char {@code a}, which is not a surrogate. */
+    static final int CHAR = 0;
+    /** Matches {@code strings[a]}. */
+    static final int STRING = 1;
+    /** Matches one code point in {@code sets[a]}. */
+    static final int SET = 2;
+    /** Continues at {@code a}, backtracking to {@code b}. */
+    static final int SPLIT = 3;
+    /** Continues at {@code a}. */
+    static final int JUMP = 4;
+    /** Stores the position in capture slot {@code a}. */
+    static final int SAVE = 5;
+    /**
+     * Matches {@code b} to {@code c} code points in {@code sets[a]}, as many
+     * as possible. {@code c} is -1 for no maximum.
+     */
+    static final int REPEAT = 6;
+    /** Like {@link #REPEAT}, but as few as possible. */
+    static final int REPEAT_LAZY = 7;
+    /** Matches the empty string if assertion {@code a} holds. */
+    static final int ASSERT = 8;
+    /** Ends a successful match. */
+    static final int MATCH = 9;
+
+    /** {@code ^} without MULTILINE, or {@code \A}. */
+    static final int BEGIN = 0;
+    /** {@code ^} with MULTILINE. */
+    static final int BEGIN_LINE = 1;
+    /** {@code ^} with MULTILINE and UNIX_LINES. */
+    static final int BEGIN_LINE_UNIX = 2;
+    /** {@code $} without MULTILINE. */
+    static final int END = 3;
+    /** {@code $} with UNIX_LINES. */
+    static final int END_UNIX = 4;
+    /** {@code $} with MULTILINE. */
+    static final int END_LINE = 5;
+    /** {@code $} with MULTILINE and UNIX_LINES. */
+    static final int END_LINE_UNIX = 6;
+    /** {@code \z}. */
+    static final int END_INPUT = 7;
+
+    final int[] code;
+    final String[] strings;
+    final CharSet[] sets;
+    final int groupCount;
+
+    /** A string that every match starts with, or null. */
+    final String prefix;
+
+    /** A set that holds the first code point of every match, or null. */
+    final CharSet firstSet;
+
+    /** Whether matches can only start at the beginning of the input. */
+    final boolean anchored;
+
+    RegexProgram(int[] code, String[] strings, CharSet[] sets, int groupCount,
+            String prefix, CharSet firstSet, boolean anchored) {
+        this.code = code;
+        this.strings = strings;
+        this.sets = sets;
+        this.groupCount = groupCount;
+        this.prefix = prefix;
+        this.firstSet = firstSet;
+        this.anchored = anchored;
+    }
+
+    /**
+     * Returns whether {@code c} ends a line, as ICU sees it.
+     */
+    static boolean isLineTerminator(int c) {
+        return (c >= 0x0a && c <= 0x0d) || c == 0x85 || c == 0x2028 || c == 0x2029;
+    }
+
+    /** A set of code points. */
+    static abstract class CharSet {
+        abstract boolean contains(int c);
+    }
+
+    /** {@code .} without DOTALL. */
+    static final CharSet DOT = new CharSet() {
+        @Override boolean contains(int c) {
+            return !isLineTerminator(c);
+        }
+    };
+
+    /** {@code .} with UNIX_LINES but without DOTALL. */
+    static final CharSet DOT_UNIX = new CharSet() {
+        @Override boolean contains(int c) {
+            return c != '\n';
+        }
+    };
+
+    /**
+     * A bracket expression or predefined class. Membership of ASCII code
+     * points is looked up in a bitmap.
+     */
+    static final class ClassSet extends CharSet {
+        /** The predefined classes; a class's complement is its bitwise not. */
+        static final int DIGIT = 0;
+        static final int WORD = 1;
+        static final int SPACE = 2;
+
+        private final long ascii0;
+        private final long ascii1;
+        /** Sorted, non-overlapping pairs of inclusive bounds. */
+        private final int[] ranges;
+        private final int[] classes;
+        private final boolean negated;
+
+        /**
+         * @param ranges pairs of inclusive bounds, in any order
+         * @param classes predefined classes, or their complements
+         */
+        ClassSet(int[] ranges, int[] classes, boolean negated) {
+            this.classes = classes;
+            this.negated = negated;
+            this.ranges = normalize(ranges);
+            long a0 = 0;
+            long a1 = 0;
+            for (int c = 0; c < 128; c++) {
+                if (containsSlowly(c) != negated) {
+                    if (c < 64) {
+                        a0 |= 1L << c;
+                    } else {
+                        a1 |= 1L << (c - 64);
+                    }
+                }
+            }
+            ascii0 = a0;
+            ascii1 = a1;
+        }
+
+        @Override boolean contains(int c) {
+            if (c < 64) {
+                return (ascii0 & (1L << c)) != 0;
+            } else if (c < 128) {
+                return (ascii1 & (1L << (c - 64))) != 0;
+            }
+            return containsSlowly(c) != negated;
+        }
+
+        private boolean containsSlowly(int c) {
+            int[] r = ranges;
+            for (int i = 0; i < r.length && r[i] <= c; i += 2) {
+                if (c <= r[i + 1]) {
+                    return true;
+                }
+            }
+            for (int cls : classes) {
+                if (cls >= 0 ? isInClass(cls, c) : !isInClass(~cls, c)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static int[] normalize(int[] ranges) {
+            int n = ranges.length / 2;
+            long[] sorted = new long[n];
+            for (int i = 0; i < n; i++) {
+                sorted[i] = ((long) ranges[2 * i] << 32) | ranges[2 * i + 1];
+            }
+            java.util.Arrays.sort(sorted);
+            int[] result = new int[2 * n];
+            int count = 0;
+            for (long range : sorted) {
+                int lo = (int) (range >>> 32);
+                int hi = (int) range;
+                if (count > 0 && lo <= result[count - 1] + 1) {
+                    result[count - 1] = Math.max(result[count - 1], hi);
+                } else {
+                    result[count++] = lo;
+                    result[count++] = hi;
+                }
+            }
+            return java.util.Arrays.copyOf(result, count);
+        }
+
+        /**
+         * Returns whether {@code c} is in a predefined class, as ICU
+         * defines them: {@code \d} is {@code \p{Nd}}, {@code \s} is
+         * {@code \p{White_Space}} and {@code \w} is
+         * {@code [\p{Alphabetic}\p{M}\p{Nd}\p{Pc}]} plus U+200C and U+200D.
+         */
+        static boolean isInClass(int cls, int c) {
+            switch (cls) {
+            case DIGIT:
+                return Character.isDigit(c);
+            case SPACE:
+                return (c >= 0x09 && c <= 0x0d) || c == 0x20 || c == 0x85 || c == 0xa0
+                        || c == 0x1680 || (c >= 0x2000 && c <= 0x200a) || c == 0x2028
+                        || c == 0x2029 || c == 0x202f || c == 0x205f || c == 0x3000;
+            default:
+                if (c < 128) {
+                    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                            || (c >= '0' && c <= '9') || c == '_';
+                }
+                if (Character.isAlphabetic(c) || Character.isDigit(c)
+                        || c == 0x200c || c == 0x200d) {
+                    return true;
+                }
+                int type = Character.getType(c);
+                return type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK
+                        || type == Character.COMBINING_SPACING_MARK
+                        || type == Character.CONNECTOR_PUNCTUATION;
+            }
+        }
+    }
+}
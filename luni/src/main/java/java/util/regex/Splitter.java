@@ -0,0 +1,386 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package java.util.regex;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Walks the fields of an input split around matches of a pattern, one at a
+ * time. The fields are those of {@link Pattern#split(CharSequence)}, but
+ * nothing is copied: each field is available as offsets into the input, or
+ * as a {@link CharSequence} view of it.
+ *
+ * <pre>{@code
+ * Splitter fields = line.splitter(",");
+ * while (fields.next()) {
+ *     total += parseInt(line, fields.start(), fields.end());
+ * }
+ * }</pre>
+ *
+ * <p>Fields are found lazily, so walking the first few fields of a long
+ * input costs only as much as finding those. When the pattern is a single
+ * character, as {@code ","} or {@code "\\|"}, no {@link Matcher} is used
+ * and {@link #spliterator} can be split for parallel streams.
+ *
+ * <p>If the input is mutable, it must not change while it's being split.
+ * Instances are not safe for use by multiple threads.
+ *
+ * @see Pattern#splitter(CharSequence)
+ * @see String#splitter(String)
+ * @hide
+ */
+public final class Splitter {
+    /** Spliterators aren't split below this many chars. */
+    private static final int MIN_SPLIT_LENGTH = 1 << 12;
+
+    private final CharSequence input;
+
+    /** The separator char, if splitting without a matcher. */
+    private final char separator;
+
+    /**
+     * The matcher finding separators, or null if splitting around
+     * {@link #separator}.
+     */
+    private final Matcher matcher;
+
+    /**
+     * Without a matcher, the start of the next field, and the end of the
+     * last, which excludes trailing empty fields. There are no more fields
+     * once {@code next > limit}.
+     */
+    private int next;
+    private int limit;
+
+    /**
+     * With a matcher, fields that have been found but not yet returned, as
+     * pairs of offsets in {@code queue[head]} to {@code queue[tail]}. Only
+     * those before {@code committed} are certain to be returned: the rest
+     * are empty, and are dropped if they turn out to be trailing.
+     */
+    private int[] queue;
+    private int head;
+    private int committed;
+    private int tail;
+    /** The end of the last match, which is where the next field starts. */
+    private int matchEnd;
+    private boolean searched;
+
+    /** The current field, or -1 if there is none. */
+    private int start = -1;
+    private int end = -1;
+
+    /**
+     * Splits {@code input} around occurrences of {@code separator}.
+     */
+    Splitter(CharSequence input, char separator) {
+        this.input = input;
+        this.separator = separator;
+        this.matcher = null;
+        int length = input.length();
+        int last = length;
+        while (last > 0 && input.charAt(last - 1) == separator) {
+            last--;
+        }
+        if (length > 0 && last == 0) {
+            // Like split(), an input of only separators has no fields, but
+            // an empty input has one.
+            next = 1;
+            limit = 0;
+        } else {
+            next = 0;
+            limit = last;
+        }
+    }
+
+    /**
+     * Splits {@code input} around matches of {@code pattern}.
+     */
+    Splitter(CharSequence input, Pattern pattern) {
+        this.input = input;
+        this.separator = 0;
+        this.matcher = pattern.matcher(input);
+        this.queue = new int[8];
+    }
+
+    /**
+     * Advances to the next field.
+     *
+     * @return false if there are no more fields
+     */
+    public boolean next() {
+        if (matcher == null) {
+            if (next > limit) {
+                start = end = -1;
+                return false;
+            }
+            start = next;
+            end = indexOf(input, separator, next, limit);
+            next = end + 1;
+            return true;
+        }
+        if (head == committed && !searched) {
+            search();
+        }
+        if (head == committed) {
+            start = end = -1;
+            return false;
+        }
+        start = queue[head++];
+        end = queue[head++];
+        return true;
+    }
+
+    /**
+     * Returns the offset of the current field's first char in the input.
+     *
+     * @throws IllegalStateException if {@link #next} hasn't returned true
+     */
+    public int start() {
+        checkField();
+        return start;
+    }
+
+    /**
+     * Returns the offset after the current field's last char in the input.
+     *
+     * @throws IllegalStateException if {@link #next} hasn't returned true
+     */
+    public int end() {
+        checkField();
+        return end;
+    }
+
+    /**
+     * Returns a view of the current field. The view reads through to the
+     * input, so no chars are copied until it's converted to a string.
+     *
+     * @throws IllegalStateException if {@link #next} hasn't returned true
+     */
+    public CharSequence field() {
+        checkField();
+        return new Field(input, start, end);
+    }
+
+    /**
+     * Returns a spliterator over the fields after the current one, as
+     * views. Using it consumes this splitter.
+     */
+    public Spliterator<CharSequence> spliterator() {
+        start = end = -1;
+        if (matcher == null) {
+            FieldSpliterator spliterator = new FieldSpliterator(input, separator, next, limit);
+            next = limit + 1;
+            return spliterator;
+        }
+        return new Spliterators.AbstractSpliterator<CharSequence>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override public boolean tryAdvance(Consumer<? super CharSequence> action) {
+                if (!next()) {
+                    return false;
+                }
+                action.accept(new Field(input, start, end));
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns a sequential stream of the fields after the current one, as
+     * views. Using it consumes this splitter.
+     */
+    public Stream<CharSequence> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    private void checkField() {
+        if (start == -1) {
+            throw new IllegalStateException("No field available");
+        }
+    }
+
+    /**
+     * Finds fields until one is certain to be returned, or the input ends.
+     * The fields are those of {@link Pattern#split}, which is the model.
+     */
+    private void search() {
+        if (head == tail) {
+            head = committed = tail = 0;
+        }
+        while (matcher.find()) {
+            int fieldStart = matchEnd;
+            int fieldEnd = matcher.start();
+            matchEnd = matcher.end();
+            enqueue(fieldStart, fieldEnd);
+            if (fieldStart != fieldEnd) {
+                committed = tail;
+                return;
+            }
+        }
+        searched = true;
+        int length = input.length();
+        if (matchEnd == 0) {
+            // Every match, if any, was empty at the start: the one field is
+            // the whole input, even if that's empty.
+            head = committed = tail = 0;
+            enqueue(0, length);
+            committed = tail;
+        } else if (matchEnd < length) {
+            enqueue(matchEnd, length);
+            committed = tail;
+        }
+    }
+
+    private void enqueue(int fieldStart, int fieldEnd) {
+        if (tail == queue.length) {
+            queue = Arrays.copyOf(queue, tail * 2);
+        }
+        queue[tail++] = fieldStart;
+        queue[tail++] = fieldEnd;
+    }
+
+    /**
+     * Returns the index of {@code c} in {@code s} between {@code from} and
+     * {@code to}, or {@code to} if there is none.
+     */
+    private static int indexOf(CharSequence s, char c, int from, int to) {
+        if (s instanceof String) {
+            int i = ((String) s).indexOf(c, from);
+            return (i == -1 || i > to) ? to : i;
+        }
+        for (int i = from; i < to; i++) {
+            if (s.charAt(i) == c) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * The fields between {@code next} and {@code limit}, which are those of
+     * that range split around {@code separator}. Ranges are split at a
+     * separator, which divides the fields between the two halves.
+     */
+    static final class FieldSpliterator implements Spliterator<CharSequence> {
+        private final CharSequence input;
+        private final char separator;
+        private int next;
+        private final int limit;
+
+        FieldSpliterator(CharSequence input, char separator, int next, int limit) {
+            this.input = input;
+            this.separator = separator;
+            this.next = next;
+            this.limit = limit;
+        }
+
+        @Override public boolean tryAdvance(Consumer<? super CharSequence> action) {
+            if (action == null) {
+                throw new NullPointerException("action == null");
+            }
+            if (next > limit) {
+                return false;
+            }
+            int end = indexOf(input, separator, next, limit);
+            action.accept(new Field(input, next, end));
+            next = end + 1;
+            return true;
+        }
+
+        @Override public void forEachRemaining(Consumer<? super CharSequence> action) {
+            if (action == null) {
+                throw new NullPointerException("action == null");
+            }
+            CharSequence s = input;
+            char c = separator;
+            int p = next;
+            int to = limit;
+            next = to + 1;
+            while (p <= to) {
+                int end = indexOf(s, c, p, to);
+                action.accept(new Field(s, p, end));
+                p = end + 1;
+            }
+        }
+
+        @Override public Spliterator<CharSequence> trySplit() {
+            if (limit - next < MIN_SPLIT_LENGTH) {
+                return null;
+            }
+            int mid = indexOf(input, separator, (next + limit) >>> 1, limit);
+            if (mid == limit) {
+                return null;
+            }
+            Spliterator<CharSequence> prefix =
+                    new FieldSpliterator(input, separator, next, mid);
+            next = mid + 1;
+            return prefix;
+        }
+
+        @Override public long estimateSize() {
+            // At most one field per char, plus one.
+            return Math.max(limit - next + 1, 0);
+        }
+
+        @Override public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.NONNULL;
+        }
+    }
+
+    /**
+     * A field, read through to the input.
+     */
+    private static final class Field implements CharSequence {
+        private final CharSequence input;
+        private final int start;
+        private final int end;
+
+        Field(CharSequence input, int start, int end) {
+            this.input = input;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override public int length() {
+            return end - start;
+        }
+
+        @Override public char charAt(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException("index=" + index + "; length=" + length());
+            }
+            return input.charAt(start + index);
+        }
+
+        @Override public CharSequence subSequence(int from, int to) {
+            if (from < 0 || to < from || to > end - start) {
+                throw new IndexOutOfBoundsException(
+                        "from=" + from + "; to=" + to + "; length=" + length());
+            }
+            return new Field(input, start + from, start + to);
+        }
+
+        @Override public String toString() {
+            return input.subSequence(start, end).toString();
+        }
+    }
+}
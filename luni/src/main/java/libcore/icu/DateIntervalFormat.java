@@ -21,7 +21,7 @@ import android.icu.util.ULocale;
 
 import java.text.FieldPosition;
 import java.util.TimeZone;
-import libcore.util.BasicLruCache;
+import libcore.util.ConcurrentLruCache;
 
 import static libcore.icu.DateUtilsBridge.FORMAT_UTC;
 
@@ -30,8 +30,8 @@ import static libcore.icu.DateUtilsBridge.FORMAT_UTC;
  */
 public final class DateIntervalFormat {
 
-  private static final BasicLruCache<String, android.icu.text.DateIntervalFormat> CACHED_FORMATTERS
-          = new BasicLruCache<>(8);
+  private static final ConcurrentLruCache<String, android.icu.text.DateIntervalFormat>
+      CACHED_FORMATTERS = new ConcurrentLruCache<>(8);
 
   private DateIntervalFormat() {
   }
@@ -23,7 +23,7 @@ import android.icu.text.SimpleDateFormat;
 import android.icu.util.Calendar;
 import android.icu.util.ULocale;
 
-import libcore.util.BasicLruCache;
+import libcore.util.ConcurrentLruCache;
 
 /**
  * A formatter that outputs a single date/time.
@@ -31,7 +31,7 @@ import libcore.util.BasicLruCache;
 public class DateTimeFormat {
   private static final FormatterCache CACHED_FORMATTERS = new FormatterCache();
 
-  static class FormatterCache extends BasicLruCache<String, DateFormat> {
+  static class FormatterCache extends ConcurrentLruCache<String, DateFormat> {
     FormatterCache() {
       super(8);
     }
@@ -17,7 +17,7 @@
 package libcore.icu;
 
 import java.util.Locale;
-import libcore.util.BasicLruCache;
+import libcore.util.ConcurrentLruCache;
 
 import android.icu.text.DisplayContext;
 import android.icu.util.Calendar;
@@ -52,7 +52,7 @@ public final class RelativeDateTimeFormatter {
   private static final FormatterCache CACHED_FORMATTERS = new FormatterCache();
 
   static class FormatterCache
-      extends BasicLruCache<String, android.icu.text.RelativeDateTimeFormatter> {
+      extends ConcurrentLruCache<String, android.icu.text.RelativeDateTimeFormatter> {
     FormatterCache() {
       super(8);
     }
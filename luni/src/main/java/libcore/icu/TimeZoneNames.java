@@ -23,7 +23,7 @@ import java.util.HashMap;
 import java.util.Locale;
 import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
-import libcore.util.BasicLruCache;
+import libcore.util.ConcurrentLruCache;
 import libcore.util.ZoneInfoDB;
 
 /**
@@ -53,7 +53,7 @@ public final class TimeZoneNames {
         cachedZoneStrings.get(Locale.getDefault());
     }
 
-    public static class ZoneStringsCache extends BasicLruCache<Locale, String[][]> {
+    public static class ZoneStringsCache extends ConcurrentLruCache<Locale, String[][]> {
         public ZoneStringsCache() {
             super(5); // Room for a handful of locales.
         }
@@ -187,6 +187,12 @@ public class BlockGuardOs extends ForwardingOs {
         return os.open(path, flags, mode);
     }
 
+    @Override public long opendir(String path) throws ErrnoException {
+        // The entries are read lazily, but the whole listing is charged here.
+        BlockGuard.getThreadPolicy().onReadFromDisk();
+        return os.opendir(path);
+    }
+
     @Override public int poll(StructPollfd[] fds, int timeoutMs) throws ErrnoException {
         // Greater than 0 is a timeout in milliseconds and -1 means "block forever",
         // but 0 means "poll and return immediately", which shouldn't be subject to BlockGuard.
@@ -211,6 +217,11 @@ public class BlockGuardOs extends ForwardingOs {
         return os.pread(fd, bytes, byteOffset, byteCount, offset);
     }
 
+    @Override public int preadv(FileDescriptor fd, Object[] buffers, int[] offsets, int[] byteCounts, long offset) throws ErrnoException, InterruptedIOException {
+        BlockGuard.getThreadPolicy().onReadFromDisk();
+        return os.preadv(fd, buffers, offsets, byteCounts, offset);
+    }
+
     @Override public int pwrite(FileDescriptor fd, ByteBuffer buffer, long offset) throws ErrnoException, InterruptedIOException {
         BlockGuard.getThreadPolicy().onWriteToDisk();
         return os.pwrite(fd, buffer, offset);
@@ -221,6 +232,11 @@ public class BlockGuardOs extends ForwardingOs {
         return os.pwrite(fd, bytes, byteOffset, byteCount, offset);
     }
 
+    @Override public int pwritev(FileDescriptor fd, Object[] buffers, int[] offsets, int[] byteCounts, long offset) throws ErrnoException, InterruptedIOException {
+        BlockGuard.getThreadPolicy().onWriteToDisk();
+        return os.pwritev(fd, buffers, offsets, byteCounts, offset);
+    }
+
     @Override public int read(FileDescriptor fd, ByteBuffer buffer) throws ErrnoException, InterruptedIOException {
         BlockGuard.getThreadPolicy().onReadFromDisk();
         return os.read(fd, buffer);
@@ -256,6 +272,11 @@ public class BlockGuardOs extends ForwardingOs {
         return os.recvfrom(fd, bytes, byteOffset, byteCount, flags, srcAddress);
     }
 
+    @Override public int recvmmsg(FileDescriptor fd, ByteBuffer[] buffers, int flags, InetSocketAddress[] srcAddresses) throws ErrnoException, SocketException {
+        BlockGuard.getThreadPolicy().onNetwork();
+        return os.recvmmsg(fd, buffers, flags, srcAddresses);
+    }
+
     @Override public void remove(String path) throws ErrnoException {
         BlockGuard.getThreadPolicy().onWriteToDisk();
         os.remove(path);
@@ -271,6 +292,11 @@ public class BlockGuardOs extends ForwardingOs {
         return os.sendfile(outFd, inFd, inOffset, byteCount);
     }
 
+    @Override public int sendmmsg(FileDescriptor fd, ByteBuffer[] buffers, int flags, InetSocketAddress[] destAddresses) throws ErrnoException, SocketException {
+        BlockGuard.getThreadPolicy().onNetwork();
+        return os.sendmmsg(fd, buffers, flags, destAddresses);
+    }
+
     @Override public int sendto(FileDescriptor fd, ByteBuffer buffer, int flags, InetAddress inetAddress, int port) throws ErrnoException, SocketException {
         BlockGuard.getThreadPolicy().onNetwork();
         return os.sendto(fd, buffer, flags, inetAddress, port);
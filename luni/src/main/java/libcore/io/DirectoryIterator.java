@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.io;
+
+import android.system.ErrnoException;
+import android.system.StructDirent;
+import dalvik.system.CloseGuard;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily iterates over the entries of a directory using opendir(3) and readdir(3). Unlike
+ * {@link java.io.File#list}, no array of names is built up front, so the cost of walking a
+ * large directory is proportional to how much of it the caller actually consumes.
+ *
+ * <p>The "." and ".." entries are skipped. Each entry's {@link StructDirent#d_type} lets
+ * callers tell files from directories without an lstat(2) per entry, except on file systems
+ * that report {@link android.system.OsConstants#DT_UNKNOWN}.
+ *
+ * <p>The directory is closed when the iterator is exhausted or when {@link #close} is called,
+ * whichever comes first. Instances are not safe for use by multiple threads.
+ */
+public final class DirectoryIterator implements Iterator<StructDirent>, Closeable {
+    private final CloseGuard guard = CloseGuard.get();
+
+    // The DIR* returned by opendir, or 0 once closed.
+    private long dir;
+
+    // The entry to be returned by the next call to next, if already read.
+    private StructDirent next;
+
+    private DirectoryIterator(long dir) {
+        this.dir = dir;
+        guard.open("close");
+    }
+
+    /**
+     * Opens the directory at {@code path} for iteration.
+     */
+    public static DirectoryIterator open(String path) throws ErrnoException {
+        return new DirectoryIterator(Libcore.os.opendir(path));
+    }
+
+    /**
+     * Returns true if there are more entries. An I/O error while reading the directory is
+     * thrown as an {@link UncheckedIOException}.
+     */
+    @Override public boolean hasNext() {
+        if (next == null) {
+            next = readNext();
+        }
+        return next != null;
+    }
+
+    @Override public StructDirent next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        StructDirent result = next;
+        next = null;
+        return result;
+    }
+
+    private StructDirent readNext() {
+        while (dir != 0) {
+            StructDirent entry;
+            try {
+                entry = Libcore.os.readdir(dir);
+            } catch (ErrnoException e) {
+                close();
+                throw new UncheckedIOException(new IOException(e.getMessage(), e));
+            }
+            if (entry == null) {
+                close();
+                return null;
+            }
+            if (!entry.d_name.equals(".") && !entry.d_name.equals("..")) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Closes the underlying directory stream. This is a no-op if the iterator has already been
+     * closed or exhausted.
+     */
+    @Override public void close() {
+        if (dir != 0) {
+            long toClose = dir;
+            dir = 0;
+            guard.close();
+            try {
+                Libcore.os.closedir(toClose);
+            } catch (ErrnoException ignored) {
+                // closedir(3) only fails for an invalid stream, and the stream is gone anyway.
+            }
+        }
+    }
+
+    @Override protected void finalize() throws Throwable {
+        try {
+            if (guard != null) {
+                guard.warnIfOpen();
+            }
+            close();
+        } finally {
+            super.finalize();
+        }
+    }
+}
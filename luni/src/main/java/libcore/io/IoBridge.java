@@ -569,6 +569,28 @@ public final class IoBridge {
         return result;
     }
 
+    /**
+     * Receives up to {@code buffers.length} datagrams with a single recvmmsg(2) call, waiting
+     * at most {@code timeoutMs} for the first (forever if {@code timeoutMs} is 0) and not at
+     * all for the rest. Each sender's address is written into the corresponding element of
+     * {@code srcAddresses}. Returns the number of datagrams received.
+     */
+    public static int recvmmsg(FileDescriptor fd, ByteBuffer[] buffers, InetSocketAddress[] srcAddresses, boolean isConnected, int timeoutMs) throws IOException {
+        try {
+            if (timeoutMs > 0) {
+                StructPollfd[] pollFds = new StructPollfd[] { new StructPollfd() };
+                pollFds[0].fd = fd;
+                pollFds[0].events = (short) POLLIN;
+                if (Libcore.os.poll(pollFds, timeoutMs) == 0) {
+                    throw new SocketTimeoutException("Receive timed out");
+                }
+            }
+            return Libcore.os.recvmmsg(fd, buffers, MSG_WAITFORONE, srcAddresses);
+        } catch (ErrnoException errnoException) {
+            return maybeThrowAfterRecvfrom(false, isConnected, errnoException);
+        }
+    }
+
     private static int postRecvfrom(boolean isRead, DatagramPacket packet, boolean isConnected, InetSocketAddress srcAddress, int byteCount) {
         if (isRead && byteCount == 0) {
             return -1;
@@ -0,0 +1,434 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.io;
+
+import android.system.ErrnoException;
+import dalvik.system.BlockGuard;
+import dalvik.system.CloseGuard;
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import sun.nio.ch.DirectBuffer;
+
+import static android.system.OsConstants.EINTR;
+
+/**
+ * Performs batches of positioned file reads, writes and fsyncs. Operations are queued with
+ * {@link #pread}, {@link #pwrite} and {@link #fsync}, handed over together by {@link #submit},
+ * and their outcomes collected by {@link #complete}.
+ *
+ * <p>Where the kernel supports io_uring(7) and the process has opted in by setting the system
+ * property {@value #ENABLED_PROPERTY} to "true", a whole batch costs one system call. Otherwise
+ * {@link #submit} performs the operations one at a time through {@link Libcore#os}, and they
+ * complete exactly as they would have through the ring.
+ *
+ * <p>Even with the property set, io_uring(7) is only used by processes without a seccomp
+ * filter. A filter that doesn't allow io_uring_setup(2), like the one applied to apps, kills the
+ * process rather than failing the call, so there's no safe way to find out by trying.
+ *
+ * <p>Buffers must be direct, and must be left alone until their operation completes, at which
+ * point the buffer's position is advanced past the bytes transferred. Instances are not
+ * thread-safe.
+ */
+public final class IoRing implements Closeable {
+    /** The outcome of one operation. */
+    public static final class Completion {
+        /** The value passed in when the operation was queued. */
+        public long userData;
+
+        /**
+         * The number of bytes read or written, 0 for a successful fsync, or the negated errno
+         * value if the operation failed.
+         */
+        public int result;
+    }
+
+    /** The system property that must be "true" for rings to use io_uring(7). */
+    public static final String ENABLED_PROPERTY = "libcore.io.IoRing.enabled";
+
+    // Keep in sync with libcore_io_IoRing.cpp.
+    private static final int OP_PREAD = 0;
+    private static final int OP_PWRITE = 1;
+    private static final int OP_FSYNC = 2;
+
+    private final CloseGuard guard = CloseGuard.get();
+
+    /** The native ring, or 0 if operations are performed through {@link Libcore#os}. */
+    private long ring;
+    private boolean closed;
+
+    // Operations that have been queued but not yet collected, indexed by tag.
+    private final FileDescriptor[] fds;
+    private final ByteBuffer[] buffers;
+    private final long[] userData;
+    private final int[] freeTags;
+    private int freeTagCount;
+
+    // Operations queued since the last submit, in order.
+    private final int[] queuedTags;
+    private final int[] queuedOps;
+    private final int[] queuedFds;
+    private final long[] queuedAddresses;
+    private final int[] queuedByteCounts;
+    private final long[] queuedOffsets;
+    private int queuedCount;
+
+    // Finished operations not yet collected. Only the fallback path adds to these; the native
+    // ring is drained into them by complete.
+    private final int[] doneTags;
+    private final int[] doneResults;
+    private int doneCount;
+
+    /**
+     * Returns a ring with room for {@code entries} operations between being queued and being
+     * collected, backed by io_uring(7) if the kernel allows.
+     */
+    public static IoRing open(int entries) {
+        IoRing result = new IoRing(entries);
+        if (KernelSupport.ALLOWED) {
+            long ring = nativeSetup(entries, entries);
+            if (ring > 0) {
+                result.ring = ring;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Whether io_uring_setup(2) may be called at all. Decided the first time a ring is opened
+     * rather than when IoRing is initialized, which may be in the zygote.
+     */
+    private static final class KernelSupport {
+        static final boolean ALLOWED = probe();
+
+        private static boolean probe() {
+            if (!Boolean.getBoolean(ENABLED_PROPERTY)) {
+                return false;
+            }
+            try {
+                // io_uring_setup(2) was added in Linux 5.1.
+                if (!isKernelAtLeast(Libcore.os.uname().release, 5, 1)) {
+                    return false;
+                }
+                // Without a seccomp filter, an unsupported call just fails with ENOSYS.
+                for (String line : IoUtils.readFileAsString("/proc/self/status").split("\n")) {
+                    if (line.startsWith("Seccomp:")) {
+                        return line.substring("Seccomp:".length()).trim().equals("0");
+                    }
+                }
+                return false;
+            } catch (IOException | RuntimeException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Returns true if {@code release}, as reported by uname(2), is at least
+     * {@code major.minor}. Visible for testing.
+     */
+    static boolean isKernelAtLeast(String release, int major, int minor) {
+        int[] version = new int[2];
+        int part = 0;
+        boolean digits = false;
+        for (int i = 0; i < release.length() && part < version.length; i++) {
+            char ch = release.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                version[part] = version[part] * 10 + (ch - '0');
+                digits = true;
+            } else if (ch == '.' && digits) {
+                part++;
+                digits = false;
+            } else {
+                break;
+            }
+        }
+        return version[0] > major || (version[0] == major && version[1] >= minor);
+    }
+
+    /** Returns a ring that never uses io_uring(7). Visible for testing. */
+    static IoRing openFallback(int entries) {
+        return new IoRing(entries);
+    }
+
+    private IoRing(int entries) {
+        if (entries <= 0) {
+            throw new IllegalArgumentException("entries <= 0: " + entries);
+        }
+        fds = new FileDescriptor[entries];
+        buffers = new ByteBuffer[entries];
+        userData = new long[entries];
+        freeTags = new int[entries];
+        for (int i = 0; i < entries; i++) {
+            freeTags[i] = entries - 1 - i;
+        }
+        freeTagCount = entries;
+        queuedTags = new int[entries];
+        queuedOps = new int[entries];
+        queuedFds = new int[entries];
+        queuedAddresses = new long[entries];
+        queuedByteCounts = new int[entries];
+        queuedOffsets = new long[entries];
+        doneTags = new int[entries];
+        doneResults = new int[entries];
+        guard.open("close");
+    }
+
+    /** Returns true if this ring is backed by io_uring(7). */
+    public boolean isKernelBacked() {
+        return ring != 0;
+    }
+
+    /**
+     * Queues a read of up to {@code dst.remaining()} bytes from {@code fd} at {@code offset}.
+     *
+     * @throws IllegalStateException if the ring is full or closed.
+     */
+    public void pread(FileDescriptor fd, ByteBuffer dst, long offset, long userData) {
+        if (dst.isReadOnly()) {
+            throw new IllegalArgumentException("Read-only buffer");
+        }
+        queue(OP_PREAD, fd, dst, offset, userData);
+    }
+
+    /**
+     * Queues a write of {@code src.remaining()} bytes to {@code fd} at {@code offset}.
+     *
+     * @throws IllegalStateException if the ring is full or closed.
+     */
+    public void pwrite(FileDescriptor fd, ByteBuffer src, long offset, long userData) {
+        queue(OP_PWRITE, fd, src, offset, userData);
+    }
+
+    /**
+     * Queues an fsync of {@code fd}. There is no ordering between operations in a batch, so
+     * submit and complete any writes that the fsync has to cover first.
+     *
+     * @throws IllegalStateException if the ring is full or closed.
+     */
+    public void fsync(FileDescriptor fd, long userData) {
+        queue(OP_FSYNC, fd, null, 0, userData);
+    }
+
+    private void queue(int op, FileDescriptor fd, ByteBuffer buffer, long offset,
+            long userData) {
+        checkOpen();
+        if (buffer != null && !buffer.isDirect()) {
+            throw new IllegalArgumentException("Buffer is not direct");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset < 0: " + offset);
+        }
+        if (freeTagCount == 0) {
+            throw new IllegalStateException("Ring is full");
+        }
+        int tag = freeTags[--freeTagCount];
+        this.fds[tag] = fd;
+        this.buffers[tag] = buffer;
+        this.userData[tag] = userData;
+
+        int i = queuedCount++;
+        queuedTags[i] = tag;
+        queuedOps[i] = op;
+        queuedFds[i] = fd.getInt$();
+        queuedOffsets[i] = offset;
+        if (buffer != null) {
+            queuedAddresses[i] = ((DirectBuffer) buffer).address() + buffer.position();
+            queuedByteCounts[i] = buffer.remaining();
+        } else {
+            queuedAddresses[i] = 0;
+            queuedByteCounts[i] = 0;
+        }
+    }
+
+    /**
+     * Starts every operation queued since the last call. Returns the number of operations
+     * started.
+     *
+     * <p>If this throws, the operations are kept and handed over again by the next call to
+     * {@code submit} or {@link #complete}.
+     */
+    public int submit() throws ErrnoException {
+        checkOpen();
+        if (ring == 0) {
+            for (int i = 0; i < queuedCount; i++) {
+                doneTags[doneCount] = queuedTags[i];
+                doneResults[doneCount] = perform(queuedTags[i], queuedOps[i], queuedOffsets[i]);
+                doneCount++;
+            }
+            int submitted = queuedCount;
+            queuedCount = 0;
+            return submitted;
+        }
+
+        // The ring's operations don't pass through BlockGuardOs, so account for them here.
+        boolean reads = false;
+        boolean writes = false;
+        for (int i = 0; i < queuedCount; i++) {
+            reads |= (queuedOps[i] == OP_PREAD);
+            writes |= (queuedOps[i] != OP_PREAD);
+        }
+        if (reads) {
+            BlockGuard.getThreadPolicy().onReadFromDisk();
+        }
+        if (writes) {
+            BlockGuard.getThreadPolicy().onWriteToDisk();
+        }
+
+        // The submission queue is at least as large as this ring, so everything fits.
+        int submitted = nativeQueue(ring, queuedOps, queuedFds, queuedAddresses,
+                queuedByteCounts, queuedOffsets, queuedTags, queuedCount);
+        queuedCount = 0;
+        int rc = nativeEnter(ring, 0);
+        if (rc < 0) {
+            throw new ErrnoException("io_uring_enter", -rc);
+        }
+        return submitted;
+    }
+
+    private int perform(int tag, int op, long offset) {
+        FileDescriptor fd = fds[tag];
+        try {
+            switch (op) {
+            case OP_PREAD:
+                // Use a duplicate: the position is only advanced by complete.
+                return Libcore.os.pread(fd, buffers[tag].duplicate(), offset);
+            case OP_PWRITE:
+                return Libcore.os.pwrite(fd, buffers[tag].duplicate(), offset);
+            case OP_FSYNC:
+                Libcore.os.fsync(fd);
+                return 0;
+            default:
+                throw new AssertionError(op);
+            }
+        } catch (ErrnoException e) {
+            return -e.errno;
+        } catch (InterruptedIOException e) {
+            return -EINTR;
+        }
+    }
+
+    /**
+     * Collects up to {@code completions.length} finished operations into {@code completions},
+     * waiting until at least {@code minCompletions} have finished. Null elements are filled
+     * with new {@link Completion} instances. Never waits for more operations than have been
+     * submitted. Returns the number of completions collected.
+     */
+    public int complete(Completion[] completions, int minCompletions) throws ErrnoException {
+        checkOpen();
+        int max = Math.min(completions.length, doneTags.length);
+        int inFlight = buffers.length - freeTagCount - queuedCount;
+        minCompletions = Math.min(Math.min(minCompletions, max), inFlight);
+        if (ring != 0) {
+            doneCount += nativeReap(ring, doneTags, doneResults, doneCount, max - doneCount);
+            while (doneCount < minCompletions) {
+                int rc = nativeEnter(ring, minCompletions - doneCount);
+                if (rc < 0) {
+                    throw new ErrnoException("io_uring_enter", -rc);
+                }
+                doneCount += nativeReap(ring, doneTags, doneResults, doneCount, max - doneCount);
+            }
+        }
+
+        int count = Math.min(doneCount, max);
+        for (int i = 0; i < count; i++) {
+            int tag = doneTags[i];
+            int result = doneResults[i];
+            Completion completion = completions[i];
+            if (completion == null) {
+                completion = completions[i] = new Completion();
+            }
+            completion.userData = userData[tag];
+            completion.result = result;
+            ByteBuffer buffer = buffers[tag];
+            if (buffer != null && result > 0) {
+                buffer.position(buffer.position() + result);
+            }
+            fds[tag] = null;
+            buffers[tag] = null;
+            freeTags[freeTagCount++] = tag;
+        }
+        // Keep any completions that didn't fit for the next call.
+        doneCount -= count;
+        System.arraycopy(doneTags, count, doneTags, 0, doneCount);
+        System.arraycopy(doneResults, count, doneResults, 0, doneCount);
+        return count;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("IoRing is closed");
+        }
+    }
+
+    /**
+     * Releases the ring. Operations still in flight run to completion first, but their
+     * results are discarded. Operations queued but not submitted are dropped.
+     */
+    @Override public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        guard.close();
+        if (ring != 0) {
+            // The kernel reads the iovecs and the ring itself until an operation completes,
+            // so none of it can be unmapped or freed before then.
+            if (drain()) {
+                nativeClose(ring);
+            }
+            ring = 0;
+        }
+    }
+
+    /**
+     * Waits for every submitted operation to complete. Returns false if that couldn't be
+     * confirmed, in which case the native ring is leaked rather than freed under the kernel.
+     */
+    private boolean drain() {
+        int inFlight = buffers.length - freeTagCount - queuedCount - doneCount;
+        while (inFlight > 0) {
+            int rc = nativeEnter(ring, inFlight);
+            if (rc < 0) {
+                return false;
+            }
+            inFlight -= nativeReap(ring, doneTags, doneResults, 0, doneTags.length);
+        }
+        return true;
+    }
+
+    @Override protected void finalize() throws Throwable {
+        try {
+            if (guard != null) {
+                guard.warnIfOpen();
+            }
+            close();
+        } finally {
+            super.finalize();
+        }
+    }
+
+    private static native long nativeSetup(int entries, int tagCount);
+    private static native void nativeClose(long ring);
+    private static native int nativeQueue(long ring, int[] ops, int[] fds, long[] addresses,
+            int[] byteCounts, long[] offsets, int[] tags, int count);
+    private static native int nativeEnter(long ring, int minComplete);
+    private static native int nativeReap(long ring, int[] tags, int[] results, int offset,
+            int max);
+}
@@ -20,7 +20,9 @@ import android.system.ErrnoException;
 import java.io.FileDescriptor;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.DirectByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.NioUtils;
 import libcore.io.Libcore;
@@ -36,6 +38,14 @@ public final class MemoryMappedFile implements AutoCloseable {
     private long address;
     private final long size;
 
+    private boolean closed;
+
+    /**
+     * Holds on the mapping: one for this file until it's closed, and one for each buffer
+     * returned by {@link #asByteBuffer} until it's unreachable. The last to let go unmaps it.
+     */
+    private int holds = 1;
+
     /**
      * Use this if you've called {@code mmap} yourself.
      */
@@ -61,10 +71,18 @@ public final class MemoryMappedFile implements AutoCloseable {
      * yourself.
      *
      * Calling this method invalidates any iterators over this {@code MemoryMappedFile}. It is an
-     * error to use such an iterator after calling {@code close}.
+     * error to use such an iterator after calling {@code close}. Buffers returned by
+     * {@link #asByteBuffer} stay valid: the file is only unmapped once they're unreachable.
      */
     public synchronized void close() throws ErrnoException {
-        if (address != 0) {
+        if (!closed) {
+            closed = true;
+            release();
+        }
+    }
+
+    private synchronized void release() throws ErrnoException {
+        if (--holds == 0 && address != 0) {
             Libcore.os.munmap(address, size);
             address = 0;
         }
@@ -84,6 +102,44 @@ public final class MemoryMappedFile implements AutoCloseable {
         return new NioBufferIterator(address, (int) size, ByteOrder.nativeOrder() != ByteOrder.LITTLE_ENDIAN);
     }
 
+    /**
+     * Returns a new read-only direct buffer over the mapped data, without copying it. Unlike
+     * the iterators, the buffer and any buffer derived from it keep the mapping alive, so they
+     * may still be used after {@code close}. The data is only unmapped once this file has been
+     * closed and all such buffers are unreachable.
+     *
+     * <p>As with any mapping, reading the buffer after the file has been truncated raises
+     * SIGBUS.
+     *
+     * @throws IllegalStateException if this file has been closed
+     */
+    public synchronized ByteBuffer asByteBuffer() {
+        if (closed) {
+            throw new IllegalStateException("MemoryMappedFile is closed");
+        }
+        holds++;
+        return new DirectByteBuffer((int) size, address, null, new Releaser(this), true);
+    }
+
+    /**
+     * Releases a buffer's hold on the mapping once the buffer is unreachable. This mustn't
+     * refer to the buffer, or it would never become unreachable.
+     */
+    private static final class Releaser implements Runnable {
+        private final MemoryMappedFile file;
+
+        Releaser(MemoryMappedFile file) {
+            this.file = file;
+        }
+
+        @Override public void run() {
+            try {
+                file.release();
+            } catch (ErrnoException ignored) {
+            }
+        }
+    }
+
     /**
      * Returns the size in bytes of the memory-mapped region.
      */
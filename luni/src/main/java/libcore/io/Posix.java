@@ -19,6 +19,7 @@ package libcore.io;
 import android.system.ErrnoException;
 import android.system.GaiException;
 import android.system.StructAddrinfo;
+import android.system.StructDirent;
 import android.system.StructFlock;
 import android.system.StructGroupReq;
 import android.system.StructGroupSourceReq;
@@ -52,6 +53,7 @@ public final class Posix implements Os {
     public native void chmod(String path, int mode) throws ErrnoException;
     public native void chown(String path, int uid, int gid) throws ErrnoException;
     public native void close(FileDescriptor fd) throws ErrnoException;
+    public native void closedir(long dir) throws ErrnoException;
     public native void connect(FileDescriptor fd, InetAddress address, int port) throws ErrnoException, SocketException;
     public native void connect(FileDescriptor fd, SocketAddress address) throws ErrnoException, SocketException;
     public native FileDescriptor dup(FileDescriptor oldFd) throws ErrnoException;
@@ -111,6 +113,7 @@ public final class Posix implements Os {
     public native void munlock(long address, long byteCount) throws ErrnoException;
     public native void munmap(long address, long byteCount) throws ErrnoException;
     public native FileDescriptor open(String path, int flags, int mode) throws ErrnoException;
+    public native long opendir(String path) throws ErrnoException;
     public native FileDescriptor[] pipe2(int flags) throws ErrnoException;
     public native int poll(StructPollfd[] fds, int timeoutMs) throws ErrnoException;
     public native void posix_fallocate(FileDescriptor fd, long offset, long length) throws ErrnoException;
@@ -133,6 +136,7 @@ public final class Posix implements Os {
         return preadBytes(fd, bytes, byteOffset, byteCount, offset);
     }
     private native int preadBytes(FileDescriptor fd, Object buffer, int bufferOffset, int byteCount, long offset) throws ErrnoException, InterruptedIOException;
+    public native int preadv(FileDescriptor fd, Object[] buffers, int[] offsets, int[] byteCounts, long offset) throws ErrnoException, InterruptedIOException;
     public int pwrite(FileDescriptor fd, ByteBuffer buffer, long offset) throws ErrnoException, InterruptedIOException {
         final int bytesWritten;
         final int position = buffer.position();
@@ -151,6 +155,7 @@ public final class Posix implements Os {
         return pwriteBytes(fd, bytes, byteOffset, byteCount, offset);
     }
     private native int pwriteBytes(FileDescriptor fd, Object buffer, int bufferOffset, int byteCount, long offset) throws ErrnoException, InterruptedIOException;
+    public native int pwritev(FileDescriptor fd, Object[] buffers, int[] offsets, int[] byteCounts, long offset) throws ErrnoException, InterruptedIOException;
     public int read(FileDescriptor fd, ByteBuffer buffer) throws ErrnoException, InterruptedIOException {
         final int bytesRead;
         final int position = buffer.position();
@@ -169,6 +174,7 @@ public final class Posix implements Os {
         return readBytes(fd, bytes, byteOffset, byteCount);
     }
     private native int readBytes(FileDescriptor fd, Object buffer, int offset, int byteCount) throws ErrnoException, InterruptedIOException;
+    public native StructDirent readdir(long dir) throws ErrnoException;
     public native String readlink(String path) throws ErrnoException;
     public native String realpath(String path) throws ErrnoException;
     public native int readv(FileDescriptor fd, Object[] buffers, int[] offsets, int[] byteCounts) throws ErrnoException, InterruptedIOException;
@@ -190,10 +196,40 @@ public final class Posix implements Os {
         return recvfromBytes(fd, bytes, byteOffset, byteCount, flags, srcAddress);
     }
     private native int recvfromBytes(FileDescriptor fd, Object buffer, int byteOffset, int byteCount, int flags, InetSocketAddress srcAddress) throws ErrnoException, SocketException;
+    public int recvmmsg(FileDescriptor fd, ByteBuffer[] buffers, int flags, InetSocketAddress[] srcAddresses) throws ErrnoException, SocketException {
+        final int count = buffers.length;
+        Object[] arrays = new Object[count];
+        int[] offsets = new int[count];
+        int[] byteCounts = new int[count];
+        int[] positions = new int[count];
+        toMessageBuffers(buffers, arrays, offsets, byteCounts, positions);
+        int[] messageLengths = new int[count];
+        int messagesReceived = recvmmsgBytes(fd, arrays, offsets, byteCounts, messageLengths, flags, srcAddresses);
+        for (int i = 0; i < messagesReceived; i++) {
+            maybeUpdateBufferPosition(buffers[i], positions[i], Math.min(messageLengths[i], byteCounts[i]));
+        }
+        return messagesReceived;
+    }
+    private native int recvmmsgBytes(FileDescriptor fd, Object[] buffers, int[] offsets, int[] byteCounts, int[] messageLengths, int flags, InetSocketAddress[] srcAddresses) throws ErrnoException, SocketException;
     public native void remove(String path) throws ErrnoException;
     public native void removexattr(String path, String name) throws ErrnoException;
     public native void rename(String oldPath, String newPath) throws ErrnoException;
     public native long sendfile(FileDescriptor outFd, FileDescriptor inFd, MutableLong inOffset, long byteCount) throws ErrnoException;
+    public int sendmmsg(FileDescriptor fd, ByteBuffer[] buffers, int flags, InetSocketAddress[] destAddresses) throws ErrnoException, SocketException {
+        final int count = buffers.length;
+        Object[] arrays = new Object[count];
+        int[] offsets = new int[count];
+        int[] byteCounts = new int[count];
+        int[] positions = new int[count];
+        toMessageBuffers(buffers, arrays, offsets, byteCounts, positions);
+        int[] messageLengths = new int[count];
+        int messagesSent = sendmmsgBytes(fd, arrays, offsets, byteCounts, messageLengths, flags, destAddresses);
+        for (int i = 0; i < messagesSent; i++) {
+            maybeUpdateBufferPosition(buffers[i], positions[i], messageLengths[i]);
+        }
+        return messagesSent;
+    }
+    private native int sendmmsgBytes(FileDescriptor fd, Object[] buffers, int[] offsets, int[] byteCounts, int[] messageLengths, int flags, InetSocketAddress[] destAddresses) throws ErrnoException, SocketException;
     public int sendto(FileDescriptor fd, ByteBuffer buffer, int flags, InetAddress inetAddress, int port) throws ErrnoException, SocketException {
         final int bytesSent;
         final int position = buffer.position();
@@ -237,6 +273,7 @@ public final class Posix implements Os {
     public native void shutdown(FileDescriptor fd, int how) throws ErrnoException;
     public native FileDescriptor socket(int domain, int type, int protocol) throws ErrnoException;
     public native void socketpair(int domain, int type, int protocol, FileDescriptor fd1, FileDescriptor fd2) throws ErrnoException;
+    public native long splice(FileDescriptor fdIn, MutableLong offIn, FileDescriptor fdOut, MutableLong offOut, long len, int flags) throws ErrnoException;
     public native StructStat stat(String path) throws ErrnoException;
     public native StructStatVfs statvfs(String path) throws ErrnoException;
     public native String strerror(int errno);
@@ -275,6 +312,25 @@ public final class Posix implements Os {
     private native int writeBytes(FileDescriptor fd, Object buffer, int offset, int byteCount) throws ErrnoException, InterruptedIOException;
     public native int writev(FileDescriptor fd, Object[] buffers, int[] offsets, int[] byteCounts) throws ErrnoException, InterruptedIOException;
 
+    /**
+     * Splits {@code buffers} into the parallel arrays taken by the *mmsgBytes natives, with one
+     * message per buffer covering its remaining bytes.
+     */
+    private static void toMessageBuffers(ByteBuffer[] buffers, Object[] arrays, int[] offsets, int[] byteCounts, int[] positions) {
+        for (int i = 0; i < buffers.length; i++) {
+            ByteBuffer buffer = buffers[i];
+            positions[i] = buffer.position();
+            byteCounts[i] = buffer.remaining();
+            if (buffer.isDirect()) {
+                arrays[i] = buffer;
+                offsets[i] = positions[i];
+            } else {
+                arrays[i] = NioUtils.unsafeArray(buffer);
+                offsets[i] = NioUtils.unsafeArrayOffset(buffer) + positions[i];
+            }
+        }
+    }
+
     private static void maybeUpdateBufferPosition(ByteBuffer buffer, int originalPosition, int bytesReadOrWritten) {
         if (bytesReadOrWritten > 0) {
             buffer.position(bytesReadOrWritten + originalPosition);
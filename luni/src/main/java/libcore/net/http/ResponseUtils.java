@@ -21,8 +21,8 @@ import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnsupportedCharsetException;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import libcore.util.CompactHashMap;
 
 /**
  * @hide
@@ -64,7 +64,7 @@ public class ResponseUtils {
 
     String[] fields = contentTypeHeader.split(";");
     if (fields.length > 1) {
-      parameters = new HashMap<>();
+      parameters = new CompactHashMap<>();
       // Ignore the first element in the array (the type/subtype).
       for (int i = 1; i < fields.length; ++i) {
         final String parameter = fields[i];
@@ -22,6 +22,8 @@ package libcore.util;
  * @hide internal use only
  */
 public final class CharsetUtils {
+    private static final char REPLACEMENT_CHAR = (char) 0xfffd;
+
     /**
      * Returns a new byte array containing the bytes corresponding to the characters in the given
      * string, encoded in US-ASCII. Unrepresentable characters are replaced by (byte) '?'.
@@ -75,6 +77,213 @@ public final class CharsetUtils {
      */
     public static native void isoLatin1BytesToChars(byte[] bytes, int offset, int length, char[] chars);
 
+    /**
+     * Returns the index of the first byte in {@code bytes} from {@code offset} up to {@code end}
+     * that is not US-ASCII, or {@code end} if they all are. Eight bytes are tested per step.
+     */
+    public static int firstNonAscii(byte[] bytes, int offset, int end) {
+        int i = offset;
+        for (; i <= end - 8; i += 8) {
+            if ((bytes[i] | bytes[i + 1] | bytes[i + 2] | bytes[i + 3]
+                    | bytes[i + 4] | bytes[i + 5] | bytes[i + 6] | bytes[i + 7]) < 0) {
+                break;
+            }
+        }
+        while (i < end && bytes[i] >= 0) {
+            ++i;
+        }
+        return i;
+    }
+
+    /**
+     * Copies US-ASCII bytes to chars, stopping at the first byte that isn't US-ASCII or after
+     * {@code max} bytes. Eight bytes are tested per step.
+     *
+     * @return the number of bytes copied
+     */
+    public static int asciiPrefixToChars(byte[] bytes, int offset, char[] chars, int charOffset,
+            int max) {
+        int i = 0;
+        for (; i <= max - 8; i += 8) {
+            int p = offset + i;
+            byte b0 = bytes[p];
+            byte b1 = bytes[p + 1];
+            byte b2 = bytes[p + 2];
+            byte b3 = bytes[p + 3];
+            byte b4 = bytes[p + 4];
+            byte b5 = bytes[p + 5];
+            byte b6 = bytes[p + 6];
+            byte b7 = bytes[p + 7];
+            if ((b0 | b1 | b2 | b3 | b4 | b5 | b6 | b7) < 0) {
+                break;
+            }
+            int q = charOffset + i;
+            chars[q] = (char) b0;
+            chars[q + 1] = (char) b1;
+            chars[q + 2] = (char) b2;
+            chars[q + 3] = (char) b3;
+            chars[q + 4] = (char) b4;
+            chars[q + 5] = (char) b5;
+            chars[q + 6] = (char) b6;
+            chars[q + 7] = (char) b7;
+        }
+        for (; i < max; ++i) {
+            byte b = bytes[offset + i];
+            if (b < 0) {
+                break;
+            }
+            chars[charOffset + i] = (char) b;
+        }
+        return i;
+    }
+
+    /**
+     * Copies US-ASCII chars to bytes, stopping at the first char that isn't US-ASCII or after
+     * {@code max} chars. Eight chars are tested per step.
+     *
+     * @return the number of chars copied
+     */
+    public static int asciiPrefixToBytes(char[] chars, int offset, byte[] bytes, int byteOffset,
+            int max) {
+        int i = 0;
+        for (; i <= max - 8; i += 8) {
+            int p = offset + i;
+            char c0 = chars[p];
+            char c1 = chars[p + 1];
+            char c2 = chars[p + 2];
+            char c3 = chars[p + 3];
+            char c4 = chars[p + 4];
+            char c5 = chars[p + 5];
+            char c6 = chars[p + 6];
+            char c7 = chars[p + 7];
+            if ((c0 | c1 | c2 | c3 | c4 | c5 | c6 | c7) >= 0x80) {
+                break;
+            }
+            int q = byteOffset + i;
+            bytes[q] = (byte) c0;
+            bytes[q + 1] = (byte) c1;
+            bytes[q + 2] = (byte) c2;
+            bytes[q + 3] = (byte) c3;
+            bytes[q + 4] = (byte) c4;
+            bytes[q + 5] = (byte) c5;
+            bytes[q + 6] = (byte) c6;
+            bytes[q + 7] = (byte) c7;
+        }
+        for (; i < max; ++i) {
+            char c = chars[offset + i];
+            if (c >= 0x80) {
+                break;
+            }
+            bytes[byteOffset + i] = (byte) c;
+        }
+        return i;
+    }
+
+    /**
+     * Decodes {@code byteCount} UTF-8 bytes into {@code chars}, which must have room for
+     * {@code byteCount} chars. Malformed input is replaced by U+FFFD. Runs of US-ASCII are
+     * copied eight bytes at a time.
+     *
+     * @return the number of chars written
+     */
+    public static int utf8BytesToChars(byte[] bytes, int offset, int byteCount, char[] chars) {
+        byte[] d = bytes;
+        char[] v = chars;
+        int idx = offset;
+        int last = offset + byteCount;
+        int s = 0;
+outer:
+        while (idx < last) {
+            byte b0 = d[idx];
+            if (b0 >= 0) {
+                // 0xxxxxxx
+                // Range:  U-00000000 - U-0000007F
+                int n = asciiPrefixToChars(d, idx, v, s, last - idx);
+                idx += n;
+                s += n;
+                continue;
+            }
+            idx++;
+            if (((b0 & 0xe0) == 0xc0) || ((b0 & 0xf0) == 0xe0) ||
+                    ((b0 & 0xf8) == 0xf0) || ((b0 & 0xfc) == 0xf8) || ((b0 & 0xfe) == 0xfc)) {
+                int utfCount = 1;
+                if ((b0 & 0xf0) == 0xe0) utfCount = 2;
+                else if ((b0 & 0xf8) == 0xf0) utfCount = 3;
+                else if ((b0 & 0xfc) == 0xf8) utfCount = 4;
+                else if ((b0 & 0xfe) == 0xfc) utfCount = 5;
+
+                // 110xxxxx (10xxxxxx)+
+                // Range:  U-00000080 - U-000007FF (count == 1)
+                // Range:  U-00000800 - U-0000FFFF (count == 2)
+                // Range:  U-00010000 - U-001FFFFF (count == 3)
+                // Range:  U-00200000 - U-03FFFFFF (count == 4)
+                // Range:  U-04000000 - U-7FFFFFFF (count == 5)
+
+                if (idx + utfCount > last) {
+                    v[s++] = REPLACEMENT_CHAR;
+                    continue;
+                }
+
+                // Extract usable bits from b0
+                int val = b0 & (0x1f >> (utfCount - 1));
+                for (int i = 0; i < utfCount; ++i) {
+                    byte b = d[idx++];
+                    if ((b & 0xc0) != 0x80) {
+                        v[s++] = REPLACEMENT_CHAR;
+                        idx--; // Put the input char back
+                        continue outer;
+                    }
+                    // Push new bits in from the right side
+                    val <<= 6;
+                    val |= b & 0x3f;
+                }
+
+                // Note: Java allows overlong char
+                // specifications To disallow, check that val
+                // is greater than or equal to the minimum
+                // value for each count:
+                //
+                // count    min value
+                // -----   ----------
+                //   1           0x80
+                //   2          0x800
+                //   3        0x10000
+                //   4       0x200000
+                //   5      0x4000000
+
+                // Allow surrogate values (0xD800 - 0xDFFF) to
+                // be specified using 3-byte UTF values only
+                if ((utfCount != 2) && (val >= 0xD800) && (val <= 0xDFFF)) {
+                    v[s++] = REPLACEMENT_CHAR;
+                    continue;
+                }
+
+                // Reject chars greater than the Unicode maximum of U+10FFFF.
+                if (val > 0x10FFFF) {
+                    v[s++] = REPLACEMENT_CHAR;
+                    continue;
+                }
+
+                // Encode chars from U+10000 up as surrogate pairs
+                if (val < 0x10000) {
+                    v[s++] = (char) val;
+                } else {
+                    int x = val & 0xffff;
+                    int u = (val >> 16) & 0x1f;
+                    int w = (u - 1) & 0xffff;
+                    int hi = 0xd800 | (w << 6) | (x >> 10);
+                    int lo = 0xdc00 | (x & 0x3ff);
+                    v[s++] = (char) hi;
+                    v[s++] = (char) lo;
+                }
+            } else {
+                // Illegal values 0x8*, 0x9*, 0xa*, 0xb*, 0xfd-0xff
+                v[s++] = REPLACEMENT_CHAR;
+            }
+        }
+        return s;
+    }
+
     private CharsetUtils() {
     }
 }
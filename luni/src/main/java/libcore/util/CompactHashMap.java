@@ -0,0 +1,445 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A map for the many maps that only ever hold a handful of entries. Up to {@link
+ * #MAX_COMPACT_SIZE} entries are kept in a single array of alternating keys and values, using
+ * open addressing with linear probing, so there is no node object per entry. A map that grows
+ * larger is promoted to a {@link HashMap}, which it then delegates to until it is cleared.
+ *
+ * <p>A compact map of eight entries takes about half the memory of a {@code HashMap} of the same
+ * entries. Lookups hash the key once but, unlike {@code HashMap}, don't cache hash codes, so
+ * they may call {@code equals} on keys whose hash codes differ.
+ *
+ * <p>Null keys and values are permitted. Iteration order is unspecified, and iterators are
+ * fail-fast. This class is not thread-safe.
+ */
+public final class CompactHashMap<K, V> extends AbstractMap<K, V> {
+    /** The largest number of entries kept in the compact table. */
+    public static final int MAX_COMPACT_SIZE = 8;
+
+    /** The number of slots in the smallest table; must be a power of two. */
+    private static final int MIN_CAPACITY = 4;
+
+    /** Stands in for the null key in the table. */
+    private static final Object NULL_KEY = new Object();
+
+    /** Marks a slot whose entry was removed, so that probing continues past it. */
+    private static final Object REMOVED = new Object();
+
+    /**
+     * The compact table: the key of slot {@code i} is at {@code 2 * i}, and its value at {@code
+     * 2 * i + 1}. A null key marks an empty slot. Unused once the map is promoted.
+     */
+    private Object[] table = EmptyArray.OBJECT;
+
+    /** The map holding the entries once there were too many for the compact table, or null. */
+    private HashMap<K, V> promoted;
+
+    /** The number of entries in the compact table. */
+    private int size;
+
+    /** The number of non-empty slots in the compact table, including removed ones. */
+    private int used;
+
+    /** Counts structural modifications, so that iterators can fail fast. */
+    private int modCount;
+
+    private Set<Entry<K, V>> entrySet;
+
+    public CompactHashMap() {
+    }
+
+    public CompactHashMap(Map<? extends K, ? extends V> map) {
+        putAll(map);
+    }
+
+    private static Object maskNull(Object key) {
+        return (key == null) ? NULL_KEY : key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> K unmaskNull(Object key) {
+        return (key == NULL_KEY) ? null : (K) key;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the table index of the (masked) {@code key}, or -1 if it isn't in the table.
+     */
+    private int indexOf(Object key) {
+        Object[] tab = table;
+        int mask = tab.length - 1;
+        if (mask < 0) {
+            return -1;
+        }
+        for (int i = (hash(key) << 1) & mask; ; i = (i + 2) & mask) {
+            Object k = tab[i];
+            if (k == null) {
+                return -1;
+            }
+            if (k == key || (k != REMOVED && key.equals(k))) {
+                return i;
+            }
+        }
+    }
+
+    @Override public int size() {
+        return (promoted != null) ? promoted.size() : size;
+    }
+
+    @Override public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public V get(Object key) {
+        if (promoted != null) {
+            return promoted.get(key);
+        }
+        int i = indexOf(maskNull(key));
+        return (i >= 0) ? (V) table[i + 1] : null;
+    }
+
+    @Override public boolean containsKey(Object key) {
+        if (promoted != null) {
+            return promoted.containsKey(key);
+        }
+        return indexOf(maskNull(key)) >= 0;
+    }
+
+    @Override public boolean containsValue(Object value) {
+        if (promoted != null) {
+            return promoted.containsValue(value);
+        }
+        Object[] tab = table;
+        for (int i = 0; i < tab.length; i += 2) {
+            Object k = tab[i];
+            if (k != null && k != REMOVED
+                    && (value == null ? tab[i + 1] == null : value.equals(tab[i + 1]))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public V put(K key, V value) {
+        if (promoted != null) {
+            return promoted.put(key, value);
+        }
+        Object k = maskNull(key);
+        int i = indexOf(k);
+        if (i >= 0) {
+            V previous = (V) table[i + 1];
+            table[i + 1] = value;
+            return previous;
+        }
+        modCount++;
+        if (size == MAX_COMPACT_SIZE) {
+            promote().put(key, value);
+            return null;
+        }
+        if ((used + 1) * 4 > table.length / 2 * 3) {
+            rehash(size + 1);
+        }
+        Object[] tab = table;
+        int mask = tab.length - 1;
+        i = (hash(k) << 1) & mask;
+        while (tab[i] != null && tab[i] != REMOVED) {
+            i = (i + 2) & mask;
+        }
+        if (tab[i] == null) {
+            used++;
+        }
+        tab[i] = k;
+        tab[i + 1] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * Replaces the table with one large enough for {@code minSize} entries, dropping the
+     * markers of removed entries.
+     */
+    private void rehash(int minSize) {
+        int capacity = MIN_CAPACITY;
+        while (minSize * 4 > capacity * 3) {
+            capacity <<= 1;
+        }
+        Object[] oldTable = table;
+        Object[] tab = new Object[capacity * 2];
+        int mask = tab.length - 1;
+        for (int j = 0; j < oldTable.length; j += 2) {
+            Object k = oldTable[j];
+            if (k != null && k != REMOVED) {
+                int i = (hash(k) << 1) & mask;
+                while (tab[i] != null) {
+                    i = (i + 2) & mask;
+                }
+                tab[i] = k;
+                tab[i + 1] = oldTable[j + 1];
+            }
+        }
+        table = tab;
+        used = size;
+    }
+
+    /**
+     * Moves the entries of the compact table to a new {@code HashMap} and returns it.
+     */
+    @SuppressWarnings("unchecked")
+    private HashMap<K, V> promote() {
+        HashMap<K, V> map = new HashMap<K, V>();
+        Object[] tab = table;
+        for (int i = 0; i < tab.length; i += 2) {
+            Object k = tab[i];
+            if (k != null && k != REMOVED) {
+                map.put(CompactHashMap.<K>unmaskNull(k), (V) tab[i + 1]);
+            }
+        }
+        table = EmptyArray.OBJECT;
+        size = 0;
+        used = 0;
+        promoted = map;
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public V remove(Object key) {
+        if (promoted != null) {
+            return promoted.remove(key);
+        }
+        int i = indexOf(maskNull(key));
+        if (i < 0) {
+            return null;
+        }
+        V previous = (V) table[i + 1];
+        removeAt(i);
+        return previous;
+    }
+
+    private void removeAt(int i) {
+        Object[] tab = table;
+        modCount++;
+        if (--size == 0) {
+            Arrays.fill(tab, null);
+            used = 0;
+        } else if (tab[(i + 2) & (tab.length - 1)] == null) {
+            // Nothing probes past this slot, so it can be emptied outright.
+            tab[i] = null;
+            tab[i + 1] = null;
+            used--;
+        } else {
+            tab[i] = REMOVED;
+            tab[i + 1] = null;
+        }
+    }
+
+    /**
+     * Removes all entries. A promoted map reverts to a compact one.
+     */
+    @Override public void clear() {
+        modCount++;
+        if (promoted != null) {
+            promoted = null;
+        } else if (used != 0) {
+            Arrays.fill(table, null);
+        }
+        size = 0;
+        used = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (promoted != null) {
+            promoted.forEach(action);
+            return;
+        }
+        if (action == null) {
+            throw new NullPointerException("action == null");
+        }
+        Object[] tab = table;
+        int expectedModCount = modCount;
+        for (int i = 0; i < tab.length; i += 2) {
+            Object k = tab[i];
+            if (k != null && k != REMOVED) {
+                action.accept(CompactHashMap.<K>unmaskNull(k), (V) tab[i + 1]);
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        }
+    }
+
+    @Override public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> result = entrySet;
+        return (result != null) ? result : (entrySet = new EntrySet());
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override public int size() {
+            return CompactHashMap.this.size();
+        }
+
+        @Override public void clear() {
+            CompactHashMap.this.clear();
+        }
+
+        @Override public Iterator<Entry<K, V>> iterator() {
+            if (promoted != null) {
+                return promoted.entrySet().iterator();
+            }
+            return new EntryIterator();
+        }
+
+        @Override public boolean contains(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            Object key = e.getKey();
+            if (!containsKey(key)) {
+                return false;
+            }
+            Object value = get(key);
+            return (value == null) ? e.getValue() == null : value.equals(e.getValue());
+        }
+
+        @Override public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            CompactHashMap.this.remove(((Entry<?, ?>) o).getKey());
+            return true;
+        }
+    }
+
+    /**
+     * Iterates over the compact table. Removing an entry never moves the others, so iteration
+     * can continue where it left off.
+     */
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        private final Object[] tab = table;
+        private int next = advance(0);
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        private int advance(int i) {
+            while (i < tab.length && (tab[i] == null || tab[i] == REMOVED)) {
+                i += 2;
+            }
+            return i;
+        }
+
+        @Override public boolean hasNext() {
+            return next < tab.length;
+        }
+
+        @Override public Entry<K, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= tab.length) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 2);
+            return new TableEntry(last);
+        }
+
+        @Override public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * An entry of the compact table. It writes through to the table for as long as the table
+     * still holds its key.
+     */
+    private final class TableEntry implements Entry<K, V> {
+        private final Object[] tab = table;
+        private final int index;
+        private final K key;
+        private V value;
+
+        @SuppressWarnings("unchecked")
+        TableEntry(int index) {
+            this.index = index;
+            this.key = CompactHashMap.<K>unmaskNull(table[index]);
+            this.value = (V) table[index + 1];
+        }
+
+        @Override public K getKey() {
+            return key;
+        }
+
+        @Override public V getValue() {
+            return value;
+        }
+
+        @Override public V setValue(V value) {
+            if (tab == table && tab[index] == maskNull(key)) {
+                tab[index + 1] = value;
+            }
+            V oldValue = this.value;
+            this.value = value;
+            return oldValue;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            return Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override public String toString() {
+            return key + "=" + value;
+        }
+    }
+}
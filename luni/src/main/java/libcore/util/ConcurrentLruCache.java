@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An approximately least-recently-used cache for libcore that can be read
+ * concurrently. This has the same contract as {@link BasicLruCache}, but
+ * {@link #get} takes no lock when the value is cached.
+ *
+ * <p>Eviction uses the CLOCK algorithm: entries form a ring, and a hit only
+ * marks its entry as referenced. When the cache is over capacity the clock
+ * hand sweeps the ring, giving referenced entries a second chance and
+ * evicting the first unreferenced one. Writes and evictions are serialized.
+ */
+public class ConcurrentLruCache<K, V> {
+    private static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        volatile boolean referenced;
+
+        // The ring, guarded by the cache's lock.
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private final ConcurrentHashMap<K, Node<K, V>> map;
+    private final int maxSize;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    private final Object lock = new Object();
+
+    /** The next entry to consider for eviction, or null if the cache is empty. */
+    private Node<K, V> hand;
+    private int size;
+
+    public ConcurrentLruCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize <= 0");
+        }
+        this.maxSize = maxSize;
+        this.map = new ConcurrentHashMap<K, Node<K, V>>();
+    }
+
+    /**
+     * Returns the value for {@code key} if it exists in the cache or can be
+     * created by {@code #create}. If a value was returned, it is marked as
+     * recently used. This returns null if a value is not cached and cannot
+     * be created.
+     */
+    public final V get(K key) {
+        if (key == null) {
+            throw new NullPointerException("key == null");
+        }
+
+        Node<K, V> node = map.get(key);
+        if (node != null) {
+            // Only write when necessary, so that readers of a hot entry don't
+            // contend on its cache line.
+            if (!node.referenced) {
+                node.referenced = true;
+            }
+            hitCount.increment();
+            return node.value;
+        }
+        missCount.increment();
+
+        // Don't hold any locks while calling create.
+        V result = create(key);
+        if (result != null) {
+            // Another thread might have inserted a value for key in the
+            // meantime. As with BasicLruCache, that shouldn't be observable as
+            // long as create creates equal values for equal keys.
+            put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Caches {@code value} for {@code key}, marking it as recently used.
+     *
+     * @return the previous value mapped by {@code key}. Although that entry is
+     *     no longer cached, it has not been passed to {@link #entryEvicted}.
+     */
+    public final V put(K key, V value) {
+        if (key == null) {
+            throw new NullPointerException("key == null");
+        } else if (value == null) {
+            throw new NullPointerException("value == null");
+        }
+
+        Node<K, V> evicted;
+        synchronized (lock) {
+            Node<K, V> node = map.get(key);
+            if (node != null) {
+                V previous = node.value;
+                node.value = value;
+                node.referenced = true;
+                return previous;
+            }
+
+            node = new Node<K, V>(key, value);
+            map.put(key, node);
+            // New entries go just behind the hand, so they're the last to be
+            // considered for eviction.
+            if (hand == null) {
+                node.prev = node;
+                node.next = node;
+                hand = node;
+            } else {
+                node.prev = hand.prev;
+                node.next = hand;
+                hand.prev.next = node;
+                hand.prev = node;
+            }
+            size++;
+            evicted = trimToSize(maxSize);
+        }
+        notifyEvicted(evicted);
+        return null;
+    }
+
+    public final V remove(K key) {
+        if (key == null) {
+            throw new NullPointerException("key == null");
+        }
+        synchronized (lock) {
+            Node<K, V> node = map.remove(key);
+            if (node == null) {
+                return null;
+            }
+            unlink(node);
+            return node.value;
+        }
+    }
+
+    /**
+     * Evicts entries until at most {@code maxSize} remain. Returns the evicted
+     * entries chained through their {@code next} fields, so that
+     * {@link #entryEvicted} can be called without holding the lock.
+     */
+    private Node<K, V> trimToSize(int maxSize) {
+        Node<K, V> evicted = null;
+        Node<K, V> lastEvicted = null;
+        while (size > maxSize) {
+            Node<K, V> node = hand;
+            if (node.referenced && maxSize > 0) {
+                node.referenced = false;
+                hand = node.next;
+                continue;
+            }
+            map.remove(node.key);
+            unlink(node);
+            evictionCount.increment();
+
+            node.next = null;
+            if (lastEvicted == null) {
+                evicted = node;
+            } else {
+                lastEvicted.next = node;
+            }
+            lastEvicted = node;
+        }
+        return evicted;
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.next == node) {
+            hand = null;
+        } else {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            if (hand == node) {
+                hand = node.next;
+            }
+        }
+        node.prev = null;
+        node.next = null;
+        size--;
+    }
+
+    private void notifyEvicted(Node<K, V> evicted) {
+        for (Node<K, V> node = evicted; node != null; node = node.next) {
+            entryEvicted(node.key, node.value);
+        }
+    }
+
+    /**
+     * Called for entries that have been chosen for eviction and removed. The
+     * default implementation does nothing. This is called without holding any
+     * locks.
+     */
+    protected void entryEvicted(K key, V value) {}
+
+    /**
+     * Called after a cache miss to compute a value for the corresponding key.
+     * Returns the computed value or null if no value can be computed. The
+     * default implementation returns null.
+     */
+    protected V create(K key) {
+        return null;
+    }
+
+    /**
+     * Returns a copy of the current contents of the cache, ordered from the
+     * next entry to be considered for eviction to the last.
+     */
+    public final Map<K, V> snapshot() {
+        synchronized (lock) {
+            LinkedHashMap<K, V> result = new LinkedHashMap<K, V>();
+            Node<K, V> node = hand;
+            for (int i = 0; i < size; i++) {
+                result.put(node.key, node.value);
+                node = node.next;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Clear the cache, calling {@link #entryEvicted} on each removed entry.
+     */
+    public final void evictAll() {
+        Node<K, V> evicted;
+        synchronized (lock) {
+            evicted = trimToSize(0);
+        }
+        notifyEvicted(evicted);
+    }
+
+    /** Returns the number of entries in the cache. */
+    public final int size() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    /** Returns the number of times {@link #get} found a cached value. */
+    public final long hitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of times {@link #get} found no cached value, whether
+     * or not {@link #create} could then create one.
+     */
+    public final long missCount() {
+        return missCount.sum();
+    }
+
+    /** Returns the number of entries evicted, including by {@link #evictAll}. */
+    public final long evictionCount() {
+        return evictionCount.sum();
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.util;
+
+import java.util.Arrays;
+
+/**
+ * A map from {@code int} keys to {@code int} values. Unlike a {@code HashMap<Integer, Integer>},
+ * nothing is boxed and there is no object per entry: keys and values live in two parallel arrays,
+ * using open addressing with linear probing.
+ *
+ * <p>This class is not thread-safe. Iteration order is unspecified.
+ */
+public final class IntIntMap {
+    /**
+     * Receives the entries of a map from {@link #forEach}.
+     */
+    public interface Visitor {
+        void visit(int key, int value);
+    }
+
+    /** The smallest table; must be a power of two. */
+    private static final int MIN_CAPACITY = 8;
+
+    /**
+     * The keys; a slot is empty if its key is 0. The entry for key 0 is kept in
+     * {@link #hasZeroKey} and {@link #zeroValue} instead.
+     */
+    private int[] keys;
+
+    private int[] values;
+
+    private boolean hasZeroKey;
+
+    private int zeroValue;
+
+    /** The number of entries, including any entry for key 0. */
+    private int size;
+
+    /** The number of entries in the table at which it is doubled: three quarters of its length. */
+    private int threshold;
+
+    public IntIntMap() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * Creates a map that can hold {@code expectedSize} entries without resizing.
+     */
+    public IntIntMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize < 0: " + expectedSize);
+        }
+        allocate(IntObjectMap.tableSizeFor(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        threshold = capacity - (capacity >> 2);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the slot holding {@code key}, which must not be 0, or -1 if there is none.
+     */
+    private int slotOf(int key) {
+        int mask = keys.length - 1;
+        for (int i = IntObjectMap.hash(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value for {@code key}, or {@code valueIfKeyNotFound} if there is none.
+     */
+    public int get(int key, int valueIfKeyNotFound) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : valueIfKeyNotFound;
+        }
+        int slot = slotOf(key);
+        return (slot >= 0) ? values[slot] : valueIfKeyNotFound;
+    }
+
+    public boolean containsKey(int key) {
+        return (key == 0) ? hasZeroKey : slotOf(key) >= 0;
+    }
+
+    /**
+     * Maps {@code key} to {@code value}, replacing any previous value for {@code key}.
+     */
+    public void put(int key, int value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int mask = keys.length - 1;
+        int i = IntObjectMap.hash(key) & mask;
+        for (; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+        }
+        if (tableSize() >= threshold) {
+            rehash(keys.length << 1);
+            insert(key, value);
+        } else {
+            keys[i] = key;
+            values[i] = value;
+        }
+        size++;
+    }
+
+    private int tableSize() {
+        return hasZeroKey ? size - 1 : size;
+    }
+
+    /** Stores an entry for a non-zero key known to be absent, without resizing. */
+    private void insert(int key, int value) {
+        int mask = keys.length - 1;
+        int i = IntObjectMap.hash(key) & mask;
+        while (keys[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Removes the entry for {@code key}, returning whether there was one.
+     */
+    public boolean remove(int key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = false;
+            zeroValue = 0;
+            size--;
+            return true;
+        }
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return false;
+        }
+        removeSlot(slot);
+        size--;
+        return true;
+    }
+
+    /**
+     * Empties {@code slot} by shifting back any later entries of its cluster that would
+     * otherwise no longer be reachable from their home slots.
+     */
+    private void removeSlot(int slot) {
+        int mask = keys.length - 1;
+        int gap = slot;
+        for (int i = (slot + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            int home = IntObjectMap.hash(keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = 0;
+    }
+
+    public void clear() {
+        if (size != 0) {
+            Arrays.fill(keys, 0);
+            hasZeroKey = false;
+            zeroValue = 0;
+            size = 0;
+        }
+    }
+
+    /**
+     * Passes each entry to {@code visitor}. The map must not be modified meanwhile.
+     */
+    public void forEach(Visitor visitor) {
+        if (hasZeroKey) {
+            visitor.visit(0, zeroValue);
+        }
+        int[] keys = this.keys;
+        int[] values = this.values;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                visitor.visit(keys[i], values[i]);
+            }
+        }
+    }
+
+    @Override public String toString() {
+        final StringBuilder result = new StringBuilder("{");
+        forEach(new Visitor() {
+            @Override public void visit(int key, int value) {
+                if (result.length() > 1) {
+                    result.append(", ");
+                }
+                result.append(key).append('=').append(value);
+            }
+        });
+        return result.append('}').toString();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.util;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A growable list of {@code long}s. Unlike an {@code ArrayList<Long>}, the elements aren't
+ * boxed.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class LongArrayList {
+    /**
+     * The minimum amount by which the capacity of the list will increase.
+     */
+    private static final int MIN_CAPACITY_INCREMENT = 12;
+
+    private long[] array;
+
+    private int size;
+
+    public LongArrayList() {
+        array = EmptyArray.LONG;
+    }
+
+    public LongArrayList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity < 0: " + capacity);
+        }
+        array = (capacity == 0) ? EmptyArray.LONG : new long[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Appends {@code value} to the end of the list.
+     */
+    public void add(long value) {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, newCapacity(size));
+        }
+        array[size++] = value;
+    }
+
+    private static int newCapacity(int currentCapacity) {
+        int increment = (currentCapacity < (MIN_CAPACITY_INCREMENT / 2)) ?
+                MIN_CAPACITY_INCREMENT : currentCapacity >> 1;
+        return currentCapacity + increment;
+    }
+
+    public long get(int index) {
+        checkIndex(index);
+        return array[index];
+    }
+
+    /**
+     * Replaces the element at {@code index} with {@code value}, returning the old element.
+     */
+    public long set(int index, long value) {
+        checkIndex(index);
+        long result = array[index];
+        array[index] = value;
+        return result;
+    }
+
+    /**
+     * Removes the element at {@code index}, shifting later elements down, and returns it.
+     */
+    public long removeAt(int index) {
+        checkIndex(index);
+        long result = array[index];
+        System.arraycopy(array, index + 1, array, index, --size - index);
+        return result;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid index " + index + ", size is " + size);
+        }
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns the index of the first occurrence of {@code value}, or -1 if there is none.
+     */
+    public int indexOf(long value) {
+        for (int i = 0; i < size; i++) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(long value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Returns a new array containing the elements of this list.
+     */
+    public long[] toArray() {
+        return (size == 0) ? EmptyArray.LONG : Arrays.copyOf(array, size);
+    }
+
+    /**
+     * Passes each element to {@code action}, in order.
+     */
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(array[i]);
+        }
+    }
+
+    @Override public String toString() {
+        StringBuilder result = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append(array[i]);
+        }
+        return result.append(']').toString();
+    }
+}
@@ -67,8 +67,8 @@ public final class ZoneInfoDB {
      * See http://b/8270865 for context.
      */
     private final static int CACHE_SIZE = 1;
-    private final BasicLruCache<String, ZoneInfo> cache =
-        new BasicLruCache<String, ZoneInfo>(CACHE_SIZE) {
+    private final ConcurrentLruCache<String, ZoneInfo> cache =
+        new ConcurrentLruCache<String, ZoneInfo>(CACHE_SIZE) {
       @Override
       protected ZoneInfo create(String id) {
         BufferIterator it = getBufferIterator(id);
@@ -42,6 +42,7 @@ jint JNI_OnLoad(JavaVM* vm, void*) {
     REGISTER(register_libcore_icu_NativeConverter);
     REGISTER(register_libcore_icu_TimeZoneNames);
     REGISTER(register_libcore_io_AsynchronousCloseMonitor);
+    REGISTER(register_libcore_io_IoRing);
     REGISTER(register_libcore_io_Memory);
     REGISTER(register_libcore_io_Posix);
     REGISTER(register_libcore_util_NativeAllocationRegistry);
@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#define LOG_TAG "IoRing"
+
+#include "JNIHelp.h"
+#include "JniConstants.h"
+#include "ScopedPrimitiveArray.h"
+#include "jni.h"
+
+#include <errno.h>
+#include <stdint.h>
+#include <string.h>
+#include <sys/mman.h>
+#include <sys/syscall.h>
+#include <sys/uio.h>
+#include <unistd.h>
+
+#if __has_include(<linux/io_uring.h>)
+#include <linux/io_uring.h>
+#endif
+
+// The native half of libcore.io.IoRing. Every function reports failure by returning the negated
+// errno value rather than by throwing, and the Java code turns that into an ErrnoException.
+
+#if defined(IORING_OFF_SQ_RING) && defined(__NR_io_uring_setup)
+
+// Keep in sync with IoRing.java.
+enum {
+    OP_PREAD = 0,
+    OP_PWRITE = 1,
+    OP_FSYNC = 2,
+};
+
+struct Ring {
+    int fd;
+
+    void* sqRing;
+    size_t sqRingSize;
+    unsigned* sqHead;
+    unsigned* sqTail;
+    unsigned sqMask;
+    unsigned sqEntries;
+    unsigned* sqArray;
+    io_uring_sqe* sqes;
+    size_t sqesSize;
+
+    // The same mapping as sqRing if the kernel supports IORING_FEAT_SINGLE_MMAP.
+    void* cqRing;
+    size_t cqRingSize;
+    unsigned* cqHead;
+    unsigned* cqTail;
+    unsigned cqMask;
+    io_uring_cqe* cqes;
+
+    // One iovec per IoRing tag. IORING_OP_READV and IORING_OP_WRITEV may read the iovec after
+    // io_uring_enter(2) returns, so it has to stay put until the operation completes.
+    iovec* iovecs;
+};
+
+static Ring* toRing(jlong address) {
+    return reinterpret_cast<Ring*>(static_cast<uintptr_t>(address));
+}
+
+static void destroyRing(Ring* ring) {
+    if (ring->sqes != NULL) {
+        munmap(ring->sqes, ring->sqesSize);
+    }
+    if (ring->cqRing != NULL && ring->cqRing != ring->sqRing) {
+        munmap(ring->cqRing, ring->cqRingSize);
+    }
+    if (ring->sqRing != NULL) {
+        munmap(ring->sqRing, ring->sqRingSize);
+    }
+    if (ring->fd != -1) {
+        close(ring->fd);
+    }
+    delete[] ring->iovecs;
+    delete ring;
+}
+
+static void* mapRing(int fd, size_t size, off_t offset) {
+    void* result = mmap(NULL, size, PROT_READ | PROT_WRITE, MAP_SHARED | MAP_POPULATE, fd, offset);
+    return (result == MAP_FAILED) ? NULL : result;
+}
+
+template <typename T>
+static T* at(void* base, unsigned offset) {
+    return reinterpret_cast<T*>(static_cast<char*>(base) + offset);
+}
+
+// Only called once IoRing.KernelSupport has checked that the process opted in and has no seccomp
+// filter: a filter that doesn't allow io_uring_setup kills the process instead of failing the call.
+static jlong IoRing_nativeSetup(JNIEnv*, jclass, jint entries, jint tagCount) {
+    io_uring_params params;
+    memset(&params, 0, sizeof(params));
+    int fd = syscall(__NR_io_uring_setup, entries, &params);
+    if (fd == -1) {
+        return -errno;
+    }
+
+    Ring* ring = new Ring();
+    ring->fd = fd;
+    ring->sqRingSize = params.sq_off.array + params.sq_entries * sizeof(unsigned);
+    ring->cqRingSize = params.cq_off.cqes + params.cq_entries * sizeof(io_uring_cqe);
+    bool singleMmap = false;
+#if defined(IORING_FEAT_SINGLE_MMAP)
+    singleMmap = (params.features & IORING_FEAT_SINGLE_MMAP) != 0;
+#endif
+    if (singleMmap) {
+        if (ring->cqRingSize > ring->sqRingSize) {
+            ring->sqRingSize = ring->cqRingSize;
+        }
+        ring->cqRingSize = ring->sqRingSize;
+    }
+
+    ring->sqRing = mapRing(fd, ring->sqRingSize, IORING_OFF_SQ_RING);
+    if (ring->sqRing != NULL) {
+        ring->cqRing = singleMmap ? ring->sqRing : mapRing(fd, ring->cqRingSize, IORING_OFF_CQ_RING);
+    }
+    if (ring->cqRing != NULL) {
+        ring->sqesSize = params.sq_entries * sizeof(io_uring_sqe);
+        ring->sqes = static_cast<io_uring_sqe*>(mapRing(fd, ring->sqesSize, IORING_OFF_SQES));
+    }
+    if (ring->sqes == NULL) {
+        int error = errno;
+        destroyRing(ring);
+        return -error;
+    }
+
+    ring->sqHead = at<unsigned>(ring->sqRing, params.sq_off.head);
+    ring->sqTail = at<unsigned>(ring->sqRing, params.sq_off.tail);
+    ring->sqMask = *at<unsigned>(ring->sqRing, params.sq_off.ring_mask);
+    ring->sqEntries = *at<unsigned>(ring->sqRing, params.sq_off.ring_entries);
+    ring->sqArray = at<unsigned>(ring->sqRing, params.sq_off.array);
+    ring->cqHead = at<unsigned>(ring->cqRing, params.cq_off.head);
+    ring->cqTail = at<unsigned>(ring->cqRing, params.cq_off.tail);
+    ring->cqMask = *at<unsigned>(ring->cqRing, params.cq_off.ring_mask);
+    ring->cqes = at<io_uring_cqe>(ring->cqRing, params.cq_off.cqes);
+    ring->iovecs = new iovec[tagCount];
+    return static_cast<jlong>(reinterpret_cast<uintptr_t>(ring));
+}
+
+static void IoRing_nativeClose(JNIEnv*, jclass, jlong javaRing) {
+    destroyRing(toRing(javaRing));
+}
+
+static jint IoRing_nativeQueue(JNIEnv* env, jclass, jlong javaRing, jintArray javaOps,
+        jintArray javaFds, jlongArray javaAddresses, jintArray javaByteCounts,
+        jlongArray javaOffsets, jintArray javaTags, jint count) {
+    ScopedIntArrayRO ops(env, javaOps);
+    ScopedIntArrayRO fds(env, javaFds);
+    ScopedLongArrayRO addresses(env, javaAddresses);
+    ScopedIntArrayRO byteCounts(env, javaByteCounts);
+    ScopedLongArrayRO offsets(env, javaOffsets);
+    ScopedIntArrayRO tags(env, javaTags);
+    if (ops.get() == NULL || fds.get() == NULL || addresses.get() == NULL ||
+            byteCounts.get() == NULL || offsets.get() == NULL || tags.get() == NULL) {
+        return 0;
+    }
+
+    Ring* ring = toRing(javaRing);
+    // Only this thread moves the tail; the kernel moves the head as it consumes entries.
+    unsigned tail = *ring->sqTail;
+    unsigned head = __atomic_load_n(ring->sqHead, __ATOMIC_ACQUIRE);
+    jint queued = 0;
+    for (; queued < count && tail - head < ring->sqEntries; ++queued, ++tail) {
+        unsigned index = tail & ring->sqMask;
+        io_uring_sqe* sqe = &ring->sqes[index];
+        memset(sqe, 0, sizeof(*sqe));
+        sqe->fd = fds[queued];
+        sqe->user_data = tags[queued];
+        if (ops[queued] == OP_FSYNC) {
+            sqe->opcode = IORING_OP_FSYNC;
+        } else {
+            iovec* iov = &ring->iovecs[tags[queued]];
+            iov->iov_base = reinterpret_cast<void*>(static_cast<uintptr_t>(addresses[queued]));
+            iov->iov_len = byteCounts[queued];
+            sqe->opcode = (ops[queued] == OP_PREAD) ? IORING_OP_READV : IORING_OP_WRITEV;
+            sqe->addr = reinterpret_cast<uintptr_t>(iov);
+            sqe->len = 1;
+            sqe->off = offsets[queued];
+        }
+        ring->sqArray[index] = index;
+    }
+    __atomic_store_n(ring->sqTail, tail, __ATOMIC_RELEASE);
+    return queued;
+}
+
+static jint IoRing_nativeEnter(JNIEnv*, jclass, jlong javaRing, jint minComplete) {
+    Ring* ring = toRing(javaRing);
+    unsigned flags = (minComplete > 0) ? IORING_ENTER_GETEVENTS : 0;
+    for (;;) {
+        // Hand over everything the kernel hasn't consumed yet, including entries left behind
+        // by an earlier failed or interrupted call.
+        unsigned toSubmit = *ring->sqTail - __atomic_load_n(ring->sqHead, __ATOMIC_ACQUIRE);
+        if (toSubmit == 0 && flags == 0) {
+            return 0;
+        }
+        int rc = syscall(__NR_io_uring_enter, ring->fd, toSubmit, minComplete, flags, NULL, 0);
+        if (rc != -1) {
+            return rc;
+        }
+        if (errno != EINTR) {
+            return -errno;
+        }
+    }
+}
+
+static jint IoRing_nativeReap(JNIEnv* env, jclass, jlong javaRing, jintArray javaTags,
+        jintArray javaResults, jint offset, jint max) {
+    ScopedIntArrayRW tags(env, javaTags);
+    ScopedIntArrayRW results(env, javaResults);
+    if (tags.get() == NULL || results.get() == NULL) {
+        return 0;
+    }
+
+    Ring* ring = toRing(javaRing);
+    unsigned head = *ring->cqHead;
+    unsigned tail = __atomic_load_n(ring->cqTail, __ATOMIC_ACQUIRE);
+    jint reaped = 0;
+    for (; head != tail && reaped < max; ++head, ++reaped) {
+        const io_uring_cqe& cqe = ring->cqes[head & ring->cqMask];
+        tags[offset + reaped] = static_cast<jint>(cqe.user_data);
+        results[offset + reaped] = cqe.res;
+    }
+    __atomic_store_n(ring->cqHead, head, __ATOMIC_RELEASE);
+    return reaped;
+}
+
+#else  // No io_uring in these headers: always take the Java fallback path.
+
+static jlong IoRing_nativeSetup(JNIEnv*, jclass, jint, jint) {
+    return -ENOSYS;
+}
+
+static void IoRing_nativeClose(JNIEnv*, jclass, jlong) {
+}
+
+static jint IoRing_nativeQueue(JNIEnv*, jclass, jlong, jintArray, jintArray, jlongArray,
+        jintArray, jlongArray, jintArray, jint) {
+    return 0;
+}
+
+static jint IoRing_nativeEnter(JNIEnv*, jclass, jlong, jint) {
+    return -ENOSYS;
+}
+
+static jint IoRing_nativeReap(JNIEnv*, jclass, jlong, jintArray, jintArray, jint, jint) {
+    return 0;
+}
+
+#endif
+
+static JNINativeMethod gMethods[] = {
+    NATIVE_METHOD(IoRing, nativeClose, "(J)V"),
+    NATIVE_METHOD(IoRing, nativeEnter, "(JI)I"),
+    NATIVE_METHOD(IoRing, nativeQueue, "(J[I[I[J[I[J[II)I"),
+    NATIVE_METHOD(IoRing, nativeReap, "(J[I[III)I"),
+    NATIVE_METHOD(IoRing, nativeSetup, "(II)J"),
+};
+void register_libcore_io_IoRing(JNIEnv* env) {
+    jniRegisterNativeMethods(env, "libcore/io/IoRing", gMethods, NELEM(gMethods));
+}
@@ -32,6 +32,7 @@
 #include "toStringArray.h"
 
 #include <arpa/inet.h>
+#include <dirent.h>
 #include <errno.h>
 #include <fcntl.h>
 #include <linux/rtnetlink.h>
@@ -418,6 +419,16 @@ static jobject makeStructPasswd(JNIEnv* env, const struct passwd& pw) {
             pw_name, static_cast<jint>(pw.pw_uid), static_cast<jint>(pw.pw_gid), pw_dir, pw_shell);
 }
 
+static jclass gStructDirentClass;
+
+static jobject makeStructDirent(JNIEnv* env, const struct dirent& entry) {
+    TO_JAVA_STRING(d_name, entry.d_name);
+    static jmethodID ctor = env->GetMethodID(gStructDirentClass, "<init>",
+            "(JILjava/lang/String;)V");
+    return env->NewObject(gStructDirentClass, ctor,
+            static_cast<jlong>(entry.d_ino), static_cast<jint>(entry.d_type), d_name);
+}
+
 static jobject makeStructStat(JNIEnv* env, const struct stat& sb) {
     static jmethodID ctor = env->GetMethodID(JniConstants::structStatClass, "<init>",
             "(JJIJIIJJJJJJJ)V");
@@ -800,6 +811,12 @@ static void Posix_close(JNIEnv* env, jobject, jobject javaFd) {
     throwIfMinusOne(env, "close", close(fd));
 }
 
+static void Posix_closedir(JNIEnv* env, jobject, jlong javaDir) {
+    DIR* dir = reinterpret_cast<DIR*>(static_cast<uintptr_t>(javaDir));
+    // As with close(2), the stream is gone even if closedir(3) fails, so don't retry.
+    throwIfMinusOne(env, "closedir", closedir(dir));
+}
+
 static void Posix_connect(JNIEnv* env, jobject, jobject javaFd, jobject javaAddress, jint port) {
     (void) NET_IPV4_FALLBACK(env, int, connect, javaFd, javaAddress, port, NULL_ADDR_FORBIDDEN);
 }
@@ -1344,6 +1361,19 @@ static jobject Posix_open(JNIEnv* env, jobject, jstring javaPath, jint flags, ji
     return fd != -1 ? jniCreateFileDescriptor(env, fd) : NULL;
 }
 
+static jlong Posix_opendir(JNIEnv* env, jobject, jstring javaPath) {
+    ScopedUtfChars path(env, javaPath);
+    if (path.c_str() == NULL) {
+        return 0;
+    }
+    DIR* dir = opendir(path.c_str());
+    if (dir == NULL) {
+        throwErrnoException(env, "opendir");
+        return 0;
+    }
+    return static_cast<jlong>(reinterpret_cast<uintptr_t>(dir));
+}
+
 static jobjectArray Posix_pipe2(JNIEnv* env, jobject, jint flags __unused) {
     int fds[2];
     throwIfMinusOne(env, "pipe2", TEMP_FAILURE_RETRY(pipe2(&fds[0], flags)));
@@ -1473,6 +1503,14 @@ static jint Posix_preadBytes(JNIEnv* env, jobject, jobject javaFd, jobject javaB
     return IO_FAILURE_RETRY(env, ssize_t, pread64, javaFd, bytes.get() + byteOffset, byteCount, offset);
 }
 
+static jint Posix_preadv(JNIEnv* env, jobject, jobject javaFd, jobjectArray buffers, jintArray offsets, jintArray byteCounts, jlong offset) {
+    IoVec<ScopedBytesRW> ioVec(env, env->GetArrayLength(buffers));
+    if (!ioVec.init(buffers, offsets, byteCounts)) {
+        return -1;
+    }
+    return IO_FAILURE_RETRY(env, ssize_t, preadv64, javaFd, ioVec.get(), ioVec.size(), offset);
+}
+
 static jint Posix_pwriteBytes(JNIEnv* env, jobject, jobject javaFd, jbyteArray javaBytes, jint byteOffset, jint byteCount, jlong offset) {
     ScopedBytesRO bytes(env, javaBytes);
     if (bytes.get() == NULL) {
@@ -1481,6 +1519,14 @@ static jint Posix_pwriteBytes(JNIEnv* env, jobject, jobject javaFd, jbyteArray j
     return IO_FAILURE_RETRY(env, ssize_t, pwrite64, javaFd, bytes.get() + byteOffset, byteCount, offset);
 }
 
+static jint Posix_pwritev(JNIEnv* env, jobject, jobject javaFd, jobjectArray buffers, jintArray offsets, jintArray byteCounts, jlong offset) {
+    IoVec<ScopedBytesRO> ioVec(env, env->GetArrayLength(buffers));
+    if (!ioVec.init(buffers, offsets, byteCounts)) {
+        return -1;
+    }
+    return IO_FAILURE_RETRY(env, ssize_t, pwritev64, javaFd, ioVec.get(), ioVec.size(), offset);
+}
+
 static jint Posix_readBytes(JNIEnv* env, jobject, jobject javaFd, jobject javaBytes, jint byteOffset, jint byteCount) {
     ScopedBytesRW bytes(env, javaBytes);
     if (bytes.get() == NULL) {
@@ -1489,6 +1535,21 @@ static jint Posix_readBytes(JNIEnv* env, jobject, jobject javaFd, jobject javaBy
     return IO_FAILURE_RETRY(env, ssize_t, read, javaFd, bytes.get() + byteOffset, byteCount);
 }
 
+static jobject Posix_readdir(JNIEnv* env, jobject, jlong javaDir) {
+    DIR* dir = reinterpret_cast<DIR*>(static_cast<uintptr_t>(javaDir));
+    // readdir(3) only reports an error by setting errno, so clear it first.
+    errno = 0;
+    dirent* entry = readdir(dir);
+    if (entry == NULL) {
+        if (errno != 0) {
+            throwErrnoException(env, "readdir");
+        }
+        // End of directory.
+        return NULL;
+    }
+    return makeStructDirent(env, *entry);
+}
+
 static jstring Posix_readlink(JNIEnv* env, jobject, jstring javaPath) {
     ScopedUtfChars path(env, javaPath);
     if (path.c_str() == NULL) {
@@ -1548,6 +1609,47 @@ static jint Posix_recvfromBytes(JNIEnv* env, jobject, jobject javaFd, jobject ja
     return recvCount;
 }
 
+static jint Posix_recvmmsgBytes(JNIEnv* env, jobject, jobject javaFd, jobjectArray javaBuffers, jintArray javaOffsets, jintArray javaByteCounts, jintArray javaMessageLengths, jint flags, jobjectArray javaSrcAddresses) {
+    IoVec<ScopedBytesRW> ioVec(env, env->GetArrayLength(javaBuffers));
+    if (!ioVec.init(javaBuffers, javaOffsets, javaByteCounts)) {
+        return -1;
+    }
+    // One single-iovec message per buffer, each with room for its sender's address.
+    const size_t messageCount = ioVec.size();
+    std::vector<mmsghdr> messages(messageCount);
+    std::vector<sockaddr_storage> addresses(messageCount);
+    for (size_t i = 0; i < messageCount; ++i) {
+        memset(&messages[i], 0, sizeof(mmsghdr));
+        memset(&addresses[i], 0, sizeof(sockaddr_storage));
+        messages[i].msg_hdr.msg_iov = ioVec.get() + i;
+        messages[i].msg_hdr.msg_iovlen = 1;
+        if (javaSrcAddresses != NULL) {
+            messages[i].msg_hdr.msg_name = &addresses[i];
+            messages[i].msg_hdr.msg_namelen = sizeof(sockaddr_storage);
+        }
+    }
+    jint recvCount = NET_FAILURE_RETRY(env, int, recvmmsg, javaFd, messages.data(), messageCount, flags, NULL);
+    if (recvCount <= 0) {
+        return recvCount;
+    }
+    ScopedIntArrayRW messageLengths(env, javaMessageLengths);
+    if (messageLengths.get() == NULL) {
+        return -1;
+    }
+    for (jint i = 0; i < recvCount; ++i) {
+        messageLengths[i] = messages[i].msg_len;
+        // As in recvfromBytes, only fill in addresses that were actually received.
+        if (javaSrcAddresses != NULL &&
+                (addresses[i].ss_family == AF_INET || addresses[i].ss_family == AF_INET6)) {
+            ScopedLocalRef<jobject> srcAddress(env, env->GetObjectArrayElement(javaSrcAddresses, i));
+            if (!fillInetSocketAddress(env, srcAddress.get(), addresses[i])) {
+                return -1;
+            }
+        }
+    }
+    return recvCount;
+}
+
 static void Posix_remove(JNIEnv* env, jobject, jstring javaPath) {
     ScopedUtfChars path(env, javaPath);
     if (path.c_str() == NULL) {
@@ -1602,6 +1704,75 @@ static jlong Posix_sendfile(JNIEnv* env, jobject, jobject javaOutFd, jobject jav
     return result;
 }
 
+/**
+ * Fills in the destination of each message from the corresponding InetSocketAddress, leaving
+ * messages with a null address unaddressed (as for sendto() on a connected socket). With
+ * verbatim set, IPv4 addresses are given as struct sockaddr_in rather than IPv4-mapped
+ * struct sockaddr_in6; see NET_IPV4_FALLBACK.
+ */
+static bool fillMessageDestinations(JNIEnv* env, jobjectArray javaDestAddresses,
+        std::vector<mmsghdr>& messages, std::vector<sockaddr_storage>& addresses, bool verbatim) {
+    for (size_t i = 0; i < messages.size(); ++i) {
+        ScopedLocalRef<jobject> destAddress(env, env->GetObjectArrayElement(javaDestAddresses, i));
+        if (destAddress.get() == NULL) {
+            continue;
+        }
+        jobject javaInetAddress;
+        jint port;
+        javaInetSocketAddressToInetAddressAndPort(env, destAddress.get(), javaInetAddress, port);
+        socklen_t sa_len;
+        bool ok = verbatim
+                ? inetAddressToSockaddrVerbatim(env, javaInetAddress, port, addresses[i], sa_len)
+                : inetAddressToSockaddr(env, javaInetAddress, port, addresses[i], sa_len);
+        env->DeleteLocalRef(javaInetAddress);
+        if (!ok) {
+            return false;
+        }
+        messages[i].msg_hdr.msg_name = &addresses[i];
+        messages[i].msg_hdr.msg_namelen = sa_len;
+    }
+    return true;
+}
+
+static jint Posix_sendmmsgBytes(JNIEnv* env, jobject, jobject javaFd, jobjectArray javaBuffers, jintArray javaOffsets, jintArray javaByteCounts, jintArray javaMessageLengths, jint flags, jobjectArray javaDestAddresses) {
+    IoVec<ScopedBytesRO> ioVec(env, env->GetArrayLength(javaBuffers));
+    if (!ioVec.init(javaBuffers, javaOffsets, javaByteCounts)) {
+        return -1;
+    }
+    const size_t messageCount = ioVec.size();
+    std::vector<mmsghdr> messages(messageCount);
+    std::vector<sockaddr_storage> addresses(messageCount);
+    for (size_t i = 0; i < messageCount; ++i) {
+        memset(&messages[i], 0, sizeof(mmsghdr));
+        messages[i].msg_hdr.msg_iov = ioVec.get() + i;
+        messages[i].msg_hdr.msg_iovlen = 1;
+    }
+    if (javaDestAddresses != NULL &&
+            !fillMessageDestinations(env, javaDestAddresses, messages, addresses, false)) {
+        return -1;
+    }
+    jint sendCount = NET_FAILURE_RETRY(env, int, sendmmsg, javaFd, messages.data(), messageCount, flags);
+    if (sendCount == -1 && errno == EAFNOSUPPORT && javaDestAddresses != NULL) {
+        // An IPv4 socket created with Posix.socket(AF_INET, ...). Retry with IPv4 sockaddrs.
+        env->ExceptionClear();
+        if (!fillMessageDestinations(env, javaDestAddresses, messages, addresses, true)) {
+            return -1;
+        }
+        sendCount = NET_FAILURE_RETRY(env, int, sendmmsg, javaFd, messages.data(), messageCount, flags);
+    }
+    if (sendCount <= 0) {
+        return sendCount;
+    }
+    ScopedIntArrayRW messageLengths(env, javaMessageLengths);
+    if (messageLengths.get() == NULL) {
+        return -1;
+    }
+    for (jint i = 0; i < sendCount; ++i) {
+        messageLengths[i] = messages[i].msg_len;
+    }
+    return sendCount;
+}
+
 static jint Posix_sendtoBytes(JNIEnv* env, jobject, jobject javaFd, jobject javaBytes, jint byteOffset, jint byteCount, jint flags, jobject javaInetAddress, jint port) {
     ScopedBytesRO bytes(env, javaBytes);
     if (bytes.get() == NULL) {
@@ -1848,6 +2019,32 @@ static void Posix_socketpair(JNIEnv* env, jobject, jint domain, jint type, jint
     }
 }
 
+static jlong Posix_splice(JNIEnv* env, jobject, jobject javaFdIn, jobject javaOffIn, jobject javaFdOut, jobject javaOffOut, jlong len, jint flags) {
+    int fdIn = jniGetFDFromFileDescriptor(env, javaFdIn);
+    int fdOut = jniGetFDFromFileDescriptor(env, javaFdOut);
+    static jfieldID valueFid = env->GetFieldID(JniConstants::mutableLongClass, "value", "J");
+    off64_t offIn = 0;
+    off64_t* offInPtr = NULL;
+    if (javaOffIn != NULL) {
+        offIn = env->GetLongField(javaOffIn, valueFid);
+        offInPtr = &offIn;
+    }
+    off64_t offOut = 0;
+    off64_t* offOutPtr = NULL;
+    if (javaOffOut != NULL) {
+        offOut = env->GetLongField(javaOffOut, valueFid);
+        offOutPtr = &offOut;
+    }
+    jlong result = throwIfMinusOne(env, "splice", TEMP_FAILURE_RETRY(splice(fdIn, offInPtr, fdOut, offOutPtr, len, flags)));
+    if (javaOffIn != NULL) {
+        env->SetLongField(javaOffIn, valueFid, offIn);
+    }
+    if (javaOffOut != NULL) {
+        env->SetLongField(javaOffOut, valueFid, offOut);
+    }
+    return result;
+}
+
 static jobject Posix_stat(JNIEnv* env, jobject, jstring javaPath) {
     return doStat(env, javaPath, false);
 }
@@ -1974,6 +2171,7 @@ static JNINativeMethod gMethods[] = {
     NATIVE_METHOD(Posix, chmod, "(Ljava/lang/String;I)V"),
     NATIVE_METHOD(Posix, chown, "(Ljava/lang/String;II)V"),
     NATIVE_METHOD(Posix, close, "(Ljava/io/FileDescriptor;)V"),
+    NATIVE_METHOD(Posix, closedir, "(J)V"),
     NATIVE_METHOD(Posix, connect, "(Ljava/io/FileDescriptor;Ljava/net/InetAddress;I)V"),
     NATIVE_METHOD_OVERLOAD(Posix, connect, "(Ljava/io/FileDescriptor;Ljava/net/SocketAddress;)V", SocketAddress),
     NATIVE_METHOD(Posix, dup, "(Ljava/io/FileDescriptor;)Ljava/io/FileDescriptor;"),
@@ -2033,21 +2231,27 @@ static JNINativeMethod gMethods[] = {
     NATIVE_METHOD(Posix, munlock, "(JJ)V"),
     NATIVE_METHOD(Posix, munmap, "(JJ)V"),
     NATIVE_METHOD(Posix, open, "(Ljava/lang/String;II)Ljava/io/FileDescriptor;"),
+    NATIVE_METHOD(Posix, opendir, "(Ljava/lang/String;)J"),
     NATIVE_METHOD(Posix, pipe2, "(I)[Ljava/io/FileDescriptor;"),
     NATIVE_METHOD(Posix, poll, "([Landroid/system/StructPollfd;I)I"),
     NATIVE_METHOD(Posix, posix_fallocate, "(Ljava/io/FileDescriptor;JJ)V"),
     NATIVE_METHOD(Posix, prctl, "(IJJJJ)I"),
     NATIVE_METHOD(Posix, preadBytes, "(Ljava/io/FileDescriptor;Ljava/lang/Object;IIJ)I"),
+    NATIVE_METHOD(Posix, preadv, "(Ljava/io/FileDescriptor;[Ljava/lang/Object;[I[IJ)I"),
     NATIVE_METHOD(Posix, pwriteBytes, "(Ljava/io/FileDescriptor;Ljava/lang/Object;IIJ)I"),
+    NATIVE_METHOD(Posix, pwritev, "(Ljava/io/FileDescriptor;[Ljava/lang/Object;[I[IJ)I"),
     NATIVE_METHOD(Posix, readBytes, "(Ljava/io/FileDescriptor;Ljava/lang/Object;II)I"),
+    NATIVE_METHOD(Posix, readdir, "(J)Landroid/system/StructDirent;"),
     NATIVE_METHOD(Posix, readlink, "(Ljava/lang/String;)Ljava/lang/String;"),
     NATIVE_METHOD(Posix, realpath, "(Ljava/lang/String;)Ljava/lang/String;"),
     NATIVE_METHOD(Posix, readv, "(Ljava/io/FileDescriptor;[Ljava/lang/Object;[I[I)I"),
     NATIVE_METHOD(Posix, recvfromBytes, "(Ljava/io/FileDescriptor;Ljava/lang/Object;IIILjava/net/InetSocketAddress;)I"),
+    NATIVE_METHOD(Posix, recvmmsgBytes, "(Ljava/io/FileDescriptor;[Ljava/lang/Object;[I[I[II[Ljava/net/InetSocketAddress;)I"),
     NATIVE_METHOD(Posix, remove, "(Ljava/lang/String;)V"),
     NATIVE_METHOD(Posix, removexattr, "(Ljava/lang/String;Ljava/lang/String;)V"),
     NATIVE_METHOD(Posix, rename, "(Ljava/lang/String;Ljava/lang/String;)V"),
     NATIVE_METHOD(Posix, sendfile, "(Ljava/io/FileDescriptor;Ljava/io/FileDescriptor;Landroid/util/MutableLong;J)J"),
+    NATIVE_METHOD(Posix, sendmmsgBytes, "(Ljava/io/FileDescriptor;[Ljava/lang/Object;[I[I[II[Ljava/net/InetSocketAddress;)I"),
     NATIVE_METHOD(Posix, sendtoBytes, "(Ljava/io/FileDescriptor;Ljava/lang/Object;IIILjava/net/InetAddress;I)I"),
     NATIVE_METHOD_OVERLOAD(Posix, sendtoBytes, "(Ljava/io/FileDescriptor;Ljava/lang/Object;IIILjava/net/SocketAddress;)I", SocketAddress),
     NATIVE_METHOD(Posix, setegid, "(I)V"),
@@ -2071,6 +2275,7 @@ static JNINativeMethod gMethods[] = {
     NATIVE_METHOD(Posix, shutdown, "(Ljava/io/FileDescriptor;I)V"),
     NATIVE_METHOD(Posix, socket, "(III)Ljava/io/FileDescriptor;"),
     NATIVE_METHOD(Posix, socketpair, "(IIILjava/io/FileDescriptor;Ljava/io/FileDescriptor;)V"),
+    NATIVE_METHOD(Posix, splice, "(Ljava/io/FileDescriptor;Landroid/util/MutableLong;Ljava/io/FileDescriptor;Landroid/util/MutableLong;JI)J"),
     NATIVE_METHOD(Posix, stat, "(Ljava/lang/String;)Landroid/system/StructStat;"),
     NATIVE_METHOD(Posix, statvfs, "(Ljava/lang/String;)Landroid/system/StructStatVfs;"),
     NATIVE_METHOD(Posix, strerror, "(I)Ljava/lang/String;"),
@@ -2088,5 +2293,8 @@ static JNINativeMethod gMethods[] = {
     NATIVE_METHOD(Posix, writev, "(Ljava/io/FileDescriptor;[Ljava/lang/Object;[I[I)I"),
 };
 void register_libcore_io_Posix(JNIEnv* env) {
+    // StructDirent is not one of the JniConstants classes, so look it up once here.
+    ScopedLocalRef<jclass> structDirentClass(env, env->FindClass("android/system/StructDirent"));
+    gStructDirentClass = reinterpret_cast<jclass>(env->NewGlobalRef(structDirentClass.get()));
     jniRegisterNativeMethods(env, "libcore/io/Posix", gMethods, NELEM(gMethods));
 }
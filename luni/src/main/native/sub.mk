@@ -21,6 +21,7 @@ LOCAL_SRC_FILES := \
     libcore_icu_NativeConverter.cpp \
     libcore_icu_TimeZoneNames.cpp \
     libcore_io_AsynchronousCloseMonitor.cpp \
+    libcore_io_IoRing.cpp \
     libcore_io_Memory.cpp \
     libcore_io_Posix.cpp \
     libcore_util_NativeAllocationRegistry.cpp \
@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.io;
+
+import java.io.File;
+import java.io.FileDescriptor;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import junit.framework.TestCase;
+
+import static android.system.OsConstants.EBADF;
+import static android.system.OsConstants.O_CREAT;
+import static android.system.OsConstants.O_RDWR;
+
+public class IoRingTest extends TestCase {
+    private File file;
+    private FileDescriptor fd;
+
+    @Override protected void setUp() throws Exception {
+        file = File.createTempFile("IoRingTest", null);
+        fd = Libcore.os.open(file.getPath(), O_RDWR | O_CREAT, 0600);
+    }
+
+    @Override protected void tearDown() throws Exception {
+        IoUtils.closeQuietly(fd);
+        file.delete();
+    }
+
+    public void testRoundTrip() throws Exception {
+        try (IoRing ring = IoRing.open(8)) {
+            checkRoundTrip(ring);
+        }
+    }
+
+    public void testRoundTrip_fallback() throws Exception {
+        try (IoRing ring = IoRing.openFallback(8)) {
+            assertFalse(ring.isKernelBacked());
+            checkRoundTrip(ring);
+        }
+    }
+
+    private void checkRoundTrip(IoRing ring) throws Exception {
+        ByteBuffer hello = direct("hello ");
+        ByteBuffer world = direct("world");
+        ring.pwrite(fd, hello, 0, 1);
+        ring.pwrite(fd, world, 6, 2);
+        assertEquals(2, ring.submit());
+        IoRing.Completion[] completions = new IoRing.Completion[4];
+        assertEquals(2, ring.complete(completions, 2));
+        for (int i = 0; i < 2; i++) {
+            long userData = completions[i].userData;
+            assertTrue(userData == 1 || userData == 2);
+            assertEquals(userData == 1 ? 6 : 5, completions[i].result);
+        }
+        assertFalse(hello.hasRemaining());
+        assertFalse(world.hasRemaining());
+
+        ring.fsync(fd, 3);
+        assertEquals(1, ring.submit());
+        assertEquals(1, ring.complete(completions, 1));
+        assertEquals(3, completions[0].userData);
+        assertEquals(0, completions[0].result);
+
+        ByteBuffer dst = ByteBuffer.allocateDirect(32);
+        ring.pread(fd, dst, 0, 4);
+        ring.submit();
+        assertEquals(1, ring.complete(completions, 1));
+        assertEquals(4, completions[0].userData);
+        assertEquals(11, completions[0].result);
+        assertEquals(11, dst.position());
+        dst.flip();
+        assertEquals("hello world", StandardCharsets.US_ASCII.decode(dst).toString());
+    }
+
+    public void testErrorResult() throws Exception {
+        checkErrorResult(IoRing.open(4));
+    }
+
+    public void testErrorResult_fallback() throws Exception {
+        checkErrorResult(IoRing.openFallback(4));
+    }
+
+    private void checkErrorResult(IoRing ring) throws Exception {
+        try {
+            FileDescriptor closed = Libcore.os.open(file.getPath(), O_RDWR, 0);
+            Libcore.os.close(closed);
+            ring.pread(closed, ByteBuffer.allocateDirect(4), 0, 7);
+            ring.submit();
+            IoRing.Completion[] completions = new IoRing.Completion[1];
+            assertEquals(1, ring.complete(completions, 1));
+            assertEquals(7, completions[0].userData);
+            assertEquals(-EBADF, completions[0].result);
+        } finally {
+            ring.close();
+        }
+    }
+
+    public void testCompleteInBatches() throws Exception {
+        try (IoRing ring = IoRing.open(4)) {
+            for (int i = 0; i < 4; i++) {
+                ring.pwrite(fd, direct("x"), i, i);
+            }
+            ring.submit();
+            IoRing.Completion[] completions = new IoRing.Completion[3];
+            assertEquals(3, ring.complete(completions, 3));
+            assertEquals(1, ring.complete(completions, 3));
+            assertEquals(0, ring.complete(completions, 3));
+        }
+        assertEquals(4, file.length());
+    }
+
+    public void testFull() throws Exception {
+        try (IoRing ring = IoRing.openFallback(1)) {
+            ring.fsync(fd, 0);
+            try {
+                ring.fsync(fd, 1);
+                fail();
+            } catch (IllegalStateException expected) {
+            }
+            ring.submit();
+            ring.complete(new IoRing.Completion[1], 1);
+            ring.fsync(fd, 1);
+        }
+    }
+
+    public void testRejectsHeapBuffers() throws Exception {
+        try (IoRing ring = IoRing.open(1)) {
+            ring.pwrite(fd, ByteBuffer.allocate(1), 0, 0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testClosed() throws Exception {
+        IoRing ring = IoRing.open(1);
+        ring.close();
+        ring.close();
+        try {
+            ring.fsync(fd, 0);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    public void testCloseWaitsForOperations() throws Exception {
+        checkCloseWaitsForOperations(IoRing.open(4));
+    }
+
+    public void testCloseWaitsForOperations_fallback() throws Exception {
+        checkCloseWaitsForOperations(IoRing.openFallback(4));
+    }
+
+    private void checkCloseWaitsForOperations(IoRing ring) throws Exception {
+        ring.pwrite(fd, direct("hello"), 0, 1);
+        ring.submit();
+        ring.close();
+        ByteBuffer dst = ByteBuffer.allocate(5);
+        assertEquals(5, Libcore.os.pread(fd, dst, 0));
+        assertEquals("hello", new String(dst.array(), StandardCharsets.US_ASCII));
+    }
+
+    public void testOpen_notKernelBackedUnlessEnabled() throws Exception {
+        if (Boolean.getBoolean(IoRing.ENABLED_PROPERTY)) {
+            return;
+        }
+        try (IoRing ring = IoRing.open(1)) {
+            assertFalse(ring.isKernelBacked());
+        }
+    }
+
+    public void testIsKernelAtLeast() throws Exception {
+        assertTrue(IoRing.isKernelAtLeast("5.1.0", 5, 1));
+        assertTrue(IoRing.isKernelAtLeast("5.10.43-android12-9-00001-g1234", 5, 1));
+        assertTrue(IoRing.isKernelAtLeast("6.0", 5, 1));
+        assertFalse(IoRing.isKernelAtLeast("5.0.21", 5, 1));
+        assertFalse(IoRing.isKernelAtLeast("4.19.191-g1234", 5, 1));
+        assertFalse(IoRing.isKernelAtLeast("", 5, 1));
+    }
+
+    private static ByteBuffer direct(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer result = ByteBuffer.allocateDirect(bytes.length);
+        result.put(bytes);
+        result.flip();
+        return result;
+    }
+}
@@ -20,6 +20,7 @@ import android.system.ErrnoException;
 import android.system.NetlinkSocketAddress;
 import android.system.OsConstants;
 import android.system.PacketSocketAddress;
+import android.system.StructDirent;
 import android.system.StructTimeval;
 import android.system.StructUcred;
 import android.system.UnixSocketAddress;
@@ -38,7 +39,9 @@ import java.net.SocketOptions;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 import junit.framework.TestCase;
 import static android.system.OsConstants.*;
@@ -226,6 +229,35 @@ public class OsTest extends TestCase {
     fis.close();
   }
 
+  public void test_preadv_pwritev() throws Exception {
+    File file = File.createTempFile("OsTest", "tst");
+    FileDescriptor fd = Libcore.os.open(file.getPath(), O_RDWR, 0);
+    try {
+      byte[] hello = "hello ".getBytes(StandardCharsets.US_ASCII);
+      ByteBuffer world = ByteBuffer.allocateDirect(5);
+      world.put("world".getBytes(StandardCharsets.US_ASCII));
+      assertEquals(11, Libcore.os.pwritev(fd, new Object[] { hello, world },
+          new int[] { 0, 0 }, new int[] { 6, 5 }, 2 /* offset */));
+      // The file offset is untouched.
+      assertEquals(0, Libcore.os.lseek(fd, 0, SEEK_CUR));
+      assertEquals(13, file.length());
+
+      byte[] first = new byte[4];
+      ByteBuffer second = ByteBuffer.allocateDirect(16);
+      assertEquals(11, Libcore.os.preadv(fd, new Object[] { first, second },
+          new int[] { 1, 2 }, new int[] { 3, 14 }, 2 /* offset */));
+      assertEquals(0, Libcore.os.lseek(fd, 0, SEEK_CUR));
+      assertEquals("\0hel", new String(first, StandardCharsets.US_ASCII));
+      byte[] rest = new byte[8];
+      second.position(2);
+      second.get(rest);
+      assertEquals("lo world", new String(rest, StandardCharsets.US_ASCII));
+    } finally {
+      Libcore.os.close(fd);
+      file.delete();
+    }
+  }
+
   static void checkByteBufferPositions_sendto_recvfrom(
       int family, InetAddress loopback) throws Exception {
     final FileDescriptor serverFd = Libcore.os.socket(family, SOCK_STREAM, 0);
@@ -571,6 +603,51 @@ public class OsTest extends TestCase {
       }
   }
 
+  public void test_opendir_readdir() throws Exception {
+    File dir = File.createTempFile("OsTest", "dir");
+    assertTrue(dir.delete());
+    assertTrue(dir.mkdir());
+    File file = new File(dir, "file");
+    File subdir = new File(dir, "subdir");
+    try {
+      assertTrue(file.createNewFile());
+      assertTrue(subdir.mkdir());
+
+      Map<String, Integer> types = new HashMap<>();
+      long d = Libcore.os.opendir(dir.getPath());
+      try {
+        StructDirent entry;
+        while ((entry = Libcore.os.readdir(d)) != null) {
+          types.put(entry.d_name, entry.d_type);
+        }
+      } finally {
+        Libcore.os.closedir(d);
+      }
+
+      assertEquals(4, types.size());
+      assertTrue(types.containsKey("."));
+      assertTrue(types.containsKey(".."));
+      // Some file systems don't report the type; DT_UNKNOWN is allowed there.
+      int fileType = types.get("file");
+      assertTrue(fileType == DT_REG || fileType == DT_UNKNOWN);
+      int subdirType = types.get("subdir");
+      assertTrue(subdirType == DT_DIR || subdirType == DT_UNKNOWN);
+    } finally {
+      file.delete();
+      subdir.delete();
+      dir.delete();
+    }
+  }
+
+  public void test_opendir_missing() throws Exception {
+    try {
+      Libcore.os.opendir("/does/not/exist");
+      fail();
+    } catch (ErrnoException expected) {
+      assertEquals(ENOENT, expected.errno);
+    }
+  }
+
   private static void assertStartsWith(byte[] expectedContents, byte[] container) {
     for (int i = 0; i < expectedContents.length; i++) {
       if (expectedContents[i] != container[i]) {
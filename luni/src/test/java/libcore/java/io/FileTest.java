@@ -20,7 +20,11 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import android.system.StructDirent;
 import libcore.io.Libcore;
 
 public class FileTest extends junit.framework.TestCase {
@@ -368,4 +372,35 @@ public class FileTest extends junit.framework.TestCase {
         assertEquals("/foo/bar", new File("/foo/", "/bar/").getPath());
         assertEquals("/foo/bar", new File("/foo", "/bar//").getPath());
     }
+
+    public void test_listNames() throws Exception {
+        File dir = createTemporaryDirectory();
+        assertTrue(new File(dir, "a").createNewFile());
+        assertTrue(new File(dir, "b").mkdir());
+        try (Stream<String> names = dir.listNames()) {
+            String[] expected = dir.list();
+            String[] actual = names.toArray(String[]::new);
+            Arrays.sort(expected);
+            Arrays.sort(actual);
+            assertEquals(Arrays.asList(expected), Arrays.asList(actual));
+        }
+    }
+
+    public void test_listEntries_notADirectory() throws Exception {
+        File dir = createTemporaryDirectory();
+        File file = new File(dir, "file");
+        assertTrue(file.createNewFile());
+        try {
+            file.listEntries();
+            fail();
+        } catch (IOException expected) {
+        }
+    }
+
+    public void test_listEntries_skipsDots() throws Exception {
+        File dir = createTemporaryDirectory();
+        try (Stream<StructDirent> entries = dir.listEntries()) {
+            assertEquals(0, entries.collect(Collectors.toList()).size());
+        }
+    }
 }
@@ -25,6 +25,7 @@ import java.net.DatagramSocketImpl;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketException;
+import java.net.SocketTimeoutException;
 
 public class DatagramSocketTest extends TestCase {
 
@@ -107,4 +108,45 @@ public class DatagramSocketTest extends TestCase {
       assertTrue(s.isConnected());
     }
   }
+
+  public void testReceiveBatch() throws Exception {
+    try (DatagramSocket sender = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+         DatagramSocket receiver = new DatagramSocket(0, InetAddress.getLoopbackAddress())) {
+      for (int i = 0; i < 3; i++) {
+        byte[] data = new byte[] { (byte) i, (byte) i, (byte) i };
+        sender.send(new DatagramPacket(data, data.length, receiver.getLocalSocketAddress()));
+      }
+
+      DatagramPacket[] packets = new DatagramPacket[4];
+      for (int i = 0; i < packets.length; i++) {
+        // Offset into the buffer to check it's honored.
+        packets[i] = new DatagramPacket(new byte[16], 1, 15);
+      }
+      int received = 0;
+      while (received < 3) {
+        DatagramPacket[] remaining = new DatagramPacket[packets.length - received];
+        System.arraycopy(packets, received, remaining, 0, remaining.length);
+        received += receiver.receiveBatch(remaining);
+      }
+      for (int i = 0; i < 3; i++) {
+        DatagramPacket p = packets[i];
+        assertEquals(3, p.getLength());
+        assertEquals(1, p.getOffset());
+        assertEquals(i, p.getData()[1]);
+        assertEquals(i, p.getData()[3]);
+        assertEquals(sender.getLocalSocketAddress(), p.getSocketAddress());
+      }
+    }
+  }
+
+  public void testReceiveBatchTimeout() throws Exception {
+    try (DatagramSocket s = new DatagramSocket(0, InetAddress.getLoopbackAddress())) {
+      s.setSoTimeout(10);
+      try {
+        s.receiveBatch(new DatagramPacket[] { new DatagramPacket(new byte[1], 1) });
+        fail();
+      } catch (SocketTimeoutException expected) {
+      }
+    }
+  }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.java.nio.channels;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.AsynchronousServerSocketChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.InterruptedByTimeoutException;
+import java.nio.channels.ReadPendingException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class AsynchronousSocketChannelTest extends junit.framework.TestCase {
+
+    private AsynchronousChannelGroup group;
+    private AsynchronousServerSocketChannel server;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        group = AsynchronousChannelGroup.withFixedThreadPool(2,
+                Executors.defaultThreadFactory());
+        server = AsynchronousServerSocketChannel.open(group)
+                .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        server.close();
+        group.shutdownNow();
+        assertTrue(group.awaitTermination(10, TimeUnit.SECONDS));
+        super.tearDown();
+    }
+
+    public void testConnectAcceptReadWrite_futures() throws Exception {
+        AsynchronousSocketChannel client = AsynchronousSocketChannel.open(group);
+        Future<AsynchronousSocketChannel> accepted = server.accept();
+        client.connect(server.getLocalAddress()).get(10, TimeUnit.SECONDS);
+        AsynchronousSocketChannel peer = accepted.get(10, TimeUnit.SECONDS);
+        try {
+            assertEquals(client.getLocalAddress(), peer.getRemoteAddress());
+
+            ByteBuffer src = ByteBuffer.wrap(new byte[] { 1, 2, 3, 4 });
+            assertEquals(4, (int) client.write(src).get(10, TimeUnit.SECONDS));
+
+            ByteBuffer dst = ByteBuffer.allocate(16);
+            int total = 0;
+            while (total < 4) {
+                total += peer.read(dst).get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(4, total);
+            assertEquals(3, dst.get(2));
+
+            // An orderly shutdown is read as end-of-stream.
+            client.shutdownOutput();
+            assertEquals(-1, (int) peer.read(dst).get(10, TimeUnit.SECONDS));
+        } finally {
+            client.close();
+            peer.close();
+        }
+    }
+
+    public void testReadWithHandler() throws Exception {
+        AsynchronousSocketChannel client = AsynchronousSocketChannel.open(group);
+        Future<AsynchronousSocketChannel> accepted = server.accept();
+        client.connect(server.getLocalAddress()).get(10, TimeUnit.SECONDS);
+        AsynchronousSocketChannel peer = accepted.get(10, TimeUnit.SECONDS);
+        try {
+            final CountDownLatch done = new CountDownLatch(1);
+            final AtomicReference<Object> result = new AtomicReference<>();
+            ByteBuffer dst = ByteBuffer.allocate(8);
+            peer.read(dst, dst, new CompletionHandler<Integer, ByteBuffer>() {
+                @Override public void completed(Integer n, ByteBuffer attachment) {
+                    result.set(n);
+                    done.countDown();
+                }
+                @Override public void failed(Throwable exc, ByteBuffer attachment) {
+                    result.set(exc);
+                    done.countDown();
+                }
+            });
+
+            // Only one read may be outstanding at a time.
+            try {
+                peer.read(ByteBuffer.allocate(1));
+                fail();
+            } catch (ReadPendingException expected) {
+            }
+
+            client.write(ByteBuffer.wrap(new byte[] { 42 })).get(10, TimeUnit.SECONDS);
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(1, result.get());
+            assertEquals(42, dst.get(0));
+        } finally {
+            client.close();
+            peer.close();
+        }
+    }
+
+    public void testReadTimeout() throws Exception {
+        AsynchronousSocketChannel client = AsynchronousSocketChannel.open(group);
+        Future<AsynchronousSocketChannel> accepted = server.accept();
+        client.connect(server.getLocalAddress()).get(10, TimeUnit.SECONDS);
+        AsynchronousSocketChannel peer = accepted.get(10, TimeUnit.SECONDS);
+        try {
+            final CountDownLatch done = new CountDownLatch(1);
+            final AtomicReference<Throwable> failure = new AtomicReference<>();
+            peer.read(ByteBuffer.allocate(8), 100, TimeUnit.MILLISECONDS, null,
+                    new CompletionHandler<Integer, Void>() {
+                @Override public void completed(Integer n, Void attachment) {
+                    done.countDown();
+                }
+                @Override public void failed(Throwable exc, Void attachment) {
+                    failure.set(exc);
+                    done.countDown();
+                }
+            });
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertTrue(failure.get() instanceof InterruptedByTimeoutException);
+        } finally {
+            client.close();
+            peer.close();
+        }
+    }
+
+    public void testCloseFailsPendingAccept() throws Exception {
+        Future<AsynchronousSocketChannel> accepted = server.accept();
+        server.close();
+        try {
+            accepted.get(10, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof AsynchronousCloseException);
+        }
+    }
+
+    public void testDefaultGroup() throws Exception {
+        AsynchronousServerSocketChannel ssc = AsynchronousServerSocketChannel.open()
+                .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        AsynchronousSocketChannel client = AsynchronousSocketChannel.open();
+        try {
+            Future<AsynchronousSocketChannel> accepted = ssc.accept();
+            client.connect(ssc.getLocalAddress()).get(10, TimeUnit.SECONDS);
+            accepted.get(10, TimeUnit.SECONDS).close();
+            assertTrue(client.isOpen());
+        } finally {
+            client.close();
+            ssc.close();
+        }
+        assertFalse(client.isOpen());
+    }
+}
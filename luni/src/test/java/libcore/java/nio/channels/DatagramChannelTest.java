@@ -25,6 +25,7 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.NetworkInterface;
 import java.net.ProtocolFamily;
+import java.net.SocketAddress;
 import java.net.StandardProtocolFamily;
 import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
@@ -33,6 +34,7 @@ import java.nio.channels.ClosedChannelException;
 import java.nio.channels.DatagramChannel;
 import java.nio.channels.UnsupportedAddressTypeException;
 import java.nio.channels.spi.SelectorProvider;
+import java.util.Arrays;
 import java.util.Enumeration;
 
 public class DatagramChannelTest extends junit.framework.TestCase {
@@ -253,6 +255,87 @@ public class DatagramChannelTest extends junit.framework.TestCase {
         } catch (NullPointerException expected) {}
     }
 
+    public void test_sendBatch_receiveBatch() throws Exception {
+        try (DatagramChannel sender = DatagramChannel.open();
+             DatagramChannel receiver = DatagramChannel.open()) {
+            sender.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            receiver.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            SocketAddress target = receiver.getLocalAddress();
+
+            ByteBuffer[] srcs = new ByteBuffer[3];
+            SocketAddress[] targets = new SocketAddress[srcs.length];
+            for (int i = 0; i < srcs.length; i++) {
+                srcs[i] = ByteBuffer.wrap(new byte[] { (byte) i, (byte) i });
+                targets[i] = target;
+            }
+            assertEquals(3, sender.sendBatch(srcs, targets));
+            for (ByteBuffer src : srcs) {
+                assertFalse(src.hasRemaining());
+            }
+
+            // Heap and direct buffers, each with room to spare.
+            ByteBuffer[] dsts = new ByteBuffer[] {
+                    ByteBuffer.allocate(8), ByteBuffer.allocateDirect(8), ByteBuffer.allocate(8),
+                    ByteBuffer.allocate(8) };
+            SocketAddress[] senders = new SocketAddress[dsts.length];
+            int received = 0;
+            while (received < 3) {
+                ByteBuffer[] remaining = Arrays.copyOfRange(dsts, received, dsts.length);
+                SocketAddress[] remainingSenders = new SocketAddress[remaining.length];
+                int n = receiver.receiveBatch(remaining, remainingSenders);
+                assertTrue(n > 0);
+                System.arraycopy(remainingSenders, 0, senders, received, n);
+                received += n;
+            }
+            for (int i = 0; i < 3; i++) {
+                assertEquals(2, dsts[i].position());
+                assertEquals(i, dsts[i].get(0));
+                assertEquals(i, dsts[i].get(1));
+                assertEquals(sender.getLocalAddress(), senders[i]);
+            }
+            assertEquals(0, dsts[3].position());
+        }
+    }
+
+    public void test_receiveBatch_nonBlocking() throws Exception {
+        try (DatagramChannel dc = DatagramChannel.open()) {
+            dc.configureBlocking(false);
+            dc.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            ByteBuffer[] dsts = new ByteBuffer[] { ByteBuffer.allocate(8) };
+            // Should return immediately, since we're non-blocking.
+            assertEquals(0, dc.receiveBatch(dsts, null));
+        }
+    }
+
+    public void test_sendBatch_connected() throws Exception {
+        try (DatagramChannel sender = DatagramChannel.open();
+             DatagramChannel receiver = DatagramChannel.open()) {
+            receiver.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            sender.connect(receiver.getLocalAddress());
+            ByteBuffer[] srcs = new ByteBuffer[] {
+                    ByteBuffer.wrap(new byte[] { 1 }), ByteBuffer.wrap(new byte[] { 2 }) };
+            assertEquals(2, sender.sendBatch(srcs, null));
+
+            try {
+                sender.sendBatch(srcs, new SocketAddress[] {
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), 1), null });
+                fail();
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+    }
+
+    public void test_receiveBatch_readOnly() throws Exception {
+        try (DatagramChannel dc = DatagramChannel.open()) {
+            dc.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            try {
+                dc.receiveBatch(new ByteBuffer[] { ByteBuffer.allocate(1).asReadOnlyBuffer() }, null);
+                fail();
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+    }
+
     private static InetAddress getNonLoopbackNetworkInterfaceAddress(boolean ipv4) throws IOException {
         Enumeration<NetworkInterface> networkInterfaces = NetworkInterface.getNetworkInterfaces();
         while (networkInterfaces.hasMoreElements()) {
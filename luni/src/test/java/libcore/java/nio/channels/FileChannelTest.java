@@ -23,8 +23,12 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.NioUtils;
+import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
 import libcore.io.IoUtils;
+import libcore.io.Libcore;
 
 public class FileChannelTest extends junit.framework.TestCase {
     public void testReadOnlyByteArrays() throws Exception {
@@ -98,6 +102,78 @@ public class FileChannelTest extends junit.framework.TestCase {
         assertEquals("abcdABCD", new String(IoUtils.readFileAsString(tmp.getPath())));
     }
 
+    public void test_preadv() throws Exception {
+        FileChannel fc = createFileContainingBytes("0123abcdABCD".getBytes("US-ASCII"));
+        fc.position(2);
+        // Check that both direct and non-direct buffers work.
+        ByteBuffer[] buffers = new ByteBuffer[] {
+                ByteBuffer.allocate(1), ByteBuffer.allocateDirect(4), ByteBuffer.allocate(4) };
+        assertEquals(8, fc.read(buffers, 1, 2, 4));
+        // The channel's position is untouched.
+        assertEquals(2, fc.position());
+        assertEquals(0, buffers[0].position());
+        byte[] bytes = new byte[4];
+        buffers[1].flip();
+        buffers[1].get(bytes);
+        assertEquals("abcd", new String(bytes, "US-ASCII"));
+        buffers[2].flip();
+        buffers[2].get(bytes);
+        assertEquals("ABCD", new String(bytes, "US-ASCII"));
+
+        // A short read fills the buffers in order.
+        buffers[1].clear();
+        buffers[2].clear();
+        assertEquals(6, fc.read(buffers, 1, 2, 6));
+        assertEquals(4, buffers[1].position());
+        assertEquals(2, buffers[2].position());
+
+        // Reading at or past the end of the file reports end of file.
+        buffers[1].clear();
+        assertEquals(-1, fc.read(buffers, 1, 1, 12));
+        assertEquals(-1, fc.read(buffers, 1, 1, 100));
+        fc.close();
+    }
+
+    public void test_preadv_badArguments() throws Exception {
+        FileChannel fc = createFileContainingBytes(new byte[0]);
+        ByteBuffer[] buffers = new ByteBuffer[] { ByteBuffer.allocate(1) };
+        try {
+            fc.read(buffers, 0, 2, 0);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+        }
+        try {
+            fc.read(buffers, 0, 1, -1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            fc.read(new ByteBuffer[] { buffers[0].asReadOnlyBuffer() }, 0, 1, 0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        fc.close();
+    }
+
+    public void test_pwritev() throws Exception {
+        FileChannel fc = createFileContainingBytes("0123456789".getBytes("US-ASCII"));
+        fc.position(1);
+        // Check that both direct and non-direct buffers work.
+        ByteBuffer[] buffers = new ByteBuffer[] { ByteBuffer.allocateDirect(4), ByteBuffer.allocate(4) };
+        buffers[0].put("abcd".getBytes("US-ASCII")).flip();
+        buffers[1].put("ABCD".getBytes("US-ASCII")).flip();
+        assertEquals(8, fc.write(buffers, 0, 2, 6));
+        // The channel's position is untouched, and the file grows to fit.
+        assertEquals(1, fc.position());
+        assertEquals(14, fc.size());
+        assertFalse(buffers[0].hasRemaining());
+        assertFalse(buffers[1].hasRemaining());
+        ByteBuffer contents = ByteBuffer.allocate(14);
+        assertEquals(14, fc.read(contents, 0));
+        assertEquals("012345abcdABCD", new String(contents.array(), "US-ASCII"));
+        fc.close();
+    }
+
     public void test_append() throws Exception {
         File tmp = File.createTempFile("FileChannelTest", "tmp");
         FileOutputStream fos = new FileOutputStream(tmp, true);
@@ -240,6 +316,84 @@ public class FileChannelTest extends junit.framework.TestCase {
         fosFromFd.close();
     }
 
+    public void test_transferFrom_pipe() throws Exception {
+        FileChannel fc = createFileContainingBytes("0123456789".getBytes("US-ASCII"));
+        Pipe pipe = Pipe.open();
+        pipe.sink().write(ByteBuffer.wrap("abcde".getBytes("US-ASCII")));
+        pipe.sink().close();
+
+        // Writes at the given position without moving the channel's position.
+        fc.position(1);
+        assertEquals(5, fc.transferFrom(pipe.source(), 3, 100));
+        assertEquals(1, fc.position());
+        assertEquals(10, fc.size());
+        ByteBuffer contents = ByteBuffer.allocate(10);
+        assertEquals(10, fc.read(contents, 0));
+        assertEquals("012abcde89", new String(contents.array(), "US-ASCII"));
+
+        // At end of stream there is nothing left to transfer.
+        assertEquals(0, fc.transferFrom(pipe.source(), 0, 100));
+        fc.close();
+        pipe.source().close();
+    }
+
+    public void test_transferFrom_pipeInterrupted() throws Exception {
+        FileChannel fc = createFileContainingBytes(new byte[0]);
+        Pipe pipe = Pipe.open();
+        final Thread transferring = Thread.currentThread();
+        new Thread() {
+            @Override public void run() {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException ignored) {
+                }
+                transferring.interrupt();
+            }
+        }.start();
+        try {
+            fc.transferFrom(pipe.source(), 0, 100);
+            fail();
+        } catch (ClosedByInterruptException expected) {
+        } finally {
+            Thread.interrupted();
+        }
+        // The interrupt closes the source, as it would for a read.
+        assertFalse(pipe.source().isOpen());
+        fc.close();
+        pipe.sink().close();
+    }
+
+    public void test_splice_toDestinationWithoutSplice() throws Exception {
+        // splice(2) refuses to write to a file opened for appending, so the
+        // bytes already taken from the pipe must be copied there instead.
+        File f = File.createTempFile("FileChannelTest", "tmp");
+        FileOutputStream out = new FileOutputStream(f, true);
+        out.write("01234".getBytes("US-ASCII"));
+        FileDescriptor[] pipe = Libcore.os.pipe2(0);
+        Libcore.os.write(pipe[1], "abcde".getBytes("US-ASCII"), 0, 5);
+        Libcore.os.close(pipe[1]);
+
+        assertEquals(5, NioUtils.splice(pipe[0], null, out.getFD(), null, 100));
+        Libcore.os.close(pipe[0]);
+        out.close();
+        assertEquals("01234abcde", new String(IoUtils.readFileAsByteArray(f.getPath()), "US-ASCII"));
+        f.delete();
+    }
+
+    public void test_transferFrom_nonBlockingPipe() throws Exception {
+        FileChannel fc = createFileContainingBytes(new byte[0]);
+        Pipe pipe = Pipe.open();
+        pipe.source().configureBlocking(false);
+        assertEquals(0, fc.transferFrom(pipe.source(), 0, 100));
+
+        pipe.sink().write(ByteBuffer.wrap("abc".getBytes("US-ASCII")));
+        // Takes what's available rather than waiting for the rest.
+        assertEquals(3, fc.transferFrom(pipe.source(), 0, 100));
+        assertEquals(3, fc.size());
+        fc.close();
+        pipe.sink().close();
+        pipe.source().close();
+    }
 
     private static FileChannel createFileContainingBytes(byte[] bytes) throws IOException {
         File tmp = File.createTempFile("FileChannelTest", "tmp");
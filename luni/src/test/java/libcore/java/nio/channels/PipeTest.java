@@ -16,8 +16,13 @@
 
 package libcore.java.nio.channels;
 
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.NioUtils;
 import java.nio.channels.Pipe;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 
 public class PipeTest extends junit.framework.TestCase {
     public void test_readEmptyPipe() throws Exception {
@@ -25,4 +30,60 @@ public class PipeTest extends junit.framework.TestCase {
         p.source().configureBlocking(false);
         assertEquals(0, p.source().read(ByteBuffer.allocate(1)));
     }
+
+    public void test_NioUtils_transfer_pipeToPipe() throws Exception {
+        Pipe in = Pipe.open();
+        Pipe out = Pipe.open();
+        in.sink().write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+        in.sink().close();
+
+        assertEquals(3, NioUtils.transfer(in.source(), out.sink(), 100));
+        ByteBuffer received = ByteBuffer.allocate(4);
+        assertEquals(3, out.source().read(received));
+        assertEquals(1, received.get(0));
+        assertEquals(3, received.get(2));
+        // End of stream.
+        assertEquals(0, NioUtils.transfer(in.source(), out.sink(), 100));
+    }
+
+    public void test_NioUtils_transfer_socketToSocket() throws Exception {
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            SocketChannel a = SocketChannel.open(server.getLocalAddress());
+            SocketChannel b = server.accept();
+            SocketChannel c = SocketChannel.open(server.getLocalAddress());
+            SocketChannel d = server.accept();
+            try {
+                byte[] data = new byte[50000];
+                for (int i = 0; i < data.length; i++) {
+                    data[i] = (byte) i;
+                }
+                ByteBuffer src = ByteBuffer.wrap(data);
+                while (src.hasRemaining()) {
+                    a.write(src);
+                }
+                a.shutdownOutput();
+
+                // Proxy b -> c, then read it all back from d.
+                long transferred = 0;
+                long n;
+                while ((n = NioUtils.transfer(b, c, data.length)) > 0) {
+                    transferred += n;
+                }
+                assertEquals(data.length, transferred);
+                c.shutdownOutput();
+
+                ByteBuffer dst = ByteBuffer.allocate(data.length + 1);
+                while (d.read(dst) != -1) {
+                }
+                assertEquals(data.length, dst.position());
+                assertEquals(ByteBuffer.wrap(data), (ByteBuffer) dst.flip());
+            } finally {
+                a.close();
+                b.close();
+                c.close();
+                d.close();
+            }
+        }
+    }
 }
@@ -21,11 +21,16 @@ import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.io.FileDescriptor;
 import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
 import java.nio.channels.NoConnectionPendingException;
+import java.nio.channels.Pipe;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
+import java.nio.channels.spi.SelectorProvider;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import junit.framework.TestCase;
@@ -230,4 +235,144 @@ public class SelectorTest extends TestCase {
             }
         }
     }
+
+    public void testDefaultProviderIsEPoll() throws Exception {
+        assertEquals("sun.nio.ch.EPollSelectorProvider",
+                SelectorProvider.provider().getClass().getName());
+    }
+
+    public void testOnlyReadyKeysSelected() throws Exception {
+        Selector selector = Selector.open();
+        Pipe[] pipes = new Pipe[64];
+        try {
+            for (int i = 0; i < pipes.length; i++) {
+                pipes[i] = Pipe.open();
+                pipes[i].source().configureBlocking(false);
+                pipes[i].source().register(selector, SelectionKey.OP_READ, i);
+            }
+            pipes[17].sink().write(ByteBuffer.allocate(1));
+            pipes[42].sink().write(ByteBuffer.allocate(1));
+
+            assertEquals(2, selector.select(1000));
+            assertEquals(2, selector.selectedKeys().size());
+            for (SelectionKey key : selector.selectedKeys()) {
+                int index = (Integer) key.attachment();
+                assertTrue(index == 17 || index == 42);
+                assertEquals(SelectionKey.OP_READ, key.readyOps());
+            }
+        } finally {
+            selector.close();
+            for (Pipe pipe : pipes) {
+                if (pipe != null) {
+                    pipe.sink().close();
+                    pipe.source().close();
+                }
+            }
+        }
+    }
+
+    // Closing a registered channel must remove it from the kernel's interest set before the
+    // descriptor is preClosed, otherwise a recycled descriptor number could be reported.
+    public void testCloseRegisteredChannelThenReuseDescriptor() throws Exception {
+        Selector selector = Selector.open();
+        try {
+            for (int i = 0; i < 100; i++) {
+                Pipe pipe = Pipe.open();
+                pipe.source().configureBlocking(false);
+                SelectionKey key = pipe.source().register(selector, SelectionKey.OP_READ);
+                pipe.sink().write(ByteBuffer.allocate(1));
+                pipe.source().close();
+                pipe.sink().close();
+                assertFalse(key.isValid());
+                assertEquals(0, selector.selectNow());
+                assertTrue(selector.keys().isEmpty());
+            }
+        } finally {
+            selector.close();
+        }
+    }
+
+    public void testSelectWithAction() throws Exception {
+        Selector selector = Selector.open();
+        Pipe pipe = Pipe.open();
+        try {
+            pipe.source().configureBlocking(false);
+            SelectionKey key = pipe.source().register(selector, SelectionKey.OP_READ);
+            pipe.sink().write(ByteBuffer.allocate(1));
+
+            final List<SelectionKey> consumed = new ArrayList<>();
+            assertEquals(1, selector.select(k -> consumed.add(k), 1000));
+            assertEquals(1, consumed.size());
+            assertSame(key, consumed.get(0));
+            assertEquals(SelectionKey.OP_READ, key.readyOps());
+            // Keys handed to the action are not added to the selected-key set.
+            assertTrue(selector.selectedKeys().isEmpty());
+
+            consumed.clear();
+            pipe.source().read(ByteBuffer.allocate(1));
+            assertEquals(0, selector.selectNow(k -> consumed.add(k)));
+            assertTrue(consumed.isEmpty());
+        } finally {
+            selector.close();
+            pipe.sink().close();
+            pipe.source().close();
+        }
+    }
+
+    public void testSelectWithAction_closedByAction() throws Exception {
+        final Selector selector = Selector.open();
+        Pipe pipe = Pipe.open();
+        try {
+            pipe.source().configureBlocking(false);
+            pipe.source().register(selector, SelectionKey.OP_READ);
+            pipe.sink().write(ByteBuffer.allocate(1));
+            try {
+                selector.select(k -> {
+                    try {
+                        selector.close();
+                    } catch (IOException e) {
+                        throw new AssertionError(e);
+                    }
+                });
+                fail();
+            } catch (ClosedSelectorException expected) {
+            }
+        } finally {
+            pipe.sink().close();
+            pipe.source().close();
+        }
+    }
+
+    public void testSelectWithAction_negativeTimeout() throws Exception {
+        Selector selector = Selector.open();
+        try {
+            selector.select(k -> { }, -1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        } finally {
+            selector.close();
+        }
+    }
+
+    public void testEdgeTriggeredSelector() throws Exception {
+        sun.nio.ch.EPollSelectorProvider provider = new sun.nio.ch.EPollSelectorProvider();
+        Selector selector = provider.openEdgeTriggeredSelector();
+        Pipe pipe = Pipe.open();
+        try {
+            pipe.source().configureBlocking(false);
+            pipe.source().register(selector, SelectionKey.OP_READ);
+            pipe.sink().write(ByteBuffer.allocate(2));
+
+            assertEquals(1, selector.selectNow(k -> { }));
+            // The pipe is still readable but its readiness hasn't changed.
+            assertEquals(0, selector.selectNow(k -> { }));
+
+            pipe.sink().write(ByteBuffer.allocate(1));
+            assertEquals(1, selector.selectNow(k -> { }));
+        } finally {
+            selector.close();
+            pipe.sink().close();
+            pipe.source().close();
+        }
+    }
 }
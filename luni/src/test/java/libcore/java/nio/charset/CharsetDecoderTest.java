@@ -110,6 +110,50 @@ public class CharsetDecoderTest extends junit.framework.TestCase {
         assertEquals('\u2603', cb.get(0));
     }
 
+    public void testUtf8AsciiAfterSplitSequence() throws Exception {
+        CharsetDecoder decoder = Charset.forName("UTF-8").newDecoder();
+        CharBuffer cb = CharBuffer.allocate(128);
+        CoderResult cr;
+        cr = decoder.decode(ByteBuffer.wrap(new byte[] { 'a', 'b', (byte) 0xe2 }), cb, false);
+        assertEquals(CoderResult.UNDERFLOW, cr);
+        cr = decoder.decode(ByteBuffer.wrap(new byte[] { (byte) 0x98 }), cb, false);
+        assertEquals(CoderResult.UNDERFLOW, cr);
+        cr = decoder.decode(ByteBuffer.wrap(new byte[] { (byte) 0x83, 'c', 'd' }), cb, false);
+        assertEquals(CoderResult.UNDERFLOW, cr);
+        cr = decoder.decode(ByteBuffer.wrap(new byte[] { 'e', 'f', 'g', 'h', 'i', 'j', 'k', 'l',
+                'm' }), cb, true);
+        assertEquals(CoderResult.UNDERFLOW, cr);
+        cr = decoder.flush(cb);
+        assertEquals(CoderResult.UNDERFLOW, cr);
+        cb.flip();
+        assertEquals("ab\u2603cdefghijklm", cb.toString());
+    }
+
+    public void testUtf8AsciiOverflow() throws Exception {
+        CharsetDecoder decoder = Charset.forName("UTF-8").newDecoder();
+        ByteBuffer in = ByteBuffer.wrap("hello, world\u00e9".getBytes("UTF-8"));
+        CharBuffer cb = CharBuffer.allocate(5);
+        assertEquals(CoderResult.OVERFLOW, decoder.decode(in, cb, true));
+        assertEquals(5, in.position());
+        cb.flip();
+        assertEquals("hello", cb.toString());
+        cb = CharBuffer.allocate(16);
+        assertEquals(CoderResult.UNDERFLOW, decoder.decode(in, cb, true));
+        cb.flip();
+        assertEquals(", world\u00e9", cb.toString());
+    }
+
+    public void testUtf8MalformedAfterAscii() throws Exception {
+        CharsetDecoder decoder = Charset.forName("UTF-8").newDecoder();
+        ByteBuffer in = ByteBuffer.wrap(new byte[] { 'a', 'b', 'c', (byte) 0xff, 'd' });
+        CharBuffer cb = CharBuffer.allocate(16);
+        CoderResult cr = decoder.decode(in, cb, true);
+        assertTrue(cr.isMalformed());
+        assertEquals(1, cr.length());
+        cb.flip();
+        assertEquals("abc", cb.toString());
+    }
+
     public void testBufferWithNonZeroOffset() {
         CharsetDecoder decoder = Charset.forName("UTF-8").newDecoder();
         CharBuffer cb = CharBuffer.allocate(128);
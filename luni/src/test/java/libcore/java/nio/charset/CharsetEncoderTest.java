@@ -140,6 +140,33 @@ public class CharsetEncoderTest extends junit.framework.TestCase {
         assertEquals(expectedPosition, bb.position());
     }
 
+    public void testUtf8SplitSurrogatesAfterAscii() throws Exception {
+        CharsetEncoder e = Charset.forName("UTF-8").newEncoder();
+        ByteBuffer bb = ByteBuffer.allocate(128);
+        CoderResult cr = e.encode(CharBuffer.wrap(new char[] { 'a', 'b', '\ud842' }), bb, false);
+        assertEquals(CoderResult.UNDERFLOW, cr);
+        assertEquals(2, bb.position());
+        cr = e.encode(CharBuffer.wrap(new char[] { '\udf9f', 'c', 'd' }), bb, true);
+        assertEquals(CoderResult.UNDERFLOW, cr);
+        cr = e.flush(bb);
+        assertEquals(CoderResult.UNDERFLOW, cr);
+        assertTrue(Arrays.equals(new byte[] { 'a', 'b', (byte) 0xf0, (byte) 0xa0, (byte) 0xae,
+                (byte) 0x9f, 'c', 'd' }, Arrays.copyOf(bb.array(), bb.position())));
+    }
+
+    public void testUtf8AsciiOverflow() throws Exception {
+        CharsetEncoder e = Charset.forName("UTF-8").newEncoder();
+        CharBuffer in = CharBuffer.wrap("hello, world\u00e9".toCharArray());
+        ByteBuffer bb = ByteBuffer.allocate(5);
+        assertEquals(CoderResult.OVERFLOW, e.encode(in, bb, true));
+        assertEquals(5, in.position());
+        bb = ByteBuffer.allocate(16);
+        assertEquals(CoderResult.UNDERFLOW, e.encode(in, bb, true));
+        assertEquals(9, bb.position());
+        assertEquals((byte) 0xc3, bb.get(7));
+        assertEquals((byte) 0xa9, bb.get(8));
+    }
+
     public void testFlushWithoutEndOfInput() throws Exception {
         Charset cs = Charset.forName("UTF-32BE");
         CharsetEncoder e = cs.newEncoder();
@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.java.nio.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class FilesTest extends junit.framework.TestCase {
+    private Path root;
+
+    @Override protected void setUp() throws Exception {
+        super.setUp();
+        root = Files.createTempDirectory("FilesTest");
+    }
+
+    @Override protected void tearDown() throws Exception {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                    throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override public FileVisitResult postVisitDirectory(Path dir, IOException e)
+                    throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        super.tearDown();
+    }
+
+    public void testPaths() throws Exception {
+        Path p = Paths.get("/a//b/./c/../d/");
+        assertEquals("/a/b/./c/../d", p.toString());
+        assertEquals("/a/b/d", p.normalize().toString());
+        assertEquals("d", p.getFileName().toString());
+        assertEquals(6, p.getNameCount());
+        assertEquals(Paths.get("c/../d"), Paths.get("/a/b").relativize(Paths.get("/a/b/c/../d")));
+        assertEquals(Paths.get("../x"), Paths.get("/a/b").relativize(Paths.get("/a/x")));
+        assertTrue(p.startsWith("/a/b"));
+        assertTrue(p.endsWith("../d"));
+        assertEquals(root, root.toFile().toPath());
+        assertEquals(root, Paths.get(root.toUri()));
+    }
+
+    public void testNewByteChannel() throws Exception {
+        Path file = root.resolve("file");
+        try (SeekableByteChannel ch = Files.newByteChannel(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            assertEquals(5, ch.write(ByteBuffer.wrap("hello".getBytes(StandardCharsets.US_ASCII))));
+        }
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer bb = ByteBuffer.allocate(16);
+            assertEquals(5, ch.read(bb));
+            assertEquals(5, ch.size());
+        }
+        try {
+            Files.newByteChannel(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            fail();
+        } catch (FileAlreadyExistsException expected) {
+        }
+        try {
+            Files.newByteChannel(root.resolve("missing"));
+            fail();
+        } catch (NoSuchFileException expected) {
+        }
+    }
+
+    public void testReadWrite() throws Exception {
+        Path file = root.resolve("lines");
+        Files.write(file, Arrays.asList("one", "two", "three"), StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList("one", "two", "three"),
+                Files.readAllLines(file, StandardCharsets.UTF_8));
+        try (Stream<String> lines = Files.lines(file)) {
+            assertEquals(2, lines.filter(s -> s.startsWith("t")).count());
+        }
+        assertEquals("one\ntwo\nthree\n",
+                new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    public void testDirectoryStream() throws Exception {
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            Files.createFile(root.resolve("f" + i));
+            expected.add("f" + i);
+        }
+        Files.createDirectory(root.resolve("dir"));
+
+        Set<String> names = new HashSet<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(root, "f*")) {
+            for (Path p : ds) {
+                assertEquals(root, p.getParent());
+                assertTrue(names.add(p.getFileName().toString()));
+            }
+        }
+        assertEquals(expected, names);
+
+        // The iterator may only be obtained once, and not after close.
+        DirectoryStream<Path> ds = Files.newDirectoryStream(root);
+        ds.iterator();
+        try {
+            ds.iterator();
+            fail();
+        } catch (IllegalStateException expected2) {
+        }
+        ds.close();
+    }
+
+    public void testWalkAndFind() throws Exception {
+        Path a = Files.createDirectories(root.resolve("a/b/c"));
+        Files.createFile(a.resolve("x.txt"));
+        Files.createFile(root.resolve("a/y.txt"));
+        Files.createFile(root.resolve("a/b/z.dat"));
+
+        try (Stream<Path> s = Files.walk(root)) {
+            // root, a, a/b, a/b/c and three files
+            assertEquals(7, s.count());
+        }
+        try (Stream<Path> s = Files.walk(root, 1)) {
+            assertEquals(2, s.count());
+        }
+        try (Stream<Path> s = Files.find(root, Integer.MAX_VALUE,
+                (p, attrs) -> attrs.isRegularFile() && p.toString().endsWith(".txt"))) {
+            List<String> found = s.map(p -> p.getFileName().toString())
+                    .sorted().collect(Collectors.toList());
+            assertEquals(Arrays.asList("x.txt", "y.txt"), found);
+        }
+        try (Stream<Path> s = Files.list(root.resolve("a"))) {
+            List<String> names = s.map(p -> p.getFileName().toString())
+                    .sorted().collect(Collectors.toList());
+            assertEquals(Arrays.asList("b", "y.txt"), names);
+        }
+    }
+
+    public void testCopyAndMove() throws Exception {
+        Path src = root.resolve("src");
+        Files.write(src, new byte[] { 1, 2, 3 });
+        Path dst = root.resolve("dst");
+        Files.copy(src, dst);
+        assertTrue(Arrays.equals(new byte[] { 1, 2, 3 }, Files.readAllBytes(dst)));
+        try {
+            Files.copy(src, dst);
+            fail();
+        } catch (FileAlreadyExistsException expected) {
+        }
+        Files.write(src, new byte[] { 4 });
+        Files.copy(src, dst, StandardCopyOption.REPLACE_EXISTING);
+        assertEquals(1, Files.size(dst));
+
+        Path moved = root.resolve("moved");
+        Files.move(dst, moved, StandardCopyOption.ATOMIC_MOVE);
+        assertFalse(Files.exists(dst));
+        assertTrue(Files.isRegularFile(moved));
+
+        Path link = root.resolve("link");
+        Files.createSymbolicLink(link, moved);
+        assertTrue(Files.isSymbolicLink(link));
+        assertEquals(moved, Files.readSymbolicLink(link));
+        assertTrue(Files.isSameFile(link, moved));
+    }
+
+    public void testAttributes() throws Exception {
+        Path file = Files.createFile(root.resolve("attrs"));
+        Set<PosixFilePermission> perms = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(file, perms);
+        assertEquals(perms, Files.getPosixFilePermissions(file));
+
+        FileTime time = FileTime.from(1000000, TimeUnit.SECONDS);
+        Files.setLastModifiedTime(file, time);
+        assertEquals(time, Files.getLastModifiedTime(file));
+
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        assertTrue(attrs.isRegularFile());
+        assertEquals(0, attrs.size());
+        assertEquals(attrs.fileKey(),
+                Files.readAttributes(file, BasicFileAttributes.class).fileKey());
+        assertEquals(0L, Files.getAttribute(file, "size"));
+        assertNotNull(Files.getOwner(file));
+    }
+
+    public void testWatchService() throws Exception {
+        try (WatchService ws = root.getFileSystem().newWatchService()) {
+            WatchKey key = root.register(ws, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            Files.createFile(root.resolve("created"));
+
+            WatchKey signalled = ws.poll(30, TimeUnit.SECONDS);
+            assertSame(key, signalled);
+            List<String> created = new ArrayList<>();
+            for (WatchEvent<?> event : signalled.pollEvents()) {
+                assertEquals(StandardWatchEventKinds.ENTRY_CREATE, event.kind());
+                created.add(event.context().toString());
+            }
+            assertEquals(Collections.singletonList("created"), created);
+            assertTrue(signalled.reset());
+            key.cancel();
+            assertFalse(key.isValid());
+        }
+    }
+}
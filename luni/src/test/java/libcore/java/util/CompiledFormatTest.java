@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.java.util;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.util.CompiledFormat;
+import java.util.Formattable;
+import java.util.Formatter;
+import java.util.IllegalFormatConversionException;
+import java.util.Locale;
+import java.util.MissingFormatArgumentException;
+import java.util.UnknownFormatConversionException;
+
+public class CompiledFormatTest extends junit.framework.TestCase {
+
+    private static final Locale ARABIC = new Locale("ar");
+    private static final Locale FRENCH = Locale.FRANCE;
+
+    private static final Object[] INTEGERS = {
+        0, 1, -1, 1024, Integer.MAX_VALUE, Integer.MIN_VALUE,
+        0L, 1L << 40, Long.MAX_VALUE, Long.MIN_VALUE,
+        (short) -1, Short.MIN_VALUE, (byte) -1, Byte.MIN_VALUE, (byte) 127,
+        BigInteger.ONE.shiftLeft(70).negate(),
+    };
+
+    private static final Object[] FLOATS = {
+        0.0, -0.0, 1.0, -1.0, 0.5, 12.5, 10.24, 0.1, 1e-7, 1e-10, 123456789.125,
+        1e15, 1e16, 1e17, 1e300, 4503599627370497.0, Double.MIN_VALUE, Double.MAX_VALUE,
+        Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+        0.1f, 10.24f, 12.5f, -0.0f, Float.MAX_VALUE,
+    };
+
+    private static final String[] FORMATS = {
+        "", "plain text", "%%", "100%% %d", "%n", "%5%|",
+        "%d", "%5d", "%-5d|", "%,d", "%+d", "%(d", "%05d",
+        "%x", "%X", "%#x", "%08x", "%o",
+        "%f", "%.0f", "%.1f", "%.2f", "%.9f", "%.10f", "%10.3f", "%,f", "%#.0f",
+        "%e", "%g", "%a",
+        "%s", "%S", "%.3s", "%10s", "%b", "%h",
+        "%2$s %1$s", "%s %<s %s", "a%sb%sc",
+    };
+
+    private static void assertSameAsFormatter(Locale l, String format, Object... args) {
+        String expected;
+        try {
+            expected = String.format(l, format, args);
+        } catch (RuntimeException e) {
+            try {
+                CompiledFormat.compile(format).format(l, args);
+                fail(format + " " + java.util.Arrays.toString(args));
+            } catch (RuntimeException e2) {
+                assertEquals(format, e.getClass(), e2.getClass());
+            }
+            return;
+        }
+        CompiledFormat compiled = CompiledFormat.compile(format);
+        String message = format + " " + java.util.Arrays.toString(args) + " " + l;
+        assertEquals(message, expected, compiled.format(l, args));
+        try {
+            // Appendables other than StringBuilder take different paths.
+            assertEquals(message, expected, compiled.formatTo(new StringWriter(), l, args)
+                    .toString());
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public void test_sameAsFormatter() {
+        for (Locale l : new Locale[] { Locale.US, null, FRENCH, ARABIC }) {
+            for (String format : FORMATS) {
+                for (Object arg : INTEGERS) {
+                    assertSameAsFormatter(l, format, arg, arg);
+                }
+                for (Object arg : FLOATS) {
+                    assertSameAsFormatter(l, format, arg, arg);
+                }
+                assertSameAsFormatter(l, format, "hello", "world");
+                assertSameAsFormatter(l, format, null, null);
+                assertSameAsFormatter(l, format, 'c', true);
+            }
+        }
+    }
+
+    public void test_exactFloats() {
+        for (int p = 0; p <= 10; p++) {
+            String format = "%." + p + "f";
+            for (long n = -2000; n <= 2000; n += 7) {
+                assertSameAsFormatter(Locale.US, format, n / 1000.0);
+                assertSameAsFormatter(Locale.US, format, n / 8.0);
+                assertSameAsFormatter(FRENCH, format, n / 8.0);
+                assertSameAsFormatter(Locale.US, format, (float) (n / 16.0));
+            }
+        }
+    }
+
+    public void test_defaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(FRENCH);
+            assertEquals("1,500000 2", CompiledFormat.compile("%f %d").format(1.5, 2));
+            Locale.setDefault(Locale.US);
+            assertEquals("1.500000 2", CompiledFormat.compile("%f %d").format(1.5, 2));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    public void test_formatTo() throws Exception {
+        CompiledFormat compiled = CompiledFormat.compile("%s=%d;");
+        StringBuilder sb = new StringBuilder("x;");
+        assertSame(sb, compiled.formatTo(sb, Locale.US, "a", 1));
+        compiled.formatTo(sb, Locale.US, "b", 2);
+        assertEquals("x;a=1;b=2;", sb.toString());
+        assertEquals("%s=%d;", compiled.toString());
+    }
+
+    public void test_formattable() {
+        Formattable formattable = new Formattable() {
+            @Override public void formatTo(Formatter formatter, int flags, int width,
+                    int precision) {
+                // Reenter the formatter, which uses its reusable specifier.
+                formatter.format("<%d %s>", 1, "x");
+            }
+        };
+        assertEquals("a <1 x> b", CompiledFormat.compile("a %s b").format(formattable));
+        assertEquals("a <1 x> b <1 x>",
+                String.format("a %s b %s", formattable, formattable));
+    }
+
+    public void test_errors() {
+        try {
+            CompiledFormat.compile("%q");
+            fail();
+        } catch (UnknownFormatConversionException expected) {
+        }
+        try {
+            CompiledFormat.compile(null);
+            fail();
+        } catch (NullPointerException expected) {
+        }
+        CompiledFormat compiled = CompiledFormat.compile("%d %d");
+        try {
+            compiled.format(Locale.US, 1);
+            fail();
+        } catch (MissingFormatArgumentException expected) {
+        }
+        try {
+            compiled.format(Locale.US, "1", "2");
+            fail();
+        } catch (IllegalFormatConversionException expected) {
+        }
+        try {
+            compiled.formatTo(null, Locale.US, 1, 2);
+            fail();
+        } catch (NullPointerException expected) {
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public void test_ioExceptionsAreThrown() {
+        final IOException failure = new IOException();
+        Appendable broken = new Appendable() {
+            @Override public Appendable append(CharSequence csq) throws IOException {
+                throw failure;
+            }
+            @Override public Appendable append(CharSequence csq, int start, int end)
+                    throws IOException {
+                throw failure;
+            }
+            @Override public Appendable append(char c) throws IOException {
+                throw failure;
+            }
+        };
+        for (String format : new String[] { "text", "%d", "%5d" }) {
+            try {
+                CompiledFormat.compile(format).formatTo(broken, Locale.US, 1);
+                fail();
+            } catch (IOException expected) {
+                assertSame(failure, expected);
+            }
+        }
+    }
+
+    public void test_concurrentUse() throws Exception {
+        final CompiledFormat compiled = CompiledFormat.compile("%d:%x:%.2f:%s");
+        Thread[] threads = new Thread[4];
+        final Throwable[] failures = new Throwable[threads.length];
+        for (int t = 0; t < threads.length; t++) {
+            final int id = t;
+            final Locale l = (t % 2 == 0) ? Locale.US : FRENCH;
+            threads[t] = new Thread() {
+                @Override public void run() {
+                    try {
+                        for (int i = 0; i < 1000; i++) {
+                            assertEquals(String.format(l, "%d:%x:%.2f:%s", i, i, i / 4.0, id),
+                                    compiled.format(l, i, i, i / 4.0, id));
+                        }
+                    } catch (Throwable e) {
+                        failures[id] = e;
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (int t = 0; t < threads.length; t++) {
+            threads[t].join();
+            if (failures[t] != null) {
+                throw new AssertionError(failures[t]);
+            }
+        }
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License
+ */
+
+package libcore.java.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+public class ImmutableCollectionsTest extends junit.framework.TestCase {
+
+    public void testListOf() {
+        assertEquals(Collections.emptyList(), List.of());
+        assertEquals(Arrays.asList("a"), List.of("a"));
+        assertEquals(Arrays.asList("a", "b"), List.of("a", "b"));
+        assertEquals(Arrays.asList("a", "b", "c"), List.of("a", "b", "c"));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10),
+                List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11),
+                List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11));
+        // Duplicates are allowed in lists.
+        assertEquals(Arrays.asList("a", "a"), List.of("a", "a"));
+    }
+
+    public void testListOfCopiesArray() {
+        String[] array = { "a", "b", "c" };
+        List<String> list = List.of(array);
+        array[0] = "z";
+        assertEquals(Arrays.asList("a", "b", "c"), list);
+    }
+
+    public void testListQueries() {
+        List<String> list = List.of("a", "b", "c", "b");
+        assertEquals(4, list.size());
+        assertEquals("c", list.get(2));
+        assertEquals(1, list.indexOf("b"));
+        assertEquals(3, list.lastIndexOf("b"));
+        assertEquals(-1, list.indexOf("z"));
+        assertTrue(list.contains("a"));
+        assertEquals(Arrays.asList("b", "c"), list.subList(1, 3));
+        assertEquals(Arrays.asList("a", "b", "c", "b").hashCode(), list.hashCode());
+        assertEquals(Arrays.asList("a", "b").hashCode(), List.of("a", "b").hashCode());
+        assertEquals(Arrays.asList("a").hashCode(), List.of("a").hashCode());
+        assertEquals("[a, b, c, b]", list.toString());
+        for (List<String> l : Arrays.asList(List.<String>of(), List.of("a"), List.of("a", "b"),
+                list)) {
+            try {
+                l.get(l.size());
+                fail();
+            } catch (IndexOutOfBoundsException expected) {
+            }
+            try {
+                l.get(-1);
+                fail();
+            } catch (IndexOutOfBoundsException expected) {
+            }
+        }
+    }
+
+    public void testListRejectsNulls() {
+        assertThrowsNpe(() -> List.of((String) null));
+        assertThrowsNpe(() -> List.of("a", null));
+        assertThrowsNpe(() -> List.of("a", "b", null));
+        assertThrowsNpe(() -> List.of(new String[] { "a", "b", "c", null }));
+        assertThrowsNpe(() -> List.of("a").contains(null));
+        assertThrowsNpe(() -> List.of("a", "b", "c").indexOf(null));
+        assertThrowsNpe(() -> List.copyOf(Arrays.asList("a", null)));
+    }
+
+    public void testListIsImmutable() {
+        for (List<String> list : Arrays.asList(List.<String>of(), List.of("a"),
+                List.of("a", "b"), List.of("a", "b", "c"))) {
+            assertImmutable(list);
+            assertThrowsUoe(() -> list.add(0, "x"));
+            assertThrowsUoe(() -> list.set(0, "x"));
+            assertThrowsUoe(() -> list.remove(0));
+            assertThrowsUoe(() -> list.sort(null));
+            assertThrowsUoe(() -> list.replaceAll(s -> s));
+            if (!list.isEmpty()) {
+                assertThrowsUoe(() -> list.subList(0, 1).clear());
+                Iterator<String> it = list.iterator();
+                it.next();
+                assertThrowsUoe(it::remove);
+            }
+        }
+    }
+
+    public void testListCopyOf() {
+        ArrayList<String> source = new ArrayList<>(Arrays.asList("a", "b", "c"));
+        List<String> copy = List.copyOf(source);
+        source.set(0, "z");
+        assertEquals(Arrays.asList("a", "b", "c"), copy);
+        assertSame(copy, List.copyOf(copy));
+        // A sublist of an immutable list isn't itself immutable in form, so it is copied.
+        assertEquals(Arrays.asList("b"), List.copyOf(copy.subList(1, 2)));
+    }
+
+    public void testSetOf() {
+        assertEquals(Collections.emptySet(), Set.of());
+        assertEquals(setOf("a"), Set.of("a"));
+        assertEquals(setOf("a", "b"), Set.of("a", "b"));
+        assertEquals(setOf("a", "b", "c"), Set.of("a", "b", "c"));
+        assertEquals(setOf(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), Set.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        assertEquals(setOf(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11),
+                Set.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11));
+        Set<Integer> set = Set.of(1, 2, 3, 4, 5);
+        assertEquals(setOf(1, 2, 3, 4, 5).hashCode(), set.hashCode());
+        assertEquals(setOf(1, 2).hashCode(), Set.of(1, 2).hashCode());
+        assertTrue(set.contains(3));
+        assertFalse(set.contains(6));
+        assertFalse(Set.of().contains("a"));
+    }
+
+    public void testSetIteration() {
+        for (Set<Integer> set : Arrays.asList(Set.<Integer>of(), Set.of(1), Set.of(1, 2),
+                Set.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12))) {
+            Set<Integer> seen = new HashSet<>();
+            Iterator<Integer> it = set.iterator();
+            while (it.hasNext()) {
+                assertTrue(seen.add(it.next()));
+            }
+            assertEquals(set, seen);
+            try {
+                it.next();
+                fail();
+            } catch (NoSuchElementException expected) {
+            }
+        }
+    }
+
+    public void testSetRejectsDuplicatesAndNulls() {
+        assertThrowsIae(() -> Set.of("a", "a"));
+        assertThrowsIae(() -> Set.of("a", "b", "a"));
+        assertThrowsIae(() -> Set.of(new String[] { "a", "b", "c", "d", "c" }));
+        assertThrowsNpe(() -> Set.of((String) null));
+        assertThrowsNpe(() -> Set.of("a", null));
+        assertThrowsNpe(() -> Set.of(null, "a"));
+        assertThrowsNpe(() -> Set.of("a", "b", null));
+        assertThrowsNpe(() -> Set.of("a").contains(null));
+        assertThrowsNpe(() -> Set.of("a", "b", "c").contains(null));
+    }
+
+    public void testSetIsImmutable() {
+        for (Set<String> set : Arrays.asList(Set.<String>of(), Set.of("a"), Set.of("a", "b"),
+                Set.of("a", "b", "c"))) {
+            assertImmutable(set);
+        }
+    }
+
+    public void testSetCopyOf() {
+        List<String> source = Arrays.asList("a", "b", "a", "c");
+        Set<String> copy = Set.copyOf(source);
+        assertEquals(setOf("a", "b", "c"), copy);
+        assertSame(copy, Set.copyOf(copy));
+        assertThrowsNpe(() -> Set.copyOf(Arrays.asList("a", null)));
+    }
+
+    public void testMapOf() {
+        assertEquals(Collections.emptyMap(), Map.of());
+        assertEquals(mapOf("a", 1), Map.of("a", 1));
+        assertEquals(mapOf("a", 1, "b", 2), Map.of("a", 1, "b", 2));
+        Map<Integer, Integer> ten = Map.of(1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8, 9, 9,
+                10, 10);
+        assertEquals(10, ten.size());
+        for (int i = 1; i <= 10; i++) {
+            assertEquals(Integer.valueOf(i), ten.get(i));
+        }
+        assertNull(ten.get(11));
+        assertTrue(ten.containsKey(10));
+        assertTrue(ten.containsValue(10));
+        assertFalse(ten.containsValue(11));
+
+        Map<String, Integer> expected = mapOf("a", 1, "b", 2);
+        assertEquals(expected.hashCode(), Map.of("a", 1, "b", 2).hashCode());
+        assertEquals(mapOf("a", 1).hashCode(), Map.of("a", 1).hashCode());
+        assertEquals(expected.entrySet(), Map.of("a", 1, "b", 2).entrySet());
+        assertEquals("{a=1}", Map.of("a", 1).toString());
+    }
+
+    public void testMapOfEntriesAndEntry() {
+        Map<String, Integer> map = Map.ofEntries(Map.entry("a", 1), Map.entry("b", 2),
+                Map.entry("c", 3));
+        assertEquals(mapOf("a", 1, "b", 2, "c", 3), map);
+        assertEquals(Map.of(), Map.ofEntries());
+        assertEquals(Map.of("a", 1), Map.ofEntries(Map.entry("a", 1)));
+
+        Map.Entry<String, Integer> entry = Map.entry("a", 1);
+        assertEquals(new java.util.AbstractMap.SimpleEntry<>("a", 1), entry);
+        assertEquals("a".hashCode() ^ 1, entry.hashCode());
+        assertEquals("a=1", entry.toString());
+        assertThrowsUoe(() -> entry.setValue(2));
+        assertThrowsNpe(() -> Map.entry(null, 1));
+        assertThrowsNpe(() -> Map.entry("a", null));
+    }
+
+    public void testMapRejectsDuplicatesAndNulls() {
+        assertThrowsIae(() -> Map.of("a", 1, "a", 2));
+        assertThrowsIae(() -> Map.ofEntries(Map.entry("a", 1), Map.entry("b", 2),
+                Map.entry("a", 3)));
+        assertThrowsNpe(() -> Map.of(null, 1));
+        assertThrowsNpe(() -> Map.of("a", null));
+        assertThrowsNpe(() -> Map.of("a", 1, "b", null));
+        assertThrowsNpe(() -> Map.of("a", 1).get(null));
+        assertThrowsNpe(() -> Map.of().get(null));
+        assertThrowsNpe(() -> Map.of("a", 1, "b", 2).containsKey(null));
+        assertThrowsNpe(() -> Map.of("a", 1, "b", 2).containsValue(null));
+    }
+
+    public void testMapIsImmutable() {
+        for (Map<String, Integer> map : Arrays.asList(Map.<String, Integer>of(),
+                Map.of("a", 1), Map.of("a", 1, "b", 2))) {
+            assertThrowsUoe(() -> map.put("x", 1));
+            assertThrowsUoe(() -> map.remove("a"));
+            assertThrowsUoe(() -> map.putAll(mapOf("x", 1)));
+            assertThrowsUoe(() -> map.clear());
+            assertThrowsUoe(() -> map.putIfAbsent("x", 1));
+            assertThrowsUoe(() -> map.replace("a", 2));
+            assertThrowsUoe(() -> map.replaceAll((k, v) -> v));
+            assertThrowsUoe(() -> map.compute("a", (k, v) -> v));
+            assertThrowsUoe(() -> map.merge("a", 1, (a, b) -> a));
+            assertThrowsUoe(() -> map.keySet().clear());
+            assertThrowsUoe(() -> map.values().clear());
+            if (!map.isEmpty()) {
+                assertThrowsUoe(() -> map.entrySet().clear());
+                Iterator<Map.Entry<String, Integer>> it = map.entrySet().iterator();
+                it.next();
+                assertThrowsUoe(it::remove);
+            }
+        }
+    }
+
+    public void testMapCopyOf() {
+        Map<String, Integer> source = mapOf("a", 1, "b", 2, "c", 3);
+        Map<String, Integer> copy = Map.copyOf(source);
+        source.put("d", 4);
+        assertEquals(mapOf("a", 1, "b", 2, "c", 3), copy);
+        assertSame(copy, Map.copyOf(copy));
+        Map<String, Integer> withNull = new HashMap<>();
+        withNull.put("a", null);
+        assertThrowsNpe(() -> Map.copyOf(withNull));
+    }
+
+    public void testSerialization() throws Exception {
+        List<Object> collections = Arrays.asList(List.of(), List.of("a"), List.of("a", "b"),
+                List.of("a", "b", "c"), Set.of(), Set.of("a"), Set.of("a", "b"),
+                Set.of("a", "b", "c"), Map.of(), Map.of("a", 1), Map.of("a", 1, "b", 2));
+        for (Object collection : collections) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(collection);
+            }
+            Object copy;
+            try (ObjectInputStream in = new ObjectInputStream(
+                    new ByteArrayInputStream(bytes.toByteArray()))) {
+                copy = in.readObject();
+            }
+            assertEquals(collection, copy);
+            assertEquals(collection.getClass(), copy.getClass());
+        }
+    }
+
+    @SafeVarargs
+    private static <E> Set<E> setOf(E... elements) {
+        return new HashSet<>(Arrays.asList(elements));
+    }
+
+    private static <K, V> Map<K, V> mapOf(Object... keysAndValues) {
+        Map<K, V> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            @SuppressWarnings("unchecked") K k = (K) keysAndValues[i];
+            @SuppressWarnings("unchecked") V v = (V) keysAndValues[i + 1];
+            map.put(k, v);
+        }
+        return map;
+    }
+
+    private static <E> void assertImmutable(Collection<E> collection) {
+        assertThrowsUoe(() -> collection.add(null));
+        assertThrowsUoe(() -> collection.addAll(Collections.<E>emptyList()));
+        assertThrowsUoe(() -> collection.clear());
+        assertThrowsUoe(() -> collection.remove(null));
+        assertThrowsUoe(() -> collection.removeAll(Collections.emptyList()));
+        assertThrowsUoe(() -> collection.removeIf(e -> true));
+        assertThrowsUoe(() -> collection.retainAll(Collections.emptyList()));
+    }
+
+    private static void assertThrowsUoe(Runnable r) {
+        try {
+            r.run();
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+
+    private static void assertThrowsNpe(Runnable r) {
+        try {
+            r.run();
+            fail();
+        } catch (NullPointerException expected) {
+        }
+    }
+
+    private static void assertThrowsIae(Runnable r) {
+        try {
+            r.run();
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.java.util.concurrent;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPoolStatistics;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import junit.framework.TestCase;
+
+public final class ForkJoinPoolStatisticsTest extends TestCase {
+
+    private ForkJoinPool pool;
+
+    @Override protected void setUp() throws Exception {
+        super.setUp();
+        pool = new ForkJoinPool(2);
+    }
+
+    @Override protected void tearDown() throws Exception {
+        pool.shutdownNow();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        super.tearDown();
+    }
+
+    /** Computes Fibonacci numbers the slow way, forking one task per call. */
+    static final class Fibonacci extends RecursiveTask<Integer> {
+        private final int n;
+
+        Fibonacci(int n) {
+            this.n = n;
+        }
+
+        @Override protected Integer compute() {
+            if (n <= 1) {
+                return n;
+            }
+            Fibonacci f1 = new Fibonacci(n - 1);
+            f1.fork();
+            Fibonacci f2 = new Fibonacci(n - 2);
+            return f2.compute() + f1.join();
+        }
+    }
+
+    public void testUnusedPool() {
+        ForkJoinPoolStatistics stats = pool.getStatistics();
+        assertEquals(2, stats.parallelism);
+        assertEquals(0, stats.poolSize);
+        assertEquals(0, stats.steals);
+        assertEquals(0, stats.externalSubmissions);
+        assertEquals(0, stats.queuedTasks);
+        assertEquals(0, stats.queuedSubmissions);
+        assertTrue(stats.workers().isEmpty());
+    }
+
+    public void testExternalSubmissionsAreCounted() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            pool.submit(new Runnable() {
+                @Override public void run() {
+                }
+            }).get();
+        }
+        assertTrue(pool.awaitQuiescence(10, TimeUnit.SECONDS));
+        ForkJoinPoolStatistics stats = pool.getStatistics();
+        assertEquals(10, stats.externalSubmissions);
+        assertEquals(10, stats.steals);
+        assertFalse(stats.workers().isEmpty());
+    }
+
+    public void testForkedTasksAreNotExternalSubmissions() throws Exception {
+        assertEquals(6765, (int) pool.invoke(new Fibonacci(20)));
+        assertTrue(pool.awaitQuiescence(10, TimeUnit.SECONDS));
+        ForkJoinPoolStatistics stats = pool.getStatistics();
+        assertEquals(1, stats.externalSubmissions);
+        assertEquals(0, stats.queuedTasks);
+        assertEquals(0, stats.queuedSubmissions);
+    }
+
+    public void testTotalsIncludeEveryWorker() throws Exception {
+        pool.invoke(new Fibonacci(20));
+        assertTrue(pool.awaitQuiescence(10, TimeUnit.SECONDS));
+        ForkJoinPoolStatistics stats = pool.getStatistics();
+        long steals = 0;
+        long parks = 0;
+        long compensations = 0;
+        for (ForkJoinPoolStatistics.Worker worker : stats.workers()) {
+            assertEquals(1, worker.poolIndex & 1);
+            assertNotNull(worker.threadName);
+            steals += worker.steals;
+            parks += worker.parks;
+            compensations += worker.compensations;
+        }
+        assertEquals(steals, stats.steals);
+        assertEquals(parks, stats.parks);
+        assertEquals(compensations, stats.compensations);
+        assertEquals(pool.getStealCount(), stats.steals);
+    }
+
+    public void testIdleWorkersPark() throws Exception {
+        pool.submit(new Runnable() {
+            @Override public void run() {
+            }
+        }).get();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pool.getStatistics().parks == 0) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    public void testTaskLatencySampler() throws Exception {
+        final AtomicInteger samples = new AtomicInteger();
+        final AtomicLong nanos = new AtomicLong();
+        pool.setTaskLatencySampler(new ForkJoinPoolStatistics.TaskLatencySampler() {
+            @Override public void sampleTaskLatency(ForkJoinTask<?> task, long elapsed) {
+                samples.incrementAndGet();
+                nanos.addAndGet(elapsed);
+            }
+        }, 1);
+        for (int i = 0; i < 5; i++) {
+            pool.submit(new Runnable() {
+                @Override public void run() {
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                }
+            }).get();
+        }
+        assertTrue(pool.awaitQuiescence(10, TimeUnit.SECONDS));
+        assertEquals(5, samples.get());
+        assertTrue(nanos.get() >= TimeUnit.MILLISECONDS.toNanos(25));
+
+        pool.setTaskLatencySampler(null, 1);
+        pool.submit(new Runnable() {
+            @Override public void run() {
+            }
+        }).get();
+        assertTrue(pool.awaitQuiescence(10, TimeUnit.SECONDS));
+        assertEquals(5, samples.get());
+    }
+
+    public void testTaskLatencySamplerExceptionsAreIgnored() throws Exception {
+        pool.setTaskLatencySampler(new ForkJoinPoolStatistics.TaskLatencySampler() {
+            @Override public void sampleTaskLatency(ForkJoinTask<?> task, long elapsed) {
+                throw new RuntimeException();
+            }
+        }, 1);
+        assertEquals(55, (int) pool.invoke(new Fibonacci(10)));
+        assertEquals(55, (int) pool.submit(new Fibonacci(10)).get());
+    }
+
+    public void testTaskLatencySamplerRejectsBadInterval() {
+        try {
+            pool.setTaskLatencySampler(null, 0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.java.util.concurrent;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.AbstractQueuedLongSynchronizer;
+import java.util.concurrent.locks.AbstractQueuedSynchronizer;
+import java.util.concurrent.locks.LockContention;
+import java.util.concurrent.locks.LockSupport;
+import libcore.java.lang.ref.FinalizationTester;
+import junit.framework.TestCase;
+
+public final class LockContentionTest extends TestCase {
+
+    /** A non-reentrant mutex, as in the AbstractQueuedSynchronizer documentation. */
+    static final class Mutex extends AbstractQueuedSynchronizer {
+        @Override protected boolean tryAcquire(int acquires) {
+            return compareAndSetState(0, 1);
+        }
+
+        @Override protected boolean tryRelease(int releases) {
+            setState(0);
+            return true;
+        }
+    }
+
+    /** A latch that opens once signalled, using 64-bit state. */
+    static final class LongLatch extends AbstractQueuedLongSynchronizer {
+        @Override protected long tryAcquireShared(long ignored) {
+            return (getState() != 0) ? 1 : -1;
+        }
+
+        @Override protected boolean tryReleaseShared(long ignored) {
+            setState(1);
+            return true;
+        }
+    }
+
+    @Override protected void tearDown() throws Exception {
+        LockContention.setEnabled(false);
+        super.tearDown();
+    }
+
+    public void testUncontendedAcquiresAreNotCounted() {
+        LockContention.setEnabled(true);
+        Mutex mutex = new Mutex();
+        for (int i = 0; i < 100; i++) {
+            mutex.acquire(1);
+            mutex.release(1);
+        }
+        assertNull(sampleFor(mutex));
+    }
+
+    public void testContendedAcquire() throws Exception {
+        LockContention.setEnabled(true);
+        final Mutex mutex = new Mutex();
+        mutex.acquire(1);
+        Thread waiter = new Thread() {
+            @Override public void run() {
+                mutex.acquire(1);
+                mutex.release(1);
+            }
+        };
+        waiter.start();
+        awaitParked(waiter, mutex);
+        Thread.sleep(10);
+        mutex.release(1);
+        waiter.join();
+
+        LockContention.Sample sample = sampleFor(mutex);
+        assertNotNull(sample);
+        assertEquals(1, sample.contendedAcquires);
+        assertTrue(sample.parks >= 1);
+        assertTrue(sample.maxParkNanos >= TimeUnit.MILLISECONDS.toNanos(10));
+        assertTrue(sample.totalParkNanos >= sample.maxParkNanos);
+        assertEquals(sample.parks, sum(sample.parkHistogram()));
+        assertTrue(sample.name().startsWith(Mutex.class.getName() + "@"));
+        assertTrue(sample.toString().contains("contendedAcquires=1"));
+    }
+
+    public void testTimedSharedAcquire() throws Exception {
+        LockContention.setEnabled(true);
+        LongLatch latch = new LongLatch();
+        assertFalse(latch.tryAcquireSharedNanos(1, TimeUnit.MILLISECONDS.toNanos(20)));
+
+        LockContention.Sample sample = sampleFor(latch);
+        assertNotNull(sample);
+        assertEquals(1, sample.contendedAcquires);
+        assertTrue(sample.parks >= 1);
+        assertTrue(sample.totalParkNanos > 0);
+    }
+
+    public void testNothingCountedWhileDisabled() throws Exception {
+        final Mutex mutex = new Mutex();
+        mutex.acquire(1);
+        Thread waiter = new Thread() {
+            @Override public void run() {
+                mutex.acquire(1);
+                mutex.release(1);
+            }
+        };
+        waiter.start();
+        awaitParked(waiter, mutex);
+        mutex.release(1);
+        waiter.join();
+        assertNull(sampleFor(mutex));
+    }
+
+    public void testCountersSurviveDisablingUntilReset() throws Exception {
+        LockContention.setEnabled(true);
+        LongLatch latch = new LongLatch();
+        assertFalse(latch.tryAcquireSharedNanos(1, TimeUnit.MILLISECONDS.toNanos(1)));
+        LockContention.setEnabled(false);
+        assertFalse(LockContention.isEnabled());
+        assertEquals(1, sampleFor(latch).contendedAcquires);
+
+        LockContention.reset();
+        LockContention.Sample sample = sampleFor(latch);
+        assertEquals(0, sample.contendedAcquires);
+        assertEquals(0, sample.parks);
+        assertEquals(0, sample.totalParkNanos);
+        assertEquals(0, sample.maxParkNanos);
+        assertEquals(0, sum(sample.parkHistogram()));
+    }
+
+    public void testDump() throws Exception {
+        LockContention.setEnabled(true);
+        LongLatch latch = new LongLatch();
+        assertFalse(latch.tryAcquireSharedNanos(1, TimeUnit.MILLISECONDS.toNanos(1)));
+        StringWriter out = new StringWriter();
+        LockContention.dump(new PrintWriter(out));
+        assertTrue(out.toString(), out.toString().startsWith("Lock contention (enabled): "));
+        assertTrue(out.toString(), out.toString().contains(sampleFor(latch).name()));
+    }
+
+    public void testCollectedSynchronizersAreDropped() throws Exception {
+        LockContention.setEnabled(true);
+        int before = LockContention.snapshot().size();
+        for (int i = 0; i < 100; i++) {
+            assertFalse(new LongLatch().tryAcquireSharedNanos(1, 1));
+        }
+        FinalizationTester.induceFinalization();
+        LongLatch latch = new LongLatch();
+        assertFalse(latch.tryAcquireSharedNanos(1, 1));
+        assertNotNull(sampleFor(latch));
+        assertTrue(LockContention.snapshot().size() <= before + 1);
+    }
+
+    private static void awaitParked(Thread thread, Object blocker) throws InterruptedException {
+        while (LockSupport.getBlocker(thread) != blocker) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static LockContention.Sample sampleFor(Object synchronizer) {
+        for (LockContention.Sample sample : LockContention.snapshot()) {
+            if (sample.synchronizer() == synchronizer) {
+                return sample;
+            }
+        }
+        return null;
+    }
+
+    private static long sum(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.java.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.MpscArrayQueue;
+import junit.framework.TestCase;
+
+public final class MpscArrayQueueTest extends TestCase {
+
+    public void testConstructorRejectsBadCapacity() {
+        try {
+            new MpscArrayQueue<String>(0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            new MpscArrayQueue<String>((1 << 30) + 1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testOfferRejectsNull() {
+        MpscArrayQueue<String> queue = new MpscArrayQueue<String>(4);
+        try {
+            queue.offer(null);
+            fail();
+        } catch (NullPointerException expected) {
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    /** The capacity is honored exactly even when it isn't a power of two. */
+    public void testOfferFailsWhenFull() {
+        MpscArrayQueue<Integer> queue = new MpscArrayQueue<Integer>(3);
+        assertEquals(3, queue.capacity());
+        assertTrue(queue.offer(1));
+        assertTrue(queue.offer(2));
+        assertTrue(queue.offer(3));
+        assertFalse(queue.offer(4));
+        assertEquals(3, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+        try {
+            queue.add(4);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+
+        assertEquals(Integer.valueOf(1), queue.poll());
+        assertEquals(1, queue.remainingCapacity());
+        assertTrue(queue.offer(4));
+        assertFalse(queue.offer(5));
+    }
+
+    public void testSingletonQueue() {
+        MpscArrayQueue<String> queue = new MpscArrayQueue<String>(1);
+        assertTrue(queue.offer("a"));
+        assertFalse(queue.offer("b"));
+        assertEquals("a", queue.poll());
+        assertTrue(queue.offer("b"));
+        assertEquals("b", queue.peek());
+        assertEquals("b", queue.poll());
+        assertNull(queue.poll());
+    }
+
+    public void testFifoOrderAcrossWraparound() {
+        MpscArrayQueue<Integer> queue = new MpscArrayQueue<Integer>(5);
+        int next = 0;
+        int expected = 0;
+        for (int round = 0; round < 20; round++) {
+            while (queue.offer(next)) {
+                next++;
+            }
+            assertEquals(5, queue.size());
+            for (int i = 0; i < 3; i++) {
+                assertEquals(Integer.valueOf(expected), queue.peek());
+                assertEquals(Integer.valueOf(expected++), queue.poll());
+            }
+        }
+        while (!queue.isEmpty()) {
+            assertEquals(Integer.valueOf(expected++), queue.poll());
+        }
+        assertEquals(next, expected);
+        assertNull(queue.peek());
+        assertNull(queue.poll());
+    }
+
+    public void testDrainHonorsLimit() {
+        MpscArrayQueue<String> queue = new MpscArrayQueue<String>(8);
+        queue.addAll(Arrays.asList("a", "b", "c", "d", "e"));
+        List<String> drained = new ArrayList<String>();
+        assertEquals(0, queue.drain(drained::add, 0));
+        assertEquals(3, queue.drain(drained::add, 3));
+        assertEquals(Arrays.asList("a", "b", "c"), drained);
+        assertEquals(2, queue.size());
+        assertEquals(2, queue.drain(drained::add, 10));
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), drained);
+        assertEquals(0, queue.drain(drained::add, 10));
+        assertTrue(queue.isEmpty());
+    }
+
+    public void testDrainRejectsBadArguments() {
+        MpscArrayQueue<String> queue = new MpscArrayQueue<String>(8);
+        try {
+            queue.drain(null, 1);
+            fail();
+        } catch (NullPointerException expected) {
+        }
+        try {
+            queue.drain(e -> {}, -1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    /** An element whose consumer throws has already been removed. */
+    public void testDrainConsumerThrows() {
+        MpscArrayQueue<String> queue = new MpscArrayQueue<String>(8);
+        queue.addAll(Arrays.asList("a", "b", "c"));
+        try {
+            queue.drain(e -> {
+                if (e.equals("b")) {
+                    throw new UnsupportedOperationException();
+                }
+            }, 10);
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+        assertEquals(1, queue.size());
+        assertEquals("c", queue.poll());
+    }
+
+    /**
+     * Iterators see the elements present when they were created, but
+     * skip slots that have since been consumed and refilled.
+     */
+    public void testIterator() {
+        MpscArrayQueue<String> queue = new MpscArrayQueue<String>(4);
+        queue.addAll(Arrays.asList("a", "b", "c", "d"));
+        queue.poll();
+        queue.offer("e");
+        Iterator<String> it = queue.iterator();
+        assertTrue(it.hasNext());
+        queue.poll();
+        queue.poll();
+        queue.offer("f");
+        queue.offer("g"); // reuses the slot that held "c"
+        assertEquals("b", it.next()); // already fetched
+        assertEquals("d", it.next());
+        assertEquals("e", it.next());
+        assertFalse(it.hasNext());
+        try {
+            it.next();
+            fail();
+        } catch (NoSuchElementException expected) {
+        }
+        assertEquals("[d, e, f, g]", queue.toString());
+    }
+
+    public void testClear() {
+        MpscArrayQueue<String> queue = new MpscArrayQueue<String>(4);
+        queue.addAll(Arrays.asList("a", "b", "c"));
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+        assertEquals(4, queue.remainingCapacity());
+    }
+
+    /**
+     * Every element offered by several producers is consumed exactly
+     * once, and each producer's elements arrive in the order offered.
+     */
+    public void testConcurrentProducers() throws Exception {
+        final int producerCount = 4;
+        final int perProducer = 50000;
+        final MpscArrayQueue<long[]> queue = new MpscArrayQueue<long[]>(64);
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] producers = new Thread[producerCount];
+        for (int i = 0; i < producerCount; i++) {
+            final int producer = i;
+            producers[i] = new Thread() {
+                @Override public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < perProducer; j++) {
+                        long[] element = new long[] { producer, j };
+                        while (!queue.offer(element)) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            };
+            producers[i].start();
+        }
+        start.countDown();
+
+        final long[] nextExpected = new long[producerCount];
+        int consumed = 0;
+        while (consumed < producerCount * perProducer) {
+            int drained = queue.drain(element -> {
+                assertEquals(nextExpected[(int) element[0]]++, element[1]);
+            }, 16);
+            if (drained == 0) {
+                long[] element = queue.poll();
+                if (element != null) {
+                    assertEquals(nextExpected[(int) element[0]]++, element[1]);
+                    drained = 1;
+                }
+            }
+            consumed += drained;
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        for (long count : nextExpected) {
+            assertEquals(perProducer, count);
+        }
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+    }
+}
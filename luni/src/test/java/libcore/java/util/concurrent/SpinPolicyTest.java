@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.java.util.concurrent;
+
+import java.util.concurrent.Exchanger;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.SpinPolicy;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.TestCase;
+
+public final class SpinPolicyTest extends TestCase {
+
+    private static final boolean MP = Runtime.getRuntime().availableProcessors() > 1;
+
+    /** Spins as much as allowed, counting the outcomes it is told about. */
+    static final class RecordingSpinPolicy extends SpinPolicy {
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger handedOff = new AtomicInteger();
+        final AtomicInteger parked = new AtomicInteger();
+
+        @Override public int spins(int maxSpins) {
+            calls.incrementAndGet();
+            return maxSpins;
+        }
+
+        @Override public void recordSpin(boolean handedOff) {
+            (handedOff ? this.handedOff : parked).incrementAndGet();
+        }
+    }
+
+    public void testFixed() {
+        assertSame(SpinPolicy.fixed(), SpinPolicy.fixed());
+        assertEquals(MP ? 512 : 0, SpinPolicy.fixed().spins(512));
+        for (int i = 0; i < 100; i++) {
+            SpinPolicy.fixed().recordSpin(false);
+        }
+        assertEquals(MP ? 512 : 0, SpinPolicy.fixed().spins(512));
+    }
+
+    public void testAdaptiveShrinksWhenWaitersPark() {
+        if (!MP) {
+            return;
+        }
+        SpinPolicy policy = SpinPolicy.adaptive();
+        assertEquals(512, policy.spins(512));
+        policy.recordSpin(false);
+        assertEquals(256, policy.spins(512));
+        for (int i = 0; i < 100; i++) {
+            policy.recordSpin(false);
+        }
+        assertEquals(32, policy.spins(512));
+        assertEquals(2, policy.spins(32));
+    }
+
+    public void testAdaptiveGrowsWhenHandOffsSucceed() {
+        if (!MP) {
+            return;
+        }
+        SpinPolicy policy = SpinPolicy.adaptive();
+        for (int i = 0; i < 100; i++) {
+            policy.recordSpin(false);
+        }
+        policy.recordSpin(true);
+        assertEquals(64, policy.spins(512));
+        for (int i = 0; i < 100; i++) {
+            policy.recordSpin(true);
+        }
+        assertEquals(512, policy.spins(512));
+    }
+
+    public void testAdaptivePoliciesAreIndependent() {
+        if (!MP) {
+            return;
+        }
+        SpinPolicy a = SpinPolicy.adaptive();
+        SpinPolicy b = SpinPolicy.adaptive();
+        a.recordSpin(false);
+        assertEquals(256, a.spins(512));
+        assertEquals(512, b.spins(512));
+    }
+
+    public void testNullPolicyIsRejected() {
+        try {
+            new SynchronousQueue<Object>(false, null);
+            fail();
+        } catch (NullPointerException expected) {
+        }
+        try {
+            new LinkedTransferQueue<Object>().setSpinPolicy(null);
+            fail();
+        } catch (NullPointerException expected) {
+        }
+        try {
+            new Exchanger<Object>(null);
+            fail();
+        } catch (NullPointerException expected) {
+        }
+    }
+
+    public void testSynchronousQueueReportsParks() throws Exception {
+        for (boolean fair : new boolean[] { false, true }) {
+            RecordingSpinPolicy policy = new RecordingSpinPolicy();
+            SynchronousQueue<Integer> queue = new SynchronousQueue<Integer>(fair, policy);
+            // Nobody takes, so the waiter spins, parks and times out.
+            assertFalse(queue.offer(1, 20, TimeUnit.MILLISECONDS));
+            assertEquals(1, policy.calls.get());
+            assertEquals(1, policy.parked.get());
+            assertEquals(0, policy.handedOff.get());
+        }
+    }
+
+    public void testLinkedTransferQueueReportsParks() throws Exception {
+        RecordingSpinPolicy policy = new RecordingSpinPolicy();
+        LinkedTransferQueue<Integer> queue = new LinkedTransferQueue<Integer>();
+        queue.setSpinPolicy(policy);
+        assertNull(queue.poll(20, TimeUnit.MILLISECONDS));
+        assertEquals(1, policy.calls.get());
+        assertEquals(1, policy.parked.get());
+        assertEquals(0, policy.handedOff.get());
+    }
+
+    public void testExchangerReportsParks() throws Exception {
+        RecordingSpinPolicy policy = new RecordingSpinPolicy();
+        Exchanger<Integer> exchanger = new Exchanger<Integer>(policy);
+        try {
+            exchanger.exchange(1, 20, TimeUnit.MILLISECONDS);
+            fail();
+        } catch (TimeoutException expected) {
+        }
+        assertEquals(1, policy.calls.get());
+        assertEquals(1, policy.parked.get());
+        assertEquals(0, policy.handedOff.get());
+    }
+
+    public void testHandOffsWithAdaptivePolicy() throws Exception {
+        final SynchronousQueue<Integer> sq = new SynchronousQueue<Integer>(false, SpinPolicy.adaptive());
+        final LinkedTransferQueue<Integer> ltq = new LinkedTransferQueue<Integer>();
+        ltq.setSpinPolicy(SpinPolicy.adaptive());
+        final Exchanger<Integer> exchanger = new Exchanger<Integer>(SpinPolicy.adaptive());
+        final int count = 10000;
+        Thread producer = new Thread() {
+            @Override public void run() {
+                try {
+                    for (int i = 0; i < count; i++) {
+                        sq.put(i);
+                        ltq.transfer(i);
+                        exchanger.exchange(i);
+                    }
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+            }
+        };
+        producer.start();
+        long sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += sq.take();
+            sum += ltq.take();
+            sum += exchanger.exchange(-i);
+        }
+        producer.join();
+        assertEquals(3L * count * (count - 1) / 2, sum);
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.java.util.regex;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import junit.framework.TestCase;
+
+/**
+ * Checks that the pure-Java engine matches the way ICU does.
+ */
+public class PatternJavaEngineTest extends TestCase {
+
+    private static final String[] REGEXES = {
+        "", "a", "abc", "a|b", "ab|a", "a*", "a+", "a?", "a*?", "a+?", "a??",
+        "a{2}", "a{1,3}", "a{2,}", "a{1,3}?", "(a)(b)?", "(a|b)*c", "(ab)+", "(?:ab|a)b",
+        "(a*)(a+)", "(a*?)(a+)", "((a)|b)+", "(a?)*?x",
+        ".", ".*", ".+x", "\\d+", "\\D", "\\w+", "\\W+", "\\s", "\\S+",
+        "[abc]+", "[^abc]+", "[a-c]*d", "[\\d,]+", "[^\\s]+", "[-x]", "[x-]", "[\\w-]+",
+        "\\.", "\\\\", "\\t", "\\x41", "\\x{1F600}", "\\u00e9", "\\0101", "\\Qa.b\\E+",
+        "^a", "a$", "^$", "^", "$", "\\Aa", "a\\z", "^.*$",
+        "\\d{3}-\\d{4}", "[a-z]+@[a-z]+\\.com", "(\\w+)=(\\w*);?",
+        "é+", "😀", "[😀x]+",
+    };
+
+    private static final String[] INPUTS = {
+        "", "a", "b", "aaa", "abab", "abc", "aabbcc", "x", "ax", "aaxa",
+        "a\nb", "a\r\nb\r\n", "a b\u0085", "\n", "a\n", "a\r\n",
+        "a.b", "a\\b", "\t  　", "12 345", "٣٤", "A",
+        "555-1234 and 555-9876", "joe@example.com, ann@test.com",
+        "k1=v1;k2=;k3=v3", "éété", "x😀😀y", "\ud83d",
+    };
+
+    private static final int[] FLAGS = {
+        0, Pattern.MULTILINE, Pattern.UNIX_LINES, Pattern.MULTILINE | Pattern.UNIX_LINES,
+    };
+
+    public void test_find() {
+        for (int flags : FLAGS) {
+            for (String regex : REGEXES) {
+                Pattern icu = Pattern.compile(regex, flags);
+                Pattern java = Pattern.compile(regex, flags | Pattern.JAVA_ENGINE);
+                for (String input : INPUTS) {
+                    String message = describe(regex, flags, input);
+                    assertEquals(message, findAll(icu.matcher(input)),
+                            findAll(java.matcher(input)));
+                }
+            }
+        }
+    }
+
+    public void test_matchesAndLookingAt() {
+        for (int flags : FLAGS) {
+            for (String regex : REGEXES) {
+                Pattern icu = Pattern.compile(regex, flags);
+                Pattern java = Pattern.compile(regex, flags | Pattern.JAVA_ENGINE);
+                for (String input : INPUTS) {
+                    String message = describe(regex, flags, input);
+                    Matcher expected = icu.matcher(input);
+                    Matcher actual = java.matcher(input);
+                    assertEquals(message, expected.matches(), actual.matches());
+                    assertEquals(message, result(expected), result(actual));
+                    assertEquals(message, expected.hitEnd(), actual.hitEnd());
+                    assertEquals(message, expected.lookingAt(), actual.lookingAt());
+                    assertEquals(message, result(expected), result(actual));
+                }
+            }
+        }
+    }
+
+    public void test_splitAndReplace() {
+        for (String regex : REGEXES) {
+            Pattern icu = Pattern.compile(regex);
+            Pattern java = Pattern.compile(regex, Pattern.JAVA_ENGINE);
+            for (String input : INPUTS) {
+                String message = describe(regex, 0, input);
+                assertEquals(message, Arrays.toString(icu.split(input)),
+                        Arrays.toString(java.split(input)));
+                assertEquals(message, Arrays.toString(icu.split(input, -1)),
+                        Arrays.toString(java.split(input, -1)));
+                assertEquals(message, icu.matcher(input).replaceAll("<$0>"),
+                        java.matcher(input).replaceAll("<$0>"));
+                assertEquals(message, icu.matcher(input).replaceFirst("-"),
+                        java.matcher(input).replaceFirst("-"));
+            }
+        }
+    }
+
+    public void test_regions() {
+        String input = "ab\nab\nab";
+        for (String regex : new String[] { "^ab", "ab$", "\\Aab", "ab\\z", "b\\n?a", ".+" }) {
+            for (int flags : FLAGS) {
+                Matcher expected = Pattern.compile(regex, flags).matcher(input);
+                Matcher actual = Pattern.compile(regex, flags | Pattern.JAVA_ENGINE)
+                        .matcher(input);
+                for (boolean anchoring : new boolean[] { true, false }) {
+                    expected.useAnchoringBounds(anchoring);
+                    actual.useAnchoringBounds(anchoring);
+                    for (int start = 0; start <= input.length(); start++) {
+                        for (int end = start; end <= input.length(); end++) {
+                            String message = describe(regex, flags, input) + " " + start
+                                    + "-" + end + " " + anchoring;
+                            expected.region(start, end);
+                            actual.region(start, end);
+                            assertEquals(message, findAll(expected), findAll(actual));
+                            expected.region(start, end);
+                            actual.region(start, end);
+                            assertEquals(message, expected.lookingAt(), actual.lookingAt());
+                            assertEquals(message, expected.matches(), actual.matches());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public void test_findFromIndex() {
+        Matcher expected = Pattern.compile("a*").matcher("baab");
+        Matcher actual = Pattern.compile("a*", Pattern.JAVA_ENGINE).matcher("baab");
+        for (int start = 0; start <= 4; start++) {
+            assertEquals(expected.find(start), actual.find(start));
+            assertEquals(result(expected), result(actual));
+            assertEquals(findAll(expected), findAll(actual));
+        }
+    }
+
+    public void test_usePattern() {
+        Matcher m = Pattern.compile("a+").matcher("xaay");
+        assertTrue(m.find());
+        m.usePattern(Pattern.compile("(y)", Pattern.JAVA_ENGINE));
+        assertEquals(1, m.groupCount());
+        assertTrue(m.find());
+        assertEquals("y", m.group(1));
+        m.usePattern(Pattern.compile("x"));
+        assertEquals(0, m.groupCount());
+        assertTrue(m.reset().find());
+        assertEquals(0, m.start());
+    }
+
+    public void test_unsupportedSyntaxFallsBack() {
+        String[] regexes = { "\\bx", "(?i)X", "x(?=y)", "(x)\\1", "x++", "[a&&b]", "\\p{L}" };
+        for (String regex : regexes) {
+            Pattern icu = Pattern.compile(regex);
+            Pattern java = Pattern.compile(regex, Pattern.JAVA_ENGINE);
+            for (String input : new String[] { "x", "xx", "xy", "X x", "ab" }) {
+                assertEquals(regex, findAll(icu.matcher(input)), findAll(java.matcher(input)));
+            }
+        }
+        Pattern insensitive = Pattern.compile("x", Pattern.CASE_INSENSITIVE | Pattern.JAVA_ENGINE);
+        assertTrue(insensitive.matcher("X").matches());
+        assertEquals(Pattern.CASE_INSENSITIVE | Pattern.JAVA_ENGINE, insensitive.flags());
+    }
+
+    public void test_syntaxErrors() {
+        for (String regex : new String[] { "(", "a)", "[a", "*", "a{2,1}", "\\" }) {
+            try {
+                Pattern.compile(regex, Pattern.JAVA_ENGINE);
+                fail(regex);
+            } catch (java.util.regex.PatternSyntaxException expected) {
+            }
+        }
+    }
+
+    public void test_literal() {
+        Pattern java = Pattern.compile("a.*(", Pattern.LITERAL | Pattern.JAVA_ENGINE);
+        assertTrue(java.matcher("a.*(").matches());
+        assertFalse(java.matcher("ab").find());
+    }
+
+    private static String describe(String regex, int flags, String input) {
+        return "/" + regex + "/" + flags + " \"" + input + "\"";
+    }
+
+    private static String result(Matcher m) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            for (int i = 0; i <= m.groupCount(); i++) {
+                sb.append(m.start(i)).append(',').append(m.end(i)).append(';');
+            }
+        } catch (IllegalStateException noMatch) {
+            return "no match";
+        }
+        return sb.toString();
+    }
+
+    private static String findAll(Matcher m) {
+        StringBuilder sb = new StringBuilder();
+        while (m.find()) {
+            sb.append(result(m)).append('|');
+        }
+        return sb.append(m.hitEnd()).toString();
+    }
+}
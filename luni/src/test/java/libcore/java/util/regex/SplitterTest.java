@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.java.util.regex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.regex.Pattern;
+import java.util.regex.Splitter;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import junit.framework.TestCase;
+
+public class SplitterTest extends TestCase {
+
+    private static final String[] REGEXES = {
+        ",", "\\|", "\\.", "x*", "\\s*,\\s*", "", "a|", ",+", "^", "$", "(?=a)",
+    };
+
+    private static final String[] INPUTS = {
+        "", ",", ",,", "a", "a,", ",a", "a,b", "a,,b", "a,b,,", ",,a,,b,,", " , a ,b,",
+        "a|b||", "|", "x.y.", "aaa", "a b\tc ,d",
+    };
+
+    private static List<String> walk(Splitter splitter, String input) {
+        List<String> fields = new ArrayList<>();
+        while (splitter.next()) {
+            String field = splitter.field().toString();
+            assertEquals(input.substring(splitter.start(), splitter.end()), field);
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    public void test_sameAsSplit() {
+        for (String regex : REGEXES) {
+            for (String input : INPUTS) {
+                List<String> expected = Arrays.asList(input.split(regex));
+                String message = "/" + regex + "/ \"" + input + "\"";
+                assertEquals(message, expected, walk(input.splitter(regex), input));
+                assertEquals(message, expected,
+                        walk(Pattern.compile(regex).splitter(input), input));
+                assertEquals(message, expected, walk(
+                        Pattern.compile(regex).splitter(new StringBuilder(input)), input));
+                assertEquals(message, expected, input.splitter(regex).stream()
+                        .map(CharSequence::toString).collect(Collectors.toList()));
+            }
+        }
+    }
+
+    public void test_flags() {
+        Splitter splitter = Pattern.compile("a", Pattern.CASE_INSENSITIVE).splitter("1a2A3");
+        assertEquals(Arrays.asList("1", "2", "3"), walk(splitter, "1a2A3"));
+        splitter = Pattern.compile("\\.", Pattern.LITERAL).splitter("1.2\\.3");
+        assertEquals(Arrays.asList("1.2", "3"), walk(splitter, "1.2\\.3"));
+    }
+
+    public void test_spliteratorAfterNext() {
+        for (String regex : new String[] { ",", ",+" }) {
+            Splitter splitter = "a,b,c,".splitter(regex);
+            assertTrue(splitter.next());
+            assertEquals("a", splitter.field().toString());
+            assertEquals(Arrays.asList("b", "c"), splitter.stream()
+                    .map(CharSequence::toString).collect(Collectors.toList()));
+            assertFalse(splitter.next());
+        }
+    }
+
+    public void test_parallel() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            sb.append((i % 7 == 0) ? "" : Integer.toString(i)).append(',');
+        }
+        String input = sb.toString();
+        List<String> expected = Arrays.asList(input.split(","));
+
+        Spliterator<CharSequence> spliterator = input.splitter(",").spliterator();
+        assertNotNull(spliterator.trySplit());
+
+        assertEquals(expected, StreamSupport.stream(input.splitter(",").spliterator(), true)
+                .map(CharSequence::toString).collect(Collectors.toList()));
+        // Splitting around a regex can't split the input, but streams still run in parallel.
+        assertEquals(expected, StreamSupport.stream(input.splitter("[,;]").spliterator(), true)
+                .map(CharSequence::toString).collect(Collectors.toList()));
+    }
+
+    public void test_views() {
+        Splitter splitter = "key=value,other".splitter(",");
+        assertTrue(splitter.next());
+        CharSequence field = splitter.field();
+        assertEquals(9, field.length());
+        assertEquals('v', field.charAt(4));
+        assertEquals("val", field.subSequence(4, 7).toString());
+        assertEquals("a", field.subSequence(5, 7).subSequence(0, 1).toString());
+        try {
+            field.charAt(9);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+        }
+        try {
+            field.subSequence(3, 10);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+        }
+    }
+
+    public void test_noCurrentField() {
+        Splitter splitter = "a".splitter(",");
+        try {
+            splitter.start();
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        assertTrue(splitter.next());
+        assertFalse(splitter.next());
+        try {
+            splitter.field();
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+}
@@ -18,16 +18,23 @@ package libcore.java.util.zip;
 
 import android.system.OsConstants;
 import libcore.io.Libcore;
+import libcore.io.Streams;
 
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileDescriptor;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
 
@@ -85,4 +92,160 @@ public final class ZipFileTest extends AbstractZipFileTest {
             fail();
         } catch(FileNotFoundException expected) {}
     }
+
+    public void test_mapped() throws Exception {
+        File f = createMixedZipFile();
+        try (ZipFile zipFile = new ZipFile(f, ZipFile.OPEN_READ | ZipFile.OPEN_MAPPED)) {
+            assertEquals(4, zipFile.size());
+            assertEquals("archive comment", zipFile.getComment());
+            assertTrue(zipFile.startsWithLocHeader());
+            assertEquals(-1, zipFile.getFileDescriptor());
+
+            // Entries come back in order, with the same metadata as natively.
+            try (ZipFile nativeZipFile = new ZipFile(f)) {
+                Enumeration<? extends ZipEntry> expected = nativeZipFile.entries();
+                Enumeration<? extends ZipEntry> actual = zipFile.entries();
+                while (expected.hasMoreElements()) {
+                    assertEntriesEqual(expected.nextElement(), actual.nextElement());
+                }
+                assertFalse(actual.hasMoreElements());
+            }
+
+            ZipEntry stored = zipFile.getEntry("stored.txt");
+            assertEquals("stored comment", stored.getComment());
+            assertEquals("stored contents", readEntry(zipFile, stored));
+            ZipEntry deflated = zipFile.getEntry("deflated.txt");
+            assertEquals(ZipEntry.DEFLATED, deflated.getMethod());
+            assertEquals(DEFLATED_CONTENTS, readEntry(zipFile, deflated));
+
+            // Directories can be found with or without their trailing slash.
+            assertTrue(zipFile.getEntry("dir").isDirectory());
+            assertEquals("dir", zipFile.getEntry("dir").getName());
+            assertNotNull(zipFile.getEntry("dir/"));
+            assertNull(zipFile.getEntry("missing"));
+            assertNull(zipFile.getInputStream(new ZipEntry("missing")));
+        }
+    }
+
+    public void test_mapped_getEntryBuffer() throws Exception {
+        File f = createMixedZipFile();
+        try (ZipFile zipFile = new ZipFile(f, ZipFile.OPEN_READ | ZipFile.OPEN_MAPPED)) {
+            ByteBuffer buffer = zipFile.getEntryBuffer(zipFile.getEntry("stored.txt"));
+            assertTrue(buffer.isDirect());
+            assertTrue(buffer.isReadOnly());
+            assertEquals(0, buffer.position());
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            assertEquals("stored contents", new String(bytes, StandardCharsets.US_ASCII));
+
+            // Compressed and missing entries have no buffer.
+            assertNull(zipFile.getEntryBuffer(zipFile.getEntry("deflated.txt")));
+            assertNull(zipFile.getEntryBuffer(new ZipEntry("missing")));
+        }
+        // Neither do archives read natively.
+        try (ZipFile zipFile = new ZipFile(f)) {
+            assertNull(zipFile.getEntryBuffer(zipFile.getEntry("stored.txt")));
+        }
+    }
+
+    public void test_mapped_getEntryBuffer_afterClose() throws Exception {
+        File f = createMixedZipFile();
+        ZipFile zipFile = new ZipFile(f, ZipFile.OPEN_READ | ZipFile.OPEN_MAPPED);
+        ByteBuffer buffer = zipFile.getEntryBuffer(zipFile.getEntry("stored.txt"));
+        ByteBuffer slice = buffer.slice();
+        zipFile.close();
+        zipFile = null;
+        buffer = null;
+        // The slice alone has to keep the mapping alive, even once everything else is gone.
+        for (int i = 0; i < 3; i++) {
+            Runtime.getRuntime().gc();
+            System.runFinalization();
+        }
+        byte[] bytes = new byte[slice.remaining()];
+        slice.get(bytes);
+        assertEquals("stored contents", new String(bytes, StandardCharsets.US_ASCII));
+    }
+
+    public void test_mapped_jarFile() throws Exception {
+        File f = createMixedZipFile();
+        try (JarFile jarFile = new JarFile(f, true, ZipFile.OPEN_READ | ZipFile.OPEN_MAPPED)) {
+            assertTrue(jarFile.isMapped());
+            assertEquals("1.0", jarFile.getManifest().getMainAttributes().getValue("Manifest-Version"));
+        }
+    }
+
+    public void test_mapped_closed() throws Exception {
+        File f = createMixedZipFile();
+        ZipFile zipFile = new ZipFile(f, ZipFile.OPEN_READ | ZipFile.OPEN_MAPPED);
+        ZipEntry stored = zipFile.getEntry("stored.txt");
+        InputStream in = zipFile.getInputStream(stored);
+        zipFile.close();
+        try {
+            in.read();
+            fail();
+        } catch (IOException expected) {
+        }
+        try {
+            zipFile.getEntryBuffer(stored);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    public void test_mapped_notAZipFile() throws Exception {
+        File f = createTemporaryZipFile();
+        try (FileOutputStream out = new FileOutputStream(f)) {
+            out.write(new byte[128]);
+        }
+        try {
+            new ZipFile(f, ZipFile.OPEN_READ | ZipFile.OPEN_MAPPED);
+            fail();
+        } catch (ZipException expected) {
+        }
+    }
+
+    private static final String DEFLATED_CONTENTS =
+            "deflated contents, deflated contents, deflated contents";
+
+    private static File createMixedZipFile() throws Exception {
+        File f = createTemporaryZipFile();
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(f))) {
+            out.setComment("archive comment");
+            out.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            out.write("Manifest-Version: 1.0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+
+            byte[] storedBytes = "stored contents".getBytes(StandardCharsets.US_ASCII);
+            CRC32 crc = new CRC32();
+            crc.update(storedBytes);
+            ZipEntry stored = new ZipEntry("stored.txt");
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(storedBytes.length);
+            stored.setCrc(crc.getValue());
+            stored.setComment("stored comment");
+            out.putNextEntry(stored);
+            out.write(storedBytes);
+
+            out.putNextEntry(new ZipEntry("deflated.txt"));
+            out.write(DEFLATED_CONTENTS.getBytes(StandardCharsets.US_ASCII));
+
+            out.putNextEntry(new ZipEntry("dir/"));
+        }
+        return f;
+    }
+
+    private static String readEntry(ZipFile zipFile, ZipEntry entry) throws Exception {
+        try (InputStream in = zipFile.getInputStream(entry)) {
+            return new String(Streams.readFully(in), StandardCharsets.US_ASCII);
+        }
+    }
+
+    private static void assertEntriesEqual(ZipEntry expected, ZipEntry actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getTime(), actual.getTime());
+        assertEquals(expected.getCrc(), actual.getCrc());
+        assertEquals(expected.getSize(), actual.getSize());
+        assertEquals(expected.getCompressedSize(), actual.getCompressedSize());
+        assertEquals(expected.getMethod(), actual.getMethod());
+        assertEquals(expected.getComment(), actual.getComment());
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import junit.framework.TestCase;
+
+public class CharsetUtilsTest extends TestCase {
+
+    public void test_firstNonAscii() {
+        byte[] bytes = new byte[40];
+        Arrays.fill(bytes, (byte) 'a');
+        assertEquals(40, CharsetUtils.firstNonAscii(bytes, 0, 40));
+        assertEquals(3, CharsetUtils.firstNonAscii(bytes, 3, 3));
+        // Every position, so both the eight-byte steps and the tail are covered.
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) 0x80;
+            assertEquals(i, CharsetUtils.firstNonAscii(bytes, 0, 40));
+            assertEquals(40, CharsetUtils.firstNonAscii(bytes, i + 1, 40));
+            assertEquals(i, CharsetUtils.firstNonAscii(bytes, 0, i));
+            bytes[i] = 'a';
+        }
+    }
+
+    public void test_asciiPrefixToChars() {
+        byte[] bytes = "hello, world, and more\u00e9!".getBytes(StandardCharsets.UTF_8);
+        char[] chars = new char[32];
+        assertEquals(22, CharsetUtils.asciiPrefixToChars(bytes, 0, chars, 2, bytes.length));
+        assertEquals("hello, world, and more", new String(chars, 2, 22));
+        assertEquals(0, CharsetUtils.asciiPrefixToChars(bytes, 22, chars, 0, 2));
+        assertEquals(5, CharsetUtils.asciiPrefixToChars(bytes, 7, chars, 0, 5));
+        assertEquals("world", new String(chars, 0, 5));
+    }
+
+    public void test_asciiPrefixToBytes() {
+        char[] chars = "hello, world, and more\u00e9!".toCharArray();
+        byte[] bytes = new byte[32];
+        assertEquals(22, CharsetUtils.asciiPrefixToBytes(chars, 0, bytes, 2, chars.length));
+        assertEquals("hello, world, and more",
+                new String(bytes, 2, 22, StandardCharsets.US_ASCII));
+        assertEquals(0, CharsetUtils.asciiPrefixToBytes(chars, 22, bytes, 0, 2));
+        // A char that's ASCII in its low byte isn't ASCII.
+        chars[9] = '\u0161';
+        assertEquals(9, CharsetUtils.asciiPrefixToBytes(chars, 0, bytes, 0, chars.length));
+    }
+
+    public void test_utf8BytesToChars() {
+        assertUtf8Decodes("", new byte[0]);
+        assertUtf8Decodes("plain ascii text, long enough for a few words",
+                "plain ascii text, long enough for a few words".getBytes(StandardCharsets.UTF_8));
+        String mixed = "a\u00e9b\u4e2d\u6587cdefghijkl\ud83d\ude00m";
+        assertUtf8Decodes(mixed, mixed.getBytes(StandardCharsets.UTF_8));
+        // Malformed input is replaced, and decoding carries on with the ASCII that follows.
+        assertUtf8Decodes("abcdefgh\ufffdijklmnop",
+                "abcdefgh\u0080ijklmnop".getBytes(StandardCharsets.ISO_8859_1));
+        assertUtf8Decodes("\ufffdabcdefgh", new byte[] { (byte) 0xe4, 'a', 'b', 'c', 'd', 'e',
+                'f', 'g', 'h' });
+        // A truncated sequence's lead byte and continuation byte are each replaced.
+        assertUtf8Decodes("x\ufffd\ufffd", new byte[] { 'x', (byte) 0xe4, (byte) 0xb8 });
+    }
+
+    private static void assertUtf8Decodes(String expected, byte[] bytes) {
+        char[] chars = new char[bytes.length];
+        int count = CharsetUtils.utf8BytesToChars(bytes, 0, bytes.length, chars);
+        assertEquals(expected, new String(chars, 0, count));
+    }
+}
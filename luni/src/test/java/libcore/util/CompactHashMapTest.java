@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.util;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import junit.framework.TestCase;
+
+public final class CompactHashMapTest extends TestCase {
+
+    public void testPutGetRemove() {
+        Map<String, String> map = new CompactHashMap<String, String>();
+        assertTrue(map.isEmpty());
+        assertNull(map.put("a", "1"));
+        assertNull(map.put("b", "2"));
+        assertEquals("1", map.put("a", "one"));
+        assertEquals(2, map.size());
+        assertEquals("one", map.get("a"));
+        assertEquals("2", map.get("b"));
+        assertNull(map.get("c"));
+        assertTrue(map.containsKey("b"));
+        assertTrue(map.containsValue("2"));
+        assertFalse(map.containsValue("1"));
+        assertEquals("one", map.remove("a"));
+        assertNull(map.remove("a"));
+        assertEquals(1, map.size());
+        assertFalse(map.containsKey("a"));
+    }
+
+    public void testNullKeysAndValues() {
+        Map<String, String> map = new CompactHashMap<String, String>();
+        assertNull(map.put(null, "null key"));
+        assertNull(map.put("null value", null));
+        assertEquals("null key", map.get(null));
+        assertTrue(map.containsKey(null));
+        assertTrue(map.containsKey("null value"));
+        assertTrue(map.containsValue(null));
+        assertEquals(2, map.size());
+        assertEquals("null key", map.remove(null));
+        assertFalse(map.containsKey(null));
+    }
+
+    /** Keys with equal hash codes must stay reachable however they are removed. */
+    public void testCollidingKeys() {
+        Map<CollidingKey, Integer> map = new CompactHashMap<CollidingKey, Integer>();
+        for (int i = 0; i < CompactHashMap.MAX_COMPACT_SIZE; i++) {
+            map.put(new CollidingKey(i), i);
+        }
+        for (int i = 0; i < CompactHashMap.MAX_COMPACT_SIZE; i += 2) {
+            assertEquals(Integer.valueOf(i), map.remove(new CollidingKey(i)));
+        }
+        for (int i = 0; i < CompactHashMap.MAX_COMPACT_SIZE; i++) {
+            assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), map.get(new CollidingKey(i)));
+        }
+        // Reuse the slots of the removed keys.
+        for (int i = 0; i < CompactHashMap.MAX_COMPACT_SIZE; i += 2) {
+            assertNull(map.put(new CollidingKey(i), -i));
+        }
+        assertEquals(CompactHashMap.MAX_COMPACT_SIZE, map.size());
+        for (int i = 0; i < CompactHashMap.MAX_COMPACT_SIZE; i++) {
+            assertEquals(Integer.valueOf(i % 2 == 0 ? -i : i), map.get(new CollidingKey(i)));
+        }
+    }
+
+    public void testPromotionAndClear() {
+        Map<Integer, Integer> map = new CompactHashMap<Integer, Integer>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i * i);
+        }
+        assertEquals(100, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.valueOf(i * i), map.get(i));
+        }
+        assertEquals(Integer.valueOf(4), map.remove(2));
+        assertEquals(99, map.size());
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(5));
+        map.put(5, 6);
+        assertEquals(Integer.valueOf(6), map.get(5));
+        assertEquals(1, map.size());
+    }
+
+    public void testIteratorRemove() {
+        Map<Integer, Integer> map = new CompactHashMap<Integer, Integer>();
+        for (int i = 0; i < 8; i++) {
+            map.put(i, i);
+        }
+        int seen = 0;
+        for (Iterator<Map.Entry<Integer, Integer>> it = map.entrySet().iterator();
+                it.hasNext(); ) {
+            Map.Entry<Integer, Integer> entry = it.next();
+            seen++;
+            if (entry.getKey() % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(8, seen);
+        assertEquals(4, map.size());
+        for (int i = 0; i < 8; i++) {
+            assertEquals(i % 2 != 0, map.containsKey(i));
+        }
+
+        Iterator<Integer> it = map.keySet().iterator();
+        try {
+            it.remove();
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        while (it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    public void testIteratorFailsFast() {
+        Map<Integer, Integer> map = new CompactHashMap<Integer, Integer>();
+        map.put(1, 1);
+        map.put(2, 2);
+        Iterator<Integer> it = map.keySet().iterator();
+        it.next();
+        map.put(3, 3);
+        try {
+            it.next();
+            fail();
+        } catch (ConcurrentModificationException expected) {
+        }
+    }
+
+    public void testEntrySetValueWritesThrough() {
+        Map<String, String> map = new CompactHashMap<String, String>();
+        map.put("a", "1");
+        Map.Entry<String, String> entry = map.entrySet().iterator().next();
+        assertEquals("1", entry.setValue("2"));
+        assertEquals("2", map.get("a"));
+    }
+
+    public void testEqualsAndHashCodeAgreeWithHashMap() {
+        Map<String, Integer> expected = new HashMap<String, Integer>();
+        Map<String, Integer> map = new CompactHashMap<String, Integer>();
+        for (int i = 0; i < 5; i++) {
+            expected.put("k" + i, i);
+            map.put("k" + i, i);
+        }
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertEquals(expected, new CompactHashMap<String, Integer>(expected));
+
+        final Map<String, Integer> visited = new HashMap<String, Integer>();
+        map.forEach((k, v) -> visited.put(k, v));
+        assertEquals(expected, visited);
+    }
+
+    /** Compares a long random sequence of operations against a HashMap. */
+    public void testAgainstHashMap() {
+        Random random = new Random(1234);
+        Map<Integer, Integer> map = new CompactHashMap<Integer, Integer>();
+        Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+        for (int i = 0; i < 100000; i++) {
+            // Mostly stay small, so that the compact table is exercised.
+            Integer key = random.nextInt(i % 1000 < 900 ? 10 : 40);
+            switch (random.nextInt(4)) {
+                case 0:
+                    assertEquals(expected.put(key, i), map.put(key, i));
+                    break;
+                case 1:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+                case 2:
+                    if (random.nextInt(100) == 0) {
+                        expected.clear();
+                        map.clear();
+                    }
+                    break;
+                default:
+                    assertEquals(expected.get(key), map.get(key));
+                    break;
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        assertEquals(expected, map);
+    }
+
+    static final class CollidingKey {
+        final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override public int hashCode() {
+            return 42;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import junit.framework.TestCase;
+
+public final class ConcurrentLruCacheTest extends TestCase {
+
+    public void testCreateOnCacheMiss() {
+        ConcurrentLruCache<String, String> cache = newCreatingCache();
+        String created = cache.get("aa");
+        assertEquals("created-aa", created);
+        assertEquals("created-aa", cache.get("aa"));
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    public void testNoCreateOnCacheHit() {
+        ConcurrentLruCache<String, String> cache = newCreatingCache();
+        cache.put("aa", "put-aa");
+        assertEquals("put-aa", cache.get("aa"));
+    }
+
+    public void testCreateReturnsNull() {
+        ConcurrentLruCache<String, String> cache = newCreatingCache();
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.missCount());
+    }
+
+    public void testConstructorDoesNotAllowZeroCacheSize() {
+        try {
+            new ConcurrentLruCache<String, String>(0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testCannotPutNullKey() {
+        ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<String, String>(3);
+        try {
+            cache.put(null, "A");
+            fail();
+        } catch (NullPointerException expected) {
+        }
+    }
+
+    public void testCannotPutNullValue() {
+        ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<String, String>(3);
+        try {
+            cache.put("a", null);
+            fail();
+        } catch (NullPointerException expected) {
+        }
+    }
+
+    public void testEvictionWithSingletonCache() {
+        ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<String, String>(1);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        assertSnapshot(cache, "b", "B");
+        assertEquals(1, cache.evictionCount());
+    }
+
+    public void testEntryEvictedWhenFull() {
+        List<String> expectedEvictionLog = new ArrayList<String>();
+        ConcurrentLruCache<String, String> cache = newLoggingCache(3);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+        assertEquals(expectedEvictionLog, evictionLog);
+
+        cache.put("d", "D");
+        expectedEvictionLog.add("a=A");
+        assertEquals(expectedEvictionLog, evictionLog);
+    }
+
+    /**
+     * An entry that has been read since the hand last passed it gets a second
+     * chance, so the next unreferenced entry is evicted instead.
+     */
+    public void testRecentlyReadEntryIsNotEvicted() {
+        ConcurrentLruCache<String, String> cache = newLoggingCache(3);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+        assertEquals("A", cache.get("a"));
+
+        cache.put("d", "D");
+        assertEquals(Arrays.asList("b=B"), evictionLog);
+        assertSnapshot(cache, "c", "C", "d", "D", "a", "A");
+
+        // a's second chance has been used up.
+        cache.put("e", "E");
+        cache.put("f", "F");
+        assertEquals(Arrays.asList("b=B", "c=C", "d=D"), evictionLog);
+        assertSnapshot(cache, "a", "A", "e", "E", "f", "F");
+    }
+
+    /**
+     * Replacing the value for a key doesn't cause an eviction but it does mark
+     * the entry as recently used.
+     */
+    public void testPutDoesNotCauseEviction() {
+        ConcurrentLruCache<String, String> cache = newLoggingCache(3);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+        assertEquals("B", cache.put("b", "B2"));
+        assertEquals(Collections.emptyList(), evictionLog);
+        assertSnapshot(cache, "a", "A", "b", "B2", "c", "C");
+
+        cache.put("d", "D");
+        cache.put("e", "E");
+        assertEquals(Arrays.asList("a=A", "c=C"), evictionLog);
+    }
+
+    public void testRemove() {
+        ConcurrentLruCache<String, String> cache = newLoggingCache(3);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        assertEquals("A", cache.remove("a"));
+        assertNull(cache.remove("a"));
+        assertEquals(1, cache.size());
+        assertSnapshot(cache, "b", "B");
+
+        cache.put("c", "C");
+        cache.put("d", "D");
+        cache.put("e", "E");
+        assertEquals(Arrays.asList("b=B"), evictionLog);
+    }
+
+    public void testEvictAll() {
+        ConcurrentLruCache<String, String> cache = newLoggingCache(10);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+        cache.get("b");
+        cache.evictAll();
+        assertSnapshot(cache);
+        assertEquals(Arrays.asList("a=A", "b=B", "c=C"), evictionLog);
+        assertEquals(3, cache.evictionCount());
+    }
+
+    public void testConcurrentAccess() throws Exception {
+        final int maxSize = 16;
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger evicted = new AtomicInteger();
+        final ConcurrentLruCache<Integer, String> cache =
+                new ConcurrentLruCache<Integer, String>(maxSize) {
+            @Override protected String create(Integer key) {
+                created.incrementAndGet();
+                return key.toString();
+            }
+
+            @Override protected void entryEvicted(Integer key, String value) {
+                evicted.incrementAndGet();
+            }
+        };
+
+        Thread[] threads = new Thread[4];
+        final int gets = 10000;
+        // Assertions fail on the worker threads, so report the first failure from here.
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        for (int i = 0; i < threads.length; i++) {
+            final int seed = i;
+            threads[i] = new Thread() {
+                @Override public void run() {
+                    try {
+                        for (int j = 0; j < gets; j++) {
+                            Integer key = (j * 31 + seed) % (2 * maxSize);
+                            assertEquals(key.toString(), cache.get(key));
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            AssertionError error = new AssertionError("Worker thread failed");
+            error.initCause(failure.get());
+            throw error;
+        }
+
+        assertEquals(threads.length * gets, cache.hitCount() + cache.missCount());
+        assertEquals(created.get(), cache.missCount());
+        assertEquals(evicted.get(), cache.evictionCount());
+        // Racing creates of the same key replace rather than add entries.
+        assertTrue(created.get() - evicted.get() >= cache.size());
+        assertTrue(cache.size() <= maxSize);
+        assertEquals(cache.size(), cache.snapshot().size());
+    }
+
+    private final List<String> evictionLog = new ArrayList<String>();
+
+    private ConcurrentLruCache<String, String> newLoggingCache(int maxSize) {
+        return new ConcurrentLruCache<String, String>(maxSize) {
+            @Override protected void entryEvicted(String key, String value) {
+                evictionLog.add(key + "=" + value);
+            }
+        };
+    }
+
+    private ConcurrentLruCache<String, String> newCreatingCache() {
+        return new ConcurrentLruCache<String, String>(3) {
+            @Override protected String create(String key) {
+                return (key.length() > 1) ? ("created-" + key) : null;
+            }
+        };
+    }
+
+    private <T> void assertSnapshot(ConcurrentLruCache<T, T> cache, T... keysAndValues) {
+        List<T> actualKeysAndValues = new ArrayList<T>();
+        for (Map.Entry<T, T> entry : cache.snapshot().entrySet()) {
+            actualKeysAndValues.add(entry.getKey());
+            actualKeysAndValues.add(entry.getValue());
+        }
+
+        // assert using lists because eviction order is important
+        assertEquals(Arrays.asList(keysAndValues), actualKeysAndValues);
+    }
+}
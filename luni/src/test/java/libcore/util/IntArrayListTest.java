@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.util;
+
+import java.util.Arrays;
+import junit.framework.TestCase;
+
+public final class IntArrayListTest extends TestCase {
+
+    public void testAddGrowsList() {
+        IntArrayList list = new IntArrayList();
+        assertTrue(list.isEmpty());
+        for (int i = 0; i < 1000; i++) {
+            list.add(i * 2);
+        }
+        assertEquals(1000, list.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i * 2, list.get(i));
+        }
+    }
+
+    public void testSetAndRemoveAt() {
+        IntArrayList list = new IntArrayList(4);
+        list.add(1);
+        list.add(2);
+        list.add(3);
+        assertEquals(2, list.set(1, 20));
+        assertEquals("[1, 20, 3]", list.toString());
+        assertEquals(1, list.removeAt(0));
+        assertEquals("[20, 3]", list.toString());
+        assertEquals(3, list.removeAt(1));
+        assertEquals("[20]", list.toString());
+    }
+
+    public void testIndexChecks() {
+        IntArrayList list = new IntArrayList();
+        list.add(1);
+        try {
+            list.get(1);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+        }
+        try {
+            list.set(-1, 0);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+        }
+        try {
+            list.removeAt(1);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+        }
+        try {
+            new IntArrayList(-1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testIndexOfAndContains() {
+        IntArrayList list = new IntArrayList();
+        list.add(5);
+        list.add(6);
+        list.add(5);
+        assertEquals(0, list.indexOf(5));
+        assertEquals(1, list.indexOf(6));
+        assertEquals(-1, list.indexOf(7));
+        assertTrue(list.contains(6));
+        assertFalse(list.contains(7));
+    }
+
+    public void testClearAndToArray() {
+        IntArrayList list = new IntArrayList();
+        assertSame(EmptyArray.INT, list.toArray());
+        list.add(1);
+        list.add(2);
+        int[] array = list.toArray();
+        assertTrue(Arrays.equals(new int[] { 1, 2 }, array));
+        array[0] = 100;
+        assertEquals(1, list.get(0));
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals("[]", list.toString());
+    }
+
+    public void testForEach() {
+        IntArrayList list = new IntArrayList();
+        list.add(1);
+        list.add(2);
+        list.add(3);
+        final int[] sum = new int[1];
+        list.forEach(value -> sum[0] = sum[0] * 10 + value);
+        assertEquals(123, sum[0]);
+    }
+}
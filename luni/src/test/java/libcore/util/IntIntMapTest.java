@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import junit.framework.TestCase;
+
+public final class IntIntMapTest extends TestCase {
+
+    public void testPutGetRemove() {
+        IntIntMap map = new IntIntMap();
+        assertTrue(map.isEmpty());
+        map.put(1, 10);
+        map.put(-1, -10);
+        assertEquals(2, map.size());
+        assertEquals(10, map.get(1, 0));
+        assertEquals(-10, map.get(-1, 0));
+        assertEquals(42, map.get(2, 42));
+        assertTrue(map.containsKey(1));
+        assertFalse(map.containsKey(2));
+
+        map.put(1, 11);
+        assertEquals(11, map.get(1, 0));
+        assertEquals(2, map.size());
+
+        assertTrue(map.remove(1));
+        assertFalse(map.remove(1));
+        assertEquals(-1, map.get(1, -1));
+        assertEquals(1, map.size());
+    }
+
+    public void testZeroKey() {
+        IntIntMap map = new IntIntMap();
+        assertFalse(map.containsKey(0));
+        assertEquals(-1, map.get(0, -1));
+        map.put(0, 0);
+        assertTrue(map.containsKey(0));
+        assertEquals(0, map.get(0, -1));
+        assertEquals(1, map.size());
+        map.put(0, 5);
+        assertEquals(5, map.get(0, -1));
+        assertEquals(1, map.size());
+        assertEquals("{0=5}", map.toString());
+        assertTrue(map.remove(0));
+        assertFalse(map.remove(0));
+        assertTrue(map.isEmpty());
+    }
+
+    /** The entry for key 0 lives outside the table and mustn't count towards resizing it. */
+    public void testZeroKeyWithGrowth() {
+        IntIntMap map = new IntIntMap(0);
+        map.put(0, 100);
+        for (int i = 1; i <= 1000; i++) {
+            map.put(i, i);
+        }
+        assertEquals(1001, map.size());
+        assertEquals(100, map.get(0, -1));
+        for (int i = 1; i <= 1000; i++) {
+            assertEquals(i, map.get(i, -1));
+        }
+    }
+
+    public void testClear() {
+        IntIntMap map = new IntIntMap();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(0));
+        assertFalse(map.containsKey(5));
+        map.put(5, 6);
+        assertEquals(6, map.get(5, 0));
+    }
+
+    public void testForEach() {
+        IntIntMap map = new IntIntMap();
+        map.put(0, 1);
+        map.put(2, 3);
+        map.put(4, 5);
+        final Map<Integer, Integer> seen = new HashMap<Integer, Integer>();
+        map.forEach(new IntIntMap.Visitor() {
+            @Override public void visit(int key, int value) {
+                assertNull(seen.put(key, value));
+            }
+        });
+        assertEquals(3, seen.size());
+        assertEquals(Integer.valueOf(1), seen.get(0));
+        assertEquals(Integer.valueOf(3), seen.get(2));
+        assertEquals(Integer.valueOf(5), seen.get(4));
+    }
+
+    /** Compares a long random sequence of operations against a HashMap. */
+    public void testAgainstHashMap() {
+        Random random = new Random(1234);
+        IntIntMap map = new IntIntMap();
+        Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(2000) - 1000;
+            switch (random.nextInt(3)) {
+                case 0:
+                    expected.put(key, i);
+                    map.put(key, i);
+                    break;
+                case 1:
+                    assertEquals(expected.remove(key) != null, map.remove(key));
+                    break;
+                default:
+                    Integer value = expected.get(key);
+                    assertEquals(value != null ? value : -1, map.get(key, -1));
+                    break;
+            }
+            assertEquals(expected.size(), map.size());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import junit.framework.TestCase;
+
+public final class IntObjectMapTest extends TestCase {
+
+    public void testPutGetRemove() {
+        IntObjectMap<String> map = new IntObjectMap<String>();
+        assertTrue(map.isEmpty());
+        assertNull(map.put(1, "a"));
+        assertNull(map.put(0, "zero"));
+        assertNull(map.put(-1, "minus"));
+        assertEquals(3, map.size());
+        assertEquals("a", map.get(1));
+        assertEquals("zero", map.get(0));
+        assertEquals("minus", map.get(-1));
+        assertNull(map.get(2));
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(2));
+
+        assertEquals("a", map.put(1, "b"));
+        assertEquals("b", map.get(1));
+        assertEquals(3, map.size());
+
+        assertEquals("b", map.remove(1));
+        assertNull(map.remove(1));
+        assertFalse(map.containsKey(1));
+        assertEquals(2, map.size());
+    }
+
+    public void testPutRejectsNullValue() {
+        IntObjectMap<String> map = new IntObjectMap<String>();
+        try {
+            map.put(1, null);
+            fail();
+        } catch (NullPointerException expected) {
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    public void testConstructorRejectsNegativeSize() {
+        try {
+            new IntObjectMap<String>(-1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testClear() {
+        IntObjectMap<String> map = new IntObjectMap<String>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "v" + i);
+        }
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(5));
+        map.put(5, "five");
+        assertEquals("five", map.get(5));
+    }
+
+    public void testForEachAndToString() {
+        IntObjectMap<String> map = new IntObjectMap<String>();
+        assertEquals("{}", map.toString());
+        map.put(7, "seven");
+        assertEquals("{7=seven}", map.toString());
+        map.put(8, "eight");
+        final Map<Integer, String> seen = new HashMap<Integer, String>();
+        map.forEach(new IntObjectMap.Visitor<String>() {
+            @Override public void visit(int key, String value) {
+                assertNull(seen.put(key, value));
+            }
+        });
+        assertEquals(2, seen.size());
+        assertEquals("seven", seen.get(7));
+        assertEquals("eight", seen.get(8));
+    }
+
+    /**
+     * Keys that all collide in a small table must stay reachable however they are removed.
+     */
+    public void testRemovalWithinCollidingCluster() {
+        IntObjectMap<Integer> map = new IntObjectMap<Integer>(64);
+        for (int i = 0; i < 48; i++) {
+            map.put(i << 16, i);
+        }
+        for (int i = 0; i < 48; i += 3) {
+            assertEquals(Integer.valueOf(i), map.remove(i << 16));
+        }
+        for (int i = 0; i < 48; i++) {
+            assertEquals(i % 3 == 0 ? null : Integer.valueOf(i), map.get(i << 16));
+        }
+    }
+
+    /** Compares a long random sequence of operations against a HashMap. */
+    public void testAgainstHashMap() {
+        Random random = new Random(1234);
+        IntObjectMap<Integer> map = new IntObjectMap<Integer>();
+        Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(2000) - 1000;
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(expected.put(key, i), map.put(key, i));
+                    break;
+                case 1:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.get(key), map.get(key));
+                    break;
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2016 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package libcore.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import junit.framework.TestCase;
+
+public final class LongObjectMapTest extends TestCase {
+
+    public void testPutGetRemove() {
+        LongObjectMap<String> map = new LongObjectMap<String>();
+        assertTrue(map.isEmpty());
+        assertNull(map.put(1, "a"));
+        assertNull(map.put(0, "zero"));
+        assertNull(map.put(-1, "minus"));
+        assertEquals(3, map.size());
+        assertEquals("a", map.get(1));
+        assertEquals("zero", map.get(0));
+        assertEquals("minus", map.get(-1));
+        assertNull(map.get(2));
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(2));
+
+        assertEquals("a", map.put(1, "b"));
+        assertEquals("b", map.get(1));
+        assertEquals(3, map.size());
+
+        assertEquals("b", map.remove(1));
+        assertNull(map.remove(1));
+        assertFalse(map.containsKey(1));
+        assertEquals(2, map.size());
+    }
+
+    public void testPutRejectsNullValue() {
+        LongObjectMap<String> map = new LongObjectMap<String>();
+        try {
+            map.put(1, null);
+            fail();
+        } catch (NullPointerException expected) {
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    public void testConstructorRejectsNegativeSize() {
+        try {
+            new LongObjectMap<String>(-1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testClear() {
+        LongObjectMap<String> map = new LongObjectMap<String>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "v" + i);
+        }
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get(5));
+        map.put(5, "five");
+        assertEquals("five", map.get(5));
+    }
+
+    public void testForEachAndToString() {
+        LongObjectMap<String> map = new LongObjectMap<String>();
+        assertEquals("{}", map.toString());
+        map.put(7, "seven");
+        assertEquals("{7=seven}", map.toString());
+        map.put(8, "eight");
+        final Map<Long, String> seen = new HashMap<Long, String>();
+        map.forEach(new LongObjectMap.Visitor<String>() {
+            @Override public void visit(long key, String value) {
+                assertNull(seen.put(key, value));
+            }
+        });
+        assertEquals(2, seen.size());
+        assertEquals("seven", seen.get(7L));
+        assertEquals("eight", seen.get(8L));
+    }
+
+    public void testKeysDifferingOnlyInHighBits() {
+        LongObjectMap<Integer> map = new LongObjectMap<Integer>();
+        for (int i = 0; i < 48; i++) {
+            map.put(((long) i << 32) | 5, i);
+        }
+        for (int i = 0; i < 48; i += 3) {
+            assertEquals(Integer.valueOf(i), map.remove(((long) i << 32) | 5));
+        }
+        for (int i = 0; i < 48; i++) {
+            assertEquals(i % 3 == 0 ? null : Integer.valueOf(i), map.get(((long) i << 32) | 5));
+        }
+        assertNull(map.get(5));
+    }
+
+    /** Compares a long random sequence of operations against a HashMap. */
+    public void testAgainstHashMap() {
+        Random random = new Random(1234);
+        LongObjectMap<Integer> map = new LongObjectMap<Integer>();
+        Map<Long, Integer> expected = new HashMap<Long, Integer>();
+        for (int i = 0; i < 100000; i++) {
+            long key = (random.nextInt(2000) - 1000) * 0x100000001L;
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(expected.put(key, i), map.put(key, i));
+                    break;
+                case 1:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.get(key), map.get(key));
+                    break;
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+}
@@ -6,6 +6,7 @@ non_openjdk_javadoc_files := \
   luni/src/main/java/android/system/OsConstants.java \
   luni/src/main/java/android/system/PacketSocketAddress.java \
   luni/src/main/java/android/system/StructAddrinfo.java \
+  luni/src/main/java/android/system/StructDirent.java \
   luni/src/main/java/android/system/StructFlock.java \
   luni/src/main/java/android/system/StructGroupReq.java \
   luni/src/main/java/android/system/StructGroupSourceReq.java \
@@ -82,6 +83,7 @@ non_openjdk_javadoc_files := \
   luni/src/main/java/java/nio/charset/CharsetEncoderICU.java \
   luni/src/main/java/java/nio/charset/CharsetICU.java \
   luni/src/main/java/java/nio/charset/ModifiedUtf8.java \
+  luni/src/main/java/java/util/CompiledFormat.java \
   luni/src/main/java/java/util/concurrent/AbstractExecutorService.java \
   luni/src/main/java/java/util/concurrent/ArrayBlockingQueue.java \
   luni/src/main/java/java/util/concurrent/BlockingDeque.java \
@@ -113,7 +115,9 @@ non_openjdk_javadoc_files := \
   luni/src/main/java/java/util/concurrent/ExecutorCompletionService.java \
   luni/src/main/java/java/util/concurrent/ExecutorService.java \
   luni/src/main/java/java/util/concurrent/Executors.java \
+  luni/src/main/java/java/util/concurrent/Flow.java \
   luni/src/main/java/java/util/concurrent/ForkJoinPool.java \
+  luni/src/main/java/java/util/concurrent/ForkJoinPoolStatistics.java \
   luni/src/main/java/java/util/concurrent/ForkJoinTask.java \
   luni/src/main/java/java/util/concurrent/ForkJoinWorkerThread.java \
   luni/src/main/java/java/util/concurrent/Future.java \
@@ -122,6 +126,7 @@ non_openjdk_javadoc_files := \
   luni/src/main/java/java/util/concurrent/LinkedBlockingDeque.java \
   luni/src/main/java/java/util/concurrent/LinkedBlockingQueue.java \
   luni/src/main/java/java/util/concurrent/LinkedTransferQueue.java \
+  luni/src/main/java/java/util/concurrent/MpscArrayQueue.java \
   luni/src/main/java/java/util/concurrent/Phaser.java \
   luni/src/main/java/java/util/concurrent/PriorityBlockingQueue.java \
   luni/src/main/java/java/util/concurrent/RecursiveAction.java \
@@ -134,6 +139,9 @@ non_openjdk_javadoc_files := \
   luni/src/main/java/java/util/concurrent/ScheduledFuture.java \
   luni/src/main/java/java/util/concurrent/ScheduledThreadPoolExecutor.java \
   luni/src/main/java/java/util/concurrent/Semaphore.java \
+  luni/src/main/java/java/util/concurrent/SpinPolicy.java \
+  luni/src/main/java/java/util/concurrent/SpscArrayQueue.java \
+  luni/src/main/java/java/util/concurrent/SubmissionPublisher.java \
   luni/src/main/java/java/util/concurrent/SynchronousQueue.java \
   luni/src/main/java/java/util/concurrent/ThreadFactory.java \
   luni/src/main/java/java/util/concurrent/ThreadLocalRandom.java \
@@ -164,6 +172,7 @@ non_openjdk_javadoc_files := \
   luni/src/main/java/java/util/concurrent/locks/AbstractQueuedSynchronizer.java \
   luni/src/main/java/java/util/concurrent/locks/Condition.java \
   luni/src/main/java/java/util/concurrent/locks/Lock.java \
+  luni/src/main/java/java/util/concurrent/locks/LockContention.java \
   luni/src/main/java/java/util/concurrent/locks/LockSupport.java \
   luni/src/main/java/java/util/concurrent/locks/ReadWriteLock.java \
   luni/src/main/java/java/util/concurrent/locks/ReentrantLock.java \
@@ -171,6 +180,10 @@ non_openjdk_javadoc_files := \
   luni/src/main/java/java/util/concurrent/locks/StampedLock.java \
   luni/src/main/java/java/util/concurrent/locks/package-info.java \
   luni/src/main/java/java/util/concurrent/package-info.java \
+  luni/src/main/java/java/util/regex/RegexCompiler.java \
+  luni/src/main/java/java/util/regex/RegexMatcher.java \
+  luni/src/main/java/java/util/regex/RegexProgram.java \
+  luni/src/main/java/java/util/regex/Splitter.java \
   luni/src/main/java/javax/xml/XMLConstants.java \
   luni/src/main/java/javax/xml/datatype/DatatypeConfigurationException.java \
   luni/src/main/java/javax/xml/datatype/DatatypeConstants.java \
@@ -370,9 +383,11 @@ non_openjdk_java_files := \
   luni/src/main/java/libcore/io/Base64.java \
   luni/src/main/java/libcore/io/BlockGuardOs.java \
   luni/src/main/java/libcore/io/BufferIterator.java \
+  luni/src/main/java/libcore/io/DirectoryIterator.java \
   luni/src/main/java/libcore/io/DropBox.java \
   luni/src/main/java/libcore/io/EventLogger.java \
   luni/src/main/java/libcore/io/ForwardingOs.java \
+  luni/src/main/java/libcore/io/IoRing.java \
   luni/src/main/java/libcore/io/IoBridge.java \
   luni/src/main/java/libcore/io/IoUtils.java \
   luni/src/main/java/libcore/io/Libcore.java \
@@ -407,7 +422,14 @@ non_openjdk_java_files := \
   luni/src/main/java/libcore/util/EmptyArray.java \
   luni/src/main/java/libcore/util/BasicLruCache.java \
   luni/src/main/java/libcore/util/CollectionUtils.java \
+  luni/src/main/java/libcore/util/CompactHashMap.java \
+  luni/src/main/java/libcore/util/ConcurrentLruCache.java \
   luni/src/main/java/libcore/util/EmptyArray.java \
+  luni/src/main/java/libcore/util/IntArrayList.java \
+  luni/src/main/java/libcore/util/IntIntMap.java \
+  luni/src/main/java/libcore/util/IntObjectMap.java \
+  luni/src/main/java/libcore/util/LongArrayList.java \
+  luni/src/main/java/libcore/util/LongObjectMap.java \
   luni/src/main/java/libcore/util/NativeAllocationRegistry.java \
   luni/src/main/java/libcore/util/Objects.java \
   luni/src/main/java/libcore/util/RecoverySystem.java \
@@ -32,6 +32,14 @@ import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.ArrayList;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import android.system.StructDirent;
+import libcore.io.DirectoryIterator;
 
 /**
  * An abstract representation of file and directory pathnames.
@@ -1222,6 +1230,71 @@ public class File
         return files.toArray(new File[files.size()]);
     }
 
+    // Android-added: Lazy directory listing.
+    /**
+     * Returns a stream of the entries in the directory denoted by this
+     * abstract pathname, read from the directory as the stream is consumed
+     * rather than collected into an array up front. The entries for the
+     * directory itself and its parent are not included, and no ordering is
+     * guaranteed.
+     *
+     * <p> Each entry carries the file type reported by the directory
+     * ({@code d_type}), so callers that only need to tell files from
+     * directories can avoid a {@code stat} per entry. The type may be
+     * {@link android.system.OsConstants#DT_UNKNOWN} on some file systems.
+     *
+     * <p> The returned stream holds the directory open and must be closed,
+     * for example with try-with-resources. An I/O error while reading the
+     * directory is thrown as an {@link UncheckedIOException}.
+     *
+     * @return  A stream of the directory's entries
+     *
+     * @throws  IOException
+     *          If this abstract pathname does not denote a directory, or if
+     *          the directory cannot be opened
+     * @throws  SecurityException
+     *          If a security manager exists and its {@link
+     *          SecurityManager#checkRead(String)} method denies read access to
+     *          the directory
+     *
+     * @hide
+     */
+    public Stream<StructDirent> listEntries() throws IOException {
+        SecurityManager security = System.getSecurityManager();
+        if (security != null) {
+            security.checkRead(path);
+        }
+        if (isInvalid()) {
+            throw new IOException("Invalid file path");
+        }
+        DirectoryIterator it = fs.listIterator(this);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it,
+                Spliterator.DISTINCT | Spliterator.NONNULL), false).onClose(it::close);
+    }
+
+    // Android-added: Lazy directory listing.
+    /**
+     * Returns a stream of the names of the files and directories in the
+     * directory denoted by this abstract pathname. This behaves like {@link
+     * #list()}, except that names are read as the stream is consumed and
+     * the returned stream must be closed. See {@link #listEntries()}.
+     *
+     * @return  A stream of the names in the directory
+     *
+     * @throws  IOException
+     *          If this abstract pathname does not denote a directory, or if
+     *          the directory cannot be opened
+     * @throws  SecurityException
+     *          If a security manager exists and its {@link
+     *          SecurityManager#checkRead(String)} method denies read access to
+     *          the directory
+     *
+     * @hide
+     */
+    public Stream<String> listNames() throws IOException {
+        return listEntries().map(entry -> entry.d_name);
+    }
+
     /**
      * Creates the directory named by this abstract pathname.
      *
@@ -1977,6 +2050,51 @@ public class File
         return getPath();
     }
 
+    // -- Integration with java.nio.file --
+
+    // Android-added: toPath(), now that java.nio.file is available.
+    private volatile transient Path filePath;
+
+    /**
+     * Returns a {@link Path java.nio.file.Path} object constructed from
+     * this abstract path. The resulting {@code Path} is associated with the
+     * {@link java.nio.file.FileSystems#getDefault default-filesystem}.
+     *
+     * <p> The first invocation of this method works as if invoking it were
+     * equivalent to evaluating the expression:
+     * <blockquote><pre>
+     * {@link java.nio.file.FileSystems#getDefault FileSystems.getDefault}().{@link
+     * java.nio.file.FileSystem#getPath getPath}(this.{@link #getPath getPath}());
+     * </pre></blockquote>
+     * Subsequent invocations of this method return the same {@code Path}.
+     *
+     * <p> If this abstract pathname is the empty abstract pathname then this
+     * method returns a {@code Path} that may be used to access the current
+     * user directory.
+     *
+     * @return  a {@code Path} constructed from this abstract path
+     *
+     * @throws  java.nio.file.InvalidPathException
+     *          if a {@code Path} object cannot be constructed from the abstract
+     *          path (see {@link java.nio.file.FileSystem#getPath FileSystem.getPath})
+     *
+     * @since   1.7
+     * @see Path#toFile
+     */
+    public Path toPath() {
+        Path result = filePath;
+        if (result == null) {
+            synchronized (this) {
+                result = filePath;
+                if (result == null) {
+                    result = FileSystems.getDefault().getPath(path);
+                    filePath = result;
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * WriteObject is called to save this filename.
      * The separator character is saved also so it can be replaced
@@ -26,6 +26,7 @@
 
 package java.io;
 
+import libcore.io.DirectoryIterator;
 
 /**
  * Package-private abstract class for the local filesystem abstraction.
@@ -176,6 +177,14 @@ abstract class FileSystem {
      */
     public abstract String[] list(File f);
 
+    // Android-added: Lazy directory listing.
+    /**
+     * List the elements of the directory denoted by the given abstract
+     * pathname as they are read, without building an array of names first.
+     * Throw an IOException if the directory cannot be opened.
+     */
+    public abstract DirectoryIterator listIterator(File f) throws IOException;
+
     /**
      * Create a new directory denoted by the given abstract pathname,
      * returning <code>true</code> if and only if the operation succeeds.
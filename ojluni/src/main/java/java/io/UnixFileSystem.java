@@ -27,7 +27,9 @@ package java.io;
 
 import java.security.AccessController;
 
+import android.system.ErrnoException;
 import dalvik.system.BlockGuard;
+import libcore.io.DirectoryIterator;
 import sun.security.action.GetPropertyAction;
 
 
@@ -303,6 +305,15 @@ class UnixFileSystem extends FileSystem {
 
     private native String[] list0(File f);
 
+    // Android-added: Lazy directory listing backed by opendir(3) and readdir(3).
+    public DirectoryIterator listIterator(File f) throws IOException {
+        try {
+            return DirectoryIterator.open(f.getPath());
+        } catch (ErrnoException e) {
+            throw e.rethrowAsIOException();
+        }
+    }
+
     public boolean createDirectory(File f) {
         BlockGuard.getThreadPolicy().onWriteToDisk();
         return createDirectory0(f);
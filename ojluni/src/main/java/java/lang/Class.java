@@ -69,8 +69,8 @@ import dalvik.system.VMStack;
 import libcore.reflect.InternalNames;
 import libcore.reflect.GenericSignatureParser;
 import libcore.reflect.Types;
-import libcore.util.BasicLruCache;
 import libcore.util.CollectionUtils;
+import libcore.util.ConcurrentLruCache;
 import libcore.util.EmptyArray;
 import libcore.util.SneakyThrow;
 import java.util.Collections;
@@ -976,20 +976,18 @@ public final
      * @since 1.5
      */
     public Type[] getGenericInterfaces() {
-        Type[] result;
-        synchronized (Caches.genericInterfaces) {
-            result = Caches.genericInterfaces.get(this);
-            if (result == null) {
-                String annotationSignature = getSignatureAttribute();
-                if (annotationSignature == null) {
-                    result = getInterfaces();
-                } else {
-                    GenericSignatureParser parser = new GenericSignatureParser(getClassLoader());
-                    parser.parseForClass(this, annotationSignature);
-                    result = Types.getTypeArray(parser.interfaceTypes, false);
-                }
-                Caches.genericInterfaces.put(this, result);
+        // Racing threads may both compute the result, but they compute equal arrays.
+        Type[] result = Caches.genericInterfaces.get(this);
+        if (result == null) {
+            String annotationSignature = getSignatureAttribute();
+            if (annotationSignature == null) {
+                result = getInterfaces();
+            } else {
+                GenericSignatureParser parser = new GenericSignatureParser(getClassLoader());
+                parser.parseForClass(this, annotationSignature);
+                result = Types.getTypeArray(parser.interfaceTypes, false);
             }
+            Caches.genericInterfaces.put(this, result);
         }
         return (result.length == 0) ? result : result.clone();
     }
@@ -2670,7 +2668,7 @@ public final
          * interfaces (required to avoid time outs). Validated by running reflection heavy code
          * such as applications using Guice-like frameworks.
          */
-        private static final BasicLruCache<Class, Type[]> genericInterfaces
-            = new BasicLruCache<Class, Type[]>(8);
+        private static final ConcurrentLruCache<Class, Type[]> genericInterfaces
+            = new ConcurrentLruCache<Class, Type[]>(8);
     }
 }
@@ -33,7 +33,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectStreamException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import libcore.util.BasicLruCache;
+import libcore.util.ConcurrentLruCache;
 import libcore.util.EmptyArray;
 
 /**
@@ -255,8 +255,8 @@ public abstract class Enum<E extends Enum<E>>
             "No enum constant " + enumType.getCanonicalName() + "." + name);
     }
 
-    private static final BasicLruCache<Class<? extends Enum>, Object[]> sharedConstantsCache
-            = new BasicLruCache<Class<? extends Enum>, Object[]>(64) {
+    private static final ConcurrentLruCache<Class<? extends Enum>, Object[]> sharedConstantsCache
+            = new ConcurrentLruCache<Class<? extends Enum>, Object[]>(64) {
         @Override protected Object[] create(Class<? extends Enum> enumType) {
             if (!enumType.isEnum()) {
                 return null;
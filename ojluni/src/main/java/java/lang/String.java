@@ -37,6 +37,7 @@ import java.util.Locale;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
+import java.util.regex.Splitter;
 
 import libcore.util.CharsetUtils;
 import libcore.util.EmptyArray;
@@ -2367,6 +2368,25 @@ public final class String
         return split(regex, 0);
     }
 
+    /**
+     * Returns a {@link Splitter} over the fields of this
+     * string split around matches of the given regular expression. The
+     * fields are those of {@link #split(String)}, found lazily and without
+     * copying. Like {@link #split(String)}, a single char or quoted
+     * metacharacter is split around without compiling a pattern.
+     *
+     * @param  regex
+     *         the delimiting regular expression
+     *
+     * @throws  PatternSyntaxException
+     *          if the regular expression's syntax is invalid
+     *
+     * @hide
+     */
+    public Splitter splitter(String regex) {
+        return Pattern.splitter(regex, this);
+    }
+
     /**
      * Converts all of the characters in this <code>String</code> to lower
      * case using the rules of the given <code>Locale</code>.  Case mapping is based
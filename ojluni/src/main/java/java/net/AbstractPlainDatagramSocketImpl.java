@@ -27,11 +27,13 @@ package java.net;
 import java.io.FileDescriptor;
 import java.io.IOException;
 import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
 import java.util.Enumeration;
 import java.security.AccessController;
 
 import dalvik.system.BlockGuard;
 import dalvik.system.CloseGuard;
+import libcore.io.IoBridge;
 import sun.net.ResourceManager;
 
 /**
@@ -150,6 +152,32 @@ abstract class AbstractPlainDatagramSocketImpl extends DatagramSocketImpl
     protected abstract void receive0(DatagramPacket p)
         throws IOException;
 
+    // Android-added: Batched receive for DatagramSocket.receiveBatch.
+    /**
+     * Receive up to {@code packets.length} datagram packets with a single
+     * system call, waiting (subject to SO_TIMEOUT) only for the first.
+     * @param packets Packets to fill in, in order.
+     * @return the number of packets received.
+     */
+    synchronized int receiveBatch(DatagramPacket[] packets)
+        throws IOException {
+        ByteBuffer[] buffers = new ByteBuffer[packets.length];
+        InetSocketAddress[] senders = new InetSocketAddress[packets.length];
+        for (int i = 0; i < packets.length; i++) {
+            DatagramPacket p = packets[i];
+            buffers[i] = ByteBuffer.wrap(p.buf, p.offset, p.bufLength);
+            senders[i] = new InetSocketAddress();
+        }
+        int count = IoBridge.recvmmsg(fd, buffers, senders, connected, timeout);
+        for (int i = 0; i < count; i++) {
+            DatagramPacket p = packets[i];
+            p.setReceivedLength(buffers[i].position() - p.offset);
+            p.setAddress(senders[i].getAddress());
+            p.setPort(senders[i].getPort());
+        }
+        return count;
+    }
+
     /**
      * Set the TTL (time-to-live) option.
      * @param ttl the TTL to be set.
@@ -814,6 +814,47 @@ class DatagramSocket implements java.io.Closeable {
         }
     }
 
+    // Android-added: Batched receive.
+    /**
+     * Receives a batch of datagram packets from this socket. This method
+     * blocks, subject to {@link #setSoTimeout}, until a datagram is received
+     * into {@code packets[0]}, and then fills in as many of the following
+     * packets as there are datagrams already waiting, without blocking again.
+     * Each packet is filled in as by {@link #receive(DatagramPacket)}.
+     * <p>
+     * Where the platform allows, the whole batch is received with a single
+     * system call. If the datagrams must be filtered one at a time (the
+     * socket is unconnected and there is a security manager, or it uses a
+     * custom {@link DatagramSocketImpl}), exactly one packet is received.
+     *
+     * @param      packets   the packets into which to place the incoming
+     *                       data, in order.
+     * @return     the number of packets filled in, starting at index 0.
+     * @exception  IOException  if an I/O error occurs.
+     * @exception  SocketTimeoutException  if setSoTimeout was previously called
+     *                 and the timeout has expired.
+     * @exception  IllegalArgumentException  if {@code packets} is empty.
+     * @see        #receive(DatagramPacket)
+     * @hide
+     */
+    public synchronized int receiveBatch(DatagramPacket[] packets) throws IOException {
+        if (packets.length == 0)
+            throw new IllegalArgumentException("packets.length == 0");
+        DatagramSocketImpl impl = getImpl();
+        if (!(impl instanceof AbstractPlainDatagramSocketImpl)
+                || connectState == ST_CONNECTED_NO_IMPL
+                || (connectState == ST_NOT_CONNECTED && System.getSecurityManager() != null)) {
+            receive(packets[0]);
+            return 1;
+        }
+        if (!isBound())
+            bind(new InetSocketAddress(0));
+        if (pendingConnectException != null) {
+            throw new SocketException("Pending connect failure", pendingConnectException);
+        }
+        return ((AbstractPlainDatagramSocketImpl) impl).receiveBatch(packets);
+    }
+
     /**
      * Gets the local address to which the socket is bound.
      *
@@ -460,6 +460,111 @@ public abstract class DatagramChannel
     public abstract int send(ByteBuffer src, SocketAddress target)
         throws IOException;
 
+    // Android-added: Batched datagram receive and send.
+    /**
+     * Receives a batch of datagrams via this channel.
+     *
+     * <p> The first datagram is received as if by {@link #receive receive},
+     * into {@code dsts[0]}. Further datagrams that are immediately available
+     * are then received into {@code dsts[1]}, {@code dsts[2]}, and so on,
+     * without blocking. Each datagram's source address is stored at the same
+     * index of {@code senders}, if that array is not <tt>null</tt>.
+     *
+     * <p> This implementation receives one datagram per call to {@link
+     * #receive receive}, and only continues past the first in non-blocking
+     * mode. Implementations may override it to receive the whole batch with
+     * a single system call.
+     *
+     * @param  dsts
+     *         The buffers into which the datagrams are to be transferred
+     *
+     * @param  senders
+     *         The array in which to store the datagrams' source addresses,
+     *         or <tt>null</tt>
+     *
+     * @return  The number of datagrams received, which may be zero if this
+     *          channel is in non-blocking mode
+     *
+     * @throws  IllegalArgumentException
+     *          If {@code senders} is shorter than {@code dsts}, or a buffer
+     *          is read-only
+     *
+     * @throws  IOException
+     *          If an I/O error occurs, as for {@link #receive receive}
+     *
+     * @hide
+     */
+    public int receiveBatch(ByteBuffer[] dsts, SocketAddress[] senders)
+        throws IOException
+    {
+        if (senders != null && senders.length < dsts.length)
+            throw new IllegalArgumentException("senders.length < dsts.length");
+        int n = 0;
+        while (n < dsts.length) {
+            SocketAddress sender = receive(dsts[n]);
+            if (sender == null)
+                break;
+            if (senders != null)
+                senders[n] = sender;
+            n++;
+            if (isBlocking())
+                break;
+        }
+        return n;
+    }
+
+    /**
+     * Sends a batch of datagrams via this channel.
+     *
+     * <p> The remaining bytes of each buffer in {@code srcs} are sent as a
+     * separate datagram, in order, to the address at the same index of
+     * {@code targets}. If this channel's socket is connected then {@code
+     * targets} may be <tt>null</tt>, and every datagram is sent to the peer.
+     *
+     * <p> This implementation sends one datagram per call to {@link #send
+     * send}, or {@link #write(ByteBuffer) write} if {@code targets} is
+     * <tt>null</tt>. Implementations may override it to send the whole batch
+     * with a single system call.
+     *
+     * @param  srcs
+     *         The buffers containing the datagrams to be sent
+     *
+     * @param  targets
+     *         The addresses to which the datagrams are to be sent, or
+     *         <tt>null</tt> if this channel's socket is connected
+     *
+     * @return  The number of datagrams sent, which may be fewer than {@code
+     *          srcs.length} if this channel is in non-blocking mode
+     *
+     * @throws  IllegalArgumentException
+     *          If {@code targets} is shorter than {@code srcs}
+     *
+     * @throws  NotYetConnectedException
+     *          If {@code targets} is <tt>null</tt> and this channel's socket
+     *          is not connected
+     *
+     * @throws  IOException
+     *          If an I/O error occurs, as for {@link #send send}
+     *
+     * @hide
+     */
+    public int sendBatch(ByteBuffer[] srcs, SocketAddress[] targets)
+        throws IOException
+    {
+        if (targets != null && targets.length < srcs.length)
+            throw new IllegalArgumentException("targets.length < srcs.length");
+        int n = 0;
+        while (n < srcs.length) {
+            ByteBuffer src = srcs[n];
+            boolean empty = !src.hasRemaining();
+            int sent = (targets != null) ? send(src, targets[n]) : write(src);
+            if (sent == 0 && !empty)
+                break;
+            n++;
+        }
+        return n;
+    }
+
 
     // -- ByteChannel operations --
 
@@ -228,6 +228,16 @@ public abstract class AbstractSelectableChannel
      * cancels all of this channel's keys.  </p>
      */
     protected final void implCloseChannel() throws IOException {
+        // Android-added: Let selectors drop kernel-side registrations while the
+        // file descriptor still refers to this channel. See DefaultSelectorProvider.
+        synchronized (keyLock) {
+            int count = (keys == null) ? 0 : keys.length;
+            for (int i = 0; i < count; i++) {
+                SelectionKey k = keys[i];
+                if (k != null && k.isValid())
+                    ((AbstractSelector)k.selector()).implPreCloseChannel(k);
+            }
+        }
         implCloseSelectableChannel();
         synchronized (keyLock) {
             int count = (keys == null) ? 0 : keys.length;
@@ -185,6 +185,23 @@ public abstract class AbstractSelector
         ((AbstractSelectableChannel)key.channel()).removeKey(key);
     }
 
+    // Android-added: Hook invoked before a registered channel's descriptor is preClosed.
+    /**
+     * Invoked by a closing channel for each of its keys that is registered
+     * with this selector, before the channel's file descriptor is released.
+     *
+     * <p> Selectors whose interest set is held by the kernel (such as epoll)
+     * must drop the descriptor here, while it still refers to the channel's
+     * underlying file. The key itself remains valid until it is cancelled and
+     * deregistered as usual. The default implementation does nothing.  </p>
+     *
+     * @param  key
+     *         The selection key of the channel that is being closed
+     *
+     * @hide
+     */
+    protected void implPreCloseChannel(SelectionKey key) { }
+
 
     // -- Interruption machinery --
 
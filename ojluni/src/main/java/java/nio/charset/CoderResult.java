@@ -27,8 +27,7 @@ package java.nio.charset;
 
 import java.lang.ref.WeakReference;
 import java.nio.*;
-import java.util.Map;
-import java.util.HashMap;
+import libcore.util.IntObjectMap;
 
 
 /**
@@ -194,24 +193,24 @@ public class CoderResult {
 
     private static abstract class Cache {
 
-        private Map<Integer,WeakReference<CoderResult>> cache = null;
+        // Android-changed: Use an IntObjectMap to avoid boxing the length on every lookup.
+        private IntObjectMap<WeakReference<CoderResult>> cache = null;
 
         protected abstract CoderResult create(int len);
 
         private synchronized CoderResult get(int len) {
             if (len <= 0)
                 throw new IllegalArgumentException("Non-positive length");
-            Integer k = new Integer(len);
             WeakReference<CoderResult> w;
             CoderResult e = null;
             if (cache == null) {
-                cache = new HashMap<Integer,WeakReference<CoderResult>>();
-            } else if ((w = cache.get(k)) != null) {
+                cache = new IntObjectMap<WeakReference<CoderResult>>();
+            } else if ((w = cache.get(len)) != null) {
                 e = w.get();
             }
             if (e == null) {
                 e = create(len);
-                cache.put(k, new WeakReference<CoderResult>(e));
+                cache.put(len, new WeakReference<CoderResult>(e));
             }
             return e;
         }
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2009, 2013, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package java.nio.file.attribute;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Objects;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents the value of a file's time stamp attribute. For example, it may
+ * represent the time that the file was last
+ * {@link BasicFileAttributes#lastModifiedTime() modified},
+ * {@link BasicFileAttributes#lastAccessTime() accessed},
+ * or {@link BasicFileAttributes#creationTime() created}.
+ *
+ * <p> Instances of this class are immutable.
+ *
+ * @since 1.7
+ * @see java.nio.file.Files#setLastModifiedTime
+ * @see java.nio.file.Files#getLastModifiedTime
+ */
+
+public final class FileTime
+    implements Comparable<FileTime>
+{
+    /**
+     * The unit of granularity to interpret the value.
+     */
+    private final TimeUnit unit;
+
+    /**
+     * The value since the epoch; can be negative.
+     */
+    private final long value;
+
+    /**
+     * The value as the number of seconds since the epoch, and the nanosecond
+     * adjustment within that second, lazily computed and used by compareTo,
+     * equals and toString.
+     */
+    private long seconds;
+    private int nanos;
+    private boolean normalized;
+
+    /**
+     * The value return by toString (created lazily)
+     */
+    private String valueAsString;
+
+    /**
+     * Initializes a new instance of this class.
+     */
+    private FileTime(long value, TimeUnit unit) {
+        this.value = value;
+        this.unit = unit;
+    }
+
+    /**
+     * Returns a {@code FileTime} representing a value at the given unit of
+     * granularity.
+     *
+     * @param   value
+     *          the value since the epoch (1970-01-01T00:00:00Z); can be
+     *          negative
+     * @param   unit
+     *          the unit of granularity to interpret the value
+     *
+     * @return  a {@code FileTime} representing the given value
+     */
+    public static FileTime from(long value, TimeUnit unit) {
+        Objects.requireNonNull(unit, "unit");
+        return new FileTime(value, unit);
+    }
+
+    /**
+     * Returns a {@code FileTime} representing the given value in milliseconds.
+     *
+     * @param   value
+     *          the value, in milliseconds, since the epoch
+     *          (1970-01-01T00:00:00Z); can be negative
+     *
+     * @return  a {@code FileTime} representing the given value
+     */
+    public static FileTime fromMillis(long value) {
+        return new FileTime(value, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the value at the given unit of granularity.
+     *
+     * <p> Conversion from a coarser granularity that would numerically overflow
+     * saturate to {@code Long.MIN_VALUE} if negative or {@code Long.MAX_VALUE}
+     * if positive.
+     *
+     * @param   unit
+     *          the unit of granularity for the return value
+     *
+     * @return  value in the given unit of granularity, since the epoch
+     *          since the epoch (1970-01-01T00:00:00Z); can be negative
+     */
+    public long to(TimeUnit unit) {
+        Objects.requireNonNull(unit, "unit");
+        return unit.convert(this.value, this.unit);
+    }
+
+    /**
+     * Returns the value in milliseconds.
+     *
+     * <p> Conversion from a coarser granularity that would numerically overflow
+     * saturate to {@code Long.MIN_VALUE} if negative or {@code Long.MAX_VALUE}
+     * if positive.
+     *
+     * @return  the value in milliseconds, since the epoch (1970-01-01T00:00:00Z)
+     */
+    public long toMillis() {
+        return unit.toMillis(value);
+    }
+
+    // Android-changed: java.time is not available, so the value is normalized
+    // to seconds and nanoseconds here rather than by way of an Instant.
+    private void normalize() {
+        if (!normalized) {
+            long unitsPerSecond = unit.convert(1, TimeUnit.SECONDS);
+            if (unitsPerSecond == 0) {
+                // unit is coarser than seconds
+                seconds = unit.toSeconds(value);
+                nanos = 0;
+            } else {
+                seconds = Math.floorDiv(value, unitsPerSecond);
+                long rem = Math.floorMod(value, unitsPerSecond);
+                nanos = (int)unit.toNanos(rem);
+            }
+            normalized = true;
+        }
+    }
+
+    /**
+     * Tests this {@code FileTime} for equality with the given object.
+     *
+     * <p> The result is {@code true} if and only if the argument is not {@code
+     * null} and is a {@code FileTime} that represents the same time. This
+     * method satisfies the general contract of the {@code Object.equals} method.
+     *
+     * @param   obj
+     *          the object to compare with
+     *
+     * @return  {@code true} if, and only if, the given object is a {@code
+     *          FileTime} that represents the same time
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return (obj instanceof FileTime) ? compareTo((FileTime)obj) == 0 : false;
+    }
+
+    /**
+     * Computes a hash code for this file time.
+     *
+     * <p> The hash code is based upon the value represented, and satisfies the
+     * general contract of the {@link Object#hashCode} method.
+     *
+     * @return  the hash-code value
+     */
+    @Override
+    public int hashCode() {
+        normalize();
+        return Long.hashCode(seconds) + 51 * nanos;
+    }
+
+    /**
+     * Compares the value of two {@code FileTime} objects for order.
+     *
+     * @param   other
+     *          the other {@code FileTime} to be compared
+     *
+     * @return  {@code 0} if this {@code FileTime} is equal to {@code other}, a
+     *          value less than 0 if this {@code FileTime} represents a time
+     *          that is before {@code other}, and a value greater than 0 if this
+     *          {@code FileTime} represents a time that is after {@code other}
+     */
+    @Override
+    public int compareTo(FileTime other) {
+        // same granularity
+        if (unit == other.unit) {
+            return Long.compare(value, other.value);
+        }
+        normalize();
+        other.normalize();
+        int cmp = Long.compare(seconds, other.seconds);
+        if (cmp != 0) {
+            return cmp;
+        }
+        return Integer.compare(nanos, other.nanos);
+    }
+
+    // append year/month/day/hour/minute/second as zero padded fields
+    private static StringBuilder append(StringBuilder sb, int w, int d) {
+        while (w > 0) {
+            sb.append((char)(d/w + '0'));
+            d = d % w;
+            w /= 10;
+        }
+        return sb;
+    }
+
+    /**
+     * Returns the string representation of this {@code FileTime}. The string
+     * is returned in the <a
+     * href="http://www.w3.org/TR/NOTE-datetime">ISO&nbsp;8601</a> format:
+     * <pre>
+     *     YYYY-MM-DDThh:mm:ss[.s+]Z
+     * </pre>
+     * where "{@code [.s+]}" represents a dot followed by one of more digits
+     * for the decimal fraction of a second. It is only present when the decimal
+     * fraction of a second is not zero. For example, {@code
+     * FileTime.fromMillis(1234567890000L).toString()} yields {@code
+     * "2009-02-13T23:31:30Z"}, and {@code FileTime.fromMillis(1234567890123L).toString()}
+     * yields {@code "2009-02-13T23:31:30.123Z"}.
+     *
+     * @return  the string representation of this file time
+     */
+    @Override
+    public String toString() {
+        if (valueAsString == null) {
+            normalize();
+            GregorianCalendar cal = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+            cal.setGregorianChange(new java.util.Date(Long.MIN_VALUE));
+            long millis;
+            if (seconds > Long.MAX_VALUE / 1000L) {
+                millis = Long.MAX_VALUE;
+            } else if (seconds < Long.MIN_VALUE / 1000L) {
+                millis = Long.MIN_VALUE;
+            } else {
+                millis = seconds * 1000L;
+            }
+            cal.setTimeInMillis(millis);
+            StringBuilder sb = new StringBuilder(64);
+            int year = cal.get(Calendar.YEAR);
+            if (cal.get(Calendar.ERA) == GregorianCalendar.BC) {
+                // ISO 8601 astronomical year numbering
+                year = 1 - year;
+            }
+            if (year < 0) {
+                sb.append('-');
+                year = -year;
+            }
+            if (year > 9999) {
+                sb.append(year);
+            } else {
+                append(sb, 1000, year);
+            }
+            sb.append('-');
+            append(sb, 10, cal.get(Calendar.MONTH) + 1);
+            sb.append('-');
+            append(sb, 10, cal.get(Calendar.DAY_OF_MONTH));
+            sb.append('T');
+            append(sb, 10, cal.get(Calendar.HOUR_OF_DAY));
+            sb.append(':');
+            append(sb, 10, cal.get(Calendar.MINUTE));
+            sb.append(':');
+            append(sb, 10, cal.get(Calendar.SECOND));
+            if (nanos != 0) {
+                sb.append('.');
+                // adding leading zeros and stripping any trailing zeros
+                int w = 100_000_000;
+                int n = nanos;
+                while (n % 10 == 0) {
+                    n /= 10;
+                    w /= 10;
+                }
+                append(sb, w, n);
+            }
+            sb.append('Z');
+            valueAsString = sb.toString();
+        }
+        return valueAsString;
+    }
+}
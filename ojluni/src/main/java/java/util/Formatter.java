@@ -50,6 +50,7 @@ import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
 
 import libcore.icu.LocaleData;
+import libcore.util.ConcurrentLruCache;
 import sun.misc.FpUtils;
 import sun.misc.DoubleConsts;
 import sun.misc.FormattedFloatingDecimal;
@@ -1845,6 +1846,20 @@ public final class Formatter implements Closeable, Flushable {
     private final char zero;
     private static double scaleUp;
 
+    // Android-added: Cache parsed format strings.
+    private static final int MAX_CACHED_FORMATS = 256;
+    private static final int MAX_CACHED_FORMAT_LENGTH = 512;
+    /**
+     * Format strings parsed by {@link #parseFormat}, keyed by format string.
+     * When full, the least recently used formats are evicted.
+     */
+    private static final ConcurrentLruCache<String, Object[]> parsedFormats =
+            new ConcurrentLruCache<>(MAX_CACHED_FORMATS);
+
+    // Android-added: Reuse one specifier to print every parsed specifier.
+    /** A specifier to load parsed specifiers into, or null if in use. */
+    private FormatSpecifier spareSpecifier;
+
     // 1 (sign) + 19 (max # sig digits) + 1 ('.') + 1 ('e') + 1 (sign)
     // + 3 (max # exp digits) + 4 (error) = 30
     private static final int MAX_FD_CHARS = 30;
@@ -2469,14 +2484,25 @@ public final class Formatter implements Closeable, Flushable {
         // last ordinary index
         int lasto = -1;
 
-        FormatString[] fsa = parse(format);
-        for (int i = 0; i < fsa.length; i++) {
-            FormatString fs = fsa[i];
+        // Android-changed: Use cached parsed format strings.
+        Object[] parts = parseFormat(format);
+        FormatSpecifier fs = takeSpareSpecifier();
+        for (int i = 0; i < parts.length; i++) {
+            Object part = parts[i];
+            if (part instanceof String) {
+                try {
+                    a.append((String) part);
+                } catch (IOException x) {
+                    lastException = x;
+                }
+                continue;
+            }
+            fs.load((ParsedSpecifier) part);
             int index = fs.index();
             try {
                 switch (index) {
                 case -2:  // fixed string, "%n", or "%%"
-                    fs.print(null, l);
+                    fs.print((Object) null, l);
                     break;
                 case -1:  // relative index
                     if (last < 0 || (args != null && last > args.length - 1))
@@ -2501,14 +2527,63 @@ public final class Formatter implements Closeable, Flushable {
                 lastException = x;
             }
         }
+        spareSpecifier = fs;
         return this;
     }
 
+    // Android-added: Cache parsed format strings.
+    /**
+     * Returns the parts of the given format string: a {@code String} for
+     * each run of fixed text, and a {@link ParsedSpecifier} for each format
+     * specifier. The returned array may be shared, and must not be modified.
+     *
+     * @throws  IllegalFormatException
+     *          If the format string contains an illegal syntax
+     */
+    static Object[] parseFormat(String format) {
+        Object[] parts = parsedFormats.get(format);
+        if (parts == null) {
+            // The specifiers are inner classes of a Formatter, but don't
+            // depend on its state.
+            parts = new Formatter((Locale) null, (Appendable) null).parse(format);
+            if (format.length() <= MAX_CACHED_FORMAT_LENGTH)
+                parsedFormats.put(format, parts);
+        }
+        return parts;
+    }
+
+    // Android-added: Reuse one specifier to print every parsed specifier.
+    /**
+     * Returns a specifier to load parsed specifiers into. The caller should
+     * give it back by storing it in {@link #spareSpecifier} once done, which
+     * it may skip if it throws. A format() that is reentered, for example by
+     * a {@link Formattable}, gets a new specifier.
+     */
+    private FormatSpecifier takeSpareSpecifier() {
+        FormatSpecifier fs = spareSpecifier;
+        spareSpecifier = null;
+        return (fs != null) ? fs : new FormatSpecifier();
+    }
+
+    // Android-added: Print parsed specifiers for CompiledFormat.
+    /**
+     * Prints {@code arg} as {@code spec} says, to this formatter's destination.
+     * Unlike {@link #format}, any {@code IOException} is thrown.
+     */
+    void print(ParsedSpecifier spec, Object arg, Locale l) throws IOException {
+        FormatSpecifier fs = takeSpareSpecifier();
+        fs.load(spec);
+        fs.print(arg, l);
+        spareSpecifier = fs;
+    }
+
     /**
      * Finds format specifiers in the format string.
      */
-    private FormatString[] parse(String s) {
-        ArrayList<FormatString> al = new ArrayList<>();
+    // Android-changed: Return fixed text as Strings and specifiers as ParsedSpecifiers.
+    // Merges adjacent fixed text, including "%%" without a width.
+    private Object[] parse(String s) {
+        ArrayList<Object> al = new ArrayList<>();
         for (int i = 0, len = s.length(); i < len; ) {
             int nextPercent = s.indexOf('%', i);
             if (s.charAt(i) != '%') {
@@ -2516,17 +2591,29 @@ public final class Formatter implements Closeable, Flushable {
                 // sequence and store it.
                 int plainTextStart = i;
                 int plainTextEnd = (nextPercent == -1) ? len: nextPercent;
-                al.add(new FixedString(s.substring(plainTextStart,
-                                                   plainTextEnd)));
+                addFixedString(al, s.substring(plainTextStart, plainTextEnd));
                 i = plainTextEnd;
             } else {
                 // We have a format specifier
                 FormatSpecifierParser fsp = new FormatSpecifierParser(s, i + 1);
-                al.add(fsp.getFormatSpecifier());
+                FormatSpecifier fs = fsp.getFormatSpecifier();
+                if (fs.c == Conversion.PERCENT_SIGN && fs.width == -1)
+                    addFixedString(al, "%");
+                else
+                    al.add(new ParsedSpecifier(fs));
                 i = fsp.getEndIdx();
             }
         }
-        return al.toArray(new FormatString[al.size()]);
+        return al.toArray();
+    }
+
+    // Android-added: Merge adjacent fixed text when parsing.
+    private static void addFixedString(ArrayList<Object> al, String s) {
+        int last = al.size() - 1;
+        if (last >= 0 && al.get(last) instanceof String)
+            al.set(last, (String) al.get(last) + s);
+        else
+            al.add(s);
     }
 
     /**
@@ -2640,13 +2727,39 @@ public final class Formatter implements Closeable, Flushable {
         String toString();
     }
 
-    private class FixedString implements FormatString {
-        private String s;
-        FixedString(String s) { this.s = s; }
-        public int index() { return -2; }
-        public void print(Object arg, Locale l)
-            throws IOException { a.append(s); }
-        public String toString() { return s; }
+    // Android-removed: FixedString. Parsed formats hold fixed text as Strings.
+
+    // Android-added: Parsed specifiers that don't belong to any Formatter.
+    /**
+     * The result of parsing one format specifier. These are immutable, so
+     * parsed format strings can be shared between formatters and threads.
+     * A formatter prints one by loading it into a {@link FormatSpecifier}.
+     */
+    static final class ParsedSpecifier {
+        final int index;
+        private final Flags f;
+        final int width;
+        final int precision;
+        final boolean dt;
+        final char c;
+        /** Whether there are no flags, no width, and it isn't a date/time. */
+        final boolean plain;
+        private final String text;
+
+        private ParsedSpecifier(FormatSpecifier fs) {
+            index = fs.index;
+            f = fs.f;
+            width = fs.width;
+            precision = fs.precision;
+            dt = fs.dt;
+            c = fs.c;
+            plain = (f.valueOf() == 0 && width == -1 && !dt);
+            text = fs.toString();
+        }
+
+        public String toString() {
+            return text;
+        }
     }
 
     public enum BigDecimalLayoutForm { SCIENTIFIC, DECIMAL_FLOAT };
@@ -2741,6 +2854,24 @@ public final class Formatter implements Closeable, Flushable {
             return c;
         }
 
+        // Android-added: Reusable specifiers, see load().
+        FormatSpecifier() {
+        }
+
+        // Android-added: Reusable specifiers.
+        /**
+         * Makes this specifier print as {@code spec} says. Flags are shared
+         * and must not be modified.
+         */
+        void load(ParsedSpecifier spec) {
+            index = spec.index;
+            f = spec.f;
+            width = spec.width;
+            precision = spec.precision;
+            dt = spec.dt;
+            c = spec.c;
+        }
+
         FormatSpecifier(String indexStr, String flagsStr, String widthStr,
                         String precisionStr, String tTStr, String convStr) {
             int idx = 1;
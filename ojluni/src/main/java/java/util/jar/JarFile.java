@@ -198,7 +198,12 @@ class JarFile extends ZipFile {
         return man;
     }
 
-    private native String[] getMetaInfEntryNames();
+    // Android-changed: Archives read through a mapping have no jzfile for the native code.
+    private String[] getMetaInfEntryNames() {
+        return isMapped() ? getMappedMetaInfEntryNames() : getMetaInfEntryNames0();
+    }
+
+    private native String[] getMetaInfEntryNames0();
 
     /**
      * Returns the <code>JarEntry</code> for the given entry name or
@@ -123,6 +123,13 @@ public final class Matcher implements MatchResult {
     private static final NativeAllocationRegistry registry = new NativeAllocationRegistry(
             Matcher.class.getClassLoader(), getNativeFinalizer(), nativeSize());
 
+    /**
+     * Matches in place of the native peer if the pattern was compiled for the
+     * pure-Java engine, and is null otherwise. It needs no synchronization,
+     * since a misused one can't crash.
+     */
+    private RegexMatcher javaMatcher;
+
     /**
      * Holds the input text.
      */
@@ -225,8 +232,13 @@ public final class Matcher implements MatchResult {
                 address = 0; // In case openImpl throws.
                 nativeFinalizer = null;
             }
-            address = openImpl(pattern.address);
-            nativeFinalizer = registry.registerNativeAllocation(this, address);
+            if (newPattern.program != null) {
+                javaMatcher = new RegexMatcher(newPattern.program);
+            } else {
+                javaMatcher = null;
+                address = openImpl(pattern.address);
+                nativeFinalizer = registry.registerNativeAllocation(this, address);
+            }
         }
 
         if (input != null) {
@@ -396,6 +408,9 @@ public final class Matcher implements MatchResult {
      * @return The number of capturing groups in this matcher's pattern
      */
     public int groupCount() {
+        if (javaMatcher != null) {
+            return javaMatcher.groupCount();
+        }
         synchronized (this) {
             return groupCountImpl(address);
         }
@@ -411,6 +426,9 @@ public final class Matcher implements MatchResult {
      *          matches this matcher's pattern
      */
     public boolean matches() {
+        if (javaMatcher != null) {
+            return matchFound = javaMatcher.matches(matchOffsets);
+        }
         synchronized (this) {
             matchFound = matchesImpl(address, input, matchOffsets);
         }
@@ -433,6 +451,9 @@ public final class Matcher implements MatchResult {
      *          sequence matches this matcher's pattern
      */
     public boolean find() {
+        if (javaMatcher != null) {
+            return matchFound = javaMatcher.findNext(matchOffsets);
+        }
         synchronized (this) {
             matchFound = findNextImpl(address, input, matchOffsets);
         }
@@ -462,6 +483,9 @@ public final class Matcher implements MatchResult {
             throw new IndexOutOfBoundsException("start=" + start + "; length=" + input.length());
         }
 
+        if (javaMatcher != null) {
+            return matchFound = javaMatcher.find(start, matchOffsets);
+        }
         synchronized (this) {
             matchFound = findImpl(address, input, start, matchOffsets);
         }
@@ -483,6 +507,9 @@ public final class Matcher implements MatchResult {
      *          sequence matches this matcher's pattern
      */
     public boolean lookingAt() {
+        if (javaMatcher != null) {
+            return matchFound = javaMatcher.lookingAt(matchOffsets);
+        }
         synchronized (this) {
             matchFound = lookingAtImpl(address, input, matchOffsets);
         }
@@ -849,7 +876,10 @@ public final class Matcher implements MatchResult {
     public Matcher useTransparentBounds(boolean value) {
         synchronized (this) {
             transparentBounds = value;
-            useTransparentBoundsImpl(address, value);
+            // Without lookaround, bounds can't be transparent to the Java engine.
+            if (javaMatcher == null) {
+                useTransparentBoundsImpl(address, value);
+            }
         }
         return this;
     }
@@ -898,7 +928,11 @@ public final class Matcher implements MatchResult {
     public Matcher useAnchoringBounds(boolean value) {
         synchronized (this) {
             anchoringBounds = value;
-            useAnchoringBoundsImpl(address, value);
+            if (javaMatcher != null) {
+                javaMatcher.useAnchoringBounds(value);
+            } else {
+                useAnchoringBoundsImpl(address, value);
+            }
         }
         return this;
     }
@@ -937,6 +971,9 @@ public final class Matcher implements MatchResult {
      * @since 1.5
      */
     public boolean hitEnd() {
+        if (javaMatcher != null) {
+            return javaMatcher.hitEnd();
+        }
         synchronized (this) {
             return hitEndImpl(address);
         }
@@ -958,6 +995,9 @@ public final class Matcher implements MatchResult {
      * @since 1.5
      */
     public boolean requireEnd() {
+        if (javaMatcher != null) {
+            return javaMatcher.requireEnd();
+        }
         synchronized (this) {
             return requireEndImpl(address);
         }
@@ -1032,6 +1072,11 @@ public final class Matcher implements MatchResult {
     }
 
     private void resetForInput() {
+        if (javaMatcher != null) {
+            javaMatcher.setInput(input, regionStart, regionEnd);
+            javaMatcher.useAnchoringBounds(anchoringBounds);
+            return;
+        }
         synchronized (this) {
             setInputImpl(address, input, regionStart, regionEnd);
             useAnchoringBoundsImpl(address, anchoringBounds);
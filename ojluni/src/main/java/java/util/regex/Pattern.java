@@ -905,6 +905,29 @@ public final class Pattern implements java.io.Serializable
      */
     public static final int UNICODE_CHARACTER_CLASS = 0x100;
 
+    /**
+     * Matches with the pure-Java engine rather than ICU, if the engine
+     * supports the expression and the other flags. Expressions it doesn't
+     * support are matched by ICU as usual.
+     *
+     * <p> Matching in Java avoids calling into native code and copying the
+     * input for every match, which dominates the cost of short matches.
+     * It supports literals, character classes, groups, alternation, greedy
+     * and reluctant quantifiers, and the anchors <tt>^</tt>, <tt>$</tt>,
+     * <tt>&#92;A</tt> and <tt>&#92;z</tt>, with the flags {@link #MULTILINE},
+     * {@link #UNIX_LINES} and {@link #LITERAL}.
+     *
+     * <p> Setting the system property <tt>java.util.regex.engine</tt> to
+     * <tt>java</tt> has the effect of this flag for every pattern.
+     *
+     * @hide
+     */
+    public static final int JAVA_ENGINE = 0x10000;
+
+    /** Whether every pattern should try the pure-Java engine. */
+    private static final boolean USE_JAVA_ENGINE =
+            "java".equals(System.getProperty("java.util.regex.engine"));
+
     /* Pattern has only two serialized components: The pattern string
      * and the flags, which are all that is needed to recompile the pattern
      * when it is deserialized.
@@ -929,6 +952,12 @@ public final class Pattern implements java.io.Serializable
 
     transient long address;
 
+    /**
+     * The program for the pure-Java engine, or null if ICU matches this pattern.
+     * Patterns with a program have no native peer.
+     */
+    transient RegexProgram program;
+
     private static final NativeAllocationRegistry registry = new NativeAllocationRegistry(
             Pattern.class.getClassLoader(), getNativeFinalizer(), nativeSize());
 
@@ -1166,23 +1195,11 @@ public final class Pattern implements java.io.Serializable
      */
     public static String[] fastSplit(String re, String input, int limit) {
         // Can we do it cheaply?
-        int len = re.length();
-        if (len == 0) {
-            return null;
-        }
-        char ch = re.charAt(0);
-        if (len == 1 && FASTSPLIT_METACHARACTERS.indexOf(ch) == -1) {
-            // We're looking for a single non-metacharacter. Easy.
-        } else if (len == 2 && ch == '\\') {
-            // We're looking for a quoted character.
-            // Quoted metacharacters are effectively single non-metacharacters.
-            ch = re.charAt(1);
-            if (FASTSPLIT_METACHARACTERS.indexOf(ch) == -1) {
-                return null;
-            }
-        } else {
+        int separator = fastSplitSeparator(re);
+        if (separator == -1) {
             return null;
         }
+        char ch = (char) separator;
 
         // We can do this cheaply...
 
@@ -1229,6 +1246,62 @@ public final class Pattern implements java.io.Serializable
         return result;
     }
 
+    /**
+     * Returns the char that {@link #fastSplit} splits around for {@code re},
+     * or -1 if {@code re} isn't a single char or a quoted metacharacter.
+     */
+    private static int fastSplitSeparator(String re) {
+        int len = re.length();
+        if (len == 0) {
+            return -1;
+        }
+        char ch = re.charAt(0);
+        if (len == 1 && FASTSPLIT_METACHARACTERS.indexOf(ch) == -1) {
+            // We're looking for a single non-metacharacter. Easy.
+            return ch;
+        } else if (len == 2 && ch == '\\') {
+            // We're looking for a quoted character.
+            // Quoted metacharacters are effectively single non-metacharacters.
+            ch = re.charAt(1);
+            if (FASTSPLIT_METACHARACTERS.indexOf(ch) != -1) {
+                return ch;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a {@link Splitter} over the fields of {@code input} split
+     * around matches of this pattern. It finds the fields of {@link
+     * #split(CharSequence)} lazily, without copying them.
+     *
+     * @hide
+     */
+    public Splitter splitter(CharSequence input) {
+        // Unlike split(), take flags that change the meaning of a single char into account.
+        int separator = ((flags & (CASE_INSENSITIVE | COMMENTS | LITERAL)) == 0)
+                ? fastSplitSeparator(pattern) : -1;
+        if (separator != -1) {
+            return new Splitter(input, (char) separator);
+        }
+        return new Splitter(input, this);
+    }
+
+    /**
+     * Returns a {@link Splitter} over the fields of {@code input} split
+     * around matches of {@code re}, like {@code compile(re).splitter(input)}
+     * but without compiling {@code re} if it's a single char.
+     *
+     * @hide
+     */
+    public static Splitter splitter(String re, CharSequence input) {
+        int separator = fastSplitSeparator(re);
+        if (separator != -1) {
+            return new Splitter(input, (char) separator);
+        }
+        return compile(re).splitter(input);
+    }
+
     /**
      * Splits the given input sequence around matches of this pattern.
      *
@@ -1315,7 +1388,8 @@ public final class Pattern implements java.io.Serializable
         if ((f & CANON_EQ) != 0) {
             throw new UnsupportedOperationException("CANON_EQ flag not supported");
         }
-        int supportedFlags = CASE_INSENSITIVE | COMMENTS | DOTALL | LITERAL | MULTILINE | UNICODE_CASE | UNIX_LINES;
+        int supportedFlags = CASE_INSENSITIVE | COMMENTS | DOTALL | LITERAL | MULTILINE | UNICODE_CASE | UNIX_LINES
+                | JAVA_ENGINE;
         if ((f & ~supportedFlags) != 0) {
             throw new IllegalArgumentException("Unsupported flags: " + (f & ~supportedFlags));
         }
@@ -1329,6 +1403,13 @@ public final class Pattern implements java.io.Serializable
             throw new NullPointerException("pattern == null");
         }
 
+        if (USE_JAVA_ENGINE || (flags & JAVA_ENGINE) != 0) {
+            program = RegexCompiler.compile(pattern, flags & ~JAVA_ENGINE);
+            if (program != null) {
+                return;
+            }
+        }
+
         String icuPattern = pattern;
         if ((flags & LITERAL) != 0) {
             icuPattern = quote(pattern);
@@ -0,0 +1,430 @@
+/*
+ * Copyright (c) 1995, 2016, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package java.util.zip;
+
+import android.system.ErrnoException;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import libcore.io.MemoryMappedFile;
+
+import static java.util.zip.ZipConstants64.*;
+
+/**
+ * Reads a zip file through a memory mapping, without the native jzfile. The central directory
+ * is copied out and indexed by a hash table of entry names once, when the file is opened; after
+ * that, lookups never touch the file, and entry data is served straight from the mapping.
+ *
+ * <p>Entries are identified by the position of their header in the central directory.
+ * Instances are immutable apart from {@link #close}, so they may be shared between threads.
+ */
+final class MappedZipSource implements ZipConstants, Closeable {
+    private static final int ENDCHAIN = -1;
+
+    // Fields that may be saturated and replaced by the ZIP64 extended information extra field,
+    // in the order that the extra field stores them.
+    private static final int FIELD_SIZE = 0;
+    private static final int FIELD_CSIZE = 1;
+    private static final int FIELD_LOCOFF = 2;
+    private static final int[] FIELD_OFFSETS = { CENLEN, CENSIZ, CENOFF };
+
+    private final MemoryMappedFile mappedFile;
+    // The whole file. Only absolute gets are used, so this is safe to share between threads.
+    private final ByteBuffer buffer;
+    // Position of the first LOC header, which is non-zero if the archive has been prefixed
+    // with other data.
+    private final long locpos;
+    private final boolean startsWithLoc;
+    private final byte[] comment;
+
+    // A copy of the central directory.
+    private final byte[] cen;
+    private final int total;
+    // For each entry, in central directory order: the hash of its name, the index of the next
+    // entry in the same hash bucket, and the position of its header in cen.
+    private final int[] entries;
+    // The index of the first entry in each hash bucket.
+    private final int[] table;
+    // The positions in cen of the headers of entries under "META-INF/".
+    private final int[] metaPositions;
+
+    static MappedZipSource open(File file) throws IOException {
+        MemoryMappedFile mappedFile;
+        try {
+            mappedFile = MemoryMappedFile.mmapRO(file.getPath());
+        } catch (ErrnoException e) {
+            throw e.rethrowAsIOException();
+        }
+        try {
+            return new MappedZipSource(mappedFile);
+        } catch (IOException | RuntimeException e) {
+            try {
+                mappedFile.close();
+            } catch (ErrnoException ignored) {
+            }
+            throw e;
+        }
+    }
+
+    private MappedZipSource(MemoryMappedFile mappedFile) throws IOException {
+        this.mappedFile = mappedFile;
+        buffer = mappedFile.asByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+        startsWithLoc = buffer.capacity() >= 4 && getU32(0) == LOCSIG;
+
+        int endpos = findEnd();
+        int commentLength = getU16(endpos + ENDCOM);
+        comment = (commentLength == 0) ? null : getBytes(endpos + ENDHDR, commentLength);
+        long cenlen = getU32(endpos + ENDSIZ);
+        long cenoff = getU32(endpos + ENDOFF);
+        int expectedTotal = getU16(endpos + ENDTOT);
+        if (cenlen == ZIP64_MAGICVAL || cenoff == ZIP64_MAGICVAL ||
+                expectedTotal == ZIP64_MAGICCOUNT) {
+            int locatorPos = endpos - ZIP64_LOCHDR;
+            if (locatorPos >= 0 && getU32(locatorPos) == ZIP64_LOCSIG) {
+                long end64pos = getS64(locatorPos + ZIP64_LOCOFF);
+                if (end64pos < 0 || end64pos > locatorPos - ZIP64_ENDHDR ||
+                        getU32((int) end64pos) != ZIP64_ENDSIG) {
+                    throw new ZipException("invalid zip64 END header");
+                }
+                endpos = (int) end64pos;
+                cenlen = getS64(endpos + ZIP64_ENDSIZ);
+                cenoff = getS64(endpos + ZIP64_ENDOFF);
+                expectedTotal = (int) Math.min(getS64(endpos + ZIP64_ENDTOT), Integer.MAX_VALUE);
+            }
+        }
+        if (cenlen < 0 || cenlen > endpos) {
+            throw new ZipException("invalid END header (bad central directory size)");
+        }
+        int cenpos = endpos - (int) cenlen;
+        locpos = cenpos - cenoff;
+        if (cenoff < 0 || locpos < 0) {
+            throw new ZipException("invalid END header (bad central directory offset)");
+        }
+        cen = getBytes(cenpos, (int) cenlen);
+
+        // The END header's entry count is only a hint: like the native implementation, trust
+        // the central directory itself.
+        int[] entries = new int[3 * Math.max(1, Math.min(expectedTotal, cen.length / CENHDR))];
+        int[] metaPositions = new int[4];
+        int metaCount = 0;
+        int count = 0;
+        int pos = 0;
+        while (pos + CENHDR <= cen.length) {
+            if (get32(cen, pos) != CENSIG) {
+                throw new ZipException("invalid CEN header (bad signature)");
+            }
+            int nlen = get16(cen, pos + CENNAM);
+            int next = pos + CENHDR + nlen + get16(cen, pos + CENEXT) + get16(cen, pos + CENCOM);
+            if (next > cen.length) {
+                throw new ZipException("invalid CEN header (bad header size)");
+            }
+            if (3 * count == entries.length) {
+                entries = Arrays.copyOf(entries, 2 * entries.length);
+            }
+            entries[3 * count] = hash(cen, pos + CENHDR, nlen);
+            entries[3 * count + 2] = pos;
+            if (isMetaName(cen, pos + CENHDR, nlen)) {
+                if (metaCount == metaPositions.length) {
+                    metaPositions = Arrays.copyOf(metaPositions, 2 * metaCount);
+                }
+                metaPositions[metaCount++] = pos;
+            }
+            count++;
+            pos = next;
+        }
+        if (pos != cen.length) {
+            throw new ZipException("invalid CEN header (bad header size)");
+        }
+
+        // Chain the entries into hash buckets. Later entries come first, so that when a name
+        // occurs twice, the later one wins, as it does natively.
+        int[] table = new int[count / 2 + 1];
+        Arrays.fill(table, ENDCHAIN);
+        for (int i = 0; i < count; i++) {
+            int bucket = (entries[3 * i] & 0x7fffffff) % table.length;
+            entries[3 * i + 1] = table[bucket];
+            table[bucket] = i;
+        }
+        this.total = count;
+        this.entries = entries;
+        this.table = table;
+        this.metaPositions = Arrays.copyOf(metaPositions, metaCount);
+    }
+
+    /**
+     * Returns the position of the END header: the last one in the file that is followed by
+     * exactly its comment, or failing that, the last one at all.
+     */
+    private int findEnd() throws ZipException {
+        int length = buffer.capacity();
+        int minPos = Math.max(0, length - ENDHDR - 0xffff);
+        int fallback = -1;
+        for (int pos = length - ENDHDR; pos >= minPos; pos--) {
+            if (getU32(pos) == ENDSIG) {
+                int end = pos + ENDHDR + getU16(pos + ENDCOM);
+                if (end == length) {
+                    return pos;
+                } else if (end < length && fallback == -1) {
+                    fallback = pos;
+                }
+            }
+        }
+        if (fallback == -1) {
+            throw new ZipException("zip END header not found");
+        }
+        return fallback;
+    }
+
+    int size() {
+        return total;
+    }
+
+    boolean startsWithLocHeader() {
+        return startsWithLoc;
+    }
+
+    byte[] getCommentBytes() {
+        return (comment == null) ? null : comment.clone();
+    }
+
+    /** Returns the position of the {@code index}-th entry, in central directory order. */
+    int getEntryPos(int index) {
+        return entries[3 * index + 2];
+    }
+
+    /**
+     * Returns the position of the entry called {@code name}, or -1 if there is none. If
+     * {@code addSlash} is true, the directory entry {@code name + "/"} will also do.
+     */
+    int getEntryPos(byte[] name, boolean addSlash) {
+        int hash = hash(name, 0, name.length);
+        int pos = findEntry(name, hash, false);
+        if (pos == -1 && addSlash && (name.length == 0 || name[name.length - 1] != '/')) {
+            pos = findEntry(name, 31 * hash + '/', true);
+        }
+        return pos;
+    }
+
+    private int findEntry(byte[] name, int hash, boolean slash) {
+        int nameLength = slash ? name.length + 1 : name.length;
+        int i = table[(hash & 0x7fffffff) % table.length];
+        for (; i != ENDCHAIN; i = entries[3 * i + 1]) {
+            int pos = entries[3 * i + 2];
+            if (entries[3 * i] != hash || get16(cen, pos + CENNAM) != nameLength) {
+                continue;
+            }
+            int start = pos + CENHDR;
+            int j = 0;
+            while (j < name.length && cen[start + j] == name[j]) {
+                j++;
+            }
+            if (j == name.length && (!slash || cen[start + j] == '/')) {
+                return pos;
+            }
+        }
+        return ENDCHAIN;
+    }
+
+    /**
+     * Returns a new entry for the header at {@code pos}. The entry is called {@code name} if
+     * that's non-null, and is otherwise given its name from the header.
+     */
+    ZipEntry getZipEntry(String name, int pos, ZipCoder zc) {
+        ZipEntry e = new ZipEntry();
+        e.flag = get16(cen, pos + CENFLG);
+        boolean utf8 = !zc.isUTF8() && (e.flag & EFS) != 0;
+        int nlen = get16(cen, pos + CENNAM);
+        int elen = get16(cen, pos + CENEXT);
+        int clen = get16(cen, pos + CENCOM);
+        int start = pos + CENHDR;
+        if (name != null) {
+            e.name = name;
+        } else {
+            byte[] bname = Arrays.copyOfRange(cen, start, start + nlen);
+            e.name = utf8 ? zc.toStringUTF8(bname, nlen) : zc.toString(bname, nlen);
+        }
+        e.time = get32(cen, pos + CENTIM);
+        e.crc = get32(cen, pos + CENCRC);
+        e.size = getField(pos, FIELD_SIZE);
+        e.csize = getField(pos, FIELD_CSIZE);
+        e.method = get16(cen, pos + CENHOW);
+        start += nlen;
+        e.extra = (elen == 0) ? null : Arrays.copyOfRange(cen, start, start + elen);
+        start += elen;
+        if (clen != 0) {
+            byte[] bcomm = Arrays.copyOfRange(cen, start, start + clen);
+            e.comment = utf8 ? zc.toStringUTF8(bcomm, clen) : zc.toString(bcomm, clen);
+        }
+        return e;
+    }
+
+    int getEntryMethod(int pos) {
+        return get16(cen, pos + CENHOW);
+    }
+
+    long getEntrySize(int pos) {
+        return getField(pos, FIELD_SIZE);
+    }
+
+    /**
+     * Returns a read-only buffer over the (possibly compressed) data of the entry at
+     * {@code pos}, without copying it.
+     */
+    ByteBuffer getEntryData(int pos) throws ZipException {
+        long csize = getField(pos, FIELD_CSIZE);
+        long loc = locpos + getField(pos, FIELD_LOCOFF);
+        if (loc < 0 || loc > buffer.capacity() - LOCHDR || getU32((int) loc) != LOCSIG) {
+            throw new ZipException("invalid LOC header (bad signature)");
+        }
+        long start = loc + LOCHDR + getU16((int) loc + LOCNAM) + getU16((int) loc + LOCEXT);
+        if (csize < 0 || start + csize > buffer.capacity()) {
+            throw new ZipException("invalid LOC header (bad entry size)");
+        }
+        ByteBuffer data = buffer.duplicate();
+        data.limit((int) (start + csize));
+        data.position((int) start);
+        return data.slice();
+    }
+
+    /** Returns the names of the entries under "META-INF/", or null if there are none. */
+    String[] getMetaInfEntryNames(ZipCoder zc) {
+        if (metaPositions.length == 0) {
+            return null;
+        }
+        String[] names = new String[metaPositions.length];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = getZipEntry(null, metaPositions[i], zc).name;
+        }
+        return names;
+    }
+
+    /**
+     * Closes the mapped file. The mapping itself stays until buffers returned by
+     * {@link #getEntryData} are unreachable, so those remain safe to read.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            mappedFile.close();
+        } catch (ErrnoException e) {
+            throw e.rethrowAsIOException();
+        }
+    }
+
+    /**
+     * Returns the 32-bit value of a field that the ZIP64 extended information extra field
+     * replaces when it is saturated.
+     */
+    private long getField(int pos, int field) {
+        long value = get32(cen, pos + FIELD_OFFSETS[field]);
+        if (value != ZIP64_MAGICVAL) {
+            return value;
+        }
+        // The extra field holds 64-bit values for exactly the saturated fields, in order.
+        int index = 0;
+        for (int f = 0; f < field; f++) {
+            if (get32(cen, pos + FIELD_OFFSETS[f]) == ZIP64_MAGICVAL) {
+                index++;
+            }
+        }
+        int extra = pos + CENHDR + get16(cen, pos + CENNAM);
+        int extraEnd = extra + get16(cen, pos + CENEXT);
+        while (extra + 4 <= extraEnd) {
+            int tag = get16(cen, extra);
+            int size = get16(cen, extra + 2);
+            if (tag == ZIP64_EXTID) {
+                int offset = extra + 4 + 8 * index;
+                if (offset + 8 <= Math.min(extra + 4 + size, extraEnd)) {
+                    return get64(cen, offset);
+                }
+                break;
+            }
+            extra += 4 + size;
+        }
+        return value;
+    }
+
+    private static int hash(byte[] a, int offset, int length) {
+        int h = 0;
+        for (int i = offset; i < offset + length; i++) {
+            h = 31 * h + a[i];
+        }
+        return h;
+    }
+
+    /** Returns true if the name starts with "META-INF/", ignoring ASCII case. */
+    private static boolean isMetaName(byte[] a, int offset, int length) {
+        final String prefix = "META-INF/";
+        if (length < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            int c = a[offset + i];
+            if (c >= 'a' && c <= 'z') {
+                c += 'A' - 'a';
+            }
+            if (c != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] getBytes(int pos, int length) {
+        byte[] result = new byte[length];
+        ByteBuffer source = buffer.duplicate();
+        source.position(pos);
+        source.get(result);
+        return result;
+    }
+
+    private int getU16(int pos) {
+        return buffer.getShort(pos) & 0xffff;
+    }
+
+    private long getU32(int pos) {
+        return buffer.getInt(pos) & 0xffffffffL;
+    }
+
+    private long getS64(int pos) {
+        return buffer.getLong(pos);
+    }
+
+    private static int get16(byte[] b, int off) {
+        return (b[off] & 0xff) | ((b[off + 1] & 0xff) << 8);
+    }
+
+    private static long get32(byte[] b, int off) {
+        return (get16(b, off) | ((long) get16(b, off + 2) << 16)) & 0xffffffffL;
+    }
+
+    private static long get64(byte[] b, int off) {
+        return get32(b, off) | (get32(b, off + 4) << 32);
+    }
+}
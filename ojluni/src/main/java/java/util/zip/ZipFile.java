@@ -32,6 +32,7 @@ import java.io.IOException;
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
@@ -62,6 +63,8 @@ import static java.util.zip.ZipConstants64.*;
 public
 class ZipFile implements ZipConstants, Closeable {
     private long jzfile;           // address of jzfile data
+    // Android-added: Archives opened with OPEN_MAPPED are read in Java instead.
+    private MappedZipSource source;
     private final String name;     // zip file name
     private final int total;       // total number of entries
     private final boolean locsig;  // if zip file starts with LOCSIG (usually true)
@@ -90,6 +93,17 @@ class ZipFile implements ZipConstants, Closeable {
      */
     public static final int OPEN_DELETE = 0x4;
 
+    // Android-added: Read the archive in Java through a memory mapping.
+    /**
+     * Mode flag to read the zip file through a memory mapping rather than the native zip
+     * implementation. The central directory is indexed once, when the file is opened, and
+     * {@link #getEntryBuffer} can then return the contents of uncompressed entries without
+     * copying them. Files too large to map in one piece are read natively regardless.
+     *
+     * @hide
+     */
+    public static final int OPEN_MAPPED = 0x10;
+
     private static final boolean usemmap;
 
     static {
@@ -198,8 +212,9 @@ class ZipFile implements ZipConstants, Closeable {
      */
     public ZipFile(File file, int mode, Charset charset) throws IOException
     {
+        // Android-changed: Allow OPEN_MAPPED.
         if (((mode & OPEN_READ) == 0) ||
-            ((mode & ~(OPEN_READ | OPEN_DELETE)) != 0)) {
+            ((mode & ~(OPEN_READ | OPEN_DELETE | OPEN_MAPPED)) != 0)) {
             throw new IllegalArgumentException("Illegal mode: 0x"+
                                                Integer.toHexString(mode));
         }
@@ -222,10 +237,17 @@ class ZipFile implements ZipConstants, Closeable {
         if (charset == null)
             throw new NullPointerException("charset is null");
         this.zc = ZipCoder.get(charset);
-        jzfile = open(name, mode, file.lastModified(), usemmap);
+        // Android-changed: Read the archive in Java if asked to.
         this.name = name;
-        this.total = getTotal(jzfile);
-        this.locsig = startsWithLOC(jzfile);
+        if ((mode & OPEN_MAPPED) != 0 && length <= Integer.MAX_VALUE) {
+            source = MappedZipSource.open(file);
+            this.total = source.size();
+            this.locsig = source.startsWithLocHeader();
+        } else {
+            jzfile = open(name, mode & ~OPEN_MAPPED, file.lastModified(), usemmap);
+            this.total = getTotal(jzfile);
+            this.locsig = startsWithLOC(jzfile);
+        }
         Enumeration<? extends ZipEntry> entries = entries();
 
         // Android-changed: Error out early if the zipfile has no entries.
@@ -298,7 +320,9 @@ class ZipFile implements ZipConstants, Closeable {
     public String getComment() {
         synchronized (this) {
             ensureOpen();
-            byte[] bcomm = getCommentBytes(jzfile);
+            // Android-changed: Support archives opened with OPEN_MAPPED.
+            byte[] bcomm = (source != null) ? source.getCommentBytes()
+                                            : getCommentBytes(jzfile);
             if (bcomm == null)
                 return null;
             return zc.toString(bcomm, bcomm.length);
@@ -320,6 +344,11 @@ class ZipFile implements ZipConstants, Closeable {
         long jzentry = 0;
         synchronized (this) {
             ensureOpen();
+            // Android-added: Look the name up in the mapped central directory.
+            if (source != null) {
+                int pos = source.getEntryPos(zc.getBytes(name), true);
+                return (pos == -1) ? null : source.getZipEntry(name, pos, zc);
+            }
             jzentry = getEntry(jzfile, zc.getBytes(name), true);
             if (jzentry != 0) {
                 ZipEntry ze = getZipEntry(name, jzentry);
@@ -360,19 +389,27 @@ class ZipFile implements ZipConstants, Closeable {
         }
         long jzentry = 0;
         ZipFileInputStream in = null;
+        // Android-changed: Support archives opened with OPEN_MAPPED.
+        int method;
         synchronized (this) {
             ensureOpen();
-            if (!zc.isUTF8() && (entry.flag & EFS) != 0) {
-                jzentry = getEntry(jzfile, zc.getBytesUTF8(entry.name), true);
+            if (source != null) {
+                int pos = source.getEntryPos(getEntryNameBytes(entry), true);
+                if (pos == -1) {
+                    return null;
+                }
+                in = new ZipFileInputStream(source.getEntryData(pos), source.getEntrySize(pos));
+                method = source.getEntryMethod(pos);
             } else {
-                jzentry = getEntry(jzfile, zc.getBytes(entry.name), true);
-            }
-            if (jzentry == 0) {
-                return null;
+                jzentry = getEntry(jzfile, getEntryNameBytes(entry), true);
+                if (jzentry == 0) {
+                    return null;
+                }
+                in = new ZipFileInputStream(jzentry);
+                method = getEntryMethod(jzentry);
             }
-            in = new ZipFileInputStream(jzentry);
 
-            switch (getEntryMethod(jzentry)) {
+            switch (method) {
             case STORED:
                 synchronized (streams) {
                     streams.put(in, null);
@@ -380,7 +417,8 @@ class ZipFile implements ZipConstants, Closeable {
                 return in;
             case DEFLATED:
                 // MORE: Compute good size for inflater stream:
-                long size = getEntrySize(jzentry) + 2; // Inflater likes a bit of slack
+                // Android-changed: Support archives opened with OPEN_MAPPED.
+                long size = in.size() + 2; // Inflater likes a bit of slack
                 if (size > 65536) size = 8192;
                 if (size <= 0) size = 4096;
                 Inflater inf = getInflater();
@@ -396,6 +434,50 @@ class ZipFile implements ZipConstants, Closeable {
         }
     }
 
+    // Android-added: Factored out of getInputStream.
+    private byte[] getEntryNameBytes(ZipEntry entry) {
+        if (!zc.isUTF8() && (entry.flag & EFS) != 0) {
+            return zc.getBytesUTF8(entry.name);
+        } else {
+            return zc.getBytes(entry.name);
+        }
+    }
+
+    // Android-added: Zero-copy access to uncompressed entries of mapped archives.
+    /**
+     * Returns a read-only buffer holding the contents of the specified uncompressed entry,
+     * without copying them. Returns null if there is no such entry, if it is compressed, or if
+     * this zip file was not opened with {@link #OPEN_MAPPED}.
+     *
+     * <p>The buffer keeps the underlying mapping alive, so it may still be read after
+     * {@link #close} has been called; the file is unmapped once the buffer, and every buffer
+     * derived from it, is unreachable. Reading it after the file has been truncated raises
+     * SIGBUS, as with any mapping.
+     *
+     * @param entry the zip file entry
+     * @return a buffer holding the entry's contents, or null
+     * @throws ZipException if a ZIP format error has occurred
+     * @throws IllegalStateException if the zip file has been closed
+     *
+     * @hide
+     */
+    public ByteBuffer getEntryBuffer(ZipEntry entry) throws ZipException {
+        if (entry == null) {
+            throw new NullPointerException("entry");
+        }
+        synchronized (this) {
+            ensureOpen();
+            if (source == null) {
+                return null;
+            }
+            int pos = source.getEntryPos(getEntryNameBytes(entry), true);
+            if (pos == -1 || source.getEntryMethod(pos) != STORED) {
+                return null;
+            }
+            return source.getEntryData(pos);
+        }
+    }
+
     private class ZipFileInflaterInputStream extends InflaterInputStream {
         private volatile boolean closeRequested = false;
         private boolean eof = false;
@@ -511,6 +593,10 @@ class ZipFile implements ZipConstants, Closeable {
                         if (i >= total) {
                             throw new NoSuchElementException();
                         }
+                        // Android-added: Support archives opened with OPEN_MAPPED.
+                        if (source != null) {
+                            return source.getZipEntry(null, source.getEntryPos(i++), zc);
+                        }
                         long jzentry = getNextEntry(jzfile, i++);
                         if (jzentry == 0) {
                             String message;
@@ -625,6 +711,14 @@ class ZipFile implements ZipConstants, Closeable {
                 close(zf);
             }
 
+            // Android-added: Unmap archives opened with OPEN_MAPPED.
+            if (source != null) {
+                MappedZipSource s = source;
+                source = null;
+
+                s.close();
+            }
+
             // Android-changed, explicit delete for OPEN_DELETE ZipFile.
             if (fileToRemoveOnClose != null) {
                 fileToRemoveOnClose.delete();
@@ -661,7 +755,8 @@ class ZipFile implements ZipConstants, Closeable {
             throw new IllegalStateException("zip file closed");
         }
 
-        if (jzfile == 0) {
+        // Android-changed: Support archives opened with OPEN_MAPPED.
+        if (jzfile == 0 && source == null) {
             throw new IllegalStateException("The object is not initialized.");
         }
     }
@@ -682,12 +777,23 @@ class ZipFile implements ZipConstants, Closeable {
         private   long pos;     // current position within entry data
         protected long rem;     // number of remaining bytes within entry
         protected long size;    // uncompressed size of this entry
+        // Android-added: The entry's data, for archives opened with OPEN_MAPPED.
+        private final ByteBuffer data;
 
         ZipFileInputStream(long jzentry) {
             pos = 0;
             rem = getEntryCSize(jzentry);
             size = getEntrySize(jzentry);
             this.jzentry = jzentry;
+            this.data = null;
+        }
+
+        // Android-added: Reads an entry of an archive opened with OPEN_MAPPED.
+        ZipFileInputStream(ByteBuffer data, long size) {
+            pos = 0;
+            rem = data.remaining();
+            this.size = size;
+            this.data = data;
         }
 
         public int read(byte b[], int off, int len) throws IOException {
@@ -705,8 +811,16 @@ class ZipFile implements ZipConstants, Closeable {
                 len = (int) rem;
             }
             synchronized (ZipFile.this) {
-                len = ZipFile.read(ZipFile.this.jzfile, jzentry, pos, b,
-                                   off, len);
+                // Android-changed: Copy mapped entries straight out of the mapping. Checking
+                // under the lock guarantees that the zip file hasn't been unmapped yet.
+                if (data != null) {
+                    ensureOpenOrZipException();
+                    data.position((int) pos);
+                    data.get(b, off, len);
+                } else {
+                    len = ZipFile.read(ZipFile.this.jzfile, jzentry, pos, b,
+                                       off, len);
+                }
             }
             if (len > 0) {
                 pos += len;
@@ -781,9 +895,37 @@ class ZipFile implements ZipConstants, Closeable {
     /** @hide */
     // @VisibleForTesting
     public int getFileDescriptor() {
+        // Android-changed: Mapped archives don't keep a file descriptor open.
+        if (source != null) {
+            return -1;
+        }
         return getFileDescriptor(jzfile);
     }
 
+    // Android-added: JarFile's native getMetaInfEntryNames needs a jzfile.
+    /**
+     * Returns true if this zip file was opened with {@link #OPEN_MAPPED} and is being read
+     * through a memory mapping.
+     *
+     * @hide
+     */
+    public boolean isMapped() {
+        return source != null;
+    }
+
+    /**
+     * Returns the names of the entries under "META-INF/" of a zip file read through a memory
+     * mapping, or null if there are none.
+     *
+     * @hide
+     */
+    public String[] getMappedMetaInfEntryNames() {
+        synchronized (this) {
+            ensureOpen();
+            return (source != null) ? source.getMetaInfEntryNames(zc) : null;
+        }
+    }
+
     private static native int getFileDescriptor(long jzfile);
 
     private static native long open(String name, int mode, long lastModified,
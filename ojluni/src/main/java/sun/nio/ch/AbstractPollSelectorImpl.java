@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.nio.channels.*;
 import java.nio.channels.spi.*;
 import java.util.*;
+import java.util.function.Consumer;
 import sun.misc.*;
 
 
@@ -80,7 +81,8 @@ abstract class AbstractPollSelectorImpl
         return this;
     }
 
-    protected abstract int doSelect(long timeout) throws IOException;
+    protected abstract int doSelect(Consumer<SelectionKey> action, long timeout)
+        throws IOException;
 
     protected void implClose() throws IOException {
         synchronized (closeLock) {
@@ -111,9 +113,9 @@ abstract class AbstractPollSelectorImpl
     /**
      * Copy the information in the pollfd structs into the opss
      * of the corresponding Channels. Add the ready keys to the
-     * ready queue.
+     * ready queue, or hand them to the action if there is one.
      */
-    protected int updateSelectedKeys() {
+    protected int updateSelectedKeys(Consumer<SelectionKey> action) {
         int numKeysUpdated = 0;
         // Skip zeroth entry; it is for interrupts only
         for (int i=channelOffset; i<totalChannels; i++) {
@@ -121,17 +123,7 @@ abstract class AbstractPollSelectorImpl
             if (rOps != 0) {
                 SelectionKeyImpl sk = channelArray[i];
                 pollWrapper.putReventOps(i, 0);
-                if (selectedKeys.contains(sk)) {
-                    if (sk.channel.translateAndSetReadyOps(rOps, sk)) {
-                        numKeysUpdated++;
-                    }
-                } else {
-                    sk.channel.translateAndSetReadyOps(rOps, sk);
-                    if ((sk.nioReadyOps() & sk.nioInterestOps()) != 0) {
-                        selectedKeys.add(sk);
-                        numKeysUpdated++;
-                    }
-                }
+                numKeysUpdated += processReadyEvents(rOps, sk, action);
             }
         }
         return numKeysUpdated;
@@ -34,9 +34,15 @@ import java.nio.channels.*;
 import java.nio.channels.spi.*;
 import java.util.*;
 
+import android.system.ErrnoException;
 import dalvik.system.BlockGuard;
+import libcore.io.Libcore;
 import sun.net.ResourceManager;
 
+import static android.system.OsConstants.EAGAIN;
+import static android.system.OsConstants.ECONNREFUSED;
+import static android.system.OsConstants.MSG_WAITFORONE;
+
 
 /**
  * An implementation of DatagramChannels.
@@ -547,6 +553,158 @@ class DatagramChannelImpl
         return written;
     }
 
+    // Android-added: Batched receive and send using recvmmsg(2) and sendmmsg(2).
+    @Override
+    public int receiveBatch(ByteBuffer[] dsts, SocketAddress[] senders)
+        throws IOException
+    {
+        if (senders != null && senders.length < dsts.length)
+            throw new IllegalArgumentException("senders.length < dsts.length");
+        for (ByteBuffer dst : dsts) {
+            if (dst.isReadOnly())
+                throw new IllegalArgumentException("Read-only buffer");
+        }
+        // As in receive(ByteBuffer), don't bind implicitly.
+        if (localAddress == null)
+            return 0;
+        // Datagrams from unconnected sockets are vetted one at a time.
+        if (!isConnected() && System.getSecurityManager() != null)
+            return super.receiveBatch(dsts, senders);
+        synchronized (readLock) {
+            ensureOpen();
+            int n = 0;
+            try {
+                begin();
+                if (!isOpen())
+                    return 0;
+                readerThread = NativeThread.current();
+                InetSocketAddress[] srcAddresses = new InetSocketAddress[dsts.length];
+                for (int i = 0; i < srcAddresses.length; i++)
+                    srcAddresses[i] = new InetSocketAddress();
+                n = receiveBatch(fd, dsts, srcAddresses);
+                if (senders != null) {
+                    for (int i = 0; i < n; i++)
+                        senders[i] = srcAddresses[i];
+                }
+                return IOStatus.normalize(n);
+            } finally {
+                readerThread = 0;
+                end((n > 0) || (n == IOStatus.UNAVAILABLE));
+                assert IOStatus.check(n);
+            }
+        }
+    }
+
+    private int receiveBatch(FileDescriptor fd, ByteBuffer[] dsts,
+                             InetSocketAddress[] srcAddresses)
+        throws IOException
+    {
+        for (;;) {
+            try {
+                // Blocks for the first datagram only; a non-blocking socket fails with EAGAIN.
+                return Libcore.os.recvmmsg(fd, dsts, MSG_WAITFORONE, srcAddresses);
+            } catch (ErrnoException e) {
+                if (e.errno == EAGAIN)
+                    return IOStatus.UNAVAILABLE;
+                // As in receive0, an ICMP port unreachable only matters when connected.
+                if (e.errno == ECONNREFUSED) {
+                    if (isConnected())
+                        throw new PortUnreachableException();
+                    continue;
+                }
+                throw e.rethrowAsSocketException();
+            }
+        }
+    }
+
+    @Override
+    public int sendBatch(ByteBuffer[] srcs, SocketAddress[] targets)
+        throws IOException
+    {
+        if (targets != null && targets.length < srcs.length)
+            throw new IllegalArgumentException("targets.length < srcs.length");
+        synchronized (writeLock) {
+            ensureOpen();
+            InetSocketAddress[] destAddresses = null;
+            synchronized (stateLock) {
+                if (isConnected()) {
+                    // The kernel supplies the peer's address.
+                    if (targets != null) {
+                        for (int i = 0; i < srcs.length; i++) {
+                            if (!remoteAddress.equals(targets[i])) {
+                                throw new IllegalArgumentException(
+                                    "Connected address not equal to target address");
+                            }
+                        }
+                    }
+                } else {
+                    if (targets == null)
+                        throw new NotYetConnectedException();
+                    SecurityManager sm = System.getSecurityManager();
+                    destAddresses = new InetSocketAddress[srcs.length];
+                    for (int i = 0; i < srcs.length; i++) {
+                        if (targets[i] == null)
+                            throw new NullPointerException();
+                        InetSocketAddress isa = Net.checkAddress(targets[i]);
+                        InetAddress ia = isa.getAddress();
+                        if (ia == null)
+                            throw new IOException("Target address not resolved");
+                        if (sm != null) {
+                            if (ia.isMulticastAddress()) {
+                                sm.checkMulticast(ia);
+                            } else {
+                                sm.checkConnect(ia.getHostAddress(),
+                                                isa.getPort());
+                            }
+                        }
+                        destAddresses[i] = isa;
+                    }
+                }
+            }
+
+            int n = 0;
+            try {
+                begin();
+                if (!isOpen())
+                    return 0;
+                writerThread = NativeThread.current();
+                n = sendBatch(fd, srcs, destAddresses);
+
+                synchronized (stateLock) {
+                    if (isOpen() && (localAddress == null)) {
+                        localAddress = Net.localAddress(fd);
+                    }
+                }
+                return IOStatus.normalize(n);
+            } finally {
+                writerThread = 0;
+                end((n > 0) || (n == IOStatus.UNAVAILABLE));
+                assert IOStatus.check(n);
+            }
+        }
+    }
+
+    private int sendBatch(FileDescriptor fd, ByteBuffer[] srcs,
+                          InetSocketAddress[] destAddresses)
+        throws IOException
+    {
+        try {
+            return Libcore.os.sendmmsg(fd, srcs, 0, destAddresses);
+        } catch (ErrnoException e) {
+            if (e.errno == EAGAIN)
+                return IOStatus.UNAVAILABLE;
+            if (e.errno == ECONNREFUSED) {
+                if (isConnected())
+                    throw new PortUnreachableException();
+                // As in sendFromNativeBuffer, treat the first datagram as sent.
+                if (srcs.length > 0)
+                    srcs[0].position(srcs[0].limit());
+                return 1;
+            }
+            throw e.rethrowAsSocketException();
+        }
+    }
+
     public int read(ByteBuffer buf) throws IOException {
         if (buf == null)
             throw new NullPointerException();
@@ -41,13 +41,16 @@ public class DefaultSelectorProvider {
      */
     private DefaultSelectorProvider() { }
 
+    // Android-added: System property used to fall back to the poll(2) based selector.
+    private static final String USE_EPOLL_PROPERTY = "sun.nio.ch.useEPollSelector";
+
     /**
      * Returns the default SelectorProvider.
      */
     public static SelectorProvider create() {
         /*
-        The OpenJDK epoll based selector suffers from a serious bug where it
-        can never successfully deregister keys from closed channels.
+        The OpenJDK epoll based selector used to suffer from a serious bug where it
+        could never successfully deregister keys from closed channels.
 
         The root cause of this bug is the sequence of operations that occur when
         a channel that's registered with a selector is closed :
@@ -70,69 +73,40 @@ public class DefaultSelectorProvider {
 
         THE PROBLEM :
         -------------
-        The default Selector implementation on Linux 2.6 and higher uses epoll(7).
-        epoll can scale better than poll(2) because a lot of the state related
-        to the interest set (the set of descriptors we're polling on) is
-        maintained by the kernel. One of the side-effects of this design is that
-        callers must call into the kernel to make changes to the interest set
-        via epoll_ctl(7), for eg., by using EPOLL_CTL_ADD to add descriptors or
-        EPOLL_CTL_DEL to remove descriptors from the interest set. A call to
-        epoll_ctl with op = EPOLL_CTL_DEL is made when the selector attempts to
-        deregister an FD associated with a channel from the interest set (see
-        Step 2, above). These calls will *always fail* because the channel has
-        been preClosed (see Step 1). They fail because the kernel uses its own
-        internal file structure to maintain state, and rejects the command
-        because the descriptor we're passing in describes a different file
-        (/dev/null) that isn't selectable and isn't registered with the epoll
-        instance.
-
-        This is an issue in upstream OpenJDK as well and various select
-        implementations (such as netty) have hacks to work around it. Outside
-        of Android, things will work OK in most cases because the kernel has its
-        own internal cleanup logic to deregister files from epoll instances
-        whenever the last *non epoll* reference to the file has been closed -
-        and usually this happens at the point at which the dup2(2) from Step 1
-        is called. However, on Android, sockets tagged with the SocketTagger
-        will never hit this code path because the socket tagging implementation
-        (qtaguid) keeps a reference to the internal file until the socket
-        has been untagged. In cases where sockets are closed without being
-        untagged, the tagger keeps a reference to it until the process dies.
+        epoll(7) maintains the interest set in the kernel, so callers must use
+        epoll_ctl(2) with EPOLL_CTL_DEL to remove descriptors from it. When the
+        selector processes the cancelled key in Step 2 that call *always fails*
+        because the channel has been preClosed in Step 1: the kernel rejects the
+        command because the descriptor now describes a different file
+        (/dev/null) that isn't registered with the epoll instance.
+
+        Outside of Android the kernel deregisters a file from all epoll instances
+        once the last *non epoll* reference to it has been closed, which usually
+        happens at the dup2(2) in Step 1. On Android, sockets tagged with the
+        SocketTagger never hit this code path because qtaguid keeps a reference
+        to the internal file until the socket has been untagged, so the stale
+        registration keeps firing events until the process dies.
 
         THE SOLUTION :
         --------------
-        We switch over to using poll(2) instead of epoll(7). One of the
-        advantages of poll(2) is that there's less state maintained by the
-        kernel. We don't need to make a syscall (analogous to epoll_ctl)
-        whenever we want to remove an FD from the interest set; we merely
-        remove it from the list of FDs passed in the next time we call
-        through to poll. Poll is also slightly more efficient and less
-        overhead to set up when the number of FDs being polled is small
-        (which is the common case on Android).
-
-        We also need to make sure that all tagged sockets are untagged before
-        they're preclosed at the platform level. However, there's nothing we
-        can do about applications that abuse public api (android.net.TrafficStats).
-
-
-        ALTERNATE APPROACHES :
-        ----------------------
-        For completeness, I'm listing a couple of other approaches that were
-        considered but discarded.
-
-        - Removing preClose: This has the disadvantage of increasing the amount
-        of time (Delta between Step 0 and Step 3) a channel's descriptor is
-        kept alive. This also opens up races in the rare case where a
-        closed FD number is reused on a different thread while we have reads
-        pending.
-
-        - A Synchronous call to EPOLL_CTL_DEL when a channel is removed: This is a
-        non-starter because of the specified order of events in
-        AbstractSelectableChannel; implCloseSelectableChannel must be called
+        AbstractSelectableChannel.implCloseChannel() now invokes
+        AbstractSelector.implPreCloseChannel() for each registered key *before*
+        Step 1. EPollSelectorImpl uses it to issue EPOLL_CTL_DEL while the
+        descriptor still refers to the channel's socket. The key itself stays
+        valid and is cancelled and deregistered lazily as before, which keeps
+        the order of events specified by AbstractSelectableChannel intact.
+
+        epoll is the default because select() on it is O(ready keys) rather than
+        O(registered keys). Setting the "sun.nio.ch.useEPollSelector" system
+        property to "false" restores the previous poll(2) based selector.
         */
-
-
-        // Android-changed: Always use PollSelectorProvider.
-        return new sun.nio.ch.PollSelectorProvider();
+        String useEPoll = AccessController.doPrivileged(
+                new GetPropertyAction(USE_EPOLL_PROPERTY, "true"));
+        if ("false".equalsIgnoreCase(useEPoll)) {
+            return new sun.nio.ch.PollSelectorProvider();
+        }
+        // Android-changed: Use EPollSelectorProvider unless poll(2) is requested.
+        return new sun.nio.ch.EPollSelectorProvider();
     }
 
 }
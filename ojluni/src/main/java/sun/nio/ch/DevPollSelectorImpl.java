@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.nio.channels.*;
 import java.nio.channels.spi.*;
 import java.util.*;
+import java.util.function.Consumer;
 import sun.misc.*;
 
 
@@ -73,7 +74,7 @@ class DevPollSelectorImpl
         fdToKey = new HashMap<Integer,SelectionKeyImpl>();
     }
 
-    protected int doSelect(long timeout)
+    protected int doSelect(Consumer<SelectionKey> action, long timeout)
         throws IOException
     {
         if (closed)
@@ -86,7 +87,7 @@ class DevPollSelectorImpl
             end();
         }
         processDeregisterQueue();
-        int numKeysUpdated = updateSelectedKeys();
+        int numKeysUpdated = updateSelectedKeys(action);
         if (pollWrapper.interrupted()) {
             // Clear the wakeup pipe
             pollWrapper.putReventOps(pollWrapper.interruptedIndex(), 0);
@@ -101,9 +102,10 @@ class DevPollSelectorImpl
 
     /**
      * Update the keys whose fd's have been selected by the devpoll
-     * driver. Add the ready keys to the ready queue.
+     * driver. Add the ready keys to the ready queue, or hand them to the
+     * action if there is one.
      */
-    private int updateSelectedKeys() {
+    private int updateSelectedKeys(Consumer<SelectionKey> action) {
         int entries = pollWrapper.updated;
         int numKeysUpdated = 0;
         for (int i=0; i<entries; i++) {
@@ -112,17 +114,7 @@ class DevPollSelectorImpl
             // ski is null in the case of an interrupt
             if (ski != null) {
                 int rOps = pollWrapper.getReventOps(i);
-                if (selectedKeys.contains(ski)) {
-                    if (ski.channel.translateAndSetReadyOps(rOps, ski)) {
-                        numKeysUpdated++;
-                    }
-                } else {
-                    ski.channel.translateAndSetReadyOps(rOps, ski);
-                    if ((ski.nioReadyOps() & ski.nioInterestOps()) != 0) {
-                        selectedKeys.add(ski);
-                        numKeysUpdated++;
-                    }
-                }
+                numKeysUpdated += processReadyEvents(rOps, ski, action);
             }
         }
         return numKeysUpdated;
@@ -27,8 +27,7 @@ package sun.nio.ch;
 
 import java.io.IOException;
 import java.util.BitSet;
-import java.util.HashMap;
-import java.util.Map;
+import libcore.util.IntIntMap;
 
 /**
  * Manipulates a native array of epoll_event structs on Linux:
@@ -58,6 +57,10 @@ class EPollArrayWrapper {
     // EPOLL_EVENTS
     private static final int EPOLLIN      = 0x001;
 
+    // Android-added: edge-triggered registration flag
+    // EPOLL_EVENTS flags
+    static final int EPOLLET             = (1 << 31);
+
     // opcodes
     private static final int EPOLL_CTL_ADD      = 1;
     private static final int EPOLL_CTL_DEL      = 2;
@@ -116,14 +119,25 @@ class EPollArrayWrapper {
     // file descriptors higher than MAX_UPDATE_ARRAY_SIZE (unlimited case at
     // least) then the update is stored in a map.
     private final byte[] eventsLow = new byte[MAX_UPDATE_ARRAY_SIZE];
-    private Map<Integer,Byte> eventsHigh;
+    // Android-changed: Use an IntIntMap so that high descriptors aren't boxed.
+    private IntIntMap eventsHigh;
 
     // Used by release and updateRegistrations to track whether a file
     // descriptor is registered with epoll.
     private final BitSet registered = new BitSet();
 
+    // Flags or'd into the events of every channel registration (EPOLLET or 0).
+    // The interrupt descriptor is always level-triggered.
+    private final int registrationFlags;
 
     EPollArrayWrapper() throws IOException {
+        this(false);
+    }
+
+    // Android-added: optional EPOLLET registration of channels.
+    EPollArrayWrapper(boolean edgeTriggered) throws IOException {
+        registrationFlags = edgeTriggered ? EPOLLET : 0;
+
         // creates the epoll file descriptor
         epfd = epollCreate();
 
@@ -134,7 +148,7 @@ class EPollArrayWrapper {
 
         // eventHigh needed when using file descriptors > 64k
         if (OPEN_MAX > MAX_UPDATE_ARRAY_SIZE)
-            eventsHigh = new HashMap<>();
+            eventsHigh = new IntIntMap();
     }
 
     void initInterrupt(int fd0, int fd1) {
@@ -174,9 +188,8 @@ class EPollArrayWrapper {
                 eventsLow[fd] = events;
             }
         } else {
-            Integer key = Integer.valueOf(fd);
-            if ((eventsHigh.get(key) != KILLED) || force) {
-                eventsHigh.put(key, Byte.valueOf(events));
+            if (((byte) eventsHigh.get(fd, 0) != KILLED) || force) {
+                eventsHigh.put(fd, events);
             }
         }
     }
@@ -188,9 +201,8 @@ class EPollArrayWrapper {
         if (fd < MAX_UPDATE_ARRAY_SIZE) {
             return eventsLow[fd];
         } else {
-            Byte result = eventsHigh.get(Integer.valueOf(fd));
-            // result should never be null
-            return result.byteValue();
+            // Android-changed: a missing descriptor has no pending events.
+            return (byte) eventsHigh.get(fd, 0);
         }
     }
 
@@ -284,7 +296,8 @@ class EPollArrayWrapper {
                         opcode = (events != 0) ? EPOLL_CTL_ADD : 0;
                     }
                     if (opcode != 0) {
-                        epollCtl(epfd, opcode, fd, events);
+                        epollCtl(epfd, opcode, fd,
+                                 (opcode == EPOLL_CTL_DEL) ? 0 : (events | registrationFlags));
                         if (opcode == EPOLL_CTL_ADD) {
                             registered.set(fd);
                         } else if (opcode == EPOLL_CTL_DEL) {
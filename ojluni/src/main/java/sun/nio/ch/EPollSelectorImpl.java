@@ -29,6 +29,8 @@ import java.io.IOException;
 import java.nio.channels.*;
 import java.nio.channels.spi.*;
 import java.util.*;
+import java.util.function.Consumer;
+import libcore.util.IntObjectMap;
 import sun.misc.*;
 
 /**
@@ -46,14 +48,28 @@ class EPollSelectorImpl
     // The poll object
     EPollArrayWrapper pollWrapper;
 
-    // Maps from file descriptors to keys
-    private Map<Integer,SelectionKeyImpl> fdToKey;
+    // Maximum file descriptor that is mapped to its key through fdToKeyLow
+    private static final int MAX_FD_TO_KEY_ARRAY_SIZE = 64 * 1024;
+
+    // Initial size of fdToKeyLow
+    private static final int INITIAL_FD_TO_KEY_ARRAY_SIZE = 64;
+
+    // Maps from file descriptors to keys. Descriptors below
+    // MAX_FD_TO_KEY_ARRAY_SIZE are looked up in an array so that dispatching
+    // ready events doesn't box the descriptor; higher ones go in an unboxed
+    // IntObjectMap.
+    private SelectionKeyImpl[] fdToKeyLow;
+    private IntObjectMap<SelectionKeyImpl> fdToKeyHigh;
 
     // True if this Selector has been closed
     private volatile boolean closed = false;
 
     // Lock for interrupt triggering and clearing
     private final Object interruptLock = new Object();
+
+    // Android-added: Lock held while closing the epoll fd, so that
+    // implPreCloseChannel never uses it once it's closed (or reused).
+    private final Object closeLock = new Object();
     private boolean interruptTriggered = false;
 
     /**
@@ -61,16 +77,61 @@ class EPollSelectorImpl
      * the abstract superclass Selector.
      */
     EPollSelectorImpl(SelectorProvider sp) throws IOException {
+        this(sp, false);
+    }
+
+    /**
+     * Package private constructor. If {@code edgeTriggered} is true then
+     * channels are registered with EPOLLET, see
+     * {@link EPollSelectorProvider#openEdgeTriggeredSelector}.
+     */
+    EPollSelectorImpl(SelectorProvider sp, boolean edgeTriggered) throws IOException {
         super(sp);
         long pipeFds = IOUtil.makePipe(false);
         fd0 = (int) (pipeFds >>> 32);
         fd1 = (int) pipeFds;
-        pollWrapper = new EPollArrayWrapper();
+        pollWrapper = new EPollArrayWrapper(edgeTriggered);
         pollWrapper.initInterrupt(fd0, fd1);
-        fdToKey = new HashMap<>();
+        fdToKeyLow = new SelectionKeyImpl[INITIAL_FD_TO_KEY_ARRAY_SIZE];
+        fdToKeyHigh = new IntObjectMap<>();
+    }
+
+    private SelectionKeyImpl getKey(int fd) {
+        if (fd < MAX_FD_TO_KEY_ARRAY_SIZE) {
+            return (fd < fdToKeyLow.length) ? fdToKeyLow[fd] : null;
+        }
+        return fdToKeyHigh.get(fd);
+    }
+
+    private void putKey(int fd, SelectionKeyImpl ski) {
+        if (fd < MAX_FD_TO_KEY_ARRAY_SIZE) {
+            if (fd >= fdToKeyLow.length) {
+                int newLength = fdToKeyLow.length;
+                while (newLength <= fd) {
+                    newLength *= 2;
+                }
+                fdToKeyLow = Arrays.copyOf(fdToKeyLow,
+                        Math.min(newLength, MAX_FD_TO_KEY_ARRAY_SIZE));
+            }
+            fdToKeyLow[fd] = ski;
+        } else {
+            fdToKeyHigh.put(fd, ski);
+        }
     }
 
-    protected int doSelect(long timeout) throws IOException {
+    private void removeKey(int fd) {
+        if (fd < MAX_FD_TO_KEY_ARRAY_SIZE) {
+            if (fd < fdToKeyLow.length) {
+                fdToKeyLow[fd] = null;
+            }
+        } else {
+            fdToKeyHigh.remove(fd);
+        }
+    }
+
+    protected int doSelect(Consumer<SelectionKey> action, long timeout)
+        throws IOException
+    {
         if (closed)
             throw new ClosedSelectorException();
         processDeregisterQueue();
@@ -81,7 +142,7 @@ class EPollSelectorImpl
             end();
         }
         processDeregisterQueue();
-        int numKeysUpdated = updateSelectedKeys();
+        int numKeysUpdated = updateSelectedKeys(action);
         if (pollWrapper.interrupted()) {
             // Clear the wakeup pipe
             pollWrapper.putEventOps(pollWrapper.interruptedIndex(), 0);
@@ -96,47 +157,41 @@ class EPollSelectorImpl
 
     /**
      * Update the keys whose fd's have been selected by the epoll.
-     * Add the ready keys to the ready queue.
+     * Add the ready keys to the ready queue, or hand them straight
+     * from the event array to the action if there is one.
      */
-    private int updateSelectedKeys() {
+    private int updateSelectedKeys(Consumer<SelectionKey> action) {
         int entries = pollWrapper.updated;
         int numKeysUpdated = 0;
         for (int i=0; i<entries; i++) {
             int nextFD = pollWrapper.getDescriptor(i);
-            SelectionKeyImpl ski = fdToKey.get(Integer.valueOf(nextFD));
+            SelectionKeyImpl ski = getKey(nextFD);
             // ski is null in the case of an interrupt
             if (ski != null) {
                 int rOps = pollWrapper.getEventOps(i);
-                if (selectedKeys.contains(ski)) {
-                    if (ski.channel.translateAndSetReadyOps(rOps, ski)) {
-                        numKeysUpdated++;
-                    }
-                } else {
-                    ski.channel.translateAndSetReadyOps(rOps, ski);
-                    if ((ski.nioReadyOps() & ski.nioInterestOps()) != 0) {
-                        selectedKeys.add(ski);
-                        numKeysUpdated++;
-                    }
-                }
+                numKeysUpdated += processReadyEvents(rOps, ski, action);
             }
         }
         return numKeysUpdated;
     }
 
     protected void implClose() throws IOException {
-        if (closed)
-            return;
-        closed = true;
+        // Android-changed: Close under closeLock; see implPreCloseChannel.
+        synchronized (closeLock) {
+            if (closed)
+                return;
+            closed = true;
 
-        // prevent further wakeup
-        synchronized (interruptLock) {
-            interruptTriggered = true;
-        }
+            // prevent further wakeup
+            synchronized (interruptLock) {
+                interruptTriggered = true;
+            }
 
-        FileDispatcherImpl.closeIntFD(fd0);
-        FileDispatcherImpl.closeIntFD(fd1);
+            FileDispatcherImpl.closeIntFD(fd0);
+            FileDispatcherImpl.closeIntFD(fd1);
 
-        pollWrapper.closeEPollFD();
+            pollWrapper.closeEPollFD();
+        }
         // it is possible
         selectedKeys = null;
 
@@ -159,8 +214,8 @@ class EPollSelectorImpl
         if (closed)
             throw new ClosedSelectorException();
         SelChImpl ch = ski.channel;
-        Integer fd = Integer.valueOf(ch.getFDVal());
-        fdToKey.put(fd, ski);
+        int fd = ch.getFDVal();
+        putKey(fd, ski);
         pollWrapper.add(fd);
         keys.add(ski);
     }
@@ -169,7 +224,7 @@ class EPollSelectorImpl
         assert (ski.getIndex() >= 0);
         SelChImpl ch = ski.channel;
         int fd = ch.getFDVal();
-        fdToKey.remove(Integer.valueOf(fd));
+        removeKey(fd);
         pollWrapper.remove(fd);
         ski.setIndex(-1);
         keys.remove(ski);
@@ -180,6 +235,21 @@ class EPollSelectorImpl
             ((SelChImpl)selch).kill();
     }
 
+    // Android-added: Remove the descriptor from epoll before the channel is preClosed.
+    // Once the channel's fd has been dup2'd over, EPOLL_CTL_DEL can no longer find
+    // the registration, which stays alive in the kernel for as long as anything
+    // else (e.g. qtaguid) holds a reference to the underlying socket.
+    // The check and the removal are made under closeLock, as the channel may be
+    // closed by a thread other than the one closing this selector.
+    protected void implPreCloseChannel(SelectionKey key) {
+        synchronized (closeLock) {
+            if (closed)
+                return;
+            SelChImpl ch = ((SelectionKeyImpl)key).channel;
+            pollWrapper.remove(ch.getFDVal());
+        }
+    }
+
     void putEventOps(SelectionKeyImpl ski, int ops) {
         if (closed)
             throw new ClosedSelectorException();
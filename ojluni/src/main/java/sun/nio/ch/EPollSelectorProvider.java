@@ -36,6 +36,24 @@ public class EPollSelectorProvider
         return new EPollSelectorImpl(this);
     }
 
+    // Android-added: Edge-triggered selectors.
+    /**
+     * Opens a selector that registers channels with {@code EPOLLET}.
+     *
+     * <p> An edge-triggered selector reports a channel only when its readiness
+     * changes: a key that is selected and not fully drained (read until it
+     * returns 0 or a write until the socket buffer is full) is not selected
+     * again until more data arrives or its interest set is changed. This
+     * avoids rescanning busy channels on every selection operation and is
+     * best combined with {@link java.nio.channels.Selector#select(
+     * java.util.function.Consumer, long)}.
+     *
+     * @hide
+     */
+    public AbstractSelector openEdgeTriggeredSelector() throws IOException {
+        return new EPollSelectorImpl(this, true);
+    }
+
     public Channel inheritedChannel() throws IOException {
         return InheritedChannel.getChannel();
     }
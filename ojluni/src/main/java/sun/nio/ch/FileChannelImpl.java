@@ -43,6 +43,7 @@ import sun.security.action.GetPropertyAction;
 
 // ----- BEGIN android -----
 import android.system.ErrnoException;
+import android.util.MutableLong;
 import libcore.io.Libcore;
 // ----- END android -----
 
@@ -634,6 +635,44 @@ public class FileChannelImpl
 
     private static final int TRANSFER_SIZE = 8192;
 
+    // Android-added: Transfer from sockets and pipes with splice(2).
+    // Assume at first that the underlying kernel supports splice();
+    // set this to false if we find out later that it doesn't
+    //
+    private static volatile boolean spliceSupported = true;
+
+    private long transferFromDirectly(SelChImpl src, long position, long count)
+        throws IOException
+    {
+        if (!spliceSupported)
+            return IOStatus.UNSUPPORTED;
+        // splice() refuses files opened for appending
+        if (append)
+            return IOStatus.UNSUPPORTED_CASE;
+
+        long n = -1;
+        int ti = -1;
+        try {
+            begin();
+            ti = threads.add();
+            if (!isOpen())
+                return -1;
+            BlockGuard.getThreadPolicy().onWriteToDisk();
+            // The source's read lock and interruption protocol are taken
+            // care of by the source. A negative result means nothing was
+            // read from it, so the caller can still copy instead.
+            n = src.spliceTo(fd, new MutableLong(position), count);
+            if (n == IOStatus.UNSUPPORTED) {
+                // Don't bother trying again
+                spliceSupported = false;
+            }
+            return n;
+        } finally {
+            threads.remove(ti);
+            end(n > -1);
+        }
+    }
+
     private long transferFromArbitraryChannel(ReadableByteChannel src,
                                               long position, long count)
         throws IOException
@@ -687,6 +726,13 @@ public class FileChannelImpl
            return transferFromFileChannel((FileChannelImpl)src,
                                           position, count);
 
+        // Android-added: Attempt a direct transfer from sockets and pipes.
+        if (src instanceof SelChImpl) {
+            long n = transferFromDirectly((SelChImpl)src, position, count);
+            if (n >= 0)
+                return n;
+        }
+
         return transferFromArbitraryChannel(src, position, count);
     }
 
@@ -768,6 +814,95 @@ public class FileChannelImpl
         }
     }
 
+    // Android-added: Positional scattering reads and gathering writes.
+    @Override
+    public long read(ByteBuffer[] dsts, int offset, int length, long position)
+        throws IOException
+    {
+        if ((offset < 0) || (length < 0) || (offset > dsts.length - length))
+            throw new IndexOutOfBoundsException();
+        if (position < 0)
+            throw new IllegalArgumentException("Negative position");
+        if (!readable)
+            throw new NonReadableChannelException();
+        ensureOpen();
+        if (nd.needsPositionLock()) {
+            synchronized (positionLock) {
+                return readInternal(dsts, offset, length, position);
+            }
+        } else {
+            return readInternal(dsts, offset, length, position);
+        }
+    }
+
+    private long readInternal(ByteBuffer[] dsts, int offset, int length, long position)
+        throws IOException
+    {
+        assert !nd.needsPositionLock() || Thread.holdsLock(positionLock);
+        long n = 0;
+        int ti = -1;
+        Object traceContext = IoTrace.fileReadBegin(path);
+        try {
+            begin();
+            ti = threads.add();
+            if (!isOpen())
+                return -1;
+            do {
+                n = IOUtil.read(fd, dsts, offset, length, position, nd);
+            } while ((n == IOStatus.INTERRUPTED) && isOpen());
+            return IOStatus.normalize(n);
+        } finally {
+            threads.remove(ti);
+            IoTrace.fileReadEnd(traceContext, n > 0 ? n : 0);
+            end(n > 0);
+            assert IOStatus.check(n);
+        }
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length, long position)
+        throws IOException
+    {
+        if ((offset < 0) || (length < 0) || (offset > srcs.length - length))
+            throw new IndexOutOfBoundsException();
+        if (position < 0)
+            throw new IllegalArgumentException("Negative position");
+        if (!writable)
+            throw new NonWritableChannelException();
+        ensureOpen();
+        if (nd.needsPositionLock()) {
+            synchronized (positionLock) {
+                return writeInternal(srcs, offset, length, position);
+            }
+        } else {
+            return writeInternal(srcs, offset, length, position);
+        }
+    }
+
+    private long writeInternal(ByteBuffer[] srcs, int offset, int length, long position)
+        throws IOException
+    {
+        assert !nd.needsPositionLock() || Thread.holdsLock(positionLock);
+        long n = 0;
+        int ti = -1;
+        Object traceContext = IoTrace.fileWriteBegin(path);
+        try {
+            begin();
+            ti = threads.add();
+            if (!isOpen())
+                return -1;
+            do {
+                n = IOUtil.write(fd, srcs, offset, length, position, nd);
+            } while ((n == IOStatus.INTERRUPTED) && isOpen());
+            return IOStatus.normalize(n);
+        } finally {
+            threads.remove(ti);
+            end(n > 0);
+            IoTrace.fileWriteEnd(traceContext, n > 0 ? n : 0);
+            assert IOStatus.check(n);
+        }
+    }
+
 
     // -- Memory-mapped buffers --
 
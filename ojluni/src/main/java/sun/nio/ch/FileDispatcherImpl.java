@@ -58,6 +58,14 @@ class FileDispatcherImpl extends FileDispatcher
         return readv0(fd, address, len);
     }
 
+    // Android-added: Positional scattering reads.
+    long preadv(FileDescriptor fd, long address, int len, long position)
+        throws IOException
+    {
+        BlockGuard.getThreadPolicy().onReadFromDisk();
+        return preadv0(fd, address, len, position);
+    }
+
     int write(FileDescriptor fd, long address, int len) throws IOException {
         BlockGuard.getThreadPolicy().onWriteToDisk();
         return write0(fd, address, len);
@@ -77,6 +85,14 @@ class FileDispatcherImpl extends FileDispatcher
         return writev0(fd, address, len);
     }
 
+    // Android-added: Positional gathering writes.
+    long pwritev(FileDescriptor fd, long address, int len, long position)
+        throws IOException
+    {
+        BlockGuard.getThreadPolicy().onWriteToDisk();
+        return pwritev0(fd, address, len, position);
+    }
+
     int force(FileDescriptor fd, boolean metaData) throws IOException {
         BlockGuard.getThreadPolicy().onWriteToDisk();
         return force0(fd, metaData);
@@ -142,6 +158,10 @@ class FileDispatcherImpl extends FileDispatcher
     static native long readv0(FileDescriptor fd, long address, int len)
         throws IOException;
 
+    // Android-added: Positional scattering reads.
+    static native long preadv0(FileDescriptor fd, long address, int len,
+                               long position) throws IOException;
+
     static native int write0(FileDescriptor fd, long address, int len)
         throws IOException;
 
@@ -151,6 +171,10 @@ class FileDispatcherImpl extends FileDispatcher
     static native long writev0(FileDescriptor fd, long address, int len)
         throws IOException;
 
+    // Android-added: Positional gathering writes.
+    static native long pwritev0(FileDescriptor fd, long address, int len,
+                                long position) throws IOException;
+
     static native int force0(FileDescriptor fd, boolean metaData)
         throws IOException;
 
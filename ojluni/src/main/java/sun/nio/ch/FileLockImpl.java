@@ -38,6 +38,12 @@ public class FileLockImpl
         super(channel, position, size, shared);
     }
 
+    // Android-added: AsynchronousFileChannel support.
+    FileLockImpl(AsynchronousFileChannel channel, long position, long size, boolean shared)
+    {
+        super(channel, position, size, shared);
+    }
+
     public boolean isValid() {
         return valid;
     }
@@ -54,6 +60,9 @@ public class FileLockImpl
         if (valid) {
             if (ch instanceof FileChannelImpl)
                 ((FileChannelImpl)ch).release(this);
+            // Android-added: AsynchronousFileChannel support.
+            else if (ch instanceof AsynchronousFileChannelImpl)
+                ((AsynchronousFileChannelImpl)ch).release(this);
             else throw new AssertionError();
             valid = false;
         }
@@ -25,9 +25,15 @@
 
 package sun.nio.ch;
 
+import android.system.ErrnoException;
+import android.util.MutableLong;
 import java.io.FileDescriptor;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.NioUtils;
+
+import static android.system.OsConstants.EINVAL;
+import static android.system.OsConstants.ENOSYS;
 
 
 /**
@@ -106,6 +112,36 @@ class IOUtil {
     static long write(FileDescriptor fd, ByteBuffer[] bufs, int offset, int length,
                       NativeDispatcher nd)
         throws IOException
+    {
+        return write(fd, bufs, offset, length, -1, nd);
+    }
+
+    // Android-added: Transfer from sockets and pipes with splice(2).
+    /**
+     * Moves up to count bytes from src to dst with NioUtils.splice, for a
+     * channel's SelChImpl.spliceTo. Returns IOStatus.UNSUPPORTED if the
+     * kernel doesn't support splice, or IOStatus.UNSUPPORTED_CASE if src
+     * doesn't; in either case nothing has been read from src.
+     */
+    static long splice(FileDescriptor src, FileDescriptor dst, MutableLong dstOffset,
+                       long count)
+        throws IOException
+    {
+        try {
+            return NioUtils.splice(src, null, dst, dstOffset, count);
+        } catch (ErrnoException e) {
+            if (e.errno == ENOSYS)
+                return IOStatus.UNSUPPORTED;
+            if (e.errno == EINVAL)
+                return IOStatus.UNSUPPORTED_CASE;
+            throw e.rethrowAsIOException();
+        }
+    }
+
+    // Android-added: Positional gathering writes.
+    static long write(FileDescriptor fd, ByteBuffer[] bufs, int offset, int length,
+                      long position, NativeDispatcher nd)
+        throws IOException
     {
         IOVecWrapper vec = IOVecWrapper.get(length);
 
@@ -145,7 +181,13 @@ class IOUtil {
             if (iov_len == 0)
                 return 0L;
 
-            long bytesWritten = nd.writev(fd, vec.address, iov_len);
+            // Android-changed: Positional gathering writes.
+            long bytesWritten;
+            if (position != -1) {
+                bytesWritten = nd.pwritev(fd, vec.address, iov_len, position);
+            } else {
+                bytesWritten = nd.writev(fd, vec.address, iov_len);
+            }
 
             // Notify the buffers how many bytes were taken
             long left = bytesWritten;
@@ -236,6 +278,14 @@ class IOUtil {
     static long read(FileDescriptor fd, ByteBuffer[] bufs, int offset, int length,
                      NativeDispatcher nd)
         throws IOException
+    {
+        return read(fd, bufs, offset, length, -1, nd);
+    }
+
+    // Android-added: Positional scattering reads.
+    static long read(FileDescriptor fd, ByteBuffer[] bufs, int offset, int length,
+                     long position, NativeDispatcher nd)
+        throws IOException
     {
         IOVecWrapper vec = IOVecWrapper.get(length);
 
@@ -275,7 +325,13 @@ class IOUtil {
             if (iov_len == 0)
                 return 0L;
 
-            long bytesRead = nd.readv(fd, vec.address, iov_len);
+            // Android-changed: Positional scattering reads.
+            long bytesRead;
+            if (position != -1) {
+                bytesRead = nd.preadv(fd, vec.address, iov_len, position);
+            } else {
+                bytesRead = nd.readv(fd, vec.address, iov_len);
+            }
 
             // Notify the buffers how many bytes were read
             long left = bytesRead;
@@ -55,6 +55,13 @@ abstract class NativeDispatcher
     abstract long readv(FileDescriptor fd, long address, int len)
         throws IOException;
 
+    // Android-added: Positional scattering reads.
+    long preadv(FileDescriptor fd, long address, int len, long position)
+        throws IOException
+    {
+        throw new IOException("Operation Unsupported");
+    }
+
     abstract int write(FileDescriptor fd, long address, int len)
         throws IOException;
 
@@ -67,6 +74,13 @@ abstract class NativeDispatcher
     abstract long writev(FileDescriptor fd, long address, int len)
         throws IOException;
 
+    // Android-added: Positional gathering writes.
+    long pwritev(FileDescriptor fd, long address, int len, long position)
+        throws IOException
+    {
+        throw new IOException("Operation Unsupported");
+    }
+
     abstract void close(FileDescriptor fd) throws IOException;
 
     // Prepare the given fd for closing by duping it to a known internal fd
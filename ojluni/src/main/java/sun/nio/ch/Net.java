@@ -488,6 +488,12 @@ class Net {                                             // package-private
     public final static int SHUT_WR = 1;
     public final static int SHUT_RDWR = 2;
 
+    // Android-added: poll(2) event masks used by the asynchronous channels.
+    static final short POLLIN   = AbstractPollArrayWrapper.POLLIN;
+    static final short POLLOUT  = AbstractPollArrayWrapper.POLLOUT;
+    static final short POLLERR  = AbstractPollArrayWrapper.POLLERR;
+    static final short POLLHUP  = AbstractPollArrayWrapper.POLLHUP;
+
     static native void shutdown(FileDescriptor fd, int how) throws IOException;
 
     private static native int localPort(FileDescriptor fd)
@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.nio.channels.*;
 import java.nio.channels.spi.*;
 import java.util.*;
+import java.util.function.Consumer;
 import sun.misc.*;
 
 
@@ -62,7 +63,7 @@ class PollSelectorImpl
         channelArray = new SelectionKeyImpl[INIT_CAP];
     }
 
-    protected int doSelect(long timeout)
+    protected int doSelect(Consumer<SelectionKey> action, long timeout)
         throws IOException
     {
         if (channelArray == null)
@@ -75,7 +76,7 @@ class PollSelectorImpl
             end();
         }
         processDeregisterQueue();
-        int numKeysUpdated = updateSelectedKeys();
+        int numKeysUpdated = updateSelectedKeys(action);
         if (pollWrapper.getReventOps(0) != 0) {
             // Clear the wakeup pipe
             pollWrapper.putReventOps(0, 0);
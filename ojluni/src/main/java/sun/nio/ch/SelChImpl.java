@@ -25,6 +25,7 @@
 
 package sun.nio.ch;
 
+import android.util.MutableLong;
 import java.nio.channels.Channel;
 import java.io.FileDescriptor;
 import java.io.IOException;
@@ -36,7 +37,8 @@ import java.io.IOException;
  * @since 1.4
  */
 
-interface SelChImpl extends Channel {
+// Android-changed: make public for java.nio.NioUtils.
+public interface SelChImpl extends Channel {
 
     FileDescriptor getFD();
 
@@ -68,4 +70,21 @@ interface SelChImpl extends Channel {
 
     void kill() throws IOException;
 
+    // Android-added: Transfer from sockets and pipes with splice(2).
+    /**
+     * Moves up to count bytes from this channel to dst with splice(2),
+     * holding this channel's read lock and following the same blocking,
+     * interruption and shutdown protocol as a read. dst must be in
+     * blocking mode; a null dstOffset means dst's own position is used.
+     *
+     * @return  the number of bytes transferred, which is 0 at end of stream,
+     *          or a negative IOStatus if this channel can't be read with
+     *          splice(2), in which case nothing has been read from it
+     */
+    default long spliceTo(FileDescriptor dst, MutableLong dstOffset, long count)
+        throws IOException
+    {
+        return IOStatus.UNSUPPORTED_CASE;
+    }
+
 }
@@ -30,6 +30,7 @@ import java.nio.channels.*;
 import java.nio.channels.spi.*;
 import java.net.SocketException;
 import java.util.*;
+import java.util.function.Consumer;
 import sun.misc.*;
 
 
@@ -76,15 +77,25 @@ abstract class SelectorImpl
         return publicSelectedKeys;
     }
 
-    protected abstract int doSelect(long timeout) throws IOException;
-
-    private int lockAndDoSelect(long timeout) throws IOException {
+    /**
+     * Selects the keys for channels that are ready for I/O operations.
+     *
+     * @param action  the action to perform, can be null
+     * @param timeout timeout in milliseconds to wait, 0 to not wait, -1 to
+     *                wait indefinitely
+     */
+    protected abstract int doSelect(Consumer<SelectionKey> action, long timeout)
+        throws IOException;
+
+    private int lockAndDoSelect(Consumer<SelectionKey> action, long timeout)
+        throws IOException
+    {
         synchronized (this) {
             if (!isOpen())
                 throw new ClosedSelectorException();
             synchronized (publicKeys) {
                 synchronized (publicSelectedKeys) {
-                    return doSelect(timeout);
+                    return doSelect(action, timeout);
                 }
             }
         }
@@ -95,7 +106,7 @@ abstract class SelectorImpl
     {
         if (timeout < 0)
             throw new IllegalArgumentException("Negative timeout");
-        return lockAndDoSelect((timeout == 0) ? -1 : timeout);
+        return lockAndDoSelect(null, (timeout == 0) ? -1 : timeout);
     }
 
     public int select() throws IOException {
@@ -103,7 +114,65 @@ abstract class SelectorImpl
     }
 
     public int selectNow() throws IOException {
-        return lockAndDoSelect(0);
+        return lockAndDoSelect(null, 0);
+    }
+
+    @Override
+    public int select(Consumer<SelectionKey> action, long timeout)
+        throws IOException
+    {
+        Objects.requireNonNull(action);
+        if (timeout < 0)
+            throw new IllegalArgumentException("Negative timeout");
+        return lockAndDoSelect(action, (timeout == 0) ? -1 : timeout);
+    }
+
+    @Override
+    public int select(Consumer<SelectionKey> action) throws IOException {
+        Objects.requireNonNull(action);
+        return lockAndDoSelect(action, -1);
+    }
+
+    @Override
+    public int selectNow(Consumer<SelectionKey> action) throws IOException {
+        Objects.requireNonNull(action);
+        return lockAndDoSelect(action, 0);
+    }
+
+    /**
+     * Invoked by selection operations to handle ready events. If an action
+     * is specified then it is invoked to handle the key, otherwise the key
+     * is added to the selected-key set (or updated when it is already in the
+     * set). Delivering keys to an action allocates nothing per event.
+     *
+     * @return the number of keys consumed or added to the selected-key set
+     *         (0 or 1)
+     */
+    protected final int processReadyEvents(int rOps,
+                                           SelectionKeyImpl ski,
+                                           Consumer<SelectionKey> action) {
+        if (action != null) {
+            ski.channel.translateAndSetReadyOps(rOps, ski);
+            if ((ski.nioReadyOps() & ski.nioInterestOps()) != 0) {
+                action.accept(ski);
+                if (!isOpen())
+                    throw new ClosedSelectorException();
+                return 1;
+            }
+        } else {
+            if (selectedKeys.contains(ski)) {
+                if (ski.channel.translateAndSetReadyOps(rOps, ski)) {
+                    return 1;
+                }
+            } else {
+                ski.channel.translateAndSetReadyOps(rOps, ski);
+                if ((ski.nioReadyOps() & ski.nioInterestOps()) != 0) {
+                    selectedKeys.add(ski);
+                    return 1;
+                }
+            }
+        }
+        return 0;
     }
 
     public void implCloseSelector() throws IOException {
@@ -34,6 +34,7 @@ import java.nio.channels.*;
 import java.nio.channels.spi.*;
 import java.util.*;
 
+import android.util.MutableLong;
 import dalvik.system.BlockGuard;
 import sun.net.NetHooks;
 import sun.misc.IoTrace;
@@ -427,6 +428,32 @@ class SocketChannelImpl
         }
     }
 
+    // Android-added: Transfer from sockets with splice(2).
+    public long spliceTo(FileDescriptor dst, MutableLong dstOffset, long count)
+        throws IOException
+    {
+        synchronized (readLock) {
+            if (!ensureReadOpen())
+                return 0;
+            long n = 0;
+            try {
+                begin();
+                synchronized (stateLock) {
+                    if (!isOpen())
+                        return 0;
+                    readerThread = NativeThread.current();
+                }
+                // As in read(), a close or shutdown signals this thread, and
+                // the splice then sees end of stream on the pre-closed fd.
+                n = IOUtil.splice(fd, dst, dstOffset, count);
+                return n;
+            } finally {
+                readerCleanup();
+                end(n > 0);
+            }
+        }
+    }
+
     public long read(ByteBuffer[] dsts, int offset, int length)
         throws IOException
     {
@@ -1028,8 +1055,9 @@ class SocketChannelImpl
 
     // -- Native methods --
 
-    private static native int checkConnect(FileDescriptor fd,
-                                           boolean block, boolean ready)
+    // Android-changed: package-private for UnixAsynchronousSocketChannelImpl.
+    static native int checkConnect(FileDescriptor fd,
+                                   boolean block, boolean ready)
         throws IOException;
 
     private static native int sendOutOfBandData(FileDescriptor fd, byte data)
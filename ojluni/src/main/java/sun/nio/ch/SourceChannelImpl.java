@@ -26,6 +26,7 @@
 
 package sun.nio.ch;
 
+import android.util.MutableLong;
 import java.io.*;
 import java.nio.ByteBuffer;
 import java.nio.channels.*;
@@ -180,6 +181,27 @@ class SourceChannelImpl
         }
     }
 
+    // Android-added: Transfer from pipes with splice(2).
+    public long spliceTo(FileDescriptor dst, MutableLong dstOffset, long count)
+        throws IOException
+    {
+        ensureOpen();
+        synchronized (lock) {
+            long n = 0;
+            try {
+                begin();
+                if (!isOpen())
+                    return 0;
+                thread = NativeThread.current();
+                n = IOUtil.splice(fd, dst, dstOffset, count);
+                return n;
+            } finally {
+                thread = 0;
+                end(n > 0);
+            }
+        }
+    }
+
     public long read(ByteBuffer[] dsts, int offset, int length)
         throws IOException
     {
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2008, 2013, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package sun.nio.fs;
+
+import android.system.StructStat;
+
+import java.io.FileDescriptor;
+import java.nio.file.attribute.*;
+import java.util.concurrent.TimeUnit;
+import java.util.Set;
+import java.util.HashSet;
+
+import static android.system.OsConstants.*;
+
+/**
+ * Unix implementation of PosixFileAttributes.
+ */
+
+// Android-changed: Wraps the android.system.StructStat returned by
+// libcore.io.Os rather than having its fields filled in natively. StructStat
+// only reports times to the second.
+class UnixFileAttributes
+    implements PosixFileAttributes
+{
+    private final StructStat stat;
+
+    // created lazily
+    private volatile UserPrincipal owner;
+    private volatile GroupPrincipal group;
+    private volatile UnixFileKey key;
+
+    private UnixFileAttributes(StructStat stat) {
+        this.stat = stat;
+    }
+
+    // get the UnixFileAttributes for a given file
+    static UnixFileAttributes get(UnixPath path, boolean followLinks)
+        throws UnixException
+    {
+        if (followLinks) {
+            return new UnixFileAttributes(UnixNativeDispatcher.stat(path));
+        } else {
+            return new UnixFileAttributes(UnixNativeDispatcher.lstat(path));
+        }
+    }
+
+    // get the UnixFileAttributes for an open file
+    static UnixFileAttributes get(FileDescriptor fd) throws UnixException {
+        return new UnixFileAttributes(UnixNativeDispatcher.fstat(fd));
+    }
+
+    // package-private
+    boolean isSameFile(UnixFileAttributes attrs) {
+        return ((stat.st_ino == attrs.stat.st_ino) && (stat.st_dev == attrs.stat.st_dev));
+    }
+
+    // package-private
+    int mode()  { return stat.st_mode; }
+    long ino()  { return stat.st_ino; }
+    long dev()  { return stat.st_dev; }
+    long rdev() { return stat.st_rdev; }
+    long nlink() { return stat.st_nlink; }
+    int uid()   { return stat.st_uid; }
+    int gid()   { return stat.st_gid; }
+
+    private static FileTime toFileTime(long sec) {
+        return FileTime.from(sec, TimeUnit.SECONDS);
+    }
+
+    FileTime ctime() {
+        return toFileTime(stat.st_ctime);
+    }
+
+    boolean isDevice() {
+        return S_ISCHR(stat.st_mode) || S_ISBLK(stat.st_mode) || S_ISFIFO(stat.st_mode);
+    }
+
+    @Override
+    public FileTime lastModifiedTime() {
+        return toFileTime(stat.st_mtime);
+    }
+
+    @Override
+    public FileTime lastAccessTime() {
+        return toFileTime(stat.st_atime);
+    }
+
+    @Override
+    public FileTime creationTime() {
+        // return last modified when birth time not supported
+        return lastModifiedTime();
+    }
+
+    @Override
+    public boolean isRegularFile() {
+       return S_ISREG(stat.st_mode);
+    }
+
+    @Override
+    public boolean isDirectory() {
+        return S_ISDIR(stat.st_mode);
+    }
+
+    @Override
+    public boolean isSymbolicLink() {
+        return S_ISLNK(stat.st_mode);
+    }
+
+    @Override
+    public boolean isOther() {
+        return !isRegularFile() && !isDirectory() && !isSymbolicLink();
+    }
+
+    @Override
+    public long size() {
+        return stat.st_size;
+    }
+
+    @Override
+    public UnixFileKey fileKey() {
+        if (key == null) {
+            synchronized (this) {
+                if (key == null) {
+                    key = new UnixFileKey(stat.st_dev, stat.st_ino);
+                }
+            }
+        }
+        return key;
+    }
+
+    @Override
+    public UserPrincipal owner() {
+        if (owner == null) {
+            synchronized (this) {
+                if (owner == null) {
+                    owner = UnixUserPrincipals.fromUid(stat.st_uid);
+                }
+            }
+        }
+        return owner;
+    }
+
+    @Override
+    public GroupPrincipal group() {
+        if (group == null) {
+            synchronized (this) {
+                if (group == null) {
+                    group = UnixUserPrincipals.fromGid(stat.st_gid);
+                }
+            }
+        }
+        return group;
+    }
+
+    @Override
+    public Set<PosixFilePermission> permissions() {
+        int bits = (stat.st_mode & UnixFileModeAttribute.ALL_PERMISSIONS);
+        HashSet<PosixFilePermission> perms = new HashSet<>();
+
+        if ((bits & S_IRUSR) > 0)
+            perms.add(PosixFilePermission.OWNER_READ);
+        if ((bits & S_IWUSR) > 0)
+            perms.add(PosixFilePermission.OWNER_WRITE);
+        if ((bits & S_IXUSR) > 0)
+            perms.add(PosixFilePermission.OWNER_EXECUTE);
+
+        if ((bits & S_IRGRP) > 0)
+            perms.add(PosixFilePermission.GROUP_READ);
+        if ((bits & S_IWGRP) > 0)
+            perms.add(PosixFilePermission.GROUP_WRITE);
+        if ((bits & S_IXGRP) > 0)
+            perms.add(PosixFilePermission.GROUP_EXECUTE);
+
+        if ((bits & S_IROTH) > 0)
+            perms.add(PosixFilePermission.OTHERS_READ);
+        if ((bits & S_IWOTH) > 0)
+            perms.add(PosixFilePermission.OTHERS_WRITE);
+        if ((bits & S_IXOTH) > 0)
+            perms.add(PosixFilePermission.OTHERS_EXECUTE);
+
+        return perms;
+    }
+
+    // wrap this object with BasicFileAttributes object to prevent leaking of
+    // user information
+    BasicFileAttributes asBasicFileAttributes() {
+        return UnixAsBasicFileAttributes.wrap(this);
+    }
+
+    // unwrap BasicFileAttributes to get the underlying UnixFileAttributes
+    // object. Returns null is not wrapped.
+    static UnixFileAttributes toUnixFileAttributes(BasicFileAttributes attrs) {
+        if (attrs instanceof UnixFileAttributes)
+            return (UnixFileAttributes)attrs;
+        if (attrs instanceof UnixAsBasicFileAttributes) {
+            return ((UnixAsBasicFileAttributes)attrs).unwrap();
+        }
+        return null;
+    }
+
+    // wrap a UnixFileAttributes object as a BasicFileAttributes
+    private static class UnixAsBasicFileAttributes implements BasicFileAttributes {
+        private final UnixFileAttributes attrs;
+
+        private UnixAsBasicFileAttributes(UnixFileAttributes attrs) {
+            this.attrs = attrs;
+        }
+
+        static UnixAsBasicFileAttributes wrap(UnixFileAttributes attrs) {
+            return new UnixAsBasicFileAttributes(attrs);
+        }
+
+        UnixFileAttributes unwrap() {
+            return attrs;
+        }
+
+        @Override
+        public FileTime lastModifiedTime() {
+            return attrs.lastModifiedTime();
+        }
+        @Override
+        public FileTime lastAccessTime() {
+            return attrs.lastAccessTime();
+        }
+        @Override
+        public FileTime creationTime() {
+            return attrs.creationTime();
+        }
+        @Override
+        public boolean isRegularFile() {
+            return attrs.isRegularFile();
+        }
+        @Override
+        public boolean isDirectory() {
+            return attrs.isDirectory();
+        }
+        @Override
+        public boolean isSymbolicLink() {
+            return attrs.isSymbolicLink();
+        }
+        @Override
+        public boolean isOther() {
+            return attrs.isOther();
+        }
+        @Override
+        public long size() {
+            return attrs.size();
+        }
+        @Override
+        public Object fileKey() {
+            return attrs.fileKey();
+        }
+    }
+}
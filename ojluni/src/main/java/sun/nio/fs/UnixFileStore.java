@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2008, 2011, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package sun.nio.fs;
+
+import android.system.StructStatVfs;
+
+import java.nio.file.*;
+import java.nio.file.attribute.*;
+import java.io.IOException;
+
+import static android.system.OsConstants.ST_RDONLY;
+
+/**
+ * Base implementation of FileStore for Unix/like implementations.
+ */
+
+class UnixFileStore
+    extends FileStore
+{
+    // original path of file that identified file system
+    private final UnixPath file;
+
+    // device ID
+    private final long dev;
+
+    // entry in the mount tab
+    private final UnixMountEntry entry;
+
+    // return the device ID where the given file resides
+    private static long devFor(UnixPath file) throws IOException {
+        try {
+            return UnixFileAttributes.get(file, true).dev();
+        } catch (UnixException x) {
+            x.rethrowAsIOException(file);
+            return 0L;  // keep compiler happy
+        }
+    }
+
+    UnixFileStore(UnixPath file) throws IOException {
+        this.file = file;
+        this.dev = devFor(file);
+        this.entry = findMountEntry();
+    }
+
+    UnixFileStore(UnixFileSystem fs, UnixMountEntry entry) throws IOException {
+        this.file = new UnixPath(fs, entry.dir());
+        this.dev = devFor(file);
+        this.entry = entry;
+    }
+
+    UnixPath file() {
+        return file;
+    }
+
+    long dev() {
+        return dev;
+    }
+
+    UnixMountEntry entry() {
+        return entry;
+    }
+
+    @Override
+    public String name() {
+        return entry.name();
+    }
+
+    @Override
+    public String type() {
+        return entry.fstype();
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        // Android-changed: Prefer the flags reported by statvfs, which reflect
+        // a remount, over the options recorded in the mount table.
+        try {
+            return (UnixNativeDispatcher.statvfs(file).f_flag & ST_RDONLY) != 0;
+        } catch (UnixException x) {
+            return entry.isReadOnly();
+        }
+    }
+
+    // uses statvfs to read the file system information
+    private StructStatVfs readAttributes() throws IOException {
+        try {
+            return UnixNativeDispatcher.statvfs(file);
+        } catch (UnixException x) {
+            x.rethrowAsIOException(file);
+            return null;    // keep compile happy
+        }
+    }
+
+    @Override
+    public long getTotalSpace() throws IOException {
+        StructStatVfs attrs = readAttributes();
+        return attrs.f_frsize * attrs.f_blocks;
+    }
+
+    @Override
+    public long getUsableSpace() throws IOException {
+        StructStatVfs attrs = readAttributes();
+        return attrs.f_frsize * attrs.f_bavail;
+    }
+
+    @Override
+    public long getUnallocatedSpace() throws IOException {
+        StructStatVfs attrs = readAttributes();
+        return attrs.f_frsize * attrs.f_bfree;
+    }
+
+    @Override
+    public <V extends FileStoreAttributeView> V getFileStoreAttributeView(Class<V> view)
+    {
+        if (view == null)
+            throw new NullPointerException();
+        return (V) null;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws IOException {
+        if (attribute.equals("totalSpace"))
+            return getTotalSpace();
+        if (attribute.equals("usableSpace"))
+            return getUsableSpace();
+        if (attribute.equals("unallocatedSpace"))
+            return getUnallocatedSpace();
+        throw new UnsupportedOperationException("'" + attribute + "' not recognized");
+    }
+
+    @Override
+    public boolean supportsFileAttributeView(Class<? extends FileAttributeView> type) {
+        if (type == null)
+            throw new NullPointerException();
+        if (type == BasicFileAttributeView.class)
+            return true;
+        if (type == PosixFileAttributeView.class ||
+            type == FileOwnerAttributeView.class)
+        {
+            FeatureStatus status = checkIfFeaturePresent("posix");
+            // assume supported if UNKNOWN
+            return (status != FeatureStatus.NOT_PRESENT);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean supportsFileAttributeView(String name) {
+        if (name.equals("basic"))
+            return true;
+        if (name.equals("posix"))
+            return supportsFileAttributeView(PosixFileAttributeView.class);
+        if (name.equals("owner"))
+            return supportsFileAttributeView(FileOwnerAttributeView.class);
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object ob) {
+        if (ob == this)
+            return true;
+        if (!(ob instanceof UnixFileStore))
+            return false;
+        UnixFileStore other = (UnixFileStore)ob;
+        return (this.dev == other.dev) &&
+               this.entry.dir().equals(other.entry.dir()) &&
+               this.entry.name().equals(other.entry.name());
+    }
+
+    @Override
+    public int hashCode() {
+        return (int)(dev ^ (dev >>> 32)) ^ entry.dir().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(entry.dir());
+        sb.append(" (");
+        sb.append(entry.name());
+        sb.append(")");
+        return sb.toString();
+    }
+
+    /**
+     * Finds, and returns, the mount entry for the file system where the file
+     * resides.
+     */
+    // Android-changed: Rather than walking up the file's ancestors, the entry
+    // with the longest mount point that is a prefix of the real path and that
+    // is on the same device is chosen.
+    private UnixMountEntry findMountEntry() throws IOException {
+        UnixFileSystem fs = file.getFileSystem();
+
+        // step 1: get realpath
+        UnixPath path = null;
+        try {
+            path = new UnixPath(fs, UnixNativeDispatcher.realpath(file));
+        } catch (UnixException x) {
+            x.rethrowAsIOException(file);
+        }
+
+        // step 2: find the entry on the same device with the longest
+        // matching mount point
+        UnixMountEntry best = null;
+        int bestCount = -1;
+        for (UnixMountEntry entry: fs.getMountEntries()) {
+            UnixPath dir = new UnixPath(fs, entry.dir());
+            if (!path.startsWith(dir))
+                continue;
+            int count = dir.getNameCount();
+            if (count <= bestCount)
+                continue;
+            try {
+                if (UnixFileAttributes.get(dir, true).dev() != dev)
+                    continue;
+            } catch (UnixException x) {
+                continue;
+            }
+            best = entry;
+            bestCount = count;
+        }
+        if (best == null)
+            throw new IOException("Mount point not found");
+        return best;
+    }
+
+    /**
+     * Status of feature.
+     */
+    enum FeatureStatus {
+        PRESENT,
+        NOT_PRESENT,
+        UNKNOWN;
+    }
+
+    /**
+     * Returns status to indicate if file system supports a given feature.
+     */
+    // Android-changed: There is no fstypes.properties; FAT style file systems
+    // are known not to store POSIX permissions.
+    FeatureStatus checkIfFeaturePresent(String feature) {
+        if (feature.equals("posix")) {
+            String type = entry.fstype();
+            if (type.equals("vfat") || type.equals("exfat") || type.equals("fuseblk"))
+                return FeatureStatus.NOT_PRESENT;
+        }
+        return FeatureStatus.UNKNOWN;
+    }
+}
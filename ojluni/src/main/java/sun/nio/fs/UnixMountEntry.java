@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008, 2009, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package sun.nio.fs;
+
+/**
+ * Represents an entry in the mount table.
+ */
+
+// Android-changed: Entries are parsed from the text of /proc/mounts rather
+// than filled in natively from struct mntent.
+class UnixMountEntry {
+    private String name;
+    private String dir;
+    private String fstype;
+    private String opts;
+
+    UnixMountEntry() {
+    }
+
+    /**
+     * Parses a line of /proc/mounts, returning {@code null} if the line is
+     * malformed.
+     */
+    static UnixMountEntry parse(String line) {
+        String[] fields = line.trim().split("\\s+");
+        if (fields.length < 4)
+            return null;
+        UnixMountEntry entry = new UnixMountEntry();
+        entry.name = unescape(fields[0]);
+        entry.dir = unescape(fields[1]);
+        entry.fstype = fields[2];
+        entry.opts = fields[3];
+        return entry;
+    }
+
+    // the kernel escapes space, tab, newline and backslash as \ooo
+    private static String unescape(String s) {
+        if (s.indexOf('\\') < 0)
+            return s;
+        StringBuilder sb = new StringBuilder(s.length());
+        int i = 0;
+        while (i < s.length()) {
+            char c = s.charAt(i);
+            if (c == '\\' && i + 3 < s.length() && isOctal(s, i + 1)) {
+                sb.append((char)Integer.parseInt(s.substring(i + 1, i + 4), 8));
+                i += 4;
+            } else {
+                sb.append(c);
+                i++;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isOctal(String s, int off) {
+        for (int i = off; i < off + 3; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '7')
+                return false;
+        }
+        return true;
+    }
+
+    String name() {
+        return name;
+    }
+
+    String fstype() {
+        return fstype;
+    }
+
+    String dir() {
+        return dir;
+    }
+
+    /**
+     * Tells whether the mount entry has the given option.
+     */
+    boolean hasOption(String requested) {
+        for (String opt: opts.split(",")) {
+            if (opt.equals(requested))
+                return true;
+            if (opt.startsWith(requested) && opt.charAt(requested.length()) == '=')
+                return true;
+        }
+        return false;
+    }
+
+    // generic option
+    boolean isIgnored() {
+        return hasOption("ignore");
+    }
+
+    // generic option
+    boolean isReadOnly() {
+        return hasOption("ro");
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + dir + " " + fstype + " " + opts;
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2008, 2013, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package sun.nio.fs;
+
+import android.system.ErrnoException;
+import android.system.StructDirent;
+import android.system.StructPasswd;
+import android.system.StructStat;
+import android.system.StructStatVfs;
+import java.io.FileDescriptor;
+import libcore.io.Libcore;
+
+/**
+ * Unix system and library calls.
+ */
+
+// Android-changed: Most calls are forwarded to libcore.io.Os, translating
+// ErrnoException into UnixException. Only utimes, which libcore.io.Os does not
+// provide, is implemented natively.
+class UnixNativeDispatcher {
+    protected UnixNativeDispatcher() { }
+
+    /**
+     * int open(const char* path, int oflag, mode_t mode)
+     */
+    static FileDescriptor open(UnixPath path, int flags, int mode)
+        throws UnixException
+    {
+        try {
+            return Libcore.os.open(path.toString(), flags, mode);
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * close(int filedes)
+     */
+    static void close(FileDescriptor fd) {
+        try {
+            Libcore.os.close(fd);
+        } catch (ErrnoException ignore) { }
+    }
+
+    /**
+     * link(const char* existing, const char* new)
+     */
+    static void link(UnixPath existing, UnixPath newfile) throws UnixException {
+        try {
+            Libcore.os.link(existing.toString(), newfile.toString());
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * unlink(const char* path)
+     */
+    static void unlink(UnixPath path) throws UnixException {
+        try {
+            Libcore.os.unlink(path.toString());
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * mkdir(const char* path, mode_t mode)
+     */
+    static void mkdir(UnixPath path, int mode) throws UnixException {
+        try {
+            Libcore.os.mkdir(path.toString(), mode);
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * rmdir(const char* path)
+     */
+    static void rmdir(UnixPath path) throws UnixException {
+        // remove(3) is rmdir(2) for directories
+        try {
+            Libcore.os.remove(path.toString());
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * rename(const char* old, const char* new)
+     */
+    static void rename(UnixPath from, UnixPath to) throws UnixException {
+        try {
+            Libcore.os.rename(from.toString(), to.toString());
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * symlink(const char* name1, const char* name2)
+     */
+    static void symlink(String name1, UnixPath name2) throws UnixException {
+        try {
+            Libcore.os.symlink(name1, name2.toString());
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * readlink(const char* path, char* buf, size_t bufsize)
+     */
+    static String readlink(UnixPath path) throws UnixException {
+        try {
+            return Libcore.os.readlink(path.toString());
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * realpath(const char* path, char* resolved_name)
+     */
+    static String realpath(UnixPath path) throws UnixException {
+        try {
+            return Libcore.os.realpath(path.toString());
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * stat(const char* path, struct stat* buf)
+     */
+    static StructStat stat(UnixPath path) throws UnixException {
+        try {
+            return Libcore.os.stat(path.toString());
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * lstat(const char* path, struct stat* buf)
+     */
+    static StructStat lstat(UnixPath path) throws UnixException {
+        try {
+            return Libcore.os.lstat(path.toString());
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * fstat(int filedes, struct stat* buf)
+     */
+    static StructStat fstat(FileDescriptor fd) throws UnixException {
+        try {
+            return Libcore.os.fstat(fd);
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * ssize_t sendfile(int out_fd, int in_fd, off_t* offset, size_t count)
+     *
+     * Transfers from the current position of {@code in}.
+     */
+    static long sendfile(FileDescriptor out, FileDescriptor in, long count)
+        throws UnixException
+    {
+        try {
+            return Libcore.os.sendfile(out, in, null, count);
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * chown(const char* path, uid_t owner, gid_t group)
+     */
+    static void chown(UnixPath path, int uid, int gid) throws UnixException {
+        try {
+            Libcore.os.chown(path.toString(), uid, gid);
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * lchown(const char* path, uid_t owner, gid_t group)
+     */
+    static void lchown(UnixPath path, int uid, int gid) throws UnixException {
+        try {
+            Libcore.os.lchown(path.toString(), uid, gid);
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * chmod(const char* path, mode_t mode)
+     */
+    static void chmod(UnixPath path, int mode) throws UnixException {
+        try {
+            Libcore.os.chmod(path.toString(), mode);
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * access(const char* path, int amode);
+     */
+    static void access(UnixPath path, int amode) throws UnixException {
+        try {
+            // Os.access throws rather than returning false on failure.
+            Libcore.os.access(path.toString(), amode);
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * statvfs(const char* path, struct statvfs *buf)
+     */
+    static StructStatVfs statvfs(UnixPath path) throws UnixException {
+        try {
+            return Libcore.os.statvfs(path.toString());
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * struct passwd *getpwuid(uid_t uid);
+     *
+     * @return  the user name, or {@code null} if the uid has no entry
+     */
+    static String getpwuid(int uid) throws UnixException {
+        try {
+            StructPasswd pwd = Libcore.os.getpwuid(uid);
+            return (pwd == null) ? null : pwd.pw_name;
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * struct passwd *getpwnam(const char *name);
+     *
+     * @return  the uid, or -1 if the name is not known
+     */
+    static int getpwnam(String name) throws UnixException {
+        try {
+            StructPasswd pwd = Libcore.os.getpwnam(name);
+            return (pwd == null) ? -1 : pwd.pw_uid;
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * utimes(const char* path, const struct timeval times[2])
+     */
+    static void utimes(UnixPath path, long times0, long times1)
+        throws UnixException
+    {
+        utimes0(path.toString(), times0, times1);
+    }
+    private static native void utimes0(String path, long times0, long times1)
+        throws UnixException;
+
+    /**
+     * DIR *opendir(const char* dirname)
+     */
+    static long opendir(UnixPath path) throws UnixException {
+        try {
+            return Libcore.os.opendir(path.toString());
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * closedir(DIR* dirp)
+     */
+    static void closedir(long dir) throws UnixException {
+        try {
+            Libcore.os.closedir(dir);
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+
+    /**
+     * struct dirent* readdir(DIR *dirp)
+     *
+     * @return  dirent->d_name, or {@code null} at the end of the directory
+     */
+    static String readdir(long dir) throws UnixException {
+        try {
+            StructDirent entry = Libcore.os.readdir(dir);
+            return (entry == null) ? null : entry.d_name;
+        } catch (ErrnoException e) {
+            throw new UnixException(e);
+        }
+    }
+}
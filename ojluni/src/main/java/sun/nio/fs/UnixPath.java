@@ -0,0 +1,716 @@
+/*
+ * Copyright (c) 2008, 2013, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package sun.nio.fs;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Solaris/Linux implementation of java.nio.file.Path
+ */
+
+// Android-changed: The path is held as a String rather than as a byte array;
+// libcore.io.Os takes String paths and does the encoding itself.
+class UnixPath implements Path {
+
+    private final UnixFileSystem fs;
+
+    // internal representation
+    private final String path;
+
+    // cached hashcode (created lazily)
+    private int hash;
+
+    // array of offsets of elements in path (created lazily)
+    private volatile int[] offsets;
+
+    UnixPath(UnixFileSystem fs, String input) {
+        this.fs = fs;
+        this.path = normalizeAndCheck(input);
+    }
+
+    // package-private
+    // removes redundant slashes and check input for invalid characters
+    static String normalizeAndCheck(String input) {
+        int n = input.length();
+        char prevChar = 0;
+        for (int i=0; i < n; i++) {
+            char c = input.charAt(i);
+            if ((c == '/') && (prevChar == '/'))
+                return normalize(input, n, i - 1);
+            checkNotNul(input, c);
+            prevChar = c;
+        }
+        if (prevChar == '/')
+            return normalize(input, n, n - 1);
+        return input;
+    }
+
+    private static void checkNotNul(String input, char c) {
+        if (c == '\u0000')
+            throw new InvalidPathException(input, "Nul character not allowed");
+    }
+
+    private static String normalize(String input, int len, int off) {
+        if (len == 0)
+            return input;
+        int n = len;
+        while ((n > 0) && (input.charAt(n - 1) == '/')) n--;
+        if (n == 0)
+            return "/";
+        StringBuilder sb = new StringBuilder(input.length());
+        if (off > 0)
+            sb.append(input.substring(0, off));
+        char prevChar = 0;
+        for (int i=off; i < n; i++) {
+            char c = input.charAt(i);
+            if ((c == '/') && (prevChar == '/'))
+                continue;
+            checkNotNul(input, c);
+            sb.append(c);
+            prevChar = c;
+        }
+        return sb.toString();
+    }
+
+    // package-private
+    UnixFileSystem getFileSystemImpl() {
+        return fs;
+    }
+
+    // use this path when making system/library calls
+    String getPathForExceptionMessage() {
+        return path;
+    }
+
+    // use this path for permission checks
+    String getPathForPermissionCheck() {
+        if (getFileSystem().needToResolveAgainstDefaultDirectory()) {
+            return toAbsolutePath().toString();
+        } else {
+            return path;
+        }
+    }
+
+    // Checks that the given file is a UnixPath
+    static UnixPath toUnixPath(Path obj) {
+        if (obj == null)
+            throw new NullPointerException();
+        if (!(obj instanceof UnixPath))
+            throw new ProviderMismatchException();
+        return (UnixPath)obj;
+    }
+
+    // create offset list if not already created
+    private void initOffsets() {
+        if (offsets == null) {
+            int count, index;
+
+            // count names
+            count = 0;
+            index = 0;
+            if (isEmpty()) {
+                // empty path has one name
+                count = 1;
+            } else {
+                while (index < path.length()) {
+                    char c = path.charAt(index++);
+                    if (c != '/') {
+                        count++;
+                        while (index < path.length() && path.charAt(index) != '/')
+                            index++;
+                    }
+                }
+            }
+
+            // populate offsets
+            int[] result = new int[count];
+            count = 0;
+            index = 0;
+            while (index < path.length()) {
+                char c = path.charAt(index);
+                if (c == '/') {
+                    index++;
+                } else {
+                    result[count++] = index++;
+                    while (index < path.length() && path.charAt(index) != '/')
+                        index++;
+                }
+            }
+            synchronized (this) {
+                if (offsets == null)
+                    offsets = result;
+            }
+        }
+    }
+
+    // returns {@code true} if this path is an empty path
+    private boolean isEmpty() {
+        return path.isEmpty();
+    }
+
+    // returns an empty path
+    private UnixPath emptyPath() {
+        return new UnixPath(getFileSystem(), "");
+    }
+
+    @Override
+    public UnixFileSystem getFileSystem() {
+        return fs;
+    }
+
+    @Override
+    public UnixPath getRoot() {
+        if (path.length() > 0 && path.charAt(0) == '/') {
+            return getFileSystem().rootDirectory();
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public UnixPath getFileName() {
+        initOffsets();
+
+        int count = offsets.length;
+
+        // no elements so no name
+        if (count == 0)
+            return null;
+
+        // one name element and no root component
+        if (count == 1 && path.length() > 0 && path.charAt(0) != '/')
+            return this;
+
+        int lastOffset = offsets[count-1];
+        return new UnixPath(getFileSystem(), path.substring(lastOffset));
+    }
+
+    @Override
+    public UnixPath getParent() {
+        initOffsets();
+
+        int count = offsets.length;
+        if (count == 0) {
+            // no elements so no parent
+            return null;
+        }
+        int len = offsets[count-1] - 1;
+        if (len <= 0) {
+            // parent is root only (may be null)
+            return getRoot();
+        }
+        return new UnixPath(getFileSystem(), path.substring(0, len));
+    }
+
+    @Override
+    public int getNameCount() {
+        initOffsets();
+        return offsets.length;
+    }
+
+    @Override
+    public UnixPath getName(int index) {
+        initOffsets();
+        if (index < 0)
+            throw new IllegalArgumentException();
+        if (index >= offsets.length)
+            throw new IllegalArgumentException();
+
+        int begin = offsets[index];
+        int len;
+        if (index == (offsets.length-1)) {
+            len = path.length() - begin;
+        } else {
+            len = offsets[index+1] - begin - 1;
+        }
+
+        return new UnixPath(getFileSystem(), path.substring(begin, begin + len));
+    }
+
+    @Override
+    public UnixPath subpath(int beginIndex, int endIndex) {
+        initOffsets();
+
+        if (beginIndex < 0)
+            throw new IllegalArgumentException();
+        if (beginIndex >= offsets.length)
+            throw new IllegalArgumentException();
+        if (endIndex > offsets.length)
+            throw new IllegalArgumentException();
+        if (beginIndex >= endIndex) {
+            throw new IllegalArgumentException();
+        }
+
+        // starting offset and length
+        int begin = offsets[beginIndex];
+        int len;
+        if (endIndex == offsets.length) {
+            len = path.length() - begin;
+        } else {
+            len = offsets[endIndex] - begin - 1;
+        }
+
+        return new UnixPath(getFileSystem(), path.substring(begin, begin + len));
+    }
+
+    @Override
+    public boolean isAbsolute() {
+        return (path.length() > 0 && path.charAt(0) == '/');
+    }
+
+    // Resolve child against given base
+    private static String resolve(String base, String child) {
+        int baseLength = base.length();
+        int childLength = child.length();
+        if (childLength == 0)
+            return base;
+        if (baseLength == 0 || child.charAt(0) == '/')
+            return child;
+        if (baseLength == 1 && base.charAt(0) == '/') {
+            return "/" + child;
+        } else {
+            return base + "/" + child;
+        }
+    }
+
+    @Override
+    public UnixPath resolve(Path obj) {
+        UnixPath other = toUnixPath(obj);
+        if (other.isAbsolute())
+            return other;
+        if (other.isEmpty())
+            return this;
+        return new UnixPath(getFileSystem(), resolve(path, other.path));
+    }
+
+    @Override
+    public UnixPath resolve(String other) {
+        return resolve(getFileSystem().getPath(other));
+    }
+
+    @Override
+    public Path resolveSibling(Path other) {
+        if (other == null)
+            throw new NullPointerException();
+        Path parent = getParent();
+        return (parent == null) ? other : parent.resolve(other);
+    }
+
+    @Override
+    public Path resolveSibling(String other) {
+        return resolveSibling(getFileSystem().getPath(other));
+    }
+
+    @Override
+    public UnixPath relativize(Path obj) {
+        UnixPath other = toUnixPath(obj);
+        if (other.equals(this))
+            return emptyPath();
+
+        // can only relativize paths of the same type
+        if (this.isAbsolute() != other.isAbsolute())
+            throw new IllegalArgumentException("'other' is different type of Path");
+
+        // this path is the empty path
+        if (this.isEmpty())
+            return other;
+
+        int bn = this.getNameCount();
+        int cn = other.getNameCount();
+
+        // skip matching names
+        int n = (bn > cn) ? cn : bn;
+        int i = 0;
+        while (i < n) {
+            if (!this.getName(i).equals(other.getName(i)))
+                break;
+            i++;
+        }
+
+        int dotdots = bn - i;
+        if (i < cn) {
+            // remaining name components in other
+            UnixPath remainder = other.subpath(i, cn);
+            if (dotdots == 0)
+                return remainder;
+
+            // other is the empty path
+            boolean isOtherEmpty = other.isEmpty();
+
+            // result is a  "../" for each remaining name in base
+            // followed by the remaining names in other. If the remainder is
+            // the empty path then we don't add the final trailing slash.
+            StringBuilder sb = new StringBuilder(dotdots*3 + remainder.path.length());
+            while (dotdots > 0) {
+                sb.append("..");
+                if (isOtherEmpty) {
+                    if (dotdots > 1) sb.append('/');
+                } else {
+                    sb.append('/');
+                }
+                dotdots--;
+            }
+            sb.append(remainder.path);
+            return new UnixPath(getFileSystem(), sb.toString());
+        } else {
+            // no remaining names in other so result is simply a sequence of ".."
+            StringBuilder sb = new StringBuilder(dotdots*3);
+            while (dotdots > 0) {
+                sb.append("..");
+
+                // no tailing slash at the end
+                if (dotdots > 1)
+                    sb.append('/');
+                dotdots--;
+            }
+            return new UnixPath(getFileSystem(), sb.toString());
+        }
+    }
+
+    @Override
+    public UnixPath normalize() {
+        final int count = getNameCount();
+        if (count == 0 || isEmpty())
+            return this;
+
+        boolean isAbsolute = isAbsolute();
+        List<String> names = new ArrayList<>(count);
+        boolean changed = false;
+        for (int i=0; i<count; i++) {
+            String name = getName(i).path;
+            if (name.equals(".")) {
+                changed = true;
+                continue;
+            }
+            if (name.equals("..")) {
+                int last = names.size() - 1;
+                if (last >= 0 && !names.get(last).equals("..")) {
+                    // ".." cancels the preceding name
+                    names.remove(last);
+                    changed = true;
+                    continue;
+                }
+                if (isAbsolute) {
+                    // "/.." is "/"
+                    changed = true;
+                    continue;
+                }
+            }
+            names.add(name);
+        }
+
+        // no redundant names
+        if (!changed)
+            return this;
+
+        // corner case - all names removed
+        if (names.isEmpty()) {
+            return isAbsolute ? getFileSystem().rootDirectory() : emptyPath();
+        }
+
+        StringBuilder sb = new StringBuilder(path.length());
+        for (String name: names) {
+            if (isAbsolute || sb.length() > 0)
+                sb.append('/');
+            sb.append(name);
+        }
+        return new UnixPath(getFileSystem(), sb.toString());
+    }
+
+    @Override
+    public boolean startsWith(Path other) {
+        if (!(Objects.requireNonNull(other) instanceof UnixPath))
+            return false;
+        UnixPath that = (UnixPath)other;
+
+        // other path is longer
+        if (that.path.length() > path.length())
+            return false;
+
+        // both must be absolute or both relative
+        if (this.isAbsolute() != that.isAbsolute())
+            return false;
+
+        int thisOffsetCount = getNameCount();
+        int thatOffsetCount = that.getNameCount();
+
+        // other path has more elements
+        if (thatOffsetCount > thisOffsetCount)
+            return false;
+
+        // check names
+        for (int i=0; i<thatOffsetCount; i++) {
+            if (!getName(i).path.equals(that.getName(i).path))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean startsWith(String other) {
+        return startsWith(getFileSystem().getPath(other));
+    }
+
+    @Override
+    public boolean endsWith(Path other) {
+        if (!(Objects.requireNonNull(other) instanceof UnixPath))
+            return false;
+        UnixPath that = (UnixPath)other;
+
+        int thisLen = path.length();
+        int thatLen = that.path.length();
+
+        // other path is longer
+        if (thatLen > thisLen)
+            return false;
+
+        // other path is the empty path
+        if (thisLen > 0 && thatLen == 0)
+            return false;
+
+        // other path is absolute so this path must be absolute
+        if (that.isAbsolute() && !this.isAbsolute())
+            return false;
+
+        int thisOffsetCount = getNameCount();
+        int thatOffsetCount = that.getNameCount();
+
+        // given path has more elements that this path
+        if (thatOffsetCount > thisOffsetCount) {
+            return false;
+        } else {
+            // same number of elements
+            if (thatOffsetCount == thisOffsetCount) {
+                if (thisOffsetCount == 0)
+                    return true;
+                int expectedLen = thisLen;
+                if (this.isAbsolute() && !that.isAbsolute())
+                    expectedLen--;
+                if (thatLen != expectedLen)
+                    return false;
+            } else {
+                // this path has more elements so given path must be relative
+                if (that.isAbsolute())
+                    return false;
+            }
+        }
+
+        // compare names
+        int thisPos = thisOffsetCount - thatOffsetCount;
+        for (int i=0; i<thatOffsetCount; i++) {
+            if (!getName(thisPos + i).path.equals(that.getName(i).path))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean endsWith(String other) {
+        return endsWith(getFileSystem().getPath(other));
+    }
+
+    @Override
+    public int compareTo(Path other) {
+        return path.compareTo(((UnixPath) other).path);
+    }
+
+    @Override
+    public boolean equals(Object ob) {
+        if ((ob != null) && (ob instanceof UnixPath)) {
+            return compareTo((Path)ob) == 0;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        // OK if two or more threads compute hash
+        int h = hash;
+        if (h == 0) {
+            h = path.hashCode();
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    // -- file operations --
+
+    void checkRead() {
+        SecurityManager sm = System.getSecurityManager();
+        if (sm != null)
+            sm.checkRead(getPathForPermissionCheck());
+    }
+
+    void checkWrite() {
+        SecurityManager sm = System.getSecurityManager();
+        if (sm != null)
+            sm.checkWrite(getPathForPermissionCheck());
+    }
+
+    void checkDelete() {
+        SecurityManager sm = System.getSecurityManager();
+        if (sm != null)
+            sm.checkDelete(getPathForPermissionCheck());
+    }
+
+    @Override
+    public UnixPath toAbsolutePath() {
+        if (isAbsolute()) {
+            return this;
+        }
+        // The path is relative so need to resolve against default directory,
+        // taking care not to reveal the user.dir
+        SecurityManager sm = System.getSecurityManager();
+        if (sm != null) {
+            sm.checkPropertyAccess("user.dir");
+        }
+        return new UnixPath(getFileSystem(),
+            resolve(getFileSystem().defaultDirectory(), path));
+    }
+
+    @Override
+    public Path toRealPath(LinkOption... options) throws IOException {
+        checkRead();
+
+        UnixPath absolute = toAbsolutePath();
+
+        // if resolving links then use realpath
+        if (Util.followLinks(options)) {
+            try {
+                String rp = UnixNativeDispatcher.realpath(absolute);
+                return new UnixPath(getFileSystem(), rp);
+            } catch (UnixException x) {
+                x.rethrowAsIOException(this);
+            }
+        }
+
+        // if not resolving links then eliminate "." and also ".."
+        // where the previous element is not a link.
+        UnixPath result = fs.rootDirectory();
+        for (int i=0; i<absolute.getNameCount(); i++) {
+            UnixPath element = absolute.getName(i);
+
+            // eliminate "."
+            if (element.path.equals("."))
+                continue;
+
+            // cannot eliminate ".." if previous element is a link
+            if (element.path.equals("..")) {
+                UnixFileAttributes attrs = null;
+                try {
+                    attrs = UnixFileAttributes.get(result, false);
+                } catch (UnixException x) {
+                    x.rethrowAsIOException(result);
+                }
+                if (!attrs.isSymbolicLink()) {
+                    result = result.getParent();
+                    if (result == null) {
+                        result = fs.rootDirectory();
+                    }
+                    continue;
+                }
+            }
+            result = result.resolve(element);
+        }
+
+        // check file exists (without following links)
+        try {
+            UnixFileAttributes.get(result, false);
+        } catch (UnixException x) {
+            x.rethrowAsIOException(result);
+        }
+        return result;
+    }
+
+    @Override
+    public URI toUri() {
+        return UnixUriUtils.toUri(this);
+    }
+
+    @Override
+    public File toFile() {
+        return new File(toString());
+    }
+
+    @Override
+    public WatchKey register(WatchService watcher,
+                             WatchEvent.Kind<?>[] events,
+                             WatchEvent.Modifier... modifiers)
+        throws IOException
+    {
+        if (watcher == null)
+            throw new NullPointerException();
+        if (!(watcher instanceof AbstractWatchService))
+            throw new ProviderMismatchException();
+        checkRead();
+        return ((AbstractWatchService)watcher).register(this, events, modifiers);
+    }
+
+    @Override
+    public WatchKey register(WatchService watcher, WatchEvent.Kind<?>... events)
+        throws IOException
+    {
+        return register(watcher, events, new WatchEvent.Modifier[0]);
+    }
+
+    @Override
+    public Iterator<Path> iterator() {
+        return new Iterator<Path>() {
+            private int i = 0;
+            @Override
+            public boolean hasNext() {
+                return (i < getNameCount());
+            }
+            @Override
+            public Path next() {
+                if (i < getNameCount()) {
+                    Path result = getName(i);
+                    i++;
+                    return result;
+                } else {
+                    throw new NoSuchElementException();
+                }
+            }
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -85,6 +85,16 @@ FileDispatcherImpl_readv0(JNIEnv *env, jclass clazz,
     return convertLongReturnVal(env, readv(fd, iov, len), JNI_TRUE);
 }
 
+// Android-added: Positional scattering reads.
+JNIEXPORT jlong JNICALL
+FileDispatcherImpl_preadv0(JNIEnv *env, jclass clazz, jobject fdo,
+                               jlong address, jint len, jlong offset)
+{
+    jint fd = fdval(env, fdo);
+    struct iovec *iov = (struct iovec *)jlong_to_ptr(address);
+    return convertLongReturnVal(env, preadv64(fd, iov, len, offset), JNI_TRUE);
+}
+
 JNIEXPORT jint JNICALL
 FileDispatcherImpl_write0(JNIEnv *env, jclass clazz,
                               jobject fdo, jlong address, jint len)
@@ -114,6 +124,16 @@ FileDispatcherImpl_writev0(JNIEnv *env, jclass clazz,
     return convertLongReturnVal(env, writev(fd, iov, len), JNI_FALSE);
 }
 
+// Android-added: Positional gathering writes.
+JNIEXPORT jlong JNICALL
+FileDispatcherImpl_pwritev0(JNIEnv *env, jclass clazz, jobject fdo,
+                                jlong address, jint len, jlong offset)
+{
+    jint fd = fdval(env, fdo);
+    struct iovec *iov = (struct iovec *)jlong_to_ptr(address);
+    return convertLongReturnVal(env, pwritev64(fd, iov, len, offset), JNI_FALSE);
+}
+
 static jlong
 handle(JNIEnv *env, jlong rv, char *msg)
 {
@@ -266,9 +286,11 @@ static JNINativeMethod gMethods[] = {
   NATIVE_METHOD(FileDispatcherImpl, size0, "(Ljava/io/FileDescriptor;)J"),
   NATIVE_METHOD(FileDispatcherImpl, truncate0, "(Ljava/io/FileDescriptor;J)I"),
   NATIVE_METHOD(FileDispatcherImpl, force0, "(Ljava/io/FileDescriptor;Z)I"),
+  NATIVE_METHOD(FileDispatcherImpl, pwritev0, "(Ljava/io/FileDescriptor;JIJ)J"),
   NATIVE_METHOD(FileDispatcherImpl, writev0, "(Ljava/io/FileDescriptor;JI)J"),
   NATIVE_METHOD(FileDispatcherImpl, pwrite0, "(Ljava/io/FileDescriptor;JIJ)I"),
   NATIVE_METHOD(FileDispatcherImpl, write0, "(Ljava/io/FileDescriptor;JI)I"),
+  NATIVE_METHOD(FileDispatcherImpl, preadv0, "(Ljava/io/FileDescriptor;JIJ)J"),
   NATIVE_METHOD(FileDispatcherImpl, readv0, "(Ljava/io/FileDescriptor;JI)J"),
   NATIVE_METHOD(FileDispatcherImpl, pread0, "(Ljava/io/FileDescriptor;JIJ)I"),
   NATIVE_METHOD(FileDispatcherImpl, read0, "(Ljava/io/FileDescriptor;JI)I"),
@@ -353,7 +353,7 @@ ZipFile_getZipMessage(JNIEnv *env, jclass cls, jlong zfile)
 }
 
 JNIEXPORT jobjectArray JNICALL
-JarFile_getMetaInfEntryNames(JNIEnv *env, jobject obj)
+JarFile_getMetaInfEntryNames0(JNIEnv *env, jobject obj)
 {
     jlong zfile = (*env)->GetLongField(env, obj, jzfileID);
     jzfile *zip;
@@ -417,7 +417,7 @@ static JNINativeMethod gMethods[] = {
 };
 
 static JNINativeMethod gJarFileMethods[] = {
-  NATIVE_METHOD(JarFile, getMetaInfEntryNames, "()[Ljava/lang/String;"),
+  NATIVE_METHOD(JarFile, getMetaInfEntryNames0, "()[Ljava/lang/String;"),
 };
 
 void register_java_util_zip_ZipFile(JNIEnv* env) {
@@ -21,6 +21,9 @@ LOCAL_SRC_FILES := \
     Console_md.c \
     IOUtil.c \
     PollArrayWrapper.c \
+    EPollArrayWrapper.c \
+    EPoll.c \
+    EPollPort.c \
     InheritedChannel.c \
     SocketChannelImpl.c \
     FileChannelImpl.c \
@@ -51,6 +54,8 @@ LOCAL_SRC_FILES := \
     Inet4AddressImpl.c \
     Inet6AddressImpl.c \
     ServerSocketChannelImpl.c \
+    UnixAsynchronousServerSocketChannelImpl.c \
+    UnixNativeDispatcher.c \
     SocketInputStream.c \
     SocketOutputStream.c \
     Float.c \
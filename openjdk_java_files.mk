@@ -341,9 +341,16 @@ openjdk_javadoc_files := \
     ojluni/src/main/java/java/nio/ReadOnlyBufferException.java \
     ojluni/src/main/java/java/nio/ShortBuffer.java \
     ojluni/src/main/java/java/nio/StringCharBuffer.java \
+    ojluni/src/main/java/java/nio/channels/AcceptPendingException.java \
     ojluni/src/main/java/java/nio/channels/AlreadyBoundException.java \
     ojluni/src/main/java/java/nio/channels/AlreadyConnectedException.java \
+    ojluni/src/main/java/java/nio/channels/AsynchronousByteChannel.java \
+    ojluni/src/main/java/java/nio/channels/AsynchronousChannel.java \
+    ojluni/src/main/java/java/nio/channels/AsynchronousChannelGroup.java \
     ojluni/src/main/java/java/nio/channels/AsynchronousCloseException.java \
+    ojluni/src/main/java/java/nio/channels/AsynchronousFileChannel.java \
+    ojluni/src/main/java/java/nio/channels/AsynchronousServerSocketChannel.java \
+    ojluni/src/main/java/java/nio/channels/AsynchronousSocketChannel.java \
     ojluni/src/main/java/java/nio/channels/ByteChannel.java \
     ojluni/src/main/java/java/nio/channels/CancelledKeyException.java \
     ojluni/src/main/java/java/nio/channels/Channel.java \
@@ -351,6 +358,7 @@ openjdk_javadoc_files := \
     ojluni/src/main/java/java/nio/channels/ClosedByInterruptException.java \
     ojluni/src/main/java/java/nio/channels/ClosedChannelException.java \
     ojluni/src/main/java/java/nio/channels/ClosedSelectorException.java \
+    ojluni/src/main/java/java/nio/channels/CompletionHandler.java \
     ojluni/src/main/java/java/nio/channels/ConnectionPendingException.java \
     ojluni/src/main/java/java/nio/channels/DatagramChannel.java \
     ojluni/src/main/java/java/nio/channels/FileChannel.java \
@@ -358,8 +366,13 @@ openjdk_javadoc_files := \
     ojluni/src/main/java/java/nio/channels/FileLockInterruptionException.java \
     ojluni/src/main/java/java/nio/channels/GatheringByteChannel.java \
     ojluni/src/main/java/java/nio/channels/IllegalBlockingModeException.java \
+    ojluni/src/main/java/java/nio/channels/IllegalChannelGroupException.java \
     ojluni/src/main/java/java/nio/channels/IllegalSelectorException.java \
+    ojluni/src/main/java/java/nio/channels/InterruptedByTimeoutException.java \
     ojluni/src/main/java/java/nio/channels/InterruptibleChannel.java \
+    ojluni/src/main/java/java/nio/channels/ReadPendingException.java \
+    ojluni/src/main/java/java/nio/channels/ShutdownChannelGroupException.java \
+    ojluni/src/main/java/java/nio/channels/WritePendingException.java \
     ojluni/src/main/java/java/nio/channels/package-info.java \
     ojluni/src/main/java/java/nio/channels/NetworkChannel.java \
     ojluni/src/main/java/java/nio/channels/NoConnectionPendingException.java \
@@ -384,6 +397,7 @@ openjdk_javadoc_files := \
     ojluni/src/main/java/java/nio/channels/spi/AbstractSelectableChannel.java \
     ojluni/src/main/java/java/nio/channels/spi/AbstractSelectionKey.java \
     ojluni/src/main/java/java/nio/channels/spi/AbstractSelector.java \
+    ojluni/src/main/java/java/nio/channels/spi/AsynchronousChannelProvider.java \
     ojluni/src/main/java/java/nio/channels/spi/SelectorProvider.java \
     ojluni/src/main/java/java/nio/charset/CharacterCodingException.java \
     ojluni/src/main/java/java/nio/charset/Charset.java \
@@ -399,6 +413,69 @@ openjdk_javadoc_files := \
     ojluni/src/main/java/java/nio/charset/UnsupportedCharsetException.java \
     ojluni/src/main/java/java/nio/charset/package-info.java \
     ojluni/src/main/java/java/nio/charset/spi/CharsetProvider.java \
+    ojluni/src/main/java/java/nio/file/AccessDeniedException.java \
+    ojluni/src/main/java/java/nio/file/AccessMode.java \
+    ojluni/src/main/java/java/nio/file/AtomicMoveNotSupportedException.java \
+    ojluni/src/main/java/java/nio/file/ClosedDirectoryStreamException.java \
+    ojluni/src/main/java/java/nio/file/ClosedFileSystemException.java \
+    ojluni/src/main/java/java/nio/file/ClosedWatchServiceException.java \
+    ojluni/src/main/java/java/nio/file/CopyMoveHelper.java \
+    ojluni/src/main/java/java/nio/file/CopyOption.java \
+    ojluni/src/main/java/java/nio/file/DirectoryIteratorException.java \
+    ojluni/src/main/java/java/nio/file/DirectoryNotEmptyException.java \
+    ojluni/src/main/java/java/nio/file/DirectoryStream.java \
+    ojluni/src/main/java/java/nio/file/FileAlreadyExistsException.java \
+    ojluni/src/main/java/java/nio/file/FileStore.java \
+    ojluni/src/main/java/java/nio/file/FileSystem.java \
+    ojluni/src/main/java/java/nio/file/FileSystemAlreadyExistsException.java \
+    ojluni/src/main/java/java/nio/file/FileSystemException.java \
+    ojluni/src/main/java/java/nio/file/FileSystemLoopException.java \
+    ojluni/src/main/java/java/nio/file/FileSystemNotFoundException.java \
+    ojluni/src/main/java/java/nio/file/FileSystems.java \
+    ojluni/src/main/java/java/nio/file/FileTreeIterator.java \
+    ojluni/src/main/java/java/nio/file/FileTreeWalker.java \
+    ojluni/src/main/java/java/nio/file/FileVisitOption.java \
+    ojluni/src/main/java/java/nio/file/FileVisitResult.java \
+    ojluni/src/main/java/java/nio/file/FileVisitor.java \
+    ojluni/src/main/java/java/nio/file/Files.java \
+    ojluni/src/main/java/java/nio/file/InvalidPathException.java \
+    ojluni/src/main/java/java/nio/file/LinkOption.java \
+    ojluni/src/main/java/java/nio/file/NoSuchFileException.java \
+    ojluni/src/main/java/java/nio/file/NotDirectoryException.java \
+    ojluni/src/main/java/java/nio/file/NotLinkException.java \
+    ojluni/src/main/java/java/nio/file/OpenOption.java \
+    ojluni/src/main/java/java/nio/file/Path.java \
+    ojluni/src/main/java/java/nio/file/PathMatcher.java \
+    ojluni/src/main/java/java/nio/file/Paths.java \
+    ojluni/src/main/java/java/nio/file/ProviderMismatchException.java \
+    ojluni/src/main/java/java/nio/file/ProviderNotFoundException.java \
+    ojluni/src/main/java/java/nio/file/ReadOnlyFileSystemException.java \
+    ojluni/src/main/java/java/nio/file/SimpleFileVisitor.java \
+    ojluni/src/main/java/java/nio/file/StandardCopyOption.java \
+    ojluni/src/main/java/java/nio/file/StandardOpenOption.java \
+    ojluni/src/main/java/java/nio/file/StandardWatchEventKinds.java \
+    ojluni/src/main/java/java/nio/file/TempFileHelper.java \
+    ojluni/src/main/java/java/nio/file/WatchEvent.java \
+    ojluni/src/main/java/java/nio/file/WatchKey.java \
+    ojluni/src/main/java/java/nio/file/WatchService.java \
+    ojluni/src/main/java/java/nio/file/Watchable.java \
+    ojluni/src/main/java/java/nio/file/attribute/AttributeView.java \
+    ojluni/src/main/java/java/nio/file/attribute/BasicFileAttributeView.java \
+    ojluni/src/main/java/java/nio/file/attribute/BasicFileAttributes.java \
+    ojluni/src/main/java/java/nio/file/attribute/FileAttribute.java \
+    ojluni/src/main/java/java/nio/file/attribute/FileAttributeView.java \
+    ojluni/src/main/java/java/nio/file/attribute/FileOwnerAttributeView.java \
+    ojluni/src/main/java/java/nio/file/attribute/FileStoreAttributeView.java \
+    ojluni/src/main/java/java/nio/file/attribute/FileTime.java \
+    ojluni/src/main/java/java/nio/file/attribute/GroupPrincipal.java \
+    ojluni/src/main/java/java/nio/file/attribute/PosixFileAttributeView.java \
+    ojluni/src/main/java/java/nio/file/attribute/PosixFileAttributes.java \
+    ojluni/src/main/java/java/nio/file/attribute/PosixFilePermission.java \
+    ojluni/src/main/java/java/nio/file/attribute/PosixFilePermissions.java \
+    ojluni/src/main/java/java/nio/file/attribute/UserPrincipal.java \
+    ojluni/src/main/java/java/nio/file/attribute/UserPrincipalLookupService.java \
+    ojluni/src/main/java/java/nio/file/attribute/UserPrincipalNotFoundException.java \
+    ojluni/src/main/java/java/nio/file/spi/FileSystemProvider.java \
     ojluni/src/main/java/java/nio/package-info.java \
     ojluni/src/main/java/java/security/AccessControlContext.java \
     ojluni/src/main/java/java/security/AccessControlException.java \
@@ -698,9 +775,11 @@ openjdk_javadoc_files := \
     ojluni/src/main/java/java/util/IllegalFormatPrecisionException.java \
     ojluni/src/main/java/java/util/IllegalFormatWidthException.java \
     ojluni/src/main/java/java/util/IllformedLocaleException.java \
+    ojluni/src/main/java/java/util/ImmutableCollections.java \
     ojluni/src/main/java/java/util/InputMismatchException.java \
     ojluni/src/main/java/java/util/InvalidPropertiesFormatException.java \
     ojluni/src/main/java/java/util/Iterator.java \
+    ojluni/src/main/java/java/util/KeyValueHolder.java \
     ojluni/src/main/java/java/util/Optional.java \
     ojluni/src/main/java/java/util/OptionalInt.java \
     ojluni/src/main/java/java/util/OptionalLong.java \
@@ -902,6 +981,7 @@ openjdk_javadoc_files := \
     ojluni/src/main/java/java/util/zip/InflaterInputStream.java \
     ojluni/src/main/java/java/util/zip/Inflater.java \
     ojluni/src/main/java/java/util/zip/InflaterOutputStream.java \
+    ojluni/src/main/java/java/util/zip/MappedZipSource.java \
     ojluni/src/main/java/java/util/zip/ZipCoder.java \
     ojluni/src/main/java/java/util/zip/ZipConstants.java \
     ojluni/src/main/java/java/util/zip/ZipConstants64.java \
@@ -1181,13 +1261,24 @@ openjdk_java_files := \
     ojluni/src/main/java/sun/nio/ch/AbstractPollArrayWrapper.java \
     ojluni/src/main/java/sun/nio/ch/AbstractPollSelectorImpl.java \
     ojluni/src/main/java/sun/nio/ch/AllocatedNativeObject.java \
+    ojluni/src/main/java/sun/nio/ch/AsynchronousChannelGroupImpl.java \
+    ojluni/src/main/java/sun/nio/ch/AsynchronousFileChannelImpl.java \
+    ojluni/src/main/java/sun/nio/ch/AsynchronousServerSocketChannelImpl.java \
+    ojluni/src/main/java/sun/nio/ch/AsynchronousSocketChannelImpl.java \
+    ojluni/src/main/java/sun/nio/ch/Cancellable.java \
     ojluni/src/main/java/sun/nio/ch/ChannelInputStream.java \
     ojluni/src/main/java/sun/nio/ch/CompletedFuture.java \
     ojluni/src/main/java/sun/nio/ch/DatagramChannelImpl.java \
     ojluni/src/main/java/sun/nio/ch/DatagramDispatcher.java \
     ojluni/src/main/java/sun/nio/ch/DatagramSocketAdaptor.java \
+    ojluni/src/main/java/sun/nio/ch/DefaultAsynchronousChannelProvider.java \
     ojluni/src/main/java/sun/nio/ch/DefaultSelectorProvider.java \
     ojluni/src/main/java/sun/nio/ch/DirectBuffer.java \
+    ojluni/src/main/java/sun/nio/ch/EPoll.java \
+    ojluni/src/main/java/sun/nio/ch/EPollArrayWrapper.java \
+    ojluni/src/main/java/sun/nio/ch/EPollPort.java \
+    ojluni/src/main/java/sun/nio/ch/EPollSelectorImpl.java \
+    ojluni/src/main/java/sun/nio/ch/EPollSelectorProvider.java \
     ojluni/src/main/java/sun/nio/ch/ExtendedSocketOption.java \
     ojluni/src/main/java/sun/nio/ch/FileChannelImpl.java \
     ojluni/src/main/java/sun/nio/ch/FileDescriptorHolderSocketImpl.java \
@@ -1196,21 +1287,26 @@ openjdk_java_files := \
     ojluni/src/main/java/sun/nio/ch/FileKey.java \
     ojluni/src/main/java/sun/nio/ch/FileLockImpl.java \
     ojluni/src/main/java/sun/nio/ch/FileLockTable.java \
+    ojluni/src/main/java/sun/nio/ch/Groupable.java \
     ojluni/src/main/java/sun/nio/ch/InheritedChannel.java \
     ojluni/src/main/java/sun/nio/ch/Interruptible.java \
     ojluni/src/main/java/sun/nio/ch/IOStatus.java \
     ojluni/src/main/java/sun/nio/ch/IOUtil.java \
     ojluni/src/main/java/sun/nio/ch/IOVecWrapper.java \
+    ojluni/src/main/java/sun/nio/ch/Invoker.java \
+    ojluni/src/main/java/sun/nio/ch/LinuxAsynchronousChannelProvider.java \
     ojluni/src/main/java/sun/nio/ch/NativeDispatcher.java \
     ojluni/src/main/java/sun/nio/ch/NativeObject.java \
     ojluni/src/main/java/sun/nio/ch/NativeThread.java \
     ojluni/src/main/java/sun/nio/ch/NativeThreadSet.java \
     ojluni/src/main/java/sun/nio/ch/Net.java \
     ojluni/src/main/java/sun/nio/ch/OptionKey.java \
+    ojluni/src/main/java/sun/nio/ch/PendingFuture.java \
     ojluni/src/main/java/sun/nio/ch/PipeImpl.java \
     ojluni/src/main/java/sun/nio/ch/PollArrayWrapper.java \
     ojluni/src/main/java/sun/nio/ch/PollSelectorImpl.java \
     ojluni/src/main/java/sun/nio/ch/PollSelectorProvider.java \
+    ojluni/src/main/java/sun/nio/ch/Port.java \
     ojluni/src/main/java/sun/nio/ch/Reflect.java \
     ojluni/src/main/java/sun/nio/ch/SelChImpl.java \
     ojluni/src/main/java/sun/nio/ch/SelectionKeyImpl.java \
@@ -1218,6 +1314,7 @@ openjdk_java_files := \
     ojluni/src/main/java/sun/nio/ch/SelectorProviderImpl.java \
     ojluni/src/main/java/sun/nio/ch/ServerSocketAdaptor.java \
     ojluni/src/main/java/sun/nio/ch/ServerSocketChannelImpl.java \
+    ojluni/src/main/java/sun/nio/ch/SimpleAsynchronousFileChannelImpl.java \
     ojluni/src/main/java/sun/nio/ch/SinkChannelImpl.java \
     ojluni/src/main/java/sun/nio/ch/SocketAdaptor.java \
     ojluni/src/main/java/sun/nio/ch/SocketChannelImpl.java \
@@ -1225,6 +1322,8 @@ openjdk_java_files := \
     ojluni/src/main/java/sun/nio/ch/SocketOptionRegistry.java \
     ojluni/src/main/java/sun/nio/ch/SourceChannelImpl.java \
     ojluni/src/main/java/sun/nio/ch/ThreadPool.java \
+    ojluni/src/main/java/sun/nio/ch/UnixAsynchronousServerSocketChannelImpl.java \
+    ojluni/src/main/java/sun/nio/ch/UnixAsynchronousSocketChannelImpl.java \
     ojluni/src/main/java/sun/nio/ch/Util.java \
     ojluni/src/main/java/sun/nio/cs/ArrayDecoder.java \
     ojluni/src/main/java/sun/nio/cs/ArrayEncoder.java \
@@ -1232,6 +1331,32 @@ openjdk_java_files := \
     ojluni/src/main/java/sun/nio/cs/StreamEncoder.java \
     ojluni/src/main/java/sun/nio/cs/HistoricallyNamedCharset.java \
     ojluni/src/main/java/sun/nio/cs/ThreadLocalCoders.java \
+    ojluni/src/main/java/sun/nio/fs/AbstractBasicFileAttributeView.java \
+    ojluni/src/main/java/sun/nio/fs/AbstractFileSystemProvider.java \
+    ojluni/src/main/java/sun/nio/fs/AbstractWatchKey.java \
+    ojluni/src/main/java/sun/nio/fs/AbstractWatchService.java \
+    ojluni/src/main/java/sun/nio/fs/DefaultFileSystemProvider.java \
+    ojluni/src/main/java/sun/nio/fs/DynamicFileAttributeView.java \
+    ojluni/src/main/java/sun/nio/fs/FileOwnerAttributeViewImpl.java \
+    ojluni/src/main/java/sun/nio/fs/Globs.java \
+    ojluni/src/main/java/sun/nio/fs/PollingWatchService.java \
+    ojluni/src/main/java/sun/nio/fs/UnixChannelFactory.java \
+    ojluni/src/main/java/sun/nio/fs/UnixCopyFile.java \
+    ojluni/src/main/java/sun/nio/fs/UnixDirectoryStream.java \
+    ojluni/src/main/java/sun/nio/fs/UnixException.java \
+    ojluni/src/main/java/sun/nio/fs/UnixFileAttributeViews.java \
+    ojluni/src/main/java/sun/nio/fs/UnixFileAttributes.java \
+    ojluni/src/main/java/sun/nio/fs/UnixFileKey.java \
+    ojluni/src/main/java/sun/nio/fs/UnixFileModeAttribute.java \
+    ojluni/src/main/java/sun/nio/fs/UnixFileStore.java \
+    ojluni/src/main/java/sun/nio/fs/UnixFileSystem.java \
+    ojluni/src/main/java/sun/nio/fs/UnixFileSystemProvider.java \
+    ojluni/src/main/java/sun/nio/fs/UnixMountEntry.java \
+    ojluni/src/main/java/sun/nio/fs/UnixNativeDispatcher.java \
+    ojluni/src/main/java/sun/nio/fs/UnixPath.java \
+    ojluni/src/main/java/sun/nio/fs/UnixUriUtils.java \
+    ojluni/src/main/java/sun/nio/fs/UnixUserPrincipals.java \
+    ojluni/src/main/java/sun/nio/fs/Util.java \
     ojluni/src/main/java/sun/reflect/annotation/AnnotationType.java \
     ojluni/src/main/java/sun/reflect/ConstructorAccessor.java \
     ojluni/src/main/java/sun/reflect/misc/ReflectUtil.java \